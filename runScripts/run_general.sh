@@ -2,6 +2,8 @@
 export DB_URL=jdbc:postgresql://<postgres-internal-docker-ip>:5437/legislative_data
 export DB_USER=<POSTGRES-USER>
 export DB_PASSWORD=<POSTGRES-PASSWORD>
+# absolute path of the file_store directory next to docker-compose.yml, the downloaded file contents are stored here
+export FILE_STORE_ROOT=<ABSOLUTE-PATH-OF-THE-PROJECT>/file_store
 export JAR_PATH=../build/libs/ceu-legislative-data-collector-0.0.1-SNAPSHOT.jar
 
 # COUNTRY and DB_SCHEMA env variables must be set before this runs
@@ -0,0 +1,60 @@
+package com.precognox.ceu.legislative_data_collector.hungary;
+
+import com.precognox.ceu.legislative_data_collector.common.LegalReferenceExtractor;
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
+import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ModifiedLawParser#parseFromText} with the reference patterns run one by one over the whole text
+ * ({@link ModifiedLawParserReference}, from the tests), and with the {@link LegalReferenceExtractor}, on the stored
+ * Hungarian bill texts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModifiedLawParserBenchmark {
+
+    @Param({
+            "/hungary/bill_texts/bill_2009_T_9485_text.txt",
+            "/hungary/bill_texts/bill_2012_T_7757_text.txt",
+            "/testBillText.txt"
+    })
+    private String textFile;
+
+    private final ModifiedLawParser parser = new ModifiedLawParser(null);
+    private final LegislativeDataRecord record = new LegislativeDataRecord();
+
+    @Setup
+    public void setup() throws IOException {
+        record.setBillText(ResourceLoader.getResourceAsString(textFile));
+    }
+
+    @Benchmark
+    public Set<String> regexes() {
+        return ModifiedLawParserReference.parseFromText(record.getBillText());
+    }
+
+    @Benchmark
+    public Set<String> extractor() {
+        return parser.parseFromText(record);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Parsing the dates of the Russian, Swedish and Colombian test pages: with a new formatter per date and the formats
+ * tried one by one (as before), and with {@link DateUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateParsingBenchmark {
+
+    private static final DateTimeFormatter COLOMBIA_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy");
+    private static final String COLOMBIA_SECOND_FORMAT = "yyyy. MM. dd.";
+
+    private List<String> dottedDates;
+    private List<String> isoDates;
+    private List<String> colombiaDates;
+
+    @Setup
+    public void setup() throws IOException {
+        dottedDates = findDates(Pattern.compile("\\b\\d{2}\\.\\d{2}\\.\\d{4}\\b"),
+                "/russia/test_pages/1000396-6_page_source.html", "/russia/test_pages/115864-8_page_source.html");
+        isoDates = findDates(Pattern.compile("\\b\\d{4}-\\d{2}-\\d{2}\\b"),
+                "/sweden/law_2023_482.html", "/sweden/amendment_2022_23_2403.html");
+        //the test pages contain M/d/yyyy and d/MM/yyyy dates, the latter are parsed with the second format (failing)
+        colombiaDates = findDates(Pattern.compile("\\b\\d{1,2}/\\d{1,2}/\\d{4}\\b"),
+                "/colombia/12558.html", "/colombia/voting_12558.html");
+    }
+
+    private static List<String> findDates(Pattern datePattern, String... pages) throws IOException {
+        return Stream.of(pages)
+                .map(page -> {
+                    try {
+                        return ResourceLoader.getResourceAsString(page);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .flatMap(text -> datePattern.matcher(text).results().map(MatchResult::group))
+                .toList();
+    }
+
+    @Benchmark
+    public void dottedNewFormatter(Blackhole blackhole) {
+        dottedDates.forEach(date -> blackhole.consume(LocalDate.parse(date, DateTimeFormatter.ofPattern("dd.MM.yyyy"))));
+    }
+
+    @Benchmark
+    public void dotted(Blackhole blackhole) {
+        dottedDates.forEach(date -> blackhole.consume(DateUtils.toLocalDate(date, DateUtils.DOTTED_DATE_FORMAT)));
+    }
+
+    @Benchmark
+    public void isoNewFormatter(Blackhole blackhole) {
+        isoDates.forEach(date -> blackhole.consume(LocalDate.parse(date, DateTimeFormatter.ofPattern("yyyy-MM-dd"))));
+    }
+
+    @Benchmark
+    public void iso(Blackhole blackhole) {
+        isoDates.forEach(date -> blackhole.consume(DateUtils.toLocalDate(date, DateUtils.ISO_DATE_FORMAT)));
+    }
+
+    @Benchmark
+    public void colombiaOneByOne(Blackhole blackhole) {
+        for (String date : colombiaDates) {
+            try {
+                blackhole.consume(LocalDate.parse(date, COLOMBIA_FORMAT));
+            } catch (DateTimeParseException e) {
+                try {
+                    blackhole.consume(LocalDate.parse(date, DateTimeFormatter.ofPattern(COLOMBIA_SECOND_FORMAT)));
+                } catch (DateTimeParseException ex) {
+                    blackhole.consume(ex);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void colombia(Blackhole blackhole) {
+        colombiaDates.forEach(date -> blackhole.consume(DateUtils.parseColombiaDate(date)));
+    }
+
+}
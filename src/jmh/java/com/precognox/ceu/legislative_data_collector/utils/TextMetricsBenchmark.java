@@ -0,0 +1,61 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The text size metrics with the previous regexes ({@link TextMetricsReference}, from the tests) and with the one pass
+ * {@link TextMetrics}, on stored bill texts and pages. Run with {@code -prof gc} to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextMetricsBenchmark {
+
+    @Param({
+            "/testBillText.txt",
+            "/hungary/bill_texts/bill_2012_T_7757_text.txt",
+            "/sweden/law_2009_400.html",
+            "/russia/test_pages/1000396-6_page_source.html"
+    })
+    private String textFile;
+
+    private String text;
+
+    @Setup
+    public void setup() throws IOException {
+        text = ResourceLoader.getResourceAsString(textFile);
+    }
+
+    @Benchmark
+    public TextMetrics regexes() {
+        return TextMetricsReference.of(text);
+    }
+
+    @Benchmark
+    public TextMetrics onePass() {
+        return TextMetrics.of(text);
+    }
+
+    @Benchmark
+    public int lengthWithoutWhitespace() {
+        return TextMetrics.lengthWithoutWhitespace(text);
+    }
+
+}
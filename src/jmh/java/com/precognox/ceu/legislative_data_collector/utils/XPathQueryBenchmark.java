@@ -0,0 +1,105 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Per-page time of the XPath queries of {@link com.precognox.ceu.legislative_data_collector.russia.RussiaParser} on
+ * the stored Russian bill pages:
+ * <ul>
+ *     <li>selectXpath: jsoup {@link Element#selectXpath}, converts the document and compiles the expression per query
+ *     (the implementation before {@link XPathDocument})</li>
+ *     <li>xmlUtilsFind: {@link XmlUtils#find}, converts the document per query, the expressions are cached</li>
+ *     <li>xPathDocument: {@link XPathDocument}, converts the document once</li>
+ * </ul>
+ * The pages are parsed in the setup, the measured time is only the time of the queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XPathQueryBenchmark {
+
+    private static final String STAGES_QUERY = "//div[@id='bh_hron']//div[@class='bh_etap_date']"
+            + "/span[contains(@class, 'mob_not')]//ancestor::div[contains(@class, 'root-stage bh_item')]";
+
+    private static final List<String> STAGE_QUERIES = List.of(
+            "//div[@class='bh_etap_date']/span[contains(@class, 'mob_not')]",
+            "//div[@class='ttl']/a"
+    );
+
+    private static final List<String> PAGE_QUERIES = List.of(
+            "//tr[td[node()='Тематический блок законопроектов']]/td[2]",
+            "//span[@id='oz_name']",
+            "//tr[.//span[contains(text()[1], 'Профильный комитет')]]/td[2]",
+            "//tr[.//span[contains(text()[1], 'Ответственный комитет')]]/td[2]",
+            "//tr[.//span[contains(text()[1], 'Комитеты-соисполнители')]]/td[2]",
+            "//a[.//div[contains(text()[1], 'Текст внесенного законопроекта')]]",
+            "//a[contains(@href, 'http://publication.pravo.gov.ru/Document/View/')]",
+            "//div[@id=\"bh_histras\"]//a[.//div[@class='doc_wrap']"
+                    + "[contains(text()[1], 'Таблица поправок, рекомендуемых к принятию')]]",
+            "//div[@id=\"bh_votes\"]",
+            "//div[@id=\"bh_tab_content\"]"
+    );
+
+    @Param({"1000396-6", "115864-8", "137677-8", "204628-7", "49153-6", "95041740-1"})
+    private String billId;
+
+    private Document document;
+
+    @Setup
+    public void setup() throws IOException {
+        String page = ResourceLoader.getResourceAsString("/russia/test_pages/" + billId + "_page_source.html");
+        document = XmlUtils.parseXml(page);
+    }
+
+    @Benchmark
+    public void selectXpath(Blackhole blackhole) {
+        runQueries(Element::selectXpath, blackhole);
+    }
+
+    @Benchmark
+    public void xmlUtilsFind(Blackhole blackhole) {
+        runQueries(XmlUtils::find, blackhole);
+    }
+
+    @Benchmark
+    public void xPathDocument(Blackhole blackhole) {
+        XPathDocument xPathDocument = new XPathDocument(document);
+        runQueries(xPathDocument::find, blackhole);
+    }
+
+    private void runQueries(BiFunction<Element, String, Elements> find, Blackhole blackhole) {
+        for (String query : PAGE_QUERIES) {
+            blackhole.consume(find.apply(document, query));
+        }
+
+        for (Element stage : find.apply(document, STAGES_QUERY)) {
+            for (String query : STAGE_QUERIES) {
+                blackhole.consume(find.apply(stage, query));
+            }
+        }
+    }
+
+}
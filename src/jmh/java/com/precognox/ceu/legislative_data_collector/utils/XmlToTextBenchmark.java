@@ -0,0 +1,57 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XmlUtils#xmlToText} with the previous regex replacements ({@link XmlToTextReference}, from the tests) and
+ * with {@link XmlTextConverter}, on the stored pages (a few hundred kB to 3 MB).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlToTextBenchmark {
+
+    @Param({
+            "/russia/test_pages/1000396-6_page_source.html",
+            "/sweden/law_2009_400.html",
+            "/sweden/bill_2014_15_81_suggestions_page.html",
+            "/sweden/amendment_2022_23_2403.html",
+            "/brazil/test_pages/final_votes_session.html"
+    })
+    private String page;
+
+    private String xml;
+
+    @Setup
+    public void setup() throws IOException {
+        xml = ResourceLoader.getResourceAsString(page);
+    }
+
+    @Benchmark
+    public String regex() {
+        return XmlToTextReference.xmlToText(xml);
+    }
+
+    @Benchmark
+    public String converter() {
+        return XmlUtils.xmlToText(xml);
+    }
+
+}
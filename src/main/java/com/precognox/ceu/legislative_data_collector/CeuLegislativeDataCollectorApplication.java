@@ -2,10 +2,15 @@ package com.precognox.ceu.legislative_data_collector;
 
 import com.precognox.ceu.legislative_data_collector.common.DatasetExporter;
 import com.precognox.ceu.legislative_data_collector.common.DatasetReporter;
+import com.precognox.ceu.legislative_data_collector.common.DatasetStatistics;
+import com.precognox.ceu.legislative_data_collector.common.SequentialIdMapper;
+import com.precognox.ceu.legislative_data_collector.common.filestore.DownloadedFileMigrator;
+import com.precognox.ceu.legislative_data_collector.common.pagecontent.PageContentStore;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -24,13 +29,30 @@ public class CeuLegislativeDataCollectorApplication implements CommandLineRunner
     private final BeanFactory beanFactory;
     private final DatasetReporter reporter;
     private final DatasetExporter datasetExporter;
+    private final PageContentStore pageContentStore;
+    private final DownloadedFileMigrator downloadedFileMigrator;
+    private final SequentialIdMapper sequentialIdMapper;
+    private final DatasetStatistics datasetStatistics;
+    private final boolean refreshStatisticsAfterRun;
 
     @Autowired
     public CeuLegislativeDataCollectorApplication(
-            BeanFactory beanFactory, DatasetReporter reporter, DatasetExporter datasetExporter) {
+            BeanFactory beanFactory,
+            DatasetReporter reporter,
+            DatasetExporter datasetExporter,
+            PageContentStore pageContentStore,
+            DownloadedFileMigrator downloadedFileMigrator,
+            SequentialIdMapper sequentialIdMapper,
+            DatasetStatistics datasetStatistics,
+            @Value("${statistics.refresh-after-run:true}") boolean refreshStatisticsAfterRun) {
         this.beanFactory = beanFactory;
         this.reporter = reporter;
         this.datasetExporter = datasetExporter;
+        this.pageContentStore = pageContentStore;
+        this.downloadedFileMigrator = downloadedFileMigrator;
+        this.sequentialIdMapper = sequentialIdMapper;
+        this.datasetStatistics = datasetStatistics;
+        this.refreshStatisticsAfterRun = refreshStatisticsAfterRun;
     }
 
     public static void main(String[] args) {
@@ -45,10 +67,21 @@ public class CeuLegislativeDataCollectorApplication implements CommandLineRunner
         if (country != null) {
             List<String> argList = Arrays.asList(args);
             ScrapingController ctrl = beanFactory.getBean(country.getControllerClass());
+
+            //the stored statistics become stale when the collection starts, also if it fails
+            datasetStatistics.invalidate(country);
             ctrl.runScraping(argList);
 
+            if (refreshStatisticsAfterRun || argList.contains("refresh-statistics")) datasetStatistics.refresh(country);
+
             if (argList.contains("report")) reporter.printReport();
             if (argList.contains("export")) datasetExporter.export();
+            if (argList.contains("compact-page-sources")) pageContentStore.compactInlineSources(country);
+            if (argList.contains("collect-page-source-garbage")) pageContentStore.collectGarbage();
+            if (argList.contains("migrate-downloaded-files")) downloadedFileMigrator.migrateInlineContents();
+            if (argList.contains("remap-record-ids")) sequentialIdMapper.reassignIds(country);
+            if (argList.contains("remap-record-ids-dry-run")) sequentialIdMapper.reassignIds(country, true);
+            if (argList.contains("remap-record-ids-compare")) sequentialIdMapper.compareWithPerRecordRemapping(country);
         } else {
             System.err.println(
                     "No or wrong value specified in the COUNTRY env variable - must be a country code. Current value: " + cCode
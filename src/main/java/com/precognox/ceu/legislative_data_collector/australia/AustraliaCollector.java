@@ -3,6 +3,8 @@ package com.precognox.ceu.legislative_data_collector.australia;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.precognox.ceu.legislative_data_collector.australia.json.DataJson;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndex;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndexLoader;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
@@ -22,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import static com.precognox.ceu.legislative_data_collector.utils.BaseUtils.readParam;
 
@@ -34,8 +37,8 @@ public class AustraliaCollector {
     public static final String CONFIG_RESULT_PAGE_TYPE = "config_result";
 
     public static final int CONNECTION_TIMEOUT = Long.valueOf(Duration.ofMinutes(20l).toMillis()).intValue();
-    public static final String PAGE_END_REGEX = "\"page_end\":[ ]*([\\d]+)[^\\d]";
-    public static final String PAGE_START_REGEX = "\"page_start\":[ ]*([\\d]+)[^\\d]";
+    public static final Pattern PAGE_END_REGEX = Pattern.compile("\"page_end\":[ ]*([\\d]+)[^\\d]");
+    public static final Pattern PAGE_START_REGEX = Pattern.compile("\"page_start\":[ ]*([\\d]+)[^\\d]");
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     public static final String CONFIG_DIR = System.getProperty("user.dir", "") + "/configs/australia/";
@@ -52,6 +55,9 @@ public class AustraliaCollector {
     @Autowired
     private PageSourceRepository pageSourceRepository;
 
+    @Autowired
+    private UrlSeenIndexLoader urlSeenIndexLoader;
+
     private synchronized void save(LegislativeDataRecord data) {
         keyGeneratingRepository.save(data);
     }
@@ -74,16 +80,21 @@ public class AustraliaCollector {
         Optional<Integer> pageEnd = getMaxPageNumber(page);
 
         if (pageEnd.isPresent()) {
+            UrlSeenIndex storedBillPageUrls = urlSeenIndexLoader.loadBillPageUrls(Country.AUSTRALIA);
+
             for (int currentPage = 1; currentPage <= pageEnd.get(); currentPage++) {
-                String newConfigString = configString.replaceFirst(PAGE_END_REGEX, "\"page_end\": " + currentPage)
-                        .replaceFirst(PAGE_START_REGEX, "\"page_start\": " + currentPage);
+                String newConfigString = PAGE_END_REGEX.matcher(configString)
+                        .replaceFirst("\"page_end\": " + currentPage);
+                newConfigString = PAGE_START_REGEX.matcher(newConfigString)
+                        .replaceFirst("\"page_start\": " + currentPage);
                 DataJson[] results = readConfigResult(newConfigString);
                 log.info("Current page (" + currentPage + ") results size: " + results.length);
 
                 for (DataJson dataJson : results) {
                     LegislativeDataRecord dataRecord = AustraliaParser.toDataRecord(dataJson);
-                    if (!keyGeneratingRepository.existsByBillPageUrl(dataRecord.getBillPageUrl())) {
+                    if (!storedBillPageUrls.contains(dataRecord.getBillPageUrl())) {
                         save(dataRecord);
+                        storedBillPageUrls.add(dataRecord.getBillPageUrl());
                     } else {
                         log.info("Record already exists: " + dataRecord.getBillId());
                     }
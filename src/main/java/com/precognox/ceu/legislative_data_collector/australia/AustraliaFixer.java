@@ -9,6 +9,7 @@ import com.precognox.ceu.legislative_data_collector.entities.Originator;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.entities.australia.AuCountrySpecificVariables;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import com.precognox.ceu.legislative_data_collector.utils.DocumentDownloader;
 import com.precognox.ceu.legislative_data_collector.utils.PdfParser;
 import com.precognox.ceu.legislative_data_collector.utils.TextUtils;
@@ -46,6 +47,8 @@ import java.util.stream.Stream;
 @Service
 public class AustraliaFixer {
 
+    private static final Pattern MULTIPLE_SPACES_REGEX = Pattern.compile(" {2,}");
+
     private final PrimaryKeyGeneratingRepository recordRepository;
     private final PageSourceLoader pageSourceLoader;
     private final PdfParser pdfParser;
@@ -297,7 +300,7 @@ public class AustraliaFixer {
         String date = matchResult.group(1);
         String name = matchResult.group(2);
 
-        LocalDate d = LocalDate.parse(date, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        LocalDate d = LocalDate.parse(date, DateUtils.getFormatter("dd/MM/yyyy"));
 
         return new Committee(name, null, d);
     }
@@ -359,11 +362,10 @@ public class AustraliaFixer {
 
                                         if (endIndex > 0) {
                                             String origMention = part.substring(0, endIndex + 1);
-                                            String normalized = origMention
+                                            String normalized = MULTIPLE_SPACES_REGEX.matcher(origMention
                                                     .replace("Honourable", "Hon")
                                                     .replace("Hon.", "Hon")
-                                                    .replace("\n", " ")
-                                                    .replaceAll(" {2,}", " ");
+                                                    .replace("\n", " ")).replaceAll(" ");
 
                                             Optional<Originator> originator = parseOriginator(normalized);
 
@@ -396,12 +398,12 @@ public class AustraliaFixer {
                     String name = nameMatch.group()
                             .replace("the", "").replace("Hon", "").replace(",", "").replace(")", "").trim();
 
-                    String affil = normalized
-                            .replace(nameMatch.group(), "")
-                            .replace("the", "")
-                            .replace("Senator", "")
-                            .replace("Circulated by authority of", "")
-                            .replaceAll(" {2,}", " ")
+                    String affil = MULTIPLE_SPACES_REGEX.matcher(normalized
+                                    .replace(nameMatch.group(), "")
+                                    .replace("the", "")
+                                    .replace("Senator", "")
+                                    .replace("Circulated by authority of", ""))
+                            .replaceAll(" ")
                             .replace("(", "")
                             .replace(")", "")
                             .trim();
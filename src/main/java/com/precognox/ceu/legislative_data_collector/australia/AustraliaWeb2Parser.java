@@ -9,6 +9,7 @@ import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepos
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
 import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import com.precognox.ceu.legislative_data_collector.utils.DocumentDownloader;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import kong.unirest.json.JSONObject;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
@@ -19,8 +20,6 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -79,19 +78,17 @@ public class AustraliaWeb2Parser {
             driver = new ChromeDriver();
             wait = new WebDriverWait(driver, Duration.ofSeconds(20));
 
-            int currentBatch = 0;
             int batchSize = 5;
-            int maxBatch;
-
-            do {
-                Page<LegislativeDataRecord> records = keyGeneratingRepository.findUnprocessLawsForAu(Country.AUSTRALIA,
-                        PageRequest.of(currentBatch, batchSize));
-
+            KeysetDbBrowser<LegislativeDataRecord> unprocessedLaws = new KeysetDbBrowser<>(batchSize,
+                    LegislativeDataRecord::getId,
+                    (afterId, pageable) -> keyGeneratingRepository.findUnprocessedLawsAfterId(
+                            Country.AUSTRALIA, afterId, pageable
+                    ));
+            List<LegislativeDataRecord> records;
+
+            while (!(records = unprocessedLaws.poll()).isEmpty()) {
                 records.forEach(this::parsePage);
-
-                currentBatch++;
-                maxBatch = records.getTotalPages();
-            } while (currentBatch <= maxBatch);
+            }
         } finally {
             driver.quit();
         }
@@ -7,6 +7,7 @@ import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataReco
 import com.precognox.ceu.legislative_data_collector.entities.Originator;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import com.precognox.ceu.legislative_data_collector.utils.XPathDocument;
 import lombok.extern.slf4j.Slf4j;
 import one.util.streamex.StreamEx;
 import org.jetbrains.annotations.NotNull;
@@ -80,7 +81,7 @@ public class CamaraPageParser {
     }
 
     public void parseCamaraPage(LegislativeDataRecord record, PageSource source) {
-        Document parsed = Jsoup.parse(source.getRawSource());
+        XPathDocument parsed = new XPathDocument(Jsoup.parse(source.getRawSource()));
 
         if (record.getOriginators().isEmpty()) {
             parseOriginator(parsed).ifPresent(record.getOriginators()::add);
@@ -100,11 +101,11 @@ public class CamaraPageParser {
         parseAmendmentCountsAndLinks(parsed, record);
     }
 
-    private Optional<Originator> parseOriginator(Document parsed) {
+    private Optional<Originator> parseOriginator(XPathDocument parsed) {
         String authorXpath =
                 "//strong[text()='Autor']/following-sibling::span[1] | //strong[text()='Autor']/following-sibling::a[1]";
 
-        Elements authorElements = parsed.body().selectXpath(authorXpath);
+        Elements authorElements = parsed.find(authorXpath);
 
         return authorElements.stream()
                 .map(Element::text)
@@ -132,10 +133,9 @@ public class CamaraPageParser {
         return new Originator(parts[0], parts[1]);
     }
 
-    private void parseProcedureType(LegislativeDataRecord record, Document parsed) {
+    private void parseProcedureType(LegislativeDataRecord record, XPathDocument parsed) {
         //parse procedure type
-        parsed.body()
-                .selectXpath("//strong[text()='Regime de Tramitação']/..")
+        parsed.find("//strong[text()='Regime de Tramitação']/..")
                 .stream()
                 .map(Element::text)
                 .map(String::strip)
@@ -154,19 +154,18 @@ public class CamaraPageParser {
                 });
     }
 
-    private Optional<LegislativeDataRecord.BillStatus> parseBillStatus(Document parsedPage) {
+    private Optional<LegislativeDataRecord.BillStatus> parseBillStatus(XPathDocument parsedPage) {
         String statusSelector =
                 "//strong[text()[contains(.,'Situação')]]/following-sibling::*[self::span or self::a][1]";
 
-        return parsedPage.body()
-                .selectXpath(statusSelector)
+        return parsedPage.find(statusSelector)
                 .stream()
                 .map(Element::text)
                 .findFirst()
                 .map(this::parseStatus);
     }
 
-    private void parseModifiedLaws(LegislativeDataRecord record, Document parsed) {
+    private void parseModifiedLaws(LegislativeDataRecord record, XPathDocument parsed) {
         StringBuilder summaryText = new StringBuilder();
 
         //collect text from the Summary and Additional information sections
@@ -174,8 +173,7 @@ public class CamaraPageParser {
                 + " | //strong[text()='Dados Complementares:']/following-sibling::span[1]"
                 + " | //strong[text()='Nova Ementa da Redação']/following-sibling::span[1]";
 
-        parsed.body()
-                .selectXpath(summaryXpath)
+        parsed.find(summaryXpath)
                 .stream()
                 .map(Element::text)
                 .forEach(summaryText::append);
@@ -201,7 +199,7 @@ public class CamaraPageParser {
         }
     }
 
-    private void parseCommittees(LegislativeDataRecord record, Document parsed) {
+    private void parseCommittees(LegislativeDataRecord record, XPathDocument parsed) {
         record.setCommittees(parseCommittees(parsed));
 
         //add more committees - keeps the earliest committee by committee date if there are duplicates
@@ -212,11 +210,11 @@ public class CamaraPageParser {
         record.setCommitteeCount(record.getCommittees().size());
     }
 
-    private List<Committee> parseCommittees(Document parsedPage) {
-        Elements committeesTable = parsedPage.body().selectXpath("//div[@id='pareceresValidos']/table");
+    private List<Committee> parseCommittees(XPathDocument parsedPage) {
+        Elements committeesTable = parsedPage.find("//div[@id='pareceresValidos']/table");
 
         if (!committeesTable.isEmpty()) {
-            Elements cells = committeesTable.get(0).selectXpath("//td");
+            Elements cells = parsedPage.find(committeesTable.get(0), "//td");
 
             List<Committee> comms = cells.stream()
                     .map(Element::text)
@@ -233,11 +231,10 @@ public class CamaraPageParser {
     }
 
     @NotNull
-    private Stream<Committee> getTramitacaoCommittees(Document parsed) {
-        return parsed.body()
-                .selectXpath("//div[@id='tramitacoes']/table/tbody/tr")
+    private Stream<Committee> getTramitacaoCommittees(XPathDocument parsed) {
+        return parsed.find("//div[@id='tramitacoes']/table/tbody/tr")
                 .stream()
-                .map(this::processTableRow)
+                .map(row -> processTableRow(parsed, row))
                 .filter(Optional::isPresent)
                 .map(Optional::get);
     }
@@ -245,38 +242,38 @@ public class CamaraPageParser {
     /**
      * If the row contains a mention of a committee, return a new Committee object. Otherwise, return an empty Optional.
      *
+     * @param page The bill page.
      * @param row One table row.
      * @return Committee object or empty Optional.
      */
-    private Optional<Committee> processTableRow(Element row) {
+    private Optional<Committee> processTableRow(XPathDocument page, Element row) {
         String date = row.select("td").get(0).text().strip();
 
-        return Optional.ofNullable(row.selectXpath("//td[2]").first())
-                .filter(this::isCommitteeCell)
-                .map(td -> td.selectXpath("//p//strong"))
+        return page.findFirst(row, "//td[2]")
+                .filter(cell -> isCommitteeCell(page, cell))
+                .map(td -> page.find(td, "//p//strong"))
                 .map(Elements::text)
                 .map(String::strip)
                 .map(commName -> new Committee(commName, null, Utils.parseDate(date)));
     }
 
-    private boolean isCommitteeCell(Element cell) {
+    private boolean isCommitteeCell(XPathDocument page, Element cell) {
         //check for Comissão text in header first
-        Element header = cell.selectXpath("//p//strong").first();
+        Element header = page.find(cell, "//p//strong").first();
 
         if (header != null && header.text().contains("Comissão")) {
             return true;
         }
 
         //check for Recebimento text under the header
-        Element descriptionText = cell.selectXpath("//ul").first();
+        Element descriptionText = page.find(cell, "//ul").first();
 
         return descriptionText != null && descriptionText.text().contains("Recebimento");
     }
 
     @NotNull
-    private Optional<String> parseBillText(Document parsed) {
-        return parsed.body()
-                .selectXpath("//a[text()[contains(.,'Inteiro teor')]]")
+    private Optional<String> parseBillText(XPathDocument parsed) {
+        return parsed.find("//a[text()[contains(.,'Inteiro teor')]]")
                 .stream()
                 .findFirst()
                 .map(element -> element.attr("href"))
@@ -320,9 +317,9 @@ public class CamaraPageParser {
         );
     }
 
-    private Optional<Integer> parseCommitteeHearingCount(Document page) {
+    private Optional<Integer> parseCommitteeHearingCount(XPathDocument page) {
         //example page: https://www.camara.leg.br/proposicoesWeb/fichadetramitacao?idProposicao=348783, find "mais sessões e reuniões" link, then get total count from page header
-        Element hearingsLink = page.body().selectXpath("//a[text()[contains(.,'mais sessões e reuniões')]]").first();
+        Element hearingsLink = page.find("//a[text()[contains(.,'mais sessões e reuniões')]]").first();
 
         if (hearingsLink != null) {
             String hearingsPageUrl = toAbsolute(hearingsLink.attr("href"));
@@ -373,22 +370,21 @@ public class CamaraPageParser {
         return hearingsPageLink;
     }
 
-    private Optional<String> parseFinalVotesLink(Document page, String pageUrl) {
+    private Optional<String> parseFinalVotesLink(XPathDocument page, String pageUrl) {
         //example: https://www.camara.leg.br/proposicoesWeb/fichadetramitacao?idProposicao=2323391
         //other example (no votacao link - must click through to anoter page): https://www.camara.leg.br/proposicoesWeb/fichadetramitacao?idProposicao=557678 - final votes link should be stored the same way?
 
         //first option - last Votação link
         //or use "(//div[@id='tramitacoes']//a[text()='Votação'])[last()]" if it doesn't work
         Elements voteLinks =
-                page.body().selectXpath("//div[@id='tramitacoes']//a[text()[contains(.,'Votação')]][last()]");
+                page.find("//div[@id='tramitacoes']//a[text()[contains(.,'Votação')]][last()]");
 
         //should be just one result
         if (voteLinks.size() == 1) {
             return Optional.of(voteLinks.get(0).attr("href"));
         } else {
             //second option - last Sessão Deliberativa link
-            voteLinks = page.body()
-                    .selectXpath("//div[@id='tramitacoes']//a[text()[contains(.,'Sessão Deliberativa')]][last()]");
+            voteLinks = page.find("//div[@id='tramitacoes']//a[text()[contains(.,'Sessão Deliberativa')]][last()]");
 
             if (!voteLinks.isEmpty()) {
                 //take the last link
@@ -399,13 +395,12 @@ public class CamaraPageParser {
         return Optional.empty();
     }
 
-    private void parseAmendmentCountsAndLinks(Document page, LegislativeDataRecord record) {
+    private void parseAmendmentCountsAndLinks(XPathDocument page, LegislativeDataRecord record) {
         //parse count and links to amendment pages
         String selector = "//div[@id='documentosEanexos']//a[text()[contains(.,'Emendas ao Projeto')]]"
                 + " | //div[@id='documentosEanexos']//a[text()[contains(.,'Emendas ao Substitutivo')]]";
 
-        List<Element> amendmentLinks = page.body()
-                .selectXpath(selector)
+        List<Element> amendmentLinks = page.find(selector)
                 .stream()
                 .toList();
 
@@ -22,7 +22,7 @@ import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static com.precognox.ceu.legislative_data_collector.brazil_new.Utils.DATE_REGEX;
+import static com.precognox.ceu.legislative_data_collector.brazil_new.Utils.DATE_PATTERN;
 import static com.precognox.ceu.legislative_data_collector.brazil_new.Utils.toAbsolute;
 
 /**
@@ -153,7 +153,7 @@ public class LexMlPageParser {
 
         dataTextElements.stream()
                 .map(Element::text)
-                .filter(text -> text.matches(DATE_REGEX))
+                .filter(text -> DATE_PATTERN.matcher(text).matches())
                 .map(Utils::parseDate)
                 .map(LocalDate::from)
                 .findFirst()
@@ -108,7 +108,7 @@ public class SenadoPageParser {
             parsedPage.selectXpath("//div[@id='tramitacao']//div[@data-local='PLENARIO'][last()]//dt")
                     .stream()
                     .map(Element::text)
-                    .filter(text -> text.matches("\\d{2}/\\d{2}/\\d{4}"))
+                    .filter(text -> Utils.DATE_PATTERN.matcher(text).matches())
                     .map(Utils::parseDate)
                     .map(LocalDate::from)
                     .findFirst()
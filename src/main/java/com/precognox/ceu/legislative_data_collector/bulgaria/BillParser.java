@@ -8,6 +8,7 @@ import com.precognox.ceu.legislative_data_collector.entities.*;
 import com.precognox.ceu.legislative_data_collector.entities.bg.BgCountrySpecificVariables;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import com.precognox.ceu.legislative_data_collector.utils.JsonUtils;
 import com.precognox.ceu.legislative_data_collector.utils.TextUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -32,7 +33,6 @@ import javax.transaction.Transactional;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -83,6 +83,7 @@ public class BillParser {
             Pattern.compile("Законът влиза в сила от (" + DATE_EXPRESSION_REGEX + ")");
 
     private static final String DATE_ENTERING_FORCE_SAME_DAY_PHRASE = "Законът влиза в сила от деня на обнародването";
+    private static final Pattern WHITESPACE_REGEX = Pattern.compile("\\s+");
 
     private static final String UNIFIED_LAW_PATTERN = "Обединен в законопроект";
     private static final String REJECTED_STATUS_LABEL = "отхвърлен";
@@ -204,7 +205,7 @@ public class BillParser {
 
         //format is 2018-03-19 00:00:00
         String cleanDateStr = dateStr.replace("00:00:00", "").trim();
-        return LocalDate.from(DateTimeFormatter.ofPattern("yyyy-MM-dd").parse(cleanDateStr));
+        return LocalDate.from(DateUtils.getFormatter("yyyy-MM-dd").parse(cleanDateStr));
     }
 
     private void parseBillStatus(BillJson parsedApiResponse, LegislativeDataRecord record) {
@@ -556,7 +557,7 @@ public class BillParser {
             Row currentRow = sheet.getRow(rowIndex);
 
             if (currentRow != null && currentRow.getLastCellNum() > 0) {
-                String firstCellText = currentRow.getCell(0).getStringCellValue().replaceAll("\\s+", " ");
+                String firstCellText = WHITESPACE_REGEX.matcher(currentRow.getCell(0).getStringCellValue()).replaceAll(" ");
 
                 if (firstCellText.contains("второ гласувание") || firstCellText.contains("второ гласуване")) {
                     int fuzzyMatchRatio = FuzzySearch.ratio(firstCellText, record.getBillTitle());
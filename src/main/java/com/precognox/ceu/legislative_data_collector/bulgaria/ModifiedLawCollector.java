@@ -1,5 +1,6 @@
 package com.precognox.ceu.legislative_data_collector.bulgaria;
 
+import com.precognox.ceu.legislative_data_collector.common.LegalReferenceExtractor;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
@@ -12,12 +13,8 @@ import org.springframework.stereotype.Service;
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Slf4j
 @Service
@@ -31,6 +28,11 @@ public class ModifiedLawCollector {
 
     private static final String GAZETTE_NUMBER_PATTERN = "ДВ, бр. (\\d{1,3}) от (\\d\\d\\d\\d) г.";
 
+    /**
+     * Modified law title + gazette number after each of the modifying law patterns.
+     */
+    private static final LegalReferenceExtractor MODIFIED_LAW_EXTRACTOR = buildModifiedLawExtractor();
+
     private static final String MODIFYING_LAWS_QUERY = "SELECT r FROM LegislativeDataRecord r" +
             " WHERE r.country = :country" +
             " AND r.billStatus = :status" +
@@ -43,6 +45,21 @@ public class ModifiedLawCollector {
             " AND r.bgSpecificVariables.gazetteNumber = :gNum" +
             " AND r.billStatus = :status";
 
+    private static LegalReferenceExtractor buildModifiedLawExtractor() {
+        LegalReferenceExtractor.Builder builder = LegalReferenceExtractor.builder();
+
+        Constants.MODIFYING_LAW_PATTERNS.forEach(pattern -> builder.add(
+                new LegalReferenceExtractor.ReferencePattern(pattern + "(.+?)" + GAZETTE_NUMBER_PATTERN)
+                        .startsWith(pattern)
+                        .requires("ДВ, бр")
+                        .title(1)
+                        .gazetteIssue(2)
+                        .year(3)
+        ));
+
+        return builder.build();
+    }
+
     @Transactional
     public void collectModifiedLaws() {
         log.info("Collecting modified laws...");
@@ -69,22 +86,18 @@ public class ModifiedLawCollector {
         //  url: https://www.parliament.bg/bg/desision/ID/66472
         String textToCheck = StringUtils.truncate(currentBill.getLawText(), 1000);
 
-        Optional<MatchResult> affectedLawExpr = Constants.MODIFYING_LAW_PATTERNS
-                .stream()
-                .map(pattern -> pattern + "(.+?)" + GAZETTE_NUMBER_PATTERN)
-                .map(Pattern::compile)
-                .map(pattern -> pattern.matcher(textToCheck))
-                .flatMap(Matcher::results)
-                .findFirst();
+        //the first match of the first matching pattern
+        Optional<LegalReferenceExtractor.LegalReference> affectedLawExpr =
+                MODIFIED_LAW_EXTRACTOR.find(textToCheck).stream().findFirst();
 
         if (affectedLawExpr.isPresent()) {
-            MatchResult matchResult = affectedLawExpr.get();
-            String modifiedLawTitle = matchResult.group(1).contains("(")
-                    ? matchResult.group(1).substring(0, matchResult.group(1).indexOf("(")).trim()
-                    : matchResult.group(1);
+            LegalReferenceExtractor.LegalReference reference = affectedLawExpr.get();
+            String modifiedLawTitle = reference.title().contains("(")
+                    ? reference.title().substring(0, reference.title().indexOf("(")).trim()
+                    : reference.title();
 
-            String gazetteNum = matchResult.group(2);
-            String gazetteYear = matchResult.group(3);
+            String gazetteNum = reference.gazetteIssue();
+            String gazetteYear = reference.year();
 
             //search in DB for matching title and gazette number +filter for passed laws
             List<LegislativeDataRecord> billsByGazetteNum =
@@ -96,36 +109,42 @@ public class ModifiedLawCollector {
 
             //calculate fuzzy match score...
             if (!billsByGazetteNum.isEmpty()) {
-                Optional<LegislativeDataRecord> mostMatching = billsByGazetteNum.stream()
-                        .max(Comparator.comparing(ldr -> FuzzySearch.ratio(ldr.getBillTitle(), modifiedLawTitle)));
+                //the ratio is calculated once per candidate, the first one wins on ties
+                LegislativeDataRecord modifiedBill = null;
+                int ratio = -1;
 
-                mostMatching.ifPresent(modifiedBill -> {
-                    int ratio = FuzzySearch.ratio(mostMatching.get().getBillTitle(), modifiedLawTitle);
+                for (LegislativeDataRecord candidate : billsByGazetteNum) {
+                    int candidateRatio = FuzzySearch.ratio(candidate.getBillTitle(), modifiedLawTitle);
 
-                    if (ratio > 50) {
-                        currentBill.getModifiedLaws().add(modifiedBill.getBillId());
-                        currentBill.setModifiedLawsCount(currentBill.getModifiedLaws().size());
+                    if (candidateRatio > ratio) {
+                        modifiedBill = candidate;
+                        ratio = candidateRatio;
+                    }
+                }
 
-                        int currentCount = modifiedBill.getAffectingLawsCount() != null
-                                ? modifiedBill.getAffectingLawsCount()
-                                : 0;
+                if (ratio > 50) {
+                    currentBill.getModifiedLaws().add(modifiedBill.getBillId());
+                    currentBill.setModifiedLawsCount(currentBill.getModifiedLaws().size());
 
-                        modifiedBill.setAffectingLawsCount(currentCount + 1);
+                    int currentCount = modifiedBill.getAffectingLawsCount() != null
+                            ? modifiedBill.getAffectingLawsCount()
+                            : 0;
 
-                        if (modifiedBill.getAffectingLawsFirstDate() == null) {
-                            modifiedBill.setAffectingLawsFirstDate(currentBill.getDatePassing());
-                        } else {
-                            LocalDate currentAffLawsFirstDate = modifiedBill.getAffectingLawsFirstDate();
+                    modifiedBill.setAffectingLawsCount(currentCount + 1);
 
-                            if (currentBill.getDatePassing() != null
-                                    && currentAffLawsFirstDate.isAfter(currentBill.getDatePassing())) {
-                                modifiedBill.setAffectingLawsFirstDate(currentBill.getDatePassing());
-                            }
-                        }
+                    if (modifiedBill.getAffectingLawsFirstDate() == null) {
+                        modifiedBill.setAffectingLawsFirstDate(currentBill.getDatePassing());
+                    } else {
+                        LocalDate currentAffLawsFirstDate = modifiedBill.getAffectingLawsFirstDate();
 
-                        log.info("Found modified law for bill: {}", currentBill.getBillId());
+                        if (currentBill.getDatePassing() != null
+                                && currentAffLawsFirstDate.isAfter(currentBill.getDatePassing())) {
+                            modifiedBill.setAffectingLawsFirstDate(currentBill.getDatePassing());
+                        }
                     }
-                });
+
+                    log.info("Found modified law for bill: {}", currentBill.getBillId());
+                }
             }
         }
     }
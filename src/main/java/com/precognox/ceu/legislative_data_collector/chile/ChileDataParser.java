@@ -11,6 +11,7 @@ import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepos
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
 import com.precognox.ceu.legislative_data_collector.utils.ChileDuplicateLawIdHandler;
 import com.precognox.ceu.legislative_data_collector.utils.ReadDatabaseService;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -72,15 +73,18 @@ public class ChileDataParser {
     }
 
     private void runDataParsingForPageType(String pageType, int builderCode) {
-        Pageable paging = PageRequest.of(0, PROCESSING_PAGE_SIZE, Sort.by("id").ascending());
-        Page<PageSource> sources;
-
-        do {
-            sources = pageRepository.findByPageTypeAndCountry(pageType, Country.CHILE, paging);
-            log.info("Processing {}-{} pages out of {}", paging.getPageNumber() * PROCESSING_PAGE_SIZE, (paging.getPageNumber() + 1) * PROCESSING_PAGE_SIZE, sources.getTotalElements());
-            processPageSourceBatch(sources.getContent(), builderCode);
-            paging = sources.nextPageable();
-        } while (sources.hasNext());
+        KeysetDbBrowser<PageSource> storedSources = new KeysetDbBrowser<>(PROCESSING_PAGE_SIZE, PageSource::getId,
+                (afterId, pageable) -> pageRepository.findPageByPageTypeAfterId(
+                        Country.CHILE, pageType, afterId, pageable
+                ));
+        List<PageSource> sources;
+        int processed = 0;
+
+        while (!(sources = storedSources.poll()).isEmpty()) {
+            log.info("Processing {}-{} pages", processed, processed + sources.size());
+            processPageSourceBatch(sources, builderCode);
+            processed += sources.size();
+        }
     }
 
     private void processPageSourceBatch(List<PageSource> sources, int builderType) {
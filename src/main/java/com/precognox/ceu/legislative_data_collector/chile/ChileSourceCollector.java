@@ -1,6 +1,8 @@
 package com.precognox.ceu.legislative_data_collector.chile;
 
 import com.jayway.jsonpath.DocumentContext;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndex;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndexLoader;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.exceptions.DataCollectionException;
@@ -71,10 +73,15 @@ public class ChileSourceCollector {
     private final static Charset CHILEAN_CHAR_SET = Charset.forName("Cp1252");
     private final static int PROCESSING_BATCH_SIZE = 80;
     private PageSourceRepository pageRepository;
+    private final UrlSeenIndexLoader urlSeenIndexLoader;
+
+    //the URLs of the stored pages, replaces the existence query for every collected URL
+    private UrlSeenIndex storedPageUrls;
 
     @Autowired
-    public ChileSourceCollector(PageSourceRepository pageRepository) {
+    public ChileSourceCollector(PageSourceRepository pageRepository, UrlSeenIndexLoader urlSeenIndexLoader) {
         this.pageRepository = pageRepository;
+        this.urlSeenIndexLoader = urlSeenIndexLoader;
     }
 
     //To refresh the pages they need to be deleted first. Also, the list pages of the bills/laws are saved as well.
@@ -83,10 +90,24 @@ public class ChileSourceCollector {
     //Sometimes with the collection of the modified laws pages the HTTP response is a 200, but it gets some kind of error page and other endpoints from the website return 403 (for about 5 min)
     //Only encountered this problem when I was collecting this single page type, never ran into it while running normal collection. If it occurs RuntimeException will be thrown
     public void collectSources() {
+        storedPageUrls = urlSeenIndexLoader.loadPageUrls(Country.CHILE);
+
         collectLawsListJSONs();
         collectBillListPages();
         collectLawJSONs();
         collectBillPages();
+
+        storedPageUrls.logStatistics();
+    }
+
+    private void savePage(PageSource source) {
+        pageRepository.save(source);
+        storedPageUrls.add(source.getPageUrl());
+    }
+
+    private void savePages(List<PageSource> sources) {
+        pageRepository.saveAll(sources);
+        sources.forEach(source -> storedPageUrls.add(source.getPageUrl()));
     }
 
     private void collectLawsListJSONs() {
@@ -98,7 +119,7 @@ public class ChileSourceCollector {
         do {
             String url = getLawListAPIString(searchString, pageIndex, pageSize);
 
-            if (!pageRepository.existsByPageUrl(url)) {
+            if (!storedPageUrls.contains(url)) {
                 String response;
 
                 try {
@@ -115,7 +136,7 @@ public class ChileSourceCollector {
 
                 if (responseLength > 0) {
                     PageSource source = createPageSource(lawListArray.toString(), url, JSON_TYPE_LAWS_LIST);
-                    pageRepository.save(source);
+                    savePage(source);
                 }
             } else {
                 responseLength = 1;
@@ -169,10 +190,10 @@ public class ChileSourceCollector {
         do {
             log.info("Collecting list of bills from {}", start.getYear());
             String url = String.format(BILL_LIST_API, createBillListDate(start), createBillListDate(end));
-            if (!pageRepository.existsByPageUrl(url)) {
+            if (!storedPageUrls.contains(url)) {
                 Optional<PageSource> source = getPageSourceFromAPI(url, PAGE_TYPE_BILL_LIST);
                 if (source.isPresent()) {
-                    pageRepository.save(source.get());
+                    savePage(source.get());
                 } else {
                     throw new RuntimeException("Bills list page not responded as expected. Scraping aborted! See exception in log!");
                 }
@@ -234,7 +255,7 @@ public class ChileSourceCollector {
                     "Collecting originators list for law from {}"
             );
 
-            pageRepository.saveAll(originatorListPages);
+            savePages(originatorListPages);
 
             Stream<String> lawOriginatorPageIds = originatorListPages
                     .stream()
@@ -250,7 +271,7 @@ public class ChileSourceCollector {
     }
 
     private void createAndSavePageSourceFromURLWithAPI(Stream<String> ids, String APIbase, String type, String infoMessage) {
-        pageRepository.saveAll(createPageSourceFromURLWithAPI(ids, APIbase, type, infoMessage));
+        savePages(createPageSourceFromURLWithAPI(ids, APIbase, type, infoMessage));
     }
 
     private List<PageSource> createPageSourceFromURLWithAPI(
@@ -258,7 +279,7 @@ public class ChileSourceCollector {
         Optional<String> infoMessageOpt = Optional.ofNullable(infoMessage);
 
         return ids.map(id -> String.format(APIbase, id))
-                .filter(url -> !pageRepository.existsByPageUrl(url))
+                .filter(url -> !storedPageUrls.contains(url))
                 .peek(url -> infoMessageOpt.ifPresent(message -> log.info(message, url)))
                 .map(url -> getPageSourceFromAPI(url, type))
                 .filter(Optional::isPresent)
@@ -269,7 +290,7 @@ public class ChileSourceCollector {
     private void collectModifiedLawInformation(List<String> ids) {
         List<PageSource> modifiedListSources = ids.stream()
                 .map(id -> String.format(MODIFIED_LAWS_URL, ITEMS_PER_PAGE_DEFAULT, id))
-                .filter(url -> !pageRepository.existsByPageUrl(url))
+                .filter(url -> !storedPageUrls.contains(url))
                 .peek(url -> log.info("Collecting modified laws information from {}", url))
                 .map(url -> getPageSourceFromAPI(url, JSON_TYPE_MODIFIED_LAWS))
                 .filter(Optional::isPresent)
@@ -279,7 +300,7 @@ public class ChileSourceCollector {
 
         List<PageSource> affectingListSources = ids.stream()
                 .map(id -> String.format(AFFECTING_LAWS_DETAILED_URL, ITEMS_PER_PAGE_DEFAULT, id))
-                .filter(url -> !pageRepository.existsByPageUrl(url))
+                .filter(url -> !storedPageUrls.contains(url))
                 .peek(url -> log.info("Collecting affecting laws information from {}", url))
                 .map(url -> getPageSourceFromAPI(url, JSON_TYPE_AFFECTING_LAWS_DETAILED))
                 .filter(Optional::isPresent)
@@ -302,8 +323,8 @@ public class ChileSourceCollector {
             throw new RuntimeException("Modified/Affecting laws list is missing elements. Check the log to see where the error occured");
         }
 
-        pageRepository.saveAll(affectingListSources);
-        pageRepository.saveAll(modifiedListSources);
+        savePages(affectingListSources);
+        savePages(modifiedListSources);
     }
 
     private boolean isModifiedList(PageSource source) {
@@ -349,7 +370,7 @@ public class ChileSourceCollector {
     private Consumer<List<String>> collectBillSourcePagesTask() {
         return (List<String> billIds) -> {
             List<PageSource> billPages = createPageSourceFromURLWithAPI(billIds.stream(), BILL_PAGE_API, PAGE_TYPE_BILL, "Collecting bill page from {}");
-            pageRepository.saveAll(billPages);
+            savePages(billPages);
 
             List<String> proyIds = billPages
                     .stream()
@@ -365,7 +386,7 @@ public class ChileSourceCollector {
                     .toList();
 
             List<PageSource> legislativeStagePages = createPageSourceFromURLWithAPI(proyIds.stream(), LEGISLATIVE_STAGES_API, PAGE_TYPE_LEGISLATIVE_STAGES, "Collecting legislative stages page from {}");
-            pageRepository.saveAll(legislativeStagePages);
+            savePages(legislativeStagePages);
 
             createAndSavePageSourceFromURLWithAPI(proyIds.stream(), COMMITTEES_API, PAGE_TYPE_COMMITTEES, "Collecting committees page from {}");
 
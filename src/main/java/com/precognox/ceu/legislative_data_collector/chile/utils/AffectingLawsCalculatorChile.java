@@ -127,7 +127,7 @@ public class AffectingLawsCalculatorChile {
                         List<DocumentContext> modJsons = getAffectingJsons(modifiedLawsPage.get());
                         long count = modJsons.stream()
                                 .map(j -> JsonPathUtils.findText(j, "$.NORMA"))
-                                .filter(text -> text.matches(LAW_ID_NUM_REGEX.pattern()))
+                                .filter(text -> LAW_ID_NUM_REGEX.matcher(text).matches())
                                 .distinct()
                                 .count();
 
@@ -14,15 +14,12 @@ import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepos
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
 import com.precognox.ceu.legislative_data_collector.repositories.TextSourceRepository;
 import com.precognox.ceu.legislative_data_collector.utils.ReadDatabaseService;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import com.precognox.ceu.legislative_data_collector.utils.selenium.WebDriverWrapper;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -95,10 +92,14 @@ public class ColombiaDataParser {
             log.error("No vote pages in database!");
         }
 
-        Pageable paging = PageRequest.of(0, PROCESSED_PAGES_SIZE, Sort.by("id").ascending());
-        Page<PageSource> billPages;
-        do {
-            billPages = pageRepository.findUnprocessedBillsColombia(paging, Country.COLOMBIA);
+        KeysetDbBrowser<PageSource> unprocessedPages = new KeysetDbBrowser<>(PROCESSED_PAGES_SIZE, PageSource::getId,
+                (afterId, pageable) -> pageRepository.findUnprocessedBillsColombiaAfterId(
+                        Country.COLOMBIA, afterId, pageable
+                ));
+        List<PageSource> billPages;
+        int processed = 0;
+
+        while (!(billPages = unprocessedPages.poll()).isEmpty()) {
             billPages.forEach(billPage -> {
                 try {
                     processBillPage(billPage, browser);
@@ -107,14 +108,12 @@ public class ColombiaDataParser {
                 }
             });
 
-            log.info("Collection done for {} of {}. Saving pages", (paging.getPageNumber() + 1) * paging.getPageSize(),
-                    billPages.getTotalElements());
+            processed += billPages.size();
+            log.info("Collection done for {} pages. Saving pages", processed);
             OriginatorInformationCollector.savePagesToDatabase(pageRepository);
             GazetteWebpageHandler.savePagesToDatabase(textRepository, fileRepository);
-            paging = billPages.nextPageable();
             log.info("Bill pages processed and saved");
-
-        } while (billPages.hasNext());
+        }
 
         log.info("Dealing with duplicate law numbers - start");
         duplicateLawIdHandler.deleteDuplicatedLawIds(Country.COLOMBIA);
@@ -7,16 +7,13 @@ import com.precognox.ceu.legislative_data_collector.exceptions.DataCollectionExc
 import com.precognox.ceu.legislative_data_collector.exceptions.PageResponseException;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
 import com.precognox.ceu.legislative_data_collector.utils.BatchProcessingUtils;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import com.precognox.ceu.legislative_data_collector.utils.selenium.SeleniumUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -66,20 +63,21 @@ public class ColombiaPageCollector {
 
     private void updateDownloadedPageSourceHtmlsInBatches(WebDriver browser) {
         log.info("Update downloaded page sources");
-        Pageable paging = PageRequest.of(0, BATCH_SIZE, Sort.by("id").ascending());
-        Slice<PageSource> pageSlice;
-        do {
-            pageSlice = pageRepository.findByCountry(Country.COLOMBIA, paging);
-            int pageSourceRowNumber = paging.getPageNumber() * BATCH_SIZE;
+        KeysetDbBrowser<PageSource> storedSources = new KeysetDbBrowser<>(BATCH_SIZE, PageSource::getId,
+                (afterId, pageable) -> pageRepository.findPageAfterId(Country.COLOMBIA, afterId, pageable));
+        List<PageSource> pageSlice;
+        int pageSourceRowNumber = 0;
+
+        while (!(pageSlice = storedSources.poll()).isEmpty()) {
             log.info("Update from {} to {}", pageSourceRowNumber, pageSourceRowNumber + BATCH_SIZE);
-            List<PageSource> sourcesPerPage = pageSlice.getContent().stream()
+            List<PageSource> sourcesPerPage = pageSlice.stream()
                     .map(pageSource -> updateDownloadedPageSourceHtml(pageSource, browser))
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .toList();
             pageRepository.saveAll(sourcesPerPage);
-            paging = pageSlice.nextPageable();
-        } while (pageSlice.hasNext());
+            pageSourceRowNumber += pageSlice.size();
+        }
         log.info("Downloaded page sources updated successfully.");
     }
 
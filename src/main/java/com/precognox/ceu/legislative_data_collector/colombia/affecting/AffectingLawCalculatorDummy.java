@@ -2,6 +2,7 @@ package com.precognox.ceu.legislative_data_collector.colombia.affecting;
 
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.RecordLawInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -54,14 +55,15 @@ public class AffectingLawCalculatorDummy {
 
                     String affectingLawsQuery = "select record_id from {h-schema}affected_laws where modified_law_id = :law_id";
 
-                    List<Integer> affectingLaws = entityManager.createNativeQuery(affectingLawsQuery)
+                    List<Number> affectingLaws = entityManager.createNativeQuery(affectingLawsQuery)
                             .setParameter("law_id", law.getLawId())
                             .getResultList();
 
-                    Optional<LocalDate> earliestDate = affectingLaws.stream()
-                            .map(id -> legislativeDataRepository.findById(id.longValue()))
-                            .filter(Optional::isPresent)
-                            .map(entity -> entity.get().getDatePassing())
+                    List<Long> affectingLawIds = affectingLaws.stream().map(Number::longValue).toList();
+
+                    Optional<LocalDate> earliestDate = legislativeDataRepository.findLawInfoByIds(affectingLawIds)
+                            .stream()
+                            .map(RecordLawInfo::getDatePassing)
                             .filter(Objects::nonNull)
                             .min(LocalDate::compareTo);
 
@@ -21,6 +21,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,6 +48,8 @@ public class BillPageParser {
     private static final String NAME_KEY = "name";
     private static final String GAZETTES_KEY = "gazettes";
     private static final String COMMENT_KEY = "comment";
+    private static final Pattern STAGE_NAME_SUFFIX_REGEX = Pattern.compile("-.*");
+    private static final Pattern STAGE_NAME_PREFIX_REGEX = Pattern.compile(".*?-.*?:");
 
     private final Document page;
 
@@ -70,8 +73,8 @@ public class BillPageParser {
                     Element nameElement = element.selectFirst(".estado");
                     Element commentElement = element.selectFirst(".debate p");
                     String date = Objects.nonNull(dateElement) ? dateElement.text().trim() : null;
-                    String name = Objects.nonNull(nameElement) ? nameElement.text().replaceAll("-.*", "").trim() : null;
-                    String gazettes = Objects.nonNull(nameElement) ? nameElement.text().replaceAll(".*?-.*?:", "").trim() : null;
+                    String name = Objects.nonNull(nameElement) ? STAGE_NAME_SUFFIX_REGEX.matcher(nameElement.text()).replaceAll("").trim() : null;
+                    String gazettes = Objects.nonNull(nameElement) ? STAGE_NAME_PREFIX_REGEX.matcher(nameElement.text()).replaceAll("").trim() : null;
                     String comment = Objects.nonNull(commentElement) ? commentElement.text().trim() : null;
                     elementInformation.put(DATE_KEY, Optional.ofNullable(date));
                     elementInformation.put(NAME_KEY, Optional.ofNullable(name));
@@ -59,6 +59,7 @@ public class GazetteWebpageHandler {
     private static final String BUTTON_DOWNLOAD_STRING = "btnDescargarPdf";
     private static final String BUTTON_PDFLINK_STRING = "verLink";
     private static final String TEXT_SOURCE_IDENTIFIER_FORMATTER = "Gazette: %s, id: %s";
+    private static final Pattern WHITESPACE_REGEX = Pattern.compile("\\s+");
 
     public static final Pattern START_TEXT_REGEX = Pattern.compile("DECRETA");
     public static final Pattern ARTICLE_START_TEXT_REGEX =
@@ -698,7 +699,7 @@ public class GazetteWebpageHandler {
             String year = parts.getValue();
             String baseRegex = "%s\\s*[dD][eE][\\s\\d]*%s";
             final Pattern PDF_SELECT_REGEX = Pattern.compile(String.format(baseRegex, number, year));
-            String text = pdfText.replaceAll("\\s+", " ").trim();
+            String text = WHITESPACE_REGEX.matcher(pdfText).replaceAll(" ").trim();
             Matcher billStartMatcher = PDF_SELECT_REGEX.matcher(text);
 
             if (billStartMatcher.find()) {
@@ -55,6 +55,7 @@ public class RecordBuilder {
     private static final String VOTES_KEY_ABS = "abs";
     private static final boolean RECOLLECT_ALREADY_COLLECTED = false;
     private static final boolean GAZETTE_WEBPAGE_NEEDED = true;
+    private static final Pattern HTML_TAG_REGEX = Pattern.compile("<[^>]*>");
 
     private static final Pattern MODIFICATION_REGEX = Pattern.compile(
             "(modifica|modifican|adicionan|adiciona|alteran|altera|sustituye|sustituir|substituye|substituir" +
@@ -523,7 +524,7 @@ public class RecordBuilder {
                     if (Objects.isNull(voteTitleElement)) {
                         return false;
                     }
-                    String voteTitle = voteTitleElement.text().replaceAll("<[^>]*>", "").trim();
+                    String voteTitle = HTML_TAG_REGEX.matcher(voteTitleElement.text()).replaceAll("").trim();
                     return dataRecord.getBillTitle().equals(voteTitle);
                 })
                 .filter(element -> { //Filter by date
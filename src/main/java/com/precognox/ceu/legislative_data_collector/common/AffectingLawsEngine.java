@@ -0,0 +1,170 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates the affecting_laws_count and affecting_laws_first_date variables for a whole country in one pass. The
+ * laws and the affected_laws rows are streamed once each with lightweight projections, joined in memory on the keys
+ * produced by the country's {@link LawIdNormalizer}, and the results are written back with batch updates.
+ */
+@Slf4j
+@Service
+public class AffectingLawsEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String dbSchema;
+
+    private static final int FETCH_SIZE = 5000;
+    private static final int UPDATE_BATCH_SIZE = 1000;
+
+    /**
+     * Projection of a law record, containing the fields needed for matching.
+     */
+    public record LawRow(long id, String recordId, String lawId, String lawType, LocalDate datePassing) {
+    }
+
+    /**
+     * Counts and first date of the affecting laws for one key.
+     */
+    private static class AffectingStats {
+        private int count;
+        private LocalDate firstDate;
+
+        void add(LocalDate datePassing) {
+            count++;
+
+            if (datePassing != null && (firstDate == null || datePassing.isBefore(firstDate))) {
+                firstDate = datePassing;
+            }
+        }
+    }
+
+    @Autowired
+    public AffectingLawsEngine(
+            JdbcTemplate jdbcTemplate, @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dbSchema = dbSchema;
+    }
+
+    /**
+     * @param country The laws of this country are updated, and only the modifications stored for records of this
+     * country are counted.
+     * @param normalizer Maps law records and modified law IDs to common keys.
+     *
+     * @return The number of updated law records.
+     */
+    @Transactional
+    public int fillAffectingLaws(Country country, LawIdNormalizer normalizer) {
+        log.info("Calculating affecting laws for {}...", country);
+
+        Map<String, AffectingStats> statsByKey = collectAffectingStats(country, normalizer);
+        log.info("Found {} distinct modified laws", statsByKey.size());
+
+        Map<String, List<LawRow>> lawsByKey = collectLaws(country, normalizer);
+
+        List<Object[]> updates = new ArrayList<>();
+
+        statsByKey.forEach((key, stats) -> {
+            List<LawRow> laws = lawsByKey.get(key);
+
+            if (laws == null || (normalizer.uniqueMatchOnly() && laws.size() > 1)) {
+                return;
+            }
+
+            laws.forEach(law -> updates.add(new Object[]{
+                    stats.count, stats.firstDate != null ? Date.valueOf(stats.firstDate) : null, law.id()
+            }));
+        });
+
+        String updateSql = "UPDATE " + table("bill_main_table")
+                + " SET affecting_laws_count = ?,"
+                + " affecting_laws_first_date = COALESCE(CAST(? AS DATE), affecting_laws_first_date)"
+                + " WHERE id = ?";
+
+        for (int from = 0; from < updates.size(); from += UPDATE_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(updateSql, updates.subList(from, Math.min(from + UPDATE_BATCH_SIZE, updates.size())));
+        }
+
+        log.info("Done calculating affecting laws, updated {} records", updates.size());
+
+        return updates.size();
+    }
+
+    private Map<String, AffectingStats> collectAffectingStats(Country country, LawIdNormalizer normalizer) {
+        String sql = "SELECT al.modified_law_id, bmt.date_passing"
+                + " FROM " + table("affected_laws") + " al"
+                + " JOIN " + table("bill_main_table") + " bmt ON al.record_id = bmt.id"
+                + " WHERE bmt.country = ?";
+
+        Map<String, AffectingStats> result = new HashMap<>();
+
+        stream(sql, country, rs -> {
+            String key = normalizer.modifiedLawKey(rs.getString(1));
+
+            if (key != null) {
+                Date datePassing = rs.getDate(2);
+                result.computeIfAbsent(key, k -> new AffectingStats())
+                        .add(datePassing != null ? datePassing.toLocalDate() : null);
+            }
+        });
+
+        return result;
+    }
+
+    private Map<String, List<LawRow>> collectLaws(Country country, LawIdNormalizer normalizer) {
+        String sql = "SELECT id, record_id, law_id, law_type, date_passing"
+                + " FROM " + table("bill_main_table")
+                + " WHERE country = ? AND law_id IS NOT NULL";
+
+        Map<String, List<LawRow>> result = new HashMap<>();
+
+        stream(sql, country, rs -> {
+            Date datePassing = rs.getDate(5);
+            LawRow law = new LawRow(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    rs.getString(3),
+                    rs.getString(4),
+                    datePassing != null ? datePassing.toLocalDate() : null
+            );
+
+            String key = normalizer.lawKey(law);
+
+            if (key != null) {
+                result.computeIfAbsent(key, k -> new ArrayList<>(1)).add(law);
+            }
+        });
+
+        return result;
+    }
+
+    private void stream(String sql, Country country, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setString(1, country.name());
+
+            return statement;
+        }, handler);
+    }
+
+    private String table(String name) {
+        return dbSchema + "." + name;
+    }
+
+}
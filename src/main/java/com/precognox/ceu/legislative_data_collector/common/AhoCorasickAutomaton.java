@@ -0,0 +1,177 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Finds all occurrences of a fixed set of literals in one scan of a text (Aho-Corasick). The occurrences are reported
+ * by their end, overlapping occurrences and literals contained in other literals are reported too.
+ */
+final class AhoCorasickAutomaton {
+
+    interface HitHandler {
+        void onHit(int literalIndex, int start);
+    }
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final int[] literalLengths;
+
+    //the transitions of a state are stored in sorted arrays, the alphabet of the legal texts is too large for tables
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    private final int[][] outputs;
+    private int stateCount;
+
+    //most characters of a text leave the automaton in the root, its transitions are looked up by the character
+    private final int[] rootTargets;
+
+    AhoCorasickAutomaton(List<String> literals) {
+        literalLengths = literals.stream().mapToInt(String::length).toArray();
+        int maxStates = literals.stream().mapToInt(String::length).sum() + 1;
+
+        transitionChars = new char[maxStates][];
+        transitionTargets = new int[maxStates][];
+        failure = new int[maxStates];
+        outputs = new int[maxStates][];
+        Arrays.fill(outputs, NO_OUTPUTS);
+        stateCount = 1;
+
+        for (int i = 0; i < literals.size(); i++) {
+            addLiteral(literals.get(i), i);
+        }
+
+        buildFailureLinks();
+
+        char[] rootChars = transitionChars[0] != null ? transitionChars[0] : new char[0];
+        rootTargets = new int[rootChars.length > 0 ? rootChars[rootChars.length - 1] + 1 : 0];
+
+        for (int i = 0; i < rootChars.length; i++) {
+            rootTargets[rootChars[i]] = transitionTargets[0][i];
+        }
+    }
+
+    /**
+     * Calls the handler for every occurrence of the literals, in the order of their end positions.
+     */
+    void scan(CharSequence text, HitHandler handler) {
+        int state = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            int next = -1;
+
+            while (state != 0 && (next = transition(state, c)) < 0) {
+                state = failure[state];
+            }
+
+            state = state != 0 ? next : rootTransition(c);
+
+            for (int literal : outputs[state]) {
+                handler.onHit(literal, i + 1 - literalLengths[literal]);
+            }
+        }
+    }
+
+    private void addLiteral(String literal, int index) {
+        if (literal.isEmpty()) {
+            throw new IllegalArgumentException("Empty literal");
+        }
+
+        int state = 0;
+
+        for (int i = 0; i < literal.length(); i++) {
+            int next = transition(state, literal.charAt(i));
+
+            if (next < 0) {
+                next = stateCount++;
+                addTransition(state, literal.charAt(i), next);
+            }
+
+            state = next;
+        }
+
+        outputs[state] = append(outputs[state], index);
+    }
+
+    private void buildFailureLinks() {
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+
+            if (transitionChars[state] == null) {
+                continue;
+            }
+
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int child = transitionTargets[state][i];
+
+                if (state != 0) {
+                    int fallback = failure[state];
+
+                    while (transition(fallback, c) < 0 && fallback != 0) {
+                        fallback = failure[fallback];
+                    }
+
+                    failure[child] = Math.max(transition(fallback, c), 0);
+                }
+
+                //the failure state is closer to the root, its inherited outputs are already added
+                for (int literal : outputs[failure[child]]) {
+                    outputs[child] = append(outputs[child], literal);
+                }
+
+                queue.add(child);
+            }
+        }
+    }
+
+    private int rootTransition(char c) {
+        return c < rootTargets.length ? rootTargets[c] : 0;
+    }
+
+    private int transition(int state, char c) {
+        char[] chars = transitionChars[state];
+
+        if (chars == null) {
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(chars, c);
+
+        return index >= 0 ? transitionTargets[state][index] : -1;
+    }
+
+    private void addTransition(int state, char c, int target) {
+        char[] chars = transitionChars[state] != null ? transitionChars[state] : new char[0];
+        int[] targets = transitionTargets[state] != null ? transitionTargets[state] : new int[0];
+        int insertAt = -Arrays.binarySearch(chars, c) - 1;
+
+        char[] newChars = new char[chars.length + 1];
+        int[] newTargets = new int[targets.length + 1];
+        System.arraycopy(chars, 0, newChars, 0, insertAt);
+        System.arraycopy(targets, 0, newTargets, 0, insertAt);
+        newChars[insertAt] = c;
+        newTargets[insertAt] = target;
+        System.arraycopy(chars, insertAt, newChars, insertAt + 1, chars.length - insertAt);
+        System.arraycopy(targets, insertAt, newTargets, insertAt + 1, targets.length - insertAt);
+
+        transitionChars[state] = newChars;
+        transitionTargets[state] = newTargets;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] extended = Arrays.copyOf(array, array.length + 1);
+        extended[array.length] = value;
+
+        return extended;
+    }
+
+}
@@ -4,6 +4,7 @@ import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.RecordUrls;
 import com.precognox.ceu.legislative_data_collector.sweden.PageType;
 import com.precognox.ceu.legislative_data_collector.utils.DocumentDownloader;
 import com.precognox.ceu.legislative_data_collector.utils.PdfParser;
@@ -18,14 +19,31 @@ import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static com.precognox.ceu.legislative_data_collector.utils.PdfParser.ERROR_LABEL;
 import static com.precognox.ceu.legislative_data_collector.utils.PdfParser.SCANNED_LABEL;
@@ -33,6 +51,12 @@ import static com.precognox.ceu.legislative_data_collector.utils.PdfParser.SCANN
 /**
  * Collects the bill and law texts for the stored bills. The URLs of the texts are stored in a
  * previous step (in country-specific classes). This class can be used for multiple countries.
+ * <p>
+ * The collection is pipelined: the records are streamed in ID order, the texts are downloaded and extracted on a
+ * bounded thread pool, and a writer thread stores them in batches. The writer also stores the ID up to which the
+ * texts of all records are stored in the text_collection_progress table, so an interrupted run continues from there.
+ * A record whose text could not be collected stops the progress, so an interrupted run retries it. The progress is
+ * cleared when a run completes, so the next run retries all records where no text was found.
  */
 @Slf4j
 @Service
@@ -56,6 +80,18 @@ public class BillAndLawTextCollector {
     @Autowired
     private PageSourceLoader pageSourceLoader;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String dbSchema;
+
+    @Value("${text-collector.threads:6}")
+    private int downloadThreads;
+
+    @Value("${text-collector.batch-size:20}")
+    private int batchSize;
+
     @Setter
     private PdfCollectionMode collectionMode = PdfCollectionMode.HTTP_GET;
     private static final List<String> SWEDEN_HTML_SUFFIXES = List.of("/html", "/html/");
@@ -65,6 +101,28 @@ public class BillAndLawTextCollector {
         HTTP_GET
     }
 
+    private enum TextType {
+        BILL_TEXT("bill_text", "bill_size"),
+        LAW_TEXT("law_text", "law_size");
+
+        private final String textColumn;
+        private final String sizeColumn;
+
+        TextType(String textColumn, String sizeColumn) {
+            this.textColumn = textColumn;
+            this.sizeColumn = sizeColumn;
+        }
+    }
+
+    /**
+     * Downloaded text of a record, the text is null if it could not be collected.
+     */
+    private record TextResult(long id, String url, @Nullable String text) {
+    }
+
+    //marks the end of the results for the writer
+    private static final TextResult END_OF_RESULTS = new TextResult(-1, null, null);
+
     @Transactional
     public void collectTexts(Country country) {
         collectBillTexts(country);
@@ -76,7 +134,12 @@ public class BillAndLawTextCollector {
         log.info("Collecting bill texts...");
         log.info("Found {} records to process", recordRepository.countAllWithUnprocessedBillTextUrl(country));
 
-        recordRepository.streamAllWithUnprocessedBillTextUrl(country).forEach(this::downloadBillText);
+        long resumeAfter = loadProgress(country, TextType.BILL_TEXT);
+
+        try (Stream<RecordUrls> records = recordRepository.streamUnprocessedBillTextUrls(country, resumeAfter)) {
+            collectInParallel(country, TextType.BILL_TEXT, resumeAfter, records, RecordUrls::getBillTextUrl,
+                    url -> fetchBillText(country, url));
+        }
 
         log.info("Done collecting all bill texts");
     }
@@ -86,30 +149,27 @@ public class BillAndLawTextCollector {
         log.info("Collecting law texts...");
         log.info("Found {} records to process", recordRepository.countAllWithUnprocessedLawTextUrl(country));
 
-        recordRepository.streamAllWithUnprocessedLawTextUrl(country).forEach(this::downloadLawText);
+        long resumeAfter = loadProgress(country, TextType.LAW_TEXT);
+
+        try (Stream<RecordUrls> records = recordRepository.streamUnprocessedLawTextUrls(country, resumeAfter)) {
+            collectInParallel(
+                    country, TextType.LAW_TEXT, resumeAfter, records, RecordUrls::getLawTextUrl, this::fetchDocumentText
+            );
+        }
+
+        log.info("Done collecting all law texts");
     }
 
+    /**
+     * Downloads and stores the bill text for a single record.
+     */
     public void downloadBillText(LegislativeDataRecord bill) {
         Optional<String> billText = Optional.empty();
 
-        if (Country.SWEDEN.equals(bill.getCountry())
-                && SWEDEN_HTML_SUFFIXES.stream().anyMatch(bill.getBillTextUrl()::endsWith)) {
-            billText = parseFromHtml(bill.getBillTextUrl());
-        } else {
-            try {
-                HttpResponse head = Unirest.head(bill.getBillTextUrl()).asEmpty();
-                String cType = head.getHeaders().getFirst(HeaderNames.CONTENT_TYPE);
-
-                if (Country.SWEDEN.equals(bill.getCountry()) && cType.contains(ContentType.TEXT_HTML.getMimeType())) {
-                    billText = parseFromHtml(bill.getBillTextUrl());
-                } else {
-                    billText = collectionMode == PdfCollectionMode.HTTP_GET
-                            ? pdfParser.tryPdfTextExtraction(bill.getBillTextUrl())
-                            : documentDownloader.processWithBrowser(bill.getBillTextUrl());
-                }
-            } catch (Exception e) {
-                log.error("Error while downloading bill text from {}", bill.getBillTextUrl(), e);
-            }
+        try {
+            billText = fetchBillText(bill.getCountry(), bill.getBillTextUrl());
+        } catch (Exception e) {
+            log.error("Error while downloading bill text from {}", bill.getBillTextUrl(), e);
         }
 
         billText.ifPresent(text -> {
@@ -128,6 +188,196 @@ public class BillAndLawTextCollector {
         });
     }
 
+    private Optional<String> fetchBillText(Country country, String url) {
+        if (Country.SWEDEN.equals(country)) {
+            if (SWEDEN_HTML_SUFFIXES.stream().anyMatch(url::endsWith)) {
+                return parseFromHtml(url);
+            }
+
+            //some Swedish text URLs point to HTML pages without the suffix, the content type is only checked there
+            HttpResponse head = Unirest.head(url).asEmpty();
+            String cType = head.getHeaders().getFirst(HeaderNames.CONTENT_TYPE);
+
+            if (cType != null && cType.contains(ContentType.TEXT_HTML.getMimeType())) {
+                return parseFromHtml(url);
+            }
+        }
+
+        return fetchDocumentText(url);
+    }
+
+    private Optional<String> fetchDocumentText(String url) {
+        return collectionMode == PdfCollectionMode.HTTP_GET
+                ? pdfParser.tryPdfTextExtraction(url)
+                : documentDownloader.processWithBrowser(url);
+    }
+
+    /**
+     * Producer side of the pipeline: submits the records to the download pool, at most twice the number of threads
+     * are waiting to be stored at any time. Runs in the calling thread, so the record stream stays in the
+     * transaction.
+     */
+    private void collectInParallel(
+            Country country,
+            TextType textType,
+            long resumeAfter,
+            Stream<RecordUrls> records,
+            Function<RecordUrls, String> urlGetter,
+            Function<String, Optional<String>> fetcher) {
+        //browsers are too heavy to be opened in parallel
+        int threads = collectionMode == PdfCollectionMode.BROWSER ? 1 : downloadThreads;
+
+        ExecutorService downloadPool = Executors.newFixedThreadPool(threads);
+        ExecutorService writerThread = Executors.newSingleThreadExecutor();
+        Semaphore pendingLimit = new Semaphore(threads * 2);
+        BlockingQueue<TextResult> results = new LinkedBlockingQueue<>();
+        ConcurrentSkipListSet<Long> pendingIds = new ConcurrentSkipListSet<>();
+        AtomicLong lastSubmittedId = new AtomicLong(resumeAfter);
+
+        Future<Void> writer = writerThread.submit(() -> {
+            writeResults(country, textType, results, pendingIds, lastSubmittedId, pendingLimit);
+            return null;
+        });
+
+        try {
+            Iterator<RecordUrls> iterator = records.iterator();
+
+            while (iterator.hasNext()) {
+                RecordUrls record = iterator.next();
+
+                while (!pendingLimit.tryAcquire(1, TimeUnit.SECONDS)) {
+                    if (writer.isDone()) {
+                        writer.get();
+                        throw new IllegalStateException("Text writer stopped unexpectedly");
+                    }
+                }
+
+                pendingIds.add(record.getId());
+                lastSubmittedId.set(record.getId());
+
+                String url = urlGetter.apply(record);
+
+                downloadPool.execute(() -> {
+                    String text = null;
+
+                    try {
+                        text = fetcher.apply(url).orElse(null);
+                    } catch (Exception e) {
+                        log.error("Error while downloading text from {}", url, e);
+                    } finally {
+                        results.add(new TextResult(record.getId(), url, text));
+                    }
+                });
+            }
+
+            downloadPool.shutdown();
+            downloadPool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            results.add(END_OF_RESULTS);
+            writer.get();
+
+            clearProgress(country, textType);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while collecting texts", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to store texts", e.getCause());
+        } finally {
+            downloadPool.shutdownNow();
+            writerThread.shutdownNow();
+        }
+    }
+
+    /**
+     * Consumer side of the pipeline: stores the results in batches, and advances the stored progress in the same
+     * transaction to the highest ID below which the text of every submitted record is stored. The records without a
+     * text stay pending, the progress doesn't pass them.
+     */
+    private void writeResults(
+            Country country,
+            TextType textType,
+            BlockingQueue<TextResult> results,
+            ConcurrentSkipListSet<Long> pendingIds,
+            AtomicLong lastSubmittedId,
+            Semaphore pendingLimit) throws InterruptedException {
+        boolean finished = false;
+        long stored = 0;
+
+        while (!finished) {
+            List<TextResult> batch = new ArrayList<>();
+            batch.add(results.take());
+            results.drainTo(batch, batchSize - 1);
+            finished = batch.remove(END_OF_RESULTS);
+
+            List<TextResult> collected = batch.stream().filter(result -> result.text() != null).toList();
+            List<Object[]> updates = collected.stream()
+                    .map(result -> new Object[]{result.text(), getSize(result.text()), result.id()})
+                    .toList();
+
+            //the last submitted ID must be read before the pending IDs, see the producer
+            long submitted = lastSubmittedId.get();
+            collected.forEach(result -> pendingIds.remove(result.id()));
+
+            Long firstPending = pendingIds.ceiling(Long.MIN_VALUE);
+            long progress = firstPending != null ? firstPending - 1 : submitted;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(
+                            "UPDATE " + dbSchema + ".bill_main_table SET " + textType.textColumn + " = ?, "
+                                    + textType.sizeColumn + " = COALESCE(?, " + textType.sizeColumn + ") WHERE id = ?",
+                            updates
+                    );
+                }
+
+                saveProgress(country, textType, progress);
+            });
+
+            stored += updates.size();
+            pendingLimit.release(batch.size());
+
+            if (!batch.isEmpty()) {
+                log.info("Stored {} {} values, last: {}", stored, textType, batch.get(batch.size() - 1).url());
+            }
+        }
+    }
+
+    @Nullable
+    private Integer getSize(String text) {
+        return isErrorValue(text) ? null : TextUtils.getLengthWithoutWhitespace(text);
+    }
+
+    private long loadProgress(Country country, TextType textType) {
+        List<Long> stored = jdbcTemplate.queryForList(
+                "SELECT last_record_id FROM " + dbSchema + ".text_collection_progress"
+                        + " WHERE country = ? AND text_type = ?",
+                Long.class, country.name(), textType.name()
+        );
+
+        if (!stored.isEmpty()) {
+            log.info("Resuming {} collection after record ID {}", textType, stored.get(0));
+            return stored.get(0);
+        }
+
+        return 0;
+    }
+
+    private void saveProgress(Country country, TextType textType, long lastRecordId) {
+        jdbcTemplate.update(
+                "INSERT INTO " + dbSchema + ".text_collection_progress"
+                        + " (country, text_type, last_record_id, updated_at) VALUES (?, ?, ?, now())"
+                        + " ON CONFLICT (country, text_type)"
+                        + " DO UPDATE SET last_record_id = EXCLUDED.last_record_id, updated_at = now()",
+                country.name(), textType.name(), lastRecordId
+        );
+    }
+
+    private void clearProgress(Country country, TextType textType) {
+        jdbcTemplate.update(
+                "DELETE FROM " + dbSchema + ".text_collection_progress WHERE country = ? AND text_type = ?",
+                country.name(), textType.name()
+        );
+    }
+
     /**
      * Used for Sweden only, where the bill text is in HTML format.
      * @param url the URL of the bill text
@@ -158,23 +408,6 @@ public class BillAndLawTextCollector {
         return ERROR_LABEL.equals(text) || SCANNED_LABEL.equals(text);
     }
 
-    private void downloadLawText(LegislativeDataRecord bill) {
-        Optional<String> lawText = collectionMode == PdfCollectionMode.HTTP_GET
-                ? pdfParser.tryPdfTextExtraction(bill.getLawTextUrl())
-                : documentDownloader.processWithBrowser(bill.getLawTextUrl());
-
-        lawText.ifPresent(text -> {
-            transactionTemplate.execute(status -> {
-                bill.setLawText(text);
-                bill.setLawSize(TextUtils.getLengthWithoutWhitespace(text));
-                entityManager.merge(bill);
-                log.info("Set law text for {}", bill.getRecordId());
-
-                return status;
-            });
-        });
-    }
-
     private RetryTemplate getRetryTemplate(int waitMs, int limit, List<Class<? extends Throwable>> exceptions) {
         return RetryTemplate.builder().retryOn(exceptions).fixedBackoff(waitMs).maxAttempts(limit).build();
     }
@@ -1,32 +1,115 @@
 package com.precognox.ceu.legislative_data_collector.common;
 
-import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import javax.persistence.EntityManager;
-import javax.persistence.PersistenceException;
-import javax.persistence.Query;
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
-import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+/**
+ * Runs the checks of consistency_checks.csv and writes the number of failing records with a few examples.
+ * <p>
+ * Every check runs in a single pass, the failing records are counted and sampled from the same result set. Checks in
+ * the {@code select * from bill_main_table where <condition>} form are fused, so they are evaluated in one scan: the
+ * query returns the records matching any condition, with a boolean column per check. Other queries run on their own,
+ * their rows are listed with the record ID and the bill page URL if the result has these columns, with the first
+ * column otherwise. The scans run concurrently on a pool.
+ */
 @Slf4j
 @Service
 public class ConsistencyCheckRunner {
 
-    private final EntityManager entityManager;
+    //number of example records listed for a failing check
+    static final int SAMPLE_SIZE = 10;
+
+    private static final int FETCH_SIZE = 1000;
+
+    //only the checks of this table are fused, the fused query selects its record_id and bill_page_url columns
+    private static final Pattern CHECK_QUERY_PATTERN = Pattern.compile(
+            "^\\s*select\\s+\\*\\s+from\\s+bill_main_table\\s+where\\s+(.+?)\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+
+    private static final String RECORD_ID_COLUMN = "record_id";
+    private static final String BILL_PAGE_URL_COLUMN = "bill_page_url";
+
+    private final DataSource dataSource;
+    private final String dbSchema;
+    private final int threads;
+
+    record Check(int index, String description, String query) {
+    }
+
+    /**
+     * Checks evaluated in one scan. A fused query returns the record ID, the bill page URL, and a boolean column for
+     * each check telling if the record fails it. The query of a single check is run as it is, every row fails it.
+     */
+    record CheckGroup(String sql, List<Check> checks, boolean fused) {
+    }
+
+    /**
+     * The number of records failing a check, and the first {@link #SAMPLE_SIZE} of them.
+     */
+    static class CheckResult {
+
+        private long count;
+        private final List<String> samples = new ArrayList<>(SAMPLE_SIZE);
+
+        void add(String recordId, String billPageUrl) {
+            if (count++ < SAMPLE_SIZE) {
+                samples.add(recordId + " " + billPageUrl);
+            }
+        }
+
+        void add(String row) {
+            if (count++ < SAMPLE_SIZE) {
+                samples.add(row);
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        List<String> getSamples() {
+            return samples;
+        }
+    }
 
     @Autowired
-    public ConsistencyCheckRunner(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    public ConsistencyCheckRunner(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema,
+            @Value("${consistency-check.threads:4}") int threads) {
+        this.dataSource = jdbcTemplate.getDataSource();
+        this.dbSchema = dbSchema;
+        this.threads = threads;
     }
 
     public void runChecks(String outputFolder) {
@@ -43,38 +126,188 @@ public class ConsistencyCheckRunner {
                         .build()
                         .parse(new InputStreamReader(resourceAsStream));
 
-                List<CSVRecord> checks = parser.getRecords();
+                List<CSVRecord> records = parser.getRecords();
+                List<Check> checks = new ArrayList<>(records.size());
+
+                for (int i = 0; i < records.size(); i++) {
+                    checks.add(new Check(i, records.get(i).get("description"), records.get(i).get("query")));
+                }
+
+                Map<Integer, CheckResult> results = runGroups(buildGroups(checks));
                 outWriter.println("Running " + checks.size() + " checks");
 
-                for (int i = 0; i < checks.size(); i++) {
-                    CSVRecord record = checks.get(i);
-                    String countQuery = record.get("query").toLowerCase().replace("select *", "select count(*)");
-                    BigInteger count = (BigInteger) entityManager.createNativeQuery(countQuery).getSingleResult();
+                for (Check check : checks) {
+                    writeResult(outWriter, check, checks.size(), results.get(check.index()));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to run consistency checks", e);
+        }
+    }
+
+    private void writeResult(PrintWriter outWriter, Check check, int checkCount, CheckResult result) {
+        int number = check.index() + 1;
 
-                    if (count.intValue() == 0) {
-                        outWriter.printf("%d/%d %s: OK (0 results)%n", i + 1, checks.size(), record.get("description"));
+        if (result == null) {
+            outWriter.printf("%d/%d %s: failed to run the check%n", number, checkCount, check.description());
+        } else if (result.getCount() == 0) {
+            outWriter.printf("%d/%d %s: OK (0 results)%n", number, checkCount, check.description());
+        } else {
+            outWriter.printf("%d/%d %s: %d results%n", number, checkCount, check.description(), result.getCount());
+            result.getSamples().forEach(sample -> outWriter.println("\t- " + sample));
+        }
+    }
+
+    /**
+     * Fuses the bill_main_table checks, keeping their order. The other checks are in groups of their own.
+     */
+    static List<CheckGroup> buildGroups(List<Check> checks) {
+        List<Check> fusableChecks = new ArrayList<>();
+        Map<Integer, String> conditions = new LinkedHashMap<>();
+        List<CheckGroup> groups = new ArrayList<>();
+
+        for (Check check : checks) {
+            Matcher matcher = CHECK_QUERY_PATTERN.matcher(check.query());
+
+            if (matcher.matches()) {
+                fusableChecks.add(check);
+                conditions.put(check.index(), matcher.group(1));
+            } else {
+                groups.add(new CheckGroup(check.query(), List.of(check), false));
+            }
+        }
+
+        if (!fusableChecks.isEmpty()) {
+            StringBuilder flags = new StringBuilder();
+
+            for (int i = 0; i < fusableChecks.size(); i++) {
+                String condition = conditions.get(fusableChecks.get(i).index());
+                flags.append(", coalesce((").append(condition).append("), false) AS check_").append(i);
+            }
+
+            String anyCondition = fusableChecks.stream()
+                    .map(check -> "(" + conditions.get(check.index()) + ")")
+                    .collect(Collectors.joining(" OR "));
+
+            groups.add(new CheckGroup(
+                    "SELECT record_id, bill_page_url" + flags + " FROM bill_main_table WHERE " + anyCondition,
+                    fusableChecks,
+                    true
+            ));
+        }
+
+        return groups;
+    }
+
+    /**
+     * @return The results by check index. Checks of failed groups are missing.
+     */
+    private Map<Integer, CheckResult> runGroups(List<CheckGroup> groups) {
+        long start = System.currentTimeMillis();
+        AtomicInteger threadCounter = new AtomicInteger();
+        int poolSize = Math.max(1, Math.min(threads, groups.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "consistency-check-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Map<Integer, CheckResult> results = new LinkedHashMap<>();
+
+        try {
+            List<Future<List<CheckResult>>> futures = groups.stream()
+                    .map(group -> executor.submit(() -> runGroup(group)))
+                    .toList();
+
+            for (int i = 0; i < groups.size(); i++) {
+                List<Check> checks = groups.get(i).checks();
+
+                try {
+                    List<CheckResult> groupResults = futures.get(i).get();
+
+                    for (int j = 0; j < checks.size(); j++) {
+                        results.put(checks.get(j).index(), groupResults.get(j));
+                    }
+                } catch (ExecutionException e) {
+                    log.error("Failed to run consistency checks: " + groups.get(i).sql(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while running consistency checks", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Ran {} consistency check scans in {} ms", groups.size(), System.currentTimeMillis() - start);
+
+        return results;
+    }
+
+    private List<CheckResult> runGroup(CheckGroup group) throws SQLException {
+        List<CheckResult> results = group.checks().stream().map(check -> new CheckResult()).toList();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setSchema(dbSchema);
+            //the matching records are streamed through a cursor, which needs a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            try (Statement statement = connection.createStatement(
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(FETCH_SIZE);
+
+                try (ResultSet resultSet = statement.executeQuery(group.sql())) {
+                    if (group.fused()) {
+                        readFlags(resultSet, results);
                     } else {
-                        String limitQuery = record.get("query") + " LIMIT 10";
-                        Query nativeQuery = entityManager.createNativeQuery(limitQuery, LegislativeDataRecord.class);
-                        List<LegislativeDataRecord> resultList = nativeQuery.getResultList();
-
-                        outWriter.printf(
-                                "%d/%d %s: %d results%n",
-                                i + 1,
-                                checks.size(),
-                                record.get("description"),
-                                count
-                        );
-
-                        resultList.forEach(
-                                r -> outWriter.println("\t- " + r.getRecordId() + " " + r.getBillPageUrl())
-                        );
+                        readRows(resultSet, results.get(0));
                     }
                 }
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+            }
+        }
+
+        return results;
+    }
+
+    private static void readFlags(ResultSet resultSet, List<CheckResult> results) throws SQLException {
+        while (resultSet.next()) {
+            for (int i = 0; i < results.size(); i++) {
+                if (resultSet.getBoolean(3 + i)) {
+                    results.get(i).add(resultSet.getString(1), resultSet.getString(2));
+                }
             }
-        } catch (IOException | PersistenceException e) {
-            log.error("Failed to run consistency checks", e);
         }
     }
 
+    private static void readRows(ResultSet resultSet, CheckResult result) throws SQLException {
+        int recordIdColumn = findColumn(resultSet.getMetaData(), RECORD_ID_COLUMN);
+        int billPageUrlColumn = findColumn(resultSet.getMetaData(), BILL_PAGE_URL_COLUMN);
+
+        while (resultSet.next()) {
+            if (recordIdColumn > 0 && billPageUrlColumn > 0) {
+                result.add(resultSet.getString(recordIdColumn), resultSet.getString(billPageUrlColumn));
+            } else {
+                result.add(resultSet.getString(recordIdColumn > 0 ? recordIdColumn : 1));
+            }
+        }
+    }
+
+    /**
+     * @return The index of the column, 0 if the result has no such column.
+     */
+    private static int findColumn(ResultSetMetaData metaData, String name) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return i;
+            }
+        }
+
+        return 0;
+    }
+
 }
@@ -13,36 +13,73 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import javax.sql.DataSource;
 import javax.transaction.Transactional;
-import java.io.FileWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Exports the current database's contents to CSV files for delivery. The SQL scripts for the current country
  * must be present under the resources of this app, see the EXPORT_SCRIPT_PATH variable. The results will be placed
  * in the current directory's datasets/ folder.
+ * <p>
+ * The scripts are independent, so they run in parallel, each on its own pooled connection. The result sets are read
+ * with a server-side cursor (autocommit off, bounded fetch size) and streamed into the (optionally gzipped) CSV files,
+ * so large tables like bill_main_table with the full texts are never loaded in the heap.
  */
 @Slf4j
 @Service
 public class DatasetExporter {
 
-    private final JdbcTemplate jdbcTemplate;
+    /**
+     * Compression of the exported CSV files, set with the export.compression property. The files are plain CSVs by
+     * default, gzip changes their names to *.csv.gz.
+     */
+    public enum Compression {
+        NONE(""),
+        GZIP(".gz");
+
+        private final String fileExtension;
+
+        Compression(String fileExtension) {
+            this.fileExtension = fileExtension;
+        }
+
+        OutputStream wrap(OutputStream out) throws IOException {
+            return this == GZIP ? new GZIPOutputStream(out, OUTPUT_BUFFER_SIZE) : out;
+        }
+    }
+
+    private final DataSource dataSource;
     private final String dbSchema;
     private final ResultSetHelperService resultSetHelperService;
     private final PathMatchingResourcePatternResolver resourceResolver;
     private final String country;
     private final ConsistencyCheckRunner consistencyCheckRunner;
+    private final int threads;
+    private final int fetchSize;
+    private final Compression compression;
 
     //path of scripts under resources folder
     private static final String EXPORT_SCRIPTS_PATH = "/db_export_scripts/all_countries";
@@ -56,14 +93,22 @@ public class DatasetExporter {
     private static final boolean INCLUDE_COLUMN_NAMES = true;
     private static final boolean APPLY_QUOTES_TO_ALL = false;
 
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
     @Autowired
     public DatasetExporter(
             JdbcTemplate jdbcTemplate,
             ConsistencyCheckRunner consistencyCheckRunner,
-            @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema) {
-        this.jdbcTemplate = jdbcTemplate;
+            @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema,
+            @Value("${export.threads:4}") int threads,
+            @Value("${export.fetch-size:1000}") int fetchSize,
+            @Value("${export.compression:none}") String compression) {
+        this.dataSource = jdbcTemplate.getDataSource();
         this.dbSchema = dbSchema;
         this.consistencyCheckRunner = consistencyCheckRunner;
+        this.threads = threads;
+        this.fetchSize = fetchSize;
+        this.compression = Compression.valueOf(compression.toUpperCase(Locale.ROOT));
 
         this.resultSetHelperService = new ResultSetHelperService();
         this.resultSetHelperService.setDateFormat(CSV_DATE_FORMAT);
@@ -101,32 +146,102 @@ public class DatasetExporter {
             Collections.addAll(exportScripts, resourceResolver.getResources(countrySpecFolder + "/*.sql"));
         }
 
-        Connection dbConnection = jdbcTemplate.getDataSource().getConnection();
-        dbConnection.setSchema(dbSchema);
+        long start = System.currentTimeMillis();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-export-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+
+            for (Resource exportScript : exportScripts) {
+                results.add(executor.submit(() -> exportScript(exportScript, csvFolder)));
+            }
+
+            long totalRows = 0;
+
+            for (Future<Long> result : results) {
+                totalRows += result.get();
+            }
+
+            log.info(
+                    "Exported {} rows from {} scripts in {} ms",
+                    totalRows, exportScripts.size(), System.currentTimeMillis() - start
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return The number of exported rows, 0 if the export failed.
+     */
+    private long exportScript(Resource exportScript, String csvFolder) throws IOException {
+        String csvName = exportScript.getFilename().replace(".sql", ".csv") + compression.fileExtension;
+        Path csvPath = Path.of(csvFolder, csvName);
+        log.info("Exporting {}...", csvPath);
+
+        String querySql;
+
+        try (InputStream scriptFileStream = exportScript.getInputStream()) {
+            querySql = IOUtils.toString(scriptFileStream, StandardCharsets.UTF_8);
+        }
+
+        long start = System.nanoTime();
 
-        for (Resource exportScript : exportScripts) {
-            String csvName = exportScript.getFilename().replace(".sql", ".csv");
-            String csvPath = csvFolder + "/" + csvName;
-            log.info("Exporting {}...", csvPath);
+        try (Connection dbConnection = dataSource.getConnection()) {
+            dbConnection.setSchema(dbSchema);
+            //the driver only uses a cursor (and respects the fetch size) inside a transaction
+            dbConnection.setAutoCommit(false);
+            dbConnection.setReadOnly(true);
 
-            try (CSVWriter csvWriter = new CSVWriter(new FileWriter(csvPath));
-                 InputStream scriptFileStream = exportScript.getInputStream()) {
+            try (Statement statement = dbConnection.createStatement(
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 Writer csvOut = openCsvFile(csvPath);
+                 CSVWriter csvWriter = new CSVWriter(csvOut)) {
+                statement.setFetchSize(fetchSize);
                 csvWriter.setResultService(resultSetHelperService);
-                String querySql = IOUtils.toString(scriptFileStream, StandardCharsets.UTF_8);
-
-                try {
-                    ResultSet sqlResultSet = dbConnection
-                            .createStatement()
-                            .executeQuery(querySql);
-
-                    csvWriter.writeAll(sqlResultSet, INCLUDE_COLUMN_NAMES, TRIM, APPLY_QUOTES_TO_ALL);
-                } catch (IOException e) {
-                    log.error("Failed to write file: " + csvPath, e);
-                } catch (SQLException e) {
-                    log.error("Exception for query: " + querySql, e);
+
+                try (ResultSet sqlResultSet = statement.executeQuery(querySql)) {
+                    int lines = csvWriter.writeAll(sqlResultSet, INCLUDE_COLUMN_NAMES, TRIM, APPLY_QUOTES_TO_ALL);
+                    //the header line is counted by the writer
+                    long rows = INCLUDE_COLUMN_NAMES ? lines - 1 : lines;
+                    logThroughput(csvName, rows, System.nanoTime() - start);
+
+                    return rows;
                 }
+            } catch (IOException e) {
+                log.error("Failed to write file: " + csvPath, e);
+            } catch (SQLException e) {
+                log.error("Exception for query: " + querySql, e);
+            } finally {
+                dbConnection.rollback();
+                dbConnection.setReadOnly(false);
+                dbConnection.setAutoCommit(true);
             }
+        } catch (SQLException e) {
+            log.error("DB connection error while exporting " + csvName, e);
         }
+
+        return 0;
+    }
+
+    private Writer openCsvFile(Path csvPath) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(csvPath), OUTPUT_BUFFER_SIZE);
+
+        return new OutputStreamWriter(compression.wrap(out), StandardCharsets.UTF_8);
+    }
+
+    private void logThroughput(String csvName, long rows, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+
+        log.info(
+                "Exported {} rows to {} in {} s ({} rows/sec)",
+                rows, csvName, String.format("%.1f", seconds), String.format("%.0f", rows / Math.max(seconds, 0.001))
+        );
     }
 
 }
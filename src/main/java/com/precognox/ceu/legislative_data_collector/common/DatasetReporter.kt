@@ -1,15 +1,9 @@
 package com.precognox.ceu.legislative_data_collector.common
 
-import com.precognox.ceu.legislative_data_collector.entities.Amendment
-import com.precognox.ceu.legislative_data_collector.entities.Committee
+import com.precognox.ceu.legislative_data_collector.common.DatasetStatistics.ColumnStatistics
+import com.precognox.ceu.legislative_data_collector.common.DatasetStatistics.ValueKind
 import com.precognox.ceu.legislative_data_collector.entities.Country
-import com.precognox.ceu.legislative_data_collector.entities.ImpactAssessment
-import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord
-import com.precognox.ceu.legislative_data_collector.entities.LegislativeStage
-import com.precognox.ceu.legislative_data_collector.entities.Originator
-import com.precognox.ceu.legislative_data_collector.entities.colombia.ColombiaOriginatorVariables
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository
-import com.precognox.ceu.legislative_data_collector.utils.TextUtils
 import lombok.extern.slf4j.Slf4j
 import org.springframework.stereotype.Service
 import java.io.File
@@ -18,20 +12,19 @@ import java.math.BigInteger
 import java.math.RoundingMode
 import java.nio.file.Files
 import java.nio.file.Path
-import java.util.List
-import javax.persistence.Column
 import javax.persistence.EntityManager
-import kotlin.reflect.KClass
-import kotlin.reflect.full.createType
-import kotlin.reflect.full.declaredMemberProperties
-import kotlin.reflect.full.findAnnotation
-import kotlin.reflect.full.isSubtypeOf
-import kotlin.reflect.full.starProjectedType
 
+/**
+ * Writes the report of the dataset. The column statistics are read from the dataset_statistics table (see
+ * [DatasetStatistics]), they are only computed here for the countries without stored statistics (also the ones
+ * which were collected since their statistics were computed). The collections of
+ * the bills are listed with the bill_main_table columns, by their property names.
+ */
 @Slf4j
 @Service
 class DatasetReporter(
     private val pageSourceRepository: PageSourceRepository,
+    private val datasetStatistics: DatasetStatistics,
     private val entityManager: EntityManager) {
 
     private lateinit var reportFile: File
@@ -48,44 +41,34 @@ class DatasetReporter(
         findUnprocessedBills()
         printBillStatusDistribution()
 
-        val entityClasses = List.of(LegislativeDataRecord::class, Amendment::class, ImpactAssessment::class)
-        val embeddedClasses = List.of(Committee::class, LegislativeStage::class, Originator::class)
-
         reportFile.appendText("Collecting statistics...\n\n")
 
-        //simplify code and solve with native query for entities also?
-        entityClasses.forEach { entityClass ->
-            val entityName = entityClass.simpleName
-            val countQuery = "SELECT COUNT(s) FROM $entityName s"
-
-            val totalRecords = entityManager
-                    .createQuery(countQuery, java.lang.Long::class.java)
-                    .singleResult
-                    .toLong()
+        val statistics = loadStatistics()
 
-            reportFile.appendText("Found $totalRecords records for entity $entityName\n")
+        statistics.groupBy { it.country() }.forEach { (country, countryStatistics) ->
+            val byTable = countryStatistics.groupBy { it.tableName() }
+            val billCount = byTable[DatasetStatistics.MAIN_TABLE]?.firstOrNull()?.rowCount() ?: 0L
+            val computedAt = countryStatistics.first().computedAt()
 
-            val fieldCounts = calculateFieldCountsForEntity(entityClass)
-            val fieldPercentages = calculatePercentages(fieldCounts, totalRecords)
+            reportFile.appendText("Statistics of $country (computed at $computedAt)\n\n")
 
-            printStatistics(fieldPercentages, entityName!!)
+            DatasetStatistics.getTables(country).forEach { table ->
+                byTable[table]?.let { printStatistics(table, it, billCount) }
+            }
         }
 
-        embeddedClasses.forEach { embeddedClass ->
-            val tableName = tableNameFromEntity(embeddedClass)
+        println("Done generating report, see ${reportFile.path}")
+    }
 
-            val totalRecords: BigInteger = entityManager
-                    .createNativeQuery("SELECT COUNT(*) FROM $tableName")
-                    .singleResult as BigInteger
+    private fun loadStatistics(): List<ColumnStatistics> {
+        val stored = datasetStatistics.storedStatistics
+        val storedCountries = stored.map { it.country() }.toSet()
 
-            reportFile.appendText("Found ${totalRecords} records in table $tableName\n")
+        val missing = datasetStatistics.countriesWithRecords
+            .filterNot { storedCountries.contains(it) }
+            .flatMap { datasetStatistics.refresh(it) }
 
-            val fieldCounts = calculateFieldCountsForEmbeddedType(embeddedClass)
-            val fieldPercentages = calculatePercentages(fieldCounts, totalRecords.longValueExact())
-            printStatistics(fieldPercentages, tableName)
-        }
-
-        println("Done generating report, see ${reportFile.path}")
+        return stored + missing
     }
 
     private fun findUnprocessedBills() {
@@ -126,76 +109,54 @@ class DatasetReporter(
         reportFile.appendText("\n")
     }
 
-    private fun calculateFieldCountsForEntity(entityClass: KClass<out Any>): MutableMap<String, Long> {
-        val fieldCounts: MutableMap<String, Long> = mutableMapOf()
-        val properties = entityClass.declaredMemberProperties
-        val collectionTypes = listOf(List::class.starProjectedType, Set::class.starProjectedType)
-
-        properties.forEach { property ->
-            run {
-                val qStr: String = if (collectionTypes.none(property.returnType::isSubtypeOf)) {
-                    "SELECT COUNT(r) FROM ${entityClass.simpleName} r WHERE r.${property.name} IS NOT NULL"
-                } else {
-                    "SELECT COUNT(r) FROM ${entityClass.simpleName} r WHERE r.${property.name} IS NOT EMPTY"
-                }
-
-                val count = entityManager.createQuery(qStr).singleResult
-                fieldCounts.putIfAbsent(property.name, count as Long)
-            }
+    private fun printStatistics(tableName: String, columns: List<ColumnStatistics>, billCount: Long) {
+        val totalRecords = columns.first().rowCount()
+
+        reportFile.appendText("Found $totalRecords records in table $tableName\n")
+
+        //the child tables reference the bills with record_id, its distinct count is the number of bills with entries
+        if (tableName != DatasetStatistics.MAIN_TABLE) {
+            val billsWithEntries = columns.firstOrNull { it.columnName() == "record_id" }?.distinctCount() ?: 0L
+
+            reportFile.appendText(
+                "Bills with $tableName: $billsWithEntries (${formatPercentage(billsWithEntries, billCount)})\n"
+            )
         }
 
-        return fieldCounts
-    }
+        reportFile.appendText("Percentages of variables filled for '${tableName}': \n")
 
-    private fun calculateFieldCountsForEmbeddedType(embeddedClass: KClass<out Any>): MutableMap<String, Long> {
-        val tableName = tableNameFromEntity(embeddedClass)
-        val fieldCounts: MutableMap<String, Long> = mutableMapOf()
-        val properties = embeddedClass.declaredMemberProperties
-        val typesToSkip = listOf(ColombiaOriginatorVariables::class.createType()) //or skip by name
-
-        properties.forEach { property ->
-            run {
-                if (typesToSkip.none(property.returnType::isSubtypeOf)) {
-                    //get column name from annotation, or convert field name to snake case is annotation is not present
-                    val columnAnnotation = property.findAnnotation<Column>()
-                    val colName = columnAnnotation?.name ?: TextUtils.convertCamelCaseToSnakeCase(property.name)
-
-                    val qStr = "SELECT COUNT(*) FROM $tableName WHERE $colName IS NOT NULL"
-                    val count: BigInteger = entityManager.createNativeQuery(qStr).singleResult as BigInteger
-                    fieldCounts.putIfAbsent(property.name, count.longValueExact())
-                }
+        columns.sortedBy { it.columnName() }.forEach { column ->
+            val percentage = formatPercentage(column.nonNullCount(), totalRecords)
+
+            //the collections only have the number of bills with entries
+            if (column.kind() == ValueKind.COLLECTION) {
+                reportFile.appendText("${column.columnName()}: $percentage\n")
+            } else {
+                reportFile.appendText(
+                    "${column.columnName()}: $percentage (distinct: ${column.distinctCount()}${formatRange(column)})\n"
+                )
             }
         }
 
-        return fieldCounts
+        reportFile.appendText("\n")
     }
 
-    //make plural and snake case
-    private fun tableNameFromEntity(embeddedClass: KClass<out Any>) =
-            TextUtils.convertCamelCaseToSnakeCase(embeddedClass.simpleName!!).lowercase() + "s"
+    private fun formatRange(column: ColumnStatistics): String {
+        if (column.nonNullCount() == 0L) return ""
 
-    private fun calculatePercentages(
-            fieldCounts: MutableMap<String, Long>, totalRecords: Long): MutableMap<String, Double> {
-        val fieldPercentages: MutableMap<String, Double> = mutableMapOf()
+        val avg = column.avgValue()?.let { "avg: " + String.format("%.2f", it) + ", " } ?: ""
 
-        fieldCounts.keys.forEach { fieldName ->
-            fieldPercentages[fieldName] = fieldCounts.getOrDefault(fieldName, 0) / totalRecords.toDouble()
+        return when (column.kind()) {
+            ValueKind.NUMBER, ValueKind.DATE -> ", ${avg}min: ${column.minValue()}, max: ${column.maxValue()}"
+            ValueKind.TEXT_LENGTH -> ", length ${avg}min: ${column.minValue()}, max: ${column.maxValue()}"
+            else -> ""
         }
-
-        return fieldPercentages
     }
 
-    private fun printStatistics(fieldPercentages: MutableMap<String, Double>, tableName: String) {
-        reportFile.appendText("Percentages of variables filled for '${tableName}': \n")
-
-        fieldPercentages.entries.sortedBy { it.key }.forEach { entry ->
-            reportFile.appendText("${entry.key}: ${formatPercentage(entry.value)}\n")
-            //System.out.format("%30s:%10s%n", entry.key, formatPercentage(entry.value))
-        }
+    private fun formatPercentage(count: Long, total: Long): String {
+        val ratio = if (total == 0L) 0.0 else count / total.toDouble()
 
-        reportFile.appendText("\n")
+        return String.format("%.2f", ratio * 100) + "%"
     }
 
-    private fun formatPercentage(d: Double) = String.format("%.2f", d * 100) + "%"
-
 }
@@ -0,0 +1,416 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Column statistics of the dataset tables (fill count, distinct count, min/max/average), materialized per country in
+ * the dataset_statistics table. The collections of the records are counted too: the number of records having entries
+ * in each collection table.
+ * <p>
+ * The statistics of a table are computed with one aggregate query, a single scan of the country's rows. The stored
+ * statistics of a country are replaced when they are refreshed (after each collection run, unless
+ * statistics.refresh-after-run is turned off, or with the refresh-statistics argument), so the report only reads this
+ * small table instead of scanning the dataset. The statistics of a country are deleted when a collection run starts,
+ * so the report never reads statistics older than the last run of the country's collectors.
+ */
+@Slf4j
+@Service
+public class DatasetStatistics {
+
+    public static final String MAIN_TABLE = "bill_main_table";
+
+    /**
+     * The tables in the report, the others reference bill_main_table with their record_id column.
+     */
+    public static final List<String> TABLES = List.of(
+            MAIN_TABLE, "amendments", "impact_assessments", "committees", "legislative_stages", "originators"
+    );
+
+    /**
+     * The tables of the country-specific variables, reported after {@link #TABLES} for their country. The
+     * country-specific variables of the other countries are columns of bill_main_table.
+     */
+    public static final Map<Country, String> COUNTRY_TABLES = Map.of(
+            Country.AUSTRALIA, "australia_spec_vars",
+            Country.BRAZIL, "brazil_spec_vars",
+            Country.BULGARIA, "bulgaria_spec_vars",
+            Country.CHILE, "chile_spec_vars",
+            Country.COLOMBIA, "colombia_spec_vars",
+            Country.INDIA, "india_spec_vars",
+            Country.JORDAN, "jordan_spec_vars",
+            Country.SWEDEN, "sweden_spec_vars"
+    );
+
+    /**
+     * The collection tables of the records, by the name of the LegislativeDataRecord property. They are reported as
+     * {@link ValueKind#COLLECTION} columns of bill_main_table.
+     */
+    static final Map<String, String> COLLECTION_TABLES = new TreeMap<>(Map.ofEntries(
+            Map.entry("affectingLawsDetailed", "affecting_laws_detailed"),
+            Map.entry("amendments", "amendments"),
+            Map.entry("billVersions", "bill_versions"),
+            Map.entry("committees", "committees"),
+            Map.entry("errors", "errors"),
+            Map.entry("impactAssessments", "impact_assessments"),
+            Map.entry("modifiedLaws", "affected_laws"),
+            Map.entry("originatorSupportNames", "originator_support_names"),
+            Map.entry("originators", "originators"),
+            Map.entry("relatedBills", "related_bills"),
+            Map.entry("stages", "legislative_stages")
+    ));
+
+    //every column has this many aggregate columns in the query: non-null count, distinct count, min, max, average
+    private static final int AGGREGATES_PER_COLUMN = 5;
+
+    private static final Set<String> NUMBER_TYPES = Set.of(
+            "smallint", "integer", "bigint", "numeric", "real", "double precision"
+    );
+    private static final Set<String> DATE_TYPES = Set.of(
+            "date", "timestamp without time zone", "timestamp with time zone"
+    );
+    private static final Set<String> TEXT_TYPES = Set.of("character varying", "character", "text");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String dbSchema;
+
+    /**
+     * How the min/max/average of a column are computed.
+     */
+    public enum ValueKind {
+        /**
+         * Of the values.
+         */
+        NUMBER,
+        /**
+         * Min and max of the values, no average.
+         */
+        DATE,
+        /**
+         * Of the lengths of the values.
+         */
+        TEXT_LENGTH,
+        /**
+         * Only the counts.
+         */
+        OTHER,
+        /**
+         * A collection of the records, the non-null count is the number of records with entries in it.
+         */
+        COLLECTION
+    }
+
+    record Column(String name, ValueKind kind) {
+    }
+
+    /**
+     * @param rowCount The number of rows of the country in the table.
+     * @param distinctCount The number of distinct non-null values.
+     * @param minValue Null for {@link ValueKind#OTHER} columns.
+     * @param maxValue Null for {@link ValueKind#OTHER} columns.
+     * @param avgValue Null for {@link ValueKind#DATE} and {@link ValueKind#OTHER} columns.
+     */
+    public record ColumnStatistics(
+            Country country,
+            String tableName,
+            String columnName,
+            ValueKind kind,
+            long rowCount,
+            long nonNullCount,
+            Long distinctCount,
+            String minValue,
+            String maxValue,
+            Double avgValue,
+            LocalDateTime computedAt) {
+    }
+
+    @Autowired
+    public DatasetStatistics(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dbSchema = dbSchema;
+    }
+
+    /**
+     * Recomputes the statistics of the country and replaces the stored ones in one transaction.
+     */
+    public List<ColumnStatistics> refresh(Country country) {
+        long start = System.currentTimeMillis();
+        LocalDateTime computedAt = LocalDateTime.now();
+        List<ColumnStatistics> statistics = new ArrayList<>();
+
+        for (String table : getTables(country)) {
+            statistics.addAll(computeTableStatistics(country, table, computedAt));
+        }
+
+        statistics.addAll(computeCollectionStatistics(country, computedAt));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM " + dbSchema + ".dataset_statistics WHERE country = ?", country.name());
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO " + dbSchema + ".dataset_statistics (country, table_name, column_name, value_kind,"
+                            + " row_count, non_null_count, distinct_count, min_value, max_value, avg_value,"
+                            + " computed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    statistics,
+                    statistics.size(),
+                    (ps, stat) -> {
+                        ps.setString(1, stat.country().name());
+                        ps.setString(2, stat.tableName());
+                        ps.setString(3, stat.columnName());
+                        ps.setString(4, stat.kind().name());
+                        ps.setLong(5, stat.rowCount());
+                        ps.setLong(6, stat.nonNullCount());
+                        ps.setObject(7, stat.distinctCount());
+                        ps.setString(8, stat.minValue());
+                        ps.setString(9, stat.maxValue());
+                        ps.setObject(10, stat.avgValue());
+                        ps.setTimestamp(11, Timestamp.valueOf(stat.computedAt()));
+                    }
+            );
+        });
+
+        log.info("Computed {} column statistics for {} in {} ms",
+                statistics.size(), country, System.currentTimeMillis() - start);
+
+        return statistics;
+    }
+
+    /**
+     * Deletes the stored statistics of the country, called when its data is about to change. The report computes the
+     * statistics of the countries without stored ones.
+     */
+    public void invalidate(Country country) {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM " + dbSchema + ".dataset_statistics WHERE country = ?", country.name()
+        );
+
+        log.debug("Deleted {} stored column statistics of {}", deleted, country);
+    }
+
+    /**
+     * @return The stored statistics, ordered by country, table and column.
+     */
+    public List<ColumnStatistics> getStoredStatistics() {
+        return jdbcTemplate.query(
+                "SELECT * FROM " + dbSchema + ".dataset_statistics ORDER BY country, table_name, column_name",
+                (rs, rowNum) -> readStoredStatistics(rs)
+        );
+    }
+
+    /**
+     * @return The countries having records.
+     */
+    public List<Country> getCountriesWithRecords() {
+        return jdbcTemplate.queryForList(
+                        "SELECT DISTINCT country FROM " + dbSchema + "." + MAIN_TABLE + " WHERE country IS NOT NULL",
+                        String.class
+                ).stream()
+                .map(Country::valueOf)
+                .toList();
+    }
+
+    /**
+     * @return The tables reported for the country.
+     */
+    public static List<String> getTables(Country country) {
+        List<String> tables = new ArrayList<>(TABLES);
+
+        if (COUNTRY_TABLES.containsKey(country)) {
+            tables.add(COUNTRY_TABLES.get(country));
+        }
+
+        return tables;
+    }
+
+    private List<ColumnStatistics> computeTableStatistics(Country country, String table, LocalDateTime computedAt) {
+        List<Column> columns = jdbcTemplate.query(
+                "SELECT column_name, data_type FROM information_schema.columns"
+                        + " WHERE table_schema = ? AND table_name = ? AND column_name <> 'id'"
+                        + " ORDER BY ordinal_position",
+                (rs, rowNum) -> new Column(rs.getString(1), valueKind(rs.getString(2))),
+                dbSchema, table
+        );
+
+        if (columns.isEmpty()) {
+            log.warn("Table {} not found, no statistics computed for it", table);
+            return List.of();
+        }
+
+        return jdbcTemplate.query(buildAggregateQuery(dbSchema, table, columns), rs -> {
+            rs.next();
+            long rowCount = rs.getLong(1);
+            List<ColumnStatistics> result = new ArrayList<>(columns.size());
+
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                int offset = 2 + i * AGGREGATES_PER_COLUMN;
+
+                result.add(new ColumnStatistics(
+                        country,
+                        table,
+                        column.name(),
+                        column.kind(),
+                        rowCount,
+                        rs.getLong(offset),
+                        rs.getLong(offset + 1),
+                        rs.getString(offset + 2),
+                        rs.getString(offset + 3),
+                        (Double) rs.getObject(offset + 4),
+                        computedAt
+                ));
+            }
+
+            return result;
+        }, country.name());
+    }
+
+    /**
+     * Counts the records having entries in the collection tables, in one scan of the country's records.
+     */
+    private List<ColumnStatistics> computeCollectionStatistics(Country country, LocalDateTime computedAt) {
+        List<String> properties = new ArrayList<>(COLLECTION_TABLES.keySet());
+
+        return jdbcTemplate.query(buildCollectionQuery(dbSchema, properties), rs -> {
+            rs.next();
+            long rowCount = rs.getLong(1);
+            List<ColumnStatistics> result = new ArrayList<>(properties.size());
+
+            for (int i = 0; i < properties.size(); i++) {
+                result.add(new ColumnStatistics(
+                        country,
+                        MAIN_TABLE,
+                        properties.get(i),
+                        ValueKind.COLLECTION,
+                        rowCount,
+                        rs.getLong(i + 2),
+                        null,
+                        null,
+                        null,
+                        null,
+                        computedAt
+                ));
+            }
+
+            return result;
+        }, country.name());
+    }
+
+    /**
+     * Builds the query counting the records of the country and, for each collection property, the records with
+     * entries in its table (an index lookup on record_id per record). The only parameter is the country.
+     */
+    static String buildCollectionQuery(String schema, List<String> collectionProperties) {
+        StringBuilder query = new StringBuilder("SELECT count(*)");
+
+        for (String property : collectionProperties) {
+            query.append(", count(*) FILTER (WHERE EXISTS (SELECT 1 FROM ")
+                    .append(schema).append(".").append(COLLECTION_TABLES.get(property))
+                    .append(" c WHERE c.record_id = t.id))");
+        }
+
+        query.append(" FROM ").append(schema).append(".").append(MAIN_TABLE).append(" t WHERE t.country = ?");
+
+        return query.toString();
+    }
+
+    /**
+     * Builds the query computing the statistics of every column in one scan. The first result column is the number
+     * of rows, then each column has {@value #AGGREGATES_PER_COLUMN} result columns: non-null count, distinct count,
+     * min and max (as text) and average (as double). The only parameter is the country.
+     */
+    static String buildAggregateQuery(String schema, String table, List<Column> columns) {
+        StringBuilder query = new StringBuilder("SELECT count(*)");
+
+        for (Column column : columns) {
+            //quoted, some columns have keyword names (date, name)
+            String col = "t.\"" + column.name() + "\"";
+
+            //long texts are hashed for the distinct count, so the sort doesn't hold the whole texts
+            String distinctValue = column.kind() == ValueKind.TEXT_LENGTH ? "md5(" + col + ")" : col;
+
+            String measured = switch (column.kind()) {
+                case TEXT_LENGTH -> "char_length(" + col + ")";
+                case NUMBER, DATE -> col;
+                case OTHER, COLLECTION -> null;
+            };
+
+            query.append(", count(").append(col).append(")");
+            query.append(", count(DISTINCT ").append(distinctValue).append(")");
+
+            if (measured == null) {
+                query.append(", NULL::text, NULL::text");
+            } else {
+                query.append(", min(").append(measured).append(")::text");
+                query.append(", max(").append(measured).append(")::text");
+            }
+
+            if (column.kind() == ValueKind.NUMBER || column.kind() == ValueKind.TEXT_LENGTH) {
+                query.append(", avg(").append(measured).append(")::double precision");
+            } else {
+                query.append(", NULL::double precision");
+            }
+        }
+
+        query.append(" FROM ").append(schema).append(".").append(table).append(" t");
+
+        if (MAIN_TABLE.equals(table)) {
+            query.append(" WHERE t.country = ?");
+        } else {
+            query.append(" JOIN ").append(schema).append(".").append(MAIN_TABLE)
+                    .append(" b ON b.id = t.record_id WHERE b.country = ?");
+        }
+
+        return query.toString();
+    }
+
+    static ValueKind valueKind(String dataType) {
+        if (NUMBER_TYPES.contains(dataType)) {
+            return ValueKind.NUMBER;
+        } else if (DATE_TYPES.contains(dataType)) {
+            return ValueKind.DATE;
+        } else if (TEXT_TYPES.contains(dataType)) {
+            return ValueKind.TEXT_LENGTH;
+        }
+
+        return ValueKind.OTHER;
+    }
+
+    private ColumnStatistics readStoredStatistics(ResultSet rs) throws SQLException {
+        Timestamp computedAt = rs.getTimestamp("computed_at");
+
+        return new ColumnStatistics(
+                Country.valueOf(rs.getString("country")),
+                rs.getString("table_name"),
+                rs.getString("column_name"),
+                ValueKind.valueOf(rs.getString("value_kind")),
+                rs.getLong("row_count"),
+                rs.getLong("non_null_count"),
+                (Long) rs.getObject("distinct_count"),
+                rs.getString("min_value"),
+                rs.getString("max_value"),
+                (Double) rs.getObject("avg_value"),
+                computedAt != null ? computedAt.toLocalDateTime() : null
+        );
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import javax.annotation.Nullable;
+
+/**
+ * Country-specific mapping between the law IDs stored in {@code affected_laws.modified_law_id} and the law records in
+ * {@code bill_main_table}. Both sides are converted to a common key, and the affecting laws are counted per key by
+ * {@link AffectingLawsEngine}.
+ */
+public interface LawIdNormalizer {
+
+    /**
+     * @return The key under which the given law can be referenced as a modified law, or null if the record can not
+     * be an affected law (for example it has no law ID).
+     */
+    @Nullable
+    String lawKey(AffectingLawsEngine.LawRow law);
+
+    /**
+     * @return The key for a stored modified law ID, or null if the ID can not be matched to any law.
+     */
+    @Nullable
+    default String modifiedLawKey(String modifiedLawId) {
+        return modifiedLawId;
+    }
+
+    /**
+     * @return True if a key must identify exactly one law to be updated. Ambiguous keys are skipped in this case.
+     */
+    default boolean uniqueMatchOnly() {
+        return false;
+    }
+
+}
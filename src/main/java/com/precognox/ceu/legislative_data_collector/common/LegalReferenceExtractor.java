@@ -0,0 +1,321 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the law citations of a country's reference patterns in a text, with the same results as running
+ * {@link Matcher#find()} with every pattern over the whole text, one after the other.
+ * <p>
+ * The literals of the patterns are compiled into one {@link AhoCorasickAutomaton}, which is run once over the text.
+ * A pattern is only evaluated if all its required literals occur in the text, and only at the positions where a match
+ * can start: at the occurrences of its start literals, or at the matches of its start pattern. The start patterns are
+ * shared, each is run at most once per text.
+ * <p>
+ * The extractor is immutable and thread-safe, it should be created once per country.
+ */
+public class LegalReferenceExtractor {
+
+    /**
+     * A citation found in the text. The fields not configured in the {@link ReferencePattern} are null.
+     *
+     * @param patternIndex The index of the matching pattern in the extractor.
+     * @param citation The text of the citation group (the whole match by default).
+     */
+    public record LegalReference(
+            int patternIndex, int start, int end, String citation, @Nullable String title, @Nullable String year,
+            @Nullable String lawNumber, @Nullable String gazetteIssue) {
+    }
+
+    /**
+     * A citation regex with the literals used for prefiltering, and the groups of the typed values.
+     */
+    public static class ReferencePattern {
+        private final Pattern pattern;
+        private List<String> startLiterals = List.of();
+        private Pattern startPattern;
+        private List<String> requiredLiterals = List.of();
+        private int citationGroup;
+        private int titleGroup = -1;
+        private int yearGroup = -1;
+        private int lawNumberGroup = -1;
+        private int gazetteIssueGroup = -1;
+
+        public ReferencePattern(String regex) {
+            this(Pattern.compile(regex));
+        }
+
+        public ReferencePattern(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        /**
+         * @param literals Every match starts with one of these literals.
+         */
+        public ReferencePattern startsWith(String... literals) {
+            startLiterals = List.of(literals);
+            return this;
+        }
+
+        /**
+         * @param regex Every match starts at the start of a match of this regex. The matches of the regex must not
+         * overlap with other possible matches, like a law ID pattern beginning with the year.
+         */
+        public ReferencePattern startsAt(String regex) {
+            startPattern = Pattern.compile(regex);
+            return this;
+        }
+
+        /**
+         * @param literals Each of these literals is contained by every match.
+         */
+        public ReferencePattern requires(String... literals) {
+            requiredLiterals = List.of(literals);
+            return this;
+        }
+
+        public ReferencePattern citation(int group) {
+            citationGroup = group;
+            return this;
+        }
+
+        public ReferencePattern title(int group) {
+            titleGroup = group;
+            return this;
+        }
+
+        public ReferencePattern year(int group) {
+            yearGroup = group;
+            return this;
+        }
+
+        public ReferencePattern lawNumber(int group) {
+            lawNumberGroup = group;
+            return this;
+        }
+
+        public ReferencePattern gazetteIssue(int group) {
+            gazetteIssueGroup = group;
+            return this;
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        private LegalReference toReference(int patternIndex, Matcher matcher) {
+            return new LegalReference(
+                    patternIndex,
+                    matcher.start(),
+                    matcher.end(),
+                    matcher.group(citationGroup),
+                    group(matcher, titleGroup),
+                    group(matcher, yearGroup),
+                    group(matcher, lawNumberGroup),
+                    group(matcher, gazetteIssueGroup)
+            );
+        }
+
+        private static String group(Matcher matcher, int group) {
+            return group >= 0 ? matcher.group(group) : null;
+        }
+    }
+
+    private final List<ReferencePattern> patterns;
+    private final List<Pattern> startPatterns;
+    private final AhoCorasickAutomaton automaton;
+    private final BitSet startLiterals = new BitSet();
+
+    //literal indexes of the automaton by pattern
+    private final int[][] startLiteralIndexes;
+    private final int[][] requiredLiteralIndexes;
+    private final int[] startPatternIndexes;
+
+    private LegalReferenceExtractor(List<ReferencePattern> patterns) {
+        this.patterns = List.copyOf(patterns);
+
+        Map<String, Integer> literals = new LinkedHashMap<>();
+        Map<String, Integer> startRegexes = new LinkedHashMap<>();
+        List<Pattern> startPatternList = new ArrayList<>();
+
+        startLiteralIndexes = new int[patterns.size()][];
+        requiredLiteralIndexes = new int[patterns.size()][];
+        startPatternIndexes = new int[patterns.size()];
+
+        for (int i = 0; i < patterns.size(); i++) {
+            ReferencePattern pattern = patterns.get(i);
+
+            startLiteralIndexes[i] = pattern.startLiterals.stream()
+                    .mapToInt(literal -> literals.computeIfAbsent(literal, key -> literals.size()))
+                    .toArray();
+            Arrays.stream(startLiteralIndexes[i]).forEach(startLiterals::set);
+
+            requiredLiteralIndexes[i] = pattern.requiredLiterals.stream()
+                    .mapToInt(literal -> literals.computeIfAbsent(literal, key -> literals.size()))
+                    .toArray();
+
+            if (pattern.startPattern != null) {
+                startPatternIndexes[i] = startRegexes.computeIfAbsent(pattern.startPattern.pattern(), key -> {
+                    startPatternList.add(pattern.startPattern);
+                    return startPatternList.size() - 1;
+                });
+            } else {
+                startPatternIndexes[i] = -1;
+            }
+        }
+
+        startPatterns = List.copyOf(startPatternList);
+        automaton = literals.isEmpty() ? null : new AhoCorasickAutomaton(new ArrayList<>(literals.keySet()));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<ReferencePattern> patterns = new ArrayList<>();
+
+        public Builder add(ReferencePattern pattern) {
+            patterns.add(pattern);
+            return this;
+        }
+
+        public LegalReferenceExtractor build() {
+            return new LegalReferenceExtractor(patterns);
+        }
+    }
+
+    /**
+     * @return The patterns of the extractor, in the order they were added.
+     */
+    public List<Pattern> getPatterns() {
+        return patterns.stream().map(ReferencePattern::getPattern).toList();
+    }
+
+    /**
+     * @return All matches of the patterns, ordered by the pattern index and by the position in the text.
+     */
+    public List<LegalReference> find(CharSequence text) {
+        LiteralHits hits = scanLiterals(text);
+        Map<Integer, int[]> startPatternMatches = new HashMap<>();
+        List<LegalReference> references = new ArrayList<>();
+
+        for (int i = 0; i < patterns.size(); i++) {
+            if (!hits.containsAll(requiredLiteralIndexes[i])) {
+                continue;
+            }
+
+            int[] starts;
+
+            if (startLiteralIndexes[i].length > 0) {
+                starts = hits.startsOf(startLiteralIndexes[i]);
+            } else if (startPatternIndexes[i] >= 0) {
+                starts = startPatternMatches.computeIfAbsent(
+                        startPatternIndexes[i], index -> findStarts(startPatterns.get(index), text));
+            } else {
+                starts = null;
+            }
+
+            findMatches(i, text, starts, references);
+        }
+
+        return references;
+    }
+
+    /**
+     * Finds the same matches as {@link Matcher#find()}, but tries to match only at the given start positions.
+     *
+     * @param starts The sorted possible start positions, or null to search the whole text.
+     */
+    private void findMatches(int patternIndex, CharSequence text, int[] starts, List<LegalReference> references) {
+        ReferencePattern pattern = patterns.get(patternIndex);
+        Matcher matcher = pattern.pattern.matcher(text);
+
+        if (starts == null) {
+            while (matcher.find()) {
+                references.add(pattern.toReference(patternIndex, matcher));
+            }
+
+            return;
+        }
+
+        //the bounds of the region must not change the meaning of anchors and lookarounds
+        matcher.useTransparentBounds(true).useAnchoringBounds(false);
+        int from = 0;
+
+        for (int start : starts) {
+            if (start < from) {
+                continue;
+            }
+
+            matcher.region(start, text.length());
+
+            if (matcher.lookingAt()) {
+                references.add(pattern.toReference(patternIndex, matcher));
+                from = matcher.end() == start ? start + 1 : matcher.end();
+            }
+        }
+    }
+
+    private static int[] findStarts(Pattern startPattern, CharSequence text) {
+        return startPattern.matcher(text).results().mapToInt(result -> result.start()).toArray();
+    }
+
+    private LiteralHits scanLiterals(CharSequence text) {
+        LiteralHits hits = new LiteralHits(startLiterals);
+
+        if (automaton != null) {
+            automaton.scan(text, hits::add);
+        }
+
+        return hits;
+    }
+
+    /**
+     * The literal occurrences of one text.
+     */
+    private static class LiteralHits {
+        private final BitSet startLiterals;
+        private final BitSet found = new BitSet();
+        private final Map<Integer, List<Integer>> starts = new HashMap<>();
+
+        LiteralHits(BitSet startLiterals) {
+            this.startLiterals = startLiterals;
+        }
+
+        void add(int literalIndex, int start) {
+            found.set(literalIndex);
+
+            //only the positions of the start literals are used
+            if (startLiterals.get(literalIndex)) {
+                starts.computeIfAbsent(literalIndex, index -> new ArrayList<>()).add(start);
+            }
+        }
+
+        boolean containsAll(int[] literalIndexes) {
+            return Arrays.stream(literalIndexes).allMatch(found::get);
+        }
+
+        /**
+         * @return The sorted, distinct start positions of the literals.
+         */
+        int[] startsOf(int[] literalIndexes) {
+            return Arrays.stream(literalIndexes)
+                    .mapToObj(index -> starts.getOrDefault(index, List.of()))
+                    .flatMap(List::stream)
+                    .mapToInt(Integer::intValue)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+        }
+    }
+
+}
@@ -2,15 +2,15 @@ package com.precognox.ceu.legislative_data_collector.common;
 
 import com.jauntium.Browser;
 import com.jauntium.Document;
+import com.precognox.ceu.legislative_data_collector.common.http.HttpFetchEngine;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.hungary.Utils;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
+import com.precognox.ceu.legislative_data_collector.utils.jsoup.JsoupDocument;
 import com.precognox.ceu.legislative_data_collector.utils.selenium.SeleniumUtils;
 import com.precognox.ceu.legislative_data_collector.utils.selenium.WebDriverWaitExtend;
 import kong.unirest.HttpResponse;
-import kong.unirest.Unirest;
-import kong.unirest.UnirestException;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -26,6 +26,7 @@ import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Loads stored pages from the DB, or opens a browser to fetch a page if it was not stored before.
@@ -37,21 +38,24 @@ public class PageSourceLoader {
     private final BrowserPool browserPool;
     private final PageSourceRepository pageSourceRepository;
     private final TransactionTemplate transactionTemplate;
+    private final HttpFetchEngine httpFetchEngine;
 
     private static final int TIMEOUT = 45;
 
     //for tracking statistics of the effectiveness of caching in DB
-    private int totalPageLoads = 0;
-    private int loadsFromNetwork = 0;
+    private final AtomicInteger totalPageLoads = new AtomicInteger();
+    private final AtomicInteger loadsFromNetwork = new AtomicInteger();
 
     @Autowired
     public PageSourceLoader(
             BrowserPool browserPool,
             PageSourceRepository pageSourceRepository,
-            TransactionTemplate transactionTemplate) {
+            TransactionTemplate transactionTemplate,
+            HttpFetchEngine httpFetchEngine) {
         this.browserPool = browserPool;
         this.pageSourceRepository = pageSourceRepository;
         this.transactionTemplate = transactionTemplate;
+        this.httpFetchEngine = httpFetchEngine;
     }
 
     public Document fetchParsedDocument(Browser browser, String pageType, String url) {
@@ -64,9 +68,25 @@ public class PageSourceLoader {
         return loadCode(browser, stored.getRawSource());
     }
 
+    /**
+     * Browserless variant of {@link #fetchParsedDocument(Browser, String, String)}: the stored page is parsed in
+     * process with Jsoup. A browser is only started if the page is not stored yet and has to be fetched.
+     */
+    public JsoupDocument fetchStaticDocument(String pageType, String url) {
+        return fetchStaticDocument(pageType, url, null);
+    }
+
+    public JsoupDocument fetchStaticDocument(String pageType, String url, String waitForElementClassName) {
+        PageSource stored = loadFromDbOrFetchWithBrowser(pageType, url, waitForElementClassName);
+        return parseCode(stored.getRawSource(), url);
+    }
+
+    /**
+     * Loads the page from the DB, or fetches it with a GET request through the {@link HttpFetchEngine} (which applies
+     * the per-host rate limits). Can be called from multiple threads.
+     */
     public Optional<PageSource> loadFromDbOrFetchWithHttpGet(Country country, String pageType, String url) {
-        totalPageLoads++;
-        printStatistics();
+        printStatistics(totalPageLoads.incrementAndGet());
 
         List<PageSource> stored = pageSourceRepository.findAllByPageTypeAndPageUrl(pageType, url);
 
@@ -74,8 +94,11 @@ public class PageSourceLoader {
             return Optional.ofNullable(stored.get(0));
         }
 
-        try {
-            HttpResponse<String> resp = Unirest.get(url).asString();
+        Optional<HttpResponse<String>> response = httpFetchEngine.getString(url);
+        loadsFromNetwork.incrementAndGet();
+
+        if (response.isPresent()) {
+            HttpResponse<String> resp = response.get();
 
             if (resp.isSuccess()) {
                 PageSource pageSource = new PageSource();
@@ -93,8 +116,6 @@ public class PageSourceLoader {
             } else {
                 log.error("{} HTTP response received for URL: {}", resp.getStatus(), url);
             }
-        } catch (UnirestException e) {
-            log.error("Failed to fetch page: " + url, e);
         }
 
         return Optional.empty();
@@ -109,8 +130,7 @@ public class PageSourceLoader {
      */
     public PageSource loadFromDbOrFetchWithBrowser(
             String pageType, String url, @Nullable String waitForElementClassName) {
-        totalPageLoads++;
-        printStatistics();
+        printStatistics(totalPageLoads.incrementAndGet());
 
         Optional<PageSource> stored;
 
@@ -128,7 +148,7 @@ public class PageSourceLoader {
 
         try {
             browser.get(url);
-            loadsFromNetwork++;
+            loadsFromNetwork.incrementAndGet();
 
             if (SeleniumUtils.isCaptchaOrError(browser)) {
                 //retry without proxy
@@ -179,12 +199,14 @@ public class PageSourceLoader {
         throw new IllegalArgumentException("Can not determine country from URL: " + url);
     }
 
-    private void printStatistics() {
-        if (totalPageLoads % 50 == 0) {
+    private void printStatistics(int totalLoads) {
+        if (totalLoads % 50 == 0) {
+            int fromNetwork = loadsFromNetwork.get();
+
             log.info("Statistics for PageSourceLoader: ");
             log.info(
                     "Total page loads: {}, from web: {} ({}%)",
-                    totalPageLoads, loadsFromNetwork, (loadsFromNetwork / (double) totalPageLoads) * 100
+                    totalLoads, fromNetwork, (fromNetwork / (double) totalLoads) * 100
             );
         }
     }
@@ -201,6 +223,16 @@ public class PageSourceLoader {
         return browser.visit("data:text/html;base64," + encoded);
     }
 
+    /**
+     * Parses the page source without a browser.
+     *
+     * @param source The stored page source.
+     * @param baseUrl The URL of the page, used for resolving relative links.
+     */
+    public JsoupDocument parseCode(String source, String baseUrl) {
+        return JsoupDocument.parse(source, baseUrl);
+    }
+
     public void loadInBrowser(ChromeDriver browser, String url) {
         pageSourceRepository.findByPageUrl(url).ifPresentOrElse(
                 stored -> loadCode(browser, stored.getRawSource()),
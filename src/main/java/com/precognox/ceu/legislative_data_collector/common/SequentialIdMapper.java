@@ -7,53 +7,225 @@ import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGener
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import javax.transaction.Transactional;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Overwrites the record IDs of stored records to remove gaps in the numbering.
+ * Overwrites the record IDs of stored records to remove gaps in the numbering. The records of the country are
+ * numbered from 1 in the order of their introduction date.
+ * <p>
+ * The remapping runs in the database in one transaction: the old-new record ID pairs are computed into a temporary
+ * table, then bill_main_table is updated from it with a single UPDATE. The unique constraint of record_id is
+ * deferrable, so IDs swapped between records don't collide in the middle of the update. The child tables reference
+ * the numeric primary key of bill_main_table, which is not changed, so they need no update.
  */
 @Slf4j
 @Service
 public class SequentialIdMapper {
 
-    @Autowired
-    private LegislativeDataRepository legislativeDataRepository;
+    //number of changed IDs listed in the log
+    private static final int LOGGED_MAPPING_COUNT = 20;
+
+    private final DataSource dataSource;
+    private final String dbSchema;
+    private final LegislativeDataRepository legislativeDataRepository;
+    private final PrimaryKeyGeneratingRepository primaryKeyGeneratingRepository;
+
+    /**
+     * A record ID changed by the remapping.
+     */
+    public record IdMapping(long id, String oldRecordId, String newRecordId) {
+    }
+
+    /**
+     * @param recordCount The number of records of the country.
+     * @param changes The records getting a new ID, in the new ID order.
+     * @param elapsedMillis The duration of the remapping.
+     * @param dryRun Whether the changes were rolled back.
+     */
+    public record RemapResult(int recordCount, List<IdMapping> changes, long elapsedMillis, boolean dryRun) {
+    }
 
     @Autowired
-    private PrimaryKeyGeneratingRepository primaryKeyGeneratingRepository;
+    public SequentialIdMapper(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema,
+            LegislativeDataRepository legislativeDataRepository,
+            PrimaryKeyGeneratingRepository primaryKeyGeneratingRepository) {
+        this.dataSource = jdbcTemplate.getDataSource();
+        this.dbSchema = dbSchema;
+        this.legislativeDataRepository = legislativeDataRepository;
+        this.primaryKeyGeneratingRepository = primaryKeyGeneratingRepository;
+    }
+
+    public RemapResult reassignIds(Country country) {
+        return reassignIds(country, false);
+    }
+
+    /**
+     * @param dryRun When true the mapping is computed and applied, but the transaction is rolled back, so the
+     * result tells what would be changed and how long it takes.
+     */
+    public RemapResult reassignIds(Country country, boolean dryRun) {
+        log.info("Remapping record IDs of {}{}...", country, dryRun ? " (dry run)" : "");
+        long start = System.currentTimeMillis();
 
-    @Transactional
-    public void reassignIds(Country country) {
-        log.info("Remapping record IDs...");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setSchema(dbSchema);
+            connection.setAutoCommit(false);
+
+            try {
+                int recordCount = createMappingTable(connection, country);
+                List<IdMapping> changes = readChanges(connection);
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET CONSTRAINTS ALL DEFERRED");
+                    statement.executeUpdate(
+                            "UPDATE bill_main_table b SET record_id = m.new_record_id "
+                                    + "FROM record_id_mapping m WHERE b.id = m.id"
+                    );
+                }
+
+                if (dryRun) {
+                    connection.rollback();
+                } else {
+                    connection.commit();
+                }
+
+                RemapResult result = new RemapResult(
+                        recordCount, changes, System.currentTimeMillis() - start, dryRun
+                );
+                logResult(country, result);
+
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to remap record IDs of " + country, e);
+        }
+    }
+
+    /**
+     * Fills the temporary mapping table with the records getting a new ID, dropped at the end of the transaction.
+     *
+     * @return The number of records of the country.
+     */
+    private int createMappingTable(Connection connection, Country country) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE TEMPORARY TABLE record_id_mapping ("
+                            + "id bigint PRIMARY KEY, old_record_id varchar, new_record_id varchar NOT NULL"
+                            + ") ON COMMIT DROP"
+            );
+        }
+
+        //same order as LegislativeDataRepository.findAllSortedByDateIntro, the ID breaks the ties
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO record_id_mapping (id, old_record_id, new_record_id) "
+                        + "SELECT id, record_id, ? || lpad(n::text, greatest(5, length(n::text)), '0') "
+                        + "FROM (SELECT id, record_id, row_number() OVER (ORDER BY date_introduction, id) AS n "
+                        + "FROM bill_main_table WHERE country = ?) numbered")) {
+            statement.setString(1, country.getPrefix());
+            statement.setString(2, country.name());
+            int recordCount = statement.executeUpdate();
+
+            try (Statement cleanup = connection.createStatement()) {
+                cleanup.executeUpdate(
+                        "DELETE FROM record_id_mapping WHERE old_record_id IS NOT DISTINCT FROM new_record_id"
+                );
+                cleanup.execute("ANALYZE record_id_mapping");
+            }
+
+            return recordCount;
+        }
+    }
+
+    private List<IdMapping> readChanges(Connection connection) throws SQLException {
+        List<IdMapping> changes = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(
+                        "SELECT id, old_record_id, new_record_id FROM record_id_mapping ORDER BY new_record_id")) {
+            while (resultSet.next()) {
+                changes.add(new IdMapping(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3)));
+            }
+        }
+
+        return changes;
+    }
+
+    private void logResult(Country country, RemapResult result) {
+        log.info(
+                "{} {} of {} record IDs of {} in {} ms",
+                result.dryRun() ? "Would change" : "Changed",
+                result.changes().size(), result.recordCount(), country, result.elapsedMillis()
+        );
+
+        result.changes().stream()
+                .limit(LOGGED_MAPPING_COUNT)
+                .forEach(change -> log.info("\t{} -> {}", change.oldRecordId(), change.newRecordId()));
+
+        if (result.changes().size() > LOGGED_MAPPING_COUNT) {
+            log.info("\t... and {} more", result.changes().size() - LOGGED_MAPPING_COUNT);
+        }
+    }
+
+    /**
+     * Times the set based remapping (as a dry run) against the previous implementation, which merges every record in
+     * its own transaction, twice. The previous implementation runs for real: it leaves the same IDs in the database
+     * as {@link #reassignIds(Country)} would.
+     */
+    public void compareWithPerRecordRemapping(Country country) {
+        RemapResult setBased = reassignIds(country, true);
+        long perRecordMillis = reassignIdsPerRecord(country);
+
+        log.info(
+                "Remapping {} record IDs of {}: set based {} ms, per record {} ms",
+                setBased.recordCount(), country, setBased.elapsedMillis(), perRecordMillis
+        );
+    }
 
-        int startId = 1;
-        int maxId = 99_999;
-        int currentId = maxId;
+    /**
+     * The previous implementation, kept for the comparison. The records are first moved to the top of the ID range,
+     * so the final IDs don't collide with the old ones.
+     *
+     * @return The duration of the remapping in milliseconds.
+     */
+    long reassignIdsPerRecord(Country country) {
+        long start = System.currentTimeMillis();
+        int currentId = 99_999;
 
-        //set db sequence?
-        //sort by dates intro
         List<LegislativeDataRecord> page = legislativeDataRepository.findAllSortedByDateIntro(country);
 
         for (LegislativeDataRecord record : page) {
             record.setRecordId(country.getPrefix() + StringUtils.leftPad(Integer.toString(currentId), 5, '0'));
             primaryKeyGeneratingRepository.mergeInNewTransaction(record);
-            log.info("Set ID: {}", currentId);
             currentId--;
         }
 
-        currentId = startId;
+        currentId = 1;
 
         for (LegislativeDataRecord record : page) {
             record.setRecordId(country.getPrefix() + StringUtils.leftPad(Integer.toString(currentId), 5, '0'));
             primaryKeyGeneratingRepository.mergeInNewTransaction(record);
-            log.info("Set ID: {}", currentId);
             currentId++;
         }
 
-        log.info("Finished setting record IDs");
+        return System.currentTimeMillis() - start;
     }
 
 }
@@ -0,0 +1,124 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of the already stored URLs (or other keys, like bill IDs), replacing the per-item existence
+ * queries of the collection loops. Usually created and preloaded by {@link UrlSeenIndexLoader}. Thread safe.
+ * <p>
+ * Lookups go through a Bloom filter first, which answers most new URLs without touching anything else. Keys passing
+ * the filter are checked in an exact set. The exact set has a capacity limit to keep the memory bounded, the keys
+ * above the limit are only added to the Bloom filter, and from then on the keys passing the filter but missing from
+ * the exact set are checked with the fallback (a DB existence query).
+ */
+@Slf4j
+public class UrlSeenIndex {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    //the filter is sized for this many times the preloaded keys, so the keys added later don't increase its error rate
+    private static final int GROWTH_FACTOR = 2;
+    private static final int MIN_EXPECTED_KEYS = 10_000;
+
+    private final String name;
+    private final BloomFilter<CharSequence> bloomFilter;
+    private final Set<String> exactKeys = ConcurrentHashMap.newKeySet();
+    private final int exactCapacity;
+    private final Predicate<String> fallback;
+
+    private volatile boolean exactSetComplete = true;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong filteredLookups = new AtomicLong();
+    private final AtomicLong fallbackLookups = new AtomicLong();
+
+    /**
+     * @param name Used in the log messages.
+     * @param expectedKeys The number of keys to be preloaded.
+     * @param exactCapacity The maximum number of keys kept in the exact set.
+     * @param fallback Checks a key in the DB, used only after the exact set is full.
+     */
+    public UrlSeenIndex(String name, long expectedKeys, int exactCapacity, Predicate<String> fallback) {
+        this.name = name;
+        this.exactCapacity = exactCapacity;
+        this.fallback = fallback;
+        this.bloomFilter = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8),
+                Math.max(MIN_EXPECTED_KEYS, expectedKeys * GROWTH_FACTOR),
+                FALSE_POSITIVE_PROBABILITY
+        );
+    }
+
+    /**
+     * @return True if the key was stored. Null keys are never stored.
+     */
+    public boolean contains(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        lookups.incrementAndGet();
+
+        if (!bloomFilter.mightContain(key)) {
+            filteredLookups.incrementAndGet();
+            return false;
+        }
+
+        if (exactKeys.contains(key)) {
+            return true;
+        }
+
+        if (exactSetComplete) {
+            return false;
+        }
+
+        fallbackLookups.incrementAndGet();
+
+        return fallback.test(key);
+    }
+
+    /**
+     * Registers a stored key. Null keys are ignored.
+     */
+    public void add(String key) {
+        if (key == null) {
+            return;
+        }
+
+        bloomFilter.put(key);
+
+        if (exactKeys.size() < exactCapacity) {
+            exactKeys.add(key);
+        } else if (!exactKeys.contains(key) && exactSetComplete) {
+            exactSetComplete = false;
+            log.info("[{}] Exact set is full at {} keys, falling back to DB lookups", name, exactCapacity);
+        }
+    }
+
+    /**
+     * @return The approximate number of distinct keys added.
+     */
+    public long approximateSize() {
+        return bloomFilter.approximateElementCount();
+    }
+
+    public boolean isExactSetComplete() {
+        return exactSetComplete;
+    }
+
+    public void logStatistics() {
+        log.info(
+                "[{}] {} keys, {} lookups, {} answered by the Bloom filter, {} DB lookups",
+                name, approximateSize(), lookups.get(), filteredLookups.get(), fallbackLookups.get()
+        );
+    }
+
+}
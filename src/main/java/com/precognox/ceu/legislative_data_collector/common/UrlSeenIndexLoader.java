@@ -0,0 +1,101 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Creates {@link UrlSeenIndex} instances preloaded with the stored keys of a country, read in one streamed query.
+ */
+@Slf4j
+@Service
+public class UrlSeenIndexLoader {
+
+    private final PageSourceRepository pageSourceRepository;
+    private final LegislativeDataRepository legislativeDataRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int exactCapacity;
+
+    @Autowired
+    public UrlSeenIndexLoader(
+            PageSourceRepository pageSourceRepository,
+            LegislativeDataRepository legislativeDataRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${url-index.exact-capacity:500000}") int exactCapacity) {
+        this.pageSourceRepository = pageSourceRepository;
+        this.legislativeDataRepository = legislativeDataRepository;
+        this.exactCapacity = exactCapacity;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Index of the page source URLs of the country, replacing {@link PageSourceRepository#existsByPageUrl(String)}.
+     */
+    public UrlSeenIndex loadPageUrls(Country country) {
+        return load(
+                country + " page URLs",
+                () -> pageSourceRepository.countByCountry(country),
+                () -> pageSourceRepository.streamPageUrls(country),
+                pageSourceRepository::existsByPageUrl
+        );
+    }
+
+    /**
+     * Index of the bill page URLs of the country's records, replacing
+     * {@link LegislativeDataRepository#existsByBillPageUrl(String)}.
+     */
+    public UrlSeenIndex loadBillPageUrls(Country country) {
+        return load(
+                country + " bill page URLs",
+                () -> legislativeDataRepository.countByCountry(country),
+                () -> legislativeDataRepository.streamBillPageUrls(country),
+                legislativeDataRepository::existsByBillPageUrl
+        );
+    }
+
+    /**
+     * Index of the bill IDs of the country's records, replacing
+     * {@link LegislativeDataRepository#existsByBillIdAndCountry(String, Country)}.
+     */
+    public UrlSeenIndex loadBillIds(Country country) {
+        return load(
+                country + " bill IDs",
+                () -> legislativeDataRepository.countByCountry(country),
+                () -> legislativeDataRepository.streamBillIds(country),
+                billId -> legislativeDataRepository.existsByBillIdAndCountry(billId, country)
+        );
+    }
+
+    private UrlSeenIndex load(
+            String name, Supplier<Long> counter, Supplier<Stream<String>> keys, Predicate<String> fallback) {
+        long start = System.currentTimeMillis();
+
+        UrlSeenIndex index = readOnlyTransaction.execute(status -> {
+            UrlSeenIndex newIndex = new UrlSeenIndex(name, counter.get(), exactCapacity, fallback);
+
+            try (Stream<String> keyStream = keys.get()) {
+                keyStream.forEach(newIndex::add);
+            }
+
+            return newIndex;
+        });
+
+        log.info("Loaded {} index with {} keys in {} ms", name, index.approximateSize(),
+                System.currentTimeMillis() - start);
+
+        return index;
+    }
+
+}
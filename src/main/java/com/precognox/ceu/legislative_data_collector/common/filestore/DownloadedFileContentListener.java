@@ -0,0 +1,55 @@
+package com.precognox.ceu.legislative_data_collector.common.filestore;
+
+import com.precognox.ceu.legislative_data_collector.entities.DownloadedFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the content of the {@link DownloadedFile} entities to the {@link FileContentStore} before they are saved,
+ * so only the hash goes to the DB. Instantiated by Hibernate through the Spring bean container.
+ * <p>
+ * The file is written before the transaction commits, so a rolled back save can leave an unreferenced file in the
+ * store. These are harmless: the same content is stored at the same place when it's saved again.
+ */
+@Component
+public class DownloadedFileContentListener {
+
+    private final FileContentStore fileContentStore;
+
+    @Autowired
+    public DownloadedFileContentListener(FileContentStore fileContentStore) {
+        this.fileContentStore = fileContentStore;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void storeContent(DownloadedFile file) {
+        if (file.hasUnstoredContent()) {
+            byte[] content = file.getContent();
+
+            try {
+                file.setContentHash(fileContentStore.put(content));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to store content of file: " + file.getUrl(), e);
+            }
+
+            if (file.getSize() == null) {
+                file.setSize(content.length);
+            }
+        }
+
+        file.setContentStore(fileContentStore);
+    }
+
+    @PostLoad
+    public void setContentStore(DownloadedFile file) {
+        file.setContentStore(fileContentStore);
+    }
+
+}
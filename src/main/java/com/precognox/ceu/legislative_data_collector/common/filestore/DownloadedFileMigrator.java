@@ -0,0 +1,96 @@
+package com.precognox.ceu.legislative_data_collector.common.filestore;
+
+import com.precognox.ceu.legislative_data_collector.utils.queue.BoundedPipeline;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Moves the inline contents of the downloaded_files table to the {@link FileContentStore}. Every file is verified
+ * against its checksum after writing, and the DB column is only cleared after a successful verification. Safe to run
+ * multiple times, or to interrupt.
+ */
+@Slf4j
+@Service
+public class DownloadedFileMigrator {
+
+    private static final int ID_BATCH_SIZE = 100;
+    private static final int UPDATE_BATCH_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String dbSchema;
+    private final FileContentStore fileContentStore;
+    private final int threads;
+
+    private record MigratedFile(int id, String hash, int size) {
+    }
+
+    @Autowired
+    public DownloadedFileMigrator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema,
+            FileContentStore fileContentStore,
+            @Value("${file-store.migration-threads:4}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dbSchema = dbSchema;
+        this.fileContentStore = fileContentStore;
+        this.threads = threads;
+    }
+
+    public void migrateInlineContents() {
+        log.info("Moving downloaded file contents to the file store");
+
+        //only the IDs are paged, the contents are read one by one by the workers
+        KeysetDbBrowser<Integer> ids = new KeysetDbBrowser<>(ID_BATCH_SIZE, Integer::longValue,
+                (afterId, pageable) -> jdbcTemplate.queryForList(
+                        "SELECT id FROM " + dbSchema + ".downloaded_files"
+                                + " WHERE content IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                        Integer.class, afterId, pageable.getPageSize()
+                ));
+
+        BoundedPipeline<Integer> pipeline = new BoundedPipeline<>("file-store-migration", ids, threads, threads * 4);
+        long migrated = pipeline.run(this::migrate, UPDATE_BATCH_SIZE, this::clearInlineContents);
+
+        log.info("Moved {} files to the file store, {} failed", migrated, pipeline.getFailedCount());
+    }
+
+    private MigratedFile migrate(Integer id) {
+        byte[] content = jdbcTemplate.queryForObject(
+                "SELECT content FROM " + dbSchema + ".downloaded_files WHERE id = ?", byte[].class, id
+        );
+
+        try {
+            String hash = fileContentStore.put(content);
+
+            if (!fileContentStore.verify(hash)) {
+                throw new IllegalStateException("Checksum mismatch for downloaded file " + id + ", hash: " + hash);
+            }
+
+            return new MigratedFile(id, hash, content.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store downloaded file " + id, e);
+        }
+    }
+
+    private void clearInlineContents(List<MigratedFile> files) {
+        List<Object[]> updates = files.stream()
+                .map(file -> new Object[]{file.hash(), file.size(), file.id()})
+                .toList();
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE " + dbSchema + ".downloaded_files"
+                        + " SET content_hash = ?, size = COALESCE(size, ?), content = NULL WHERE id = ?",
+                updates
+        );
+
+        log.info("Moved {} files to the file store, last ID: {}", files.size(), files.get(files.size() - 1).id());
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.precognox.ceu.legislative_data_collector.common.filestore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage of the downloaded files, see
+ * {@link com.precognox.ceu.legislative_data_collector.entities.DownloadedFile}. The contents are identified by their
+ * SHA-256 hash, so identical files are stored once. Implementations must be thread safe.
+ */
+public interface FileContentStore {
+
+    /**
+     * Stores the content if it's not stored yet.
+     *
+     * @return The SHA-256 hash of the content in lowercase hex format, used as the key.
+     */
+    String put(byte[] content) throws IOException;
+
+    byte[] read(String hash) throws IOException;
+
+    /**
+     * Streaming read, the caller must close the stream.
+     */
+    InputStream open(String hash) throws IOException;
+
+    /**
+     * @return The local file of the content, if the store keeps the contents on the local filesystem (e.g. for
+     * memory-mapped reading).
+     */
+    Optional<File> getFile(String hash);
+
+    /**
+     * Re-reads the stored content and checks it against the hash.
+     *
+     * @return False if the content is missing or doesn't match the hash.
+     */
+    boolean verify(String hash) throws IOException;
+
+}
@@ -0,0 +1,121 @@
+package com.precognox.ceu.legislative_data_collector.common.filestore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stores the file contents in a local directory (file-store.root), sharded by the first two byte pairs of the hash:
+ * {@code <root>/ab/cd/abcd...}, so no directory contains too many files. Files are written to a temporary file first
+ * and moved to their final place, so a stored file is never partial, and concurrent writers of the same content
+ * don't conflict.
+ * <p>
+ * The root must be an absolute path, set explicitly (FILE_STORE_ROOT), so the contents don't end up in whatever
+ * directory the application was started from. The database references the files only by hash, so the file store
+ * must be backed up together with the database.
+ */
+@Slf4j
+@Service
+public class LocalFileContentStore implements FileContentStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    @Autowired
+    public LocalFileContentStore(@Value("${file-store.root}") String root) {
+        if (root == null || root.isBlank() || !Path.of(root).isAbsolute()) {
+            throw new IllegalArgumentException("file-store.root must be an absolute path: " + root);
+        }
+
+        this.root = Path.of(root).normalize();
+    }
+
+    @Override
+    public String put(byte[] content) throws IOException {
+        String hash = HexFormat.of().formatHex(sha256().digest(content));
+        Path path = resolve(hash);
+
+        if (Files.exists(path)) {
+            return hash;
+        }
+
+        Files.createDirectories(path.getParent());
+        Path tempFile = Files.createTempFile(path.getParent(), hash, ".tmp");
+
+        try {
+            Files.write(tempFile, content);
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            //stored by another thread in the meantime
+            log.debug("File content already stored: {}", hash);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return hash;
+    }
+
+    @Override
+    public byte[] read(String hash) throws IOException {
+        return Files.readAllBytes(resolve(hash));
+    }
+
+    @Override
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(resolve(hash));
+    }
+
+    @Override
+    public Optional<File> getFile(String hash) {
+        return Optional.of(resolve(hash).toFile());
+    }
+
+    @Override
+    public boolean verify(String hash) throws IOException {
+        Path path = resolve(hash);
+
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(path), sha256())) {
+            in.transferTo(OutputStream.nullOutputStream());
+
+            return HexFormat.of().formatHex(in.getMessageDigest().digest()).equals(hash);
+        }
+    }
+
+    Path resolve(String hash) {
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+        }
+
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
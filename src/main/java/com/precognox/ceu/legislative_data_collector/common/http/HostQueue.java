@@ -0,0 +1,141 @@
+package com.precognox.ceu.legislative_data_collector.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pending requests of a single host. A request is handed to the worker pool only when it's within the concurrency
+ * and rate limit of the host, so the workers never wait for a permit, and a slow or heavily limited host can't occupy
+ * them. When the rate limit is exhausted, the next dispatch is scheduled on the timer for when a permit is available.
+ * A queue without a rate limit only limits the concurrent requests.
+ */
+@Slf4j
+class HostQueue {
+
+    private final int maxConcurrentRequests;
+    private final TokenBucket rateLimit;
+    private final Executor workers;
+    private final ScheduledExecutorService timer;
+
+    private final Deque<Runnable> pending = new ArrayDeque<>();
+    private int running;
+    private boolean dispatchScheduled;
+
+    /**
+     * @param requestsPerSecond No rate limit if not positive.
+     */
+    HostQueue(int maxConcurrentRequests, double requestsPerSecond, Executor workers, ScheduledExecutorService timer) {
+        this(
+                maxConcurrentRequests,
+                requestsPerSecond > 0 ? new TokenBucket(requestsPerSecond, Math.max(1, maxConcurrentRequests)) : null,
+                workers,
+                timer
+        );
+    }
+
+    HostQueue(int maxConcurrentRequests, TokenBucket rateLimit, Executor workers, ScheduledExecutorService timer) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit: " + maxConcurrentRequests);
+        }
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.rateLimit = rateLimit;
+        this.workers = workers;
+        this.timer = timer;
+    }
+
+    void submit(Runnable request) {
+        synchronized (this) {
+            pending.add(request);
+        }
+
+        dispatch();
+    }
+
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    synchronized int getRunningCount() {
+        return running;
+    }
+
+    private void dispatch() {
+        List<Runnable> ready = new ArrayList<>();
+
+        synchronized (this) {
+            while (running < maxConcurrentRequests && !pending.isEmpty()) {
+                long waitNanos = rateLimit != null ? rateLimit.tryAcquire() : 0;
+
+                if (waitNanos > 0) {
+                    if (!dispatchScheduled) {
+                        dispatchScheduled = true;
+                        timer.schedule(this::scheduledDispatch, waitNanos, TimeUnit.NANOSECONDS);
+                    }
+
+                    break;
+                }
+
+                running++;
+                ready.add(pending.poll());
+            }
+        }
+
+        //submitted outside the lock, the workers finishing a request dispatch the next ones concurrently
+        for (int i = 0; i < ready.size(); i++) {
+            Runnable request = ready.get(i);
+
+            try {
+                workers.execute(() -> run(request));
+            } catch (RejectedExecutionException e) {
+                requeue(ready.subList(i, ready.size()), e);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Puts the requests rejected by the pool (e.g. after it was shut down) back to the front of the queue. They no
+     * longer count as running, they are dispatched again when a request of the host is submitted or finishes.
+     */
+    private void requeue(List<Runnable> rejected, RejectedExecutionException e) {
+        log.warn("The worker pool rejected {} requests, they are queued again", rejected.size(), e);
+
+        synchronized (this) {
+            running -= rejected.size();
+
+            for (int i = rejected.size() - 1; i >= 0; i--) {
+                pending.addFirst(rejected.get(i));
+            }
+        }
+    }
+
+    private void scheduledDispatch() {
+        synchronized (this) {
+            dispatchScheduled = false;
+        }
+
+        dispatch();
+    }
+
+    private void run(Runnable request) {
+        try {
+            request.run();
+        } finally {
+            synchronized (this) {
+                running--;
+            }
+
+            dispatch();
+        }
+    }
+
+}
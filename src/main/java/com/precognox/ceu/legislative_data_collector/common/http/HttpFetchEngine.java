@@ -0,0 +1,252 @@
+package com.precognox.ceu.legislative_data_collector.common.http;
+
+import kong.unirest.HttpResponse;
+import kong.unirest.JsonNode;
+import kong.unirest.Unirest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Shared engine for the HTTP GET requests of the collectors. Requests run on a bounded thread pool, and each host
+ * can have its own concurrency limit and token bucket rate limit, so callers can submit many URLs at once without
+ * overloading the remote site. The requests wait in a queue of their host until the limits allow them, not in the
+ * pool (see {@link HostQueue}), so a rate limited host doesn't hold up the requests of the others. Concurrent requests
+ * for the same URL are coalesced into one request.
+ * <p>
+ * The hosts are not limited by default (only by the size of the pool), the collectors opt in to the limits of the
+ * hosts they send parallel requests to with {@link #limitHost(String, int, double)}. The limits can be configured in
+ * the application properties too: http.fetch.max-concurrent-per-host and http.fetch.requests-per-second-per-host are
+ * the defaults of every host (0 is no limit), http.fetch.host-limits contains the per-host limits in the
+ * {@code host=maxConcurrent/requestsPerSecond} format, separated by commas, they take precedence over the ones of the
+ * collectors.
+ */
+@Slf4j
+@Service
+public class HttpFetchEngine {
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService dispatchTimer;
+    private final int defaultMaxConcurrent;
+    private final double defaultRequestsPerSecond;
+    private final Map<String, HostQueue> hostQueues = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<HttpResponse<String>>> inFlightStrings = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<HttpResponse<byte[]>>> inFlightBytes = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<HttpResponse<JsonNode>>> inFlightJson = new ConcurrentHashMap<>();
+
+    /**
+     * Result of one request submitted with {@link #fetchAll(Collection)}. Either the response or the error is set.
+     */
+    public record FetchResult(String url, HttpResponse<String> response, Throwable error) {
+
+        public boolean isSuccess() {
+            return response != null && response.isSuccess();
+        }
+    }
+
+    @Autowired
+    public HttpFetchEngine(
+            @Value("${http.fetch.threads:32}") int threads,
+            @Value("${http.fetch.max-concurrent-per-host:0}") int defaultMaxConcurrent,
+            @Value("${http.fetch.requests-per-second-per-host:0}") double defaultRequestsPerSecond,
+            @Value("${http.fetch.host-limits:}") String hostLimitOverrides) {
+        //without a concurrency limit every worker can send a request to the same host
+        this.defaultMaxConcurrent = defaultMaxConcurrent > 0 ? defaultMaxConcurrent : threads;
+        this.defaultRequestsPerSecond = defaultRequestsPerSecond;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "http-fetch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatchTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-fetch-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        parseHostLimits(hostLimitOverrides);
+    }
+
+    private void parseHostLimits(String overrides) {
+        for (String entry : overrides.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            String[] hostAndLimits = entry.trim().split("=");
+            String[] limits = hostAndLimits[1].split("/");
+
+            hostQueues.put(
+                    hostAndLimits[0].toLowerCase(),
+                    new HostQueue(Integer.parseInt(limits[0]), Double.parseDouble(limits[1]), executor, dispatchTimer)
+            );
+        }
+    }
+
+    /**
+     * Limits the requests sent to the host, unless it has limits configured in http.fetch.host-limits. Must be called
+     * before the first request to the host.
+     *
+     * @param requestsPerSecond No rate limit if not positive.
+     */
+    public void limitHost(String host, int maxConcurrent, double requestsPerSecond) {
+        HostQueue existing = hostQueues.putIfAbsent(
+                host.toLowerCase(), new HostQueue(maxConcurrent, requestsPerSecond, executor, dispatchTimer)
+        );
+
+        if (existing != null) {
+            log.debug("Host {} already has its limits, keeping them", host);
+        }
+    }
+
+    public CompletableFuture<HttpResponse<String>> fetchString(String url) {
+        return submit(url, inFlightStrings, u -> Unirest.get(u).asString());
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> fetchBytes(String url) {
+        return submit(url, inFlightBytes, u -> Unirest.get(u).asBytes());
+    }
+
+    public CompletableFuture<HttpResponse<JsonNode>> fetchJson(String url) {
+        return submit(url, inFlightJson, u -> Unirest.get(u).asJson());
+    }
+
+    /**
+     * Blocking variant of {@link #fetchString(String)}.
+     *
+     * @return The response, or empty if the request failed with an exception (the error is logged).
+     */
+    public Optional<HttpResponse<String>> getString(String url) {
+        return join(url, fetchString(url));
+    }
+
+    public Optional<HttpResponse<byte[]>> getBytes(String url) {
+        return join(url, fetchBytes(url));
+    }
+
+    public Optional<HttpResponse<JsonNode>> getJson(String url) {
+        return join(url, fetchJson(url));
+    }
+
+    /**
+     * Submits all URLs at once, and returns the results in the order of completion. The stream blocks until the
+     * next result is available.
+     */
+    public Stream<FetchResult> fetchAll(Collection<String> urls) {
+        BlockingQueue<FetchResult> completed = new ArrayBlockingQueue<>(Math.max(1, urls.size()));
+
+        urls.forEach(url -> fetchString(url).whenComplete(
+                (response, error) -> completed.add(new FetchResult(url, response, error))
+        ));
+
+        Spliterator<FetchResult> spliterator = new Spliterators.AbstractSpliterator<>(urls.size(), Spliterator.SIZED) {
+            private int remaining = urls.size();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super FetchResult> action) {
+                if (remaining == 0) {
+                    return false;
+                }
+
+                try {
+                    action.accept(completed.take());
+                    remaining--;
+
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for responses", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> submit(
+            String url,
+            Map<String, CompletableFuture<HttpResponse<T>>> inFlight,
+            Function<String, HttpResponse<T>> request) {
+        CompletableFuture<HttpResponse<T>> future = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<T>> existing = inFlight.putIfAbsent(url, future);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        getHostQueue(url).submit(() -> {
+            try {
+                log.debug("Fetching {}", url);
+                future.complete(request.apply(url));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.remove(url, future);
+            }
+        });
+
+        return future;
+    }
+
+    private HostQueue getHostQueue(String url) {
+        String host;
+
+        try {
+            host = new URL(url).getHost().toLowerCase();
+        } catch (MalformedURLException e) {
+            host = "";
+        }
+
+        return hostQueues.computeIfAbsent(
+                host, h -> new HostQueue(defaultMaxConcurrent, defaultRequestsPerSecond, executor, dispatchTimer)
+        );
+    }
+
+    private <T> Optional<HttpResponse<T>> join(String url, CompletableFuture<HttpResponse<T>> future) {
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (Exception e) {
+            log.error("Failed to fetch page: " + url, e.getCause() != null ? e.getCause() : e);
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchTimer.shutdownNow();
+        executor.shutdownNow();
+
+        //the queued requests won't run, their callers shouldn't wait for them
+        CancellationException cancelled = new CancellationException("The fetch engine was shut down");
+        inFlightStrings.values().forEach(future -> future.completeExceptionally(cancelled));
+        inFlightBytes.values().forEach(future -> future.completeExceptionally(cancelled));
+        inFlightJson.values().forEach(future -> future.completeExceptionally(cancelled));
+    }
+
+}
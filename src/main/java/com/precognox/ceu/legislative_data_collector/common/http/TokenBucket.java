@@ -0,0 +1,61 @@
+package com.precognox.ceu.legislative_data_collector.common.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter: allows bursts of at most {@code capacity} requests, and {@code permitsPerSecond}
+ * requests per second on average.
+ */
+class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double permitsPerSecond;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double permitsPerSecond, double capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, double capacity, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Invalid rate limit: " + permitsPerSecond + "/s, burst " + capacity);
+        }
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return 0 if the permit was taken, otherwise the time in nanoseconds until the next permit is available.
+     */
+    synchronized long tryAcquire() {
+        refill();
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+
+        return Math.max(1, (long) ((1 - tokens) / permitsPerSecond * NANOS_PER_SECOND));
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        double newTokens = (now - lastRefillNanos) * permitsPerSecond / NANOS_PER_SECOND;
+
+        tokens = Math.min(capacity, tokens + newTokens);
+        lastRefillNanos = now;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.precognox.ceu.legislative_data_collector.common.pagecontent;
+
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Content-addressed storage of the page sources. The sources of at least {@link #INLINE_SIZE_LIMIT} characters are
+ * stored once per SHA-256 hash in the page_source_blob table (compressed by Postgres with lz4), the page_source row
+ * references the blob with its content_hash column and its raw_source column is null. The blobs are written by a
+ * trigger on page_source (see add_page_source_blob_table.xml), so every insert and update stores them, including the
+ * JPQL and native ones.
+ * <p>
+ * {@link com.precognox.ceu.legislative_data_collector.entities.PageSource#getRawSource()} is read with
+ * {@link #RAW_SOURCE_READ_EXPRESSION}, which looks up the blob in the same SQL statement, so the entity queries (also
+ * the ones filtering by the raw source, e.g. with LIKE) see the whole content. Native queries which read the raw_source
+ * column get null for the sources stored in the blob table, they must join the blob table themselves (see
+ * {@link com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository#findOriginatorUrlWithFuzzyMatching}).
+ * <p>
+ * The blobs of the updated and deleted page sources are left behind, {@link #collectGarbage()} removes them.
+ */
+@Slf4j
+@Service
+public class PageContentStore {
+
+    /**
+     * The size limit of the trigger in the changelog.
+     */
+    public static final int INLINE_SIZE_LIMIT = 4096;
+
+    /**
+     * Replaces the raw_source column in the entity queries. The columns without a table alias are the columns of the
+     * page_source row. Hibernate doesn't resolve the schema placeholder in column transformers,
+     * {@link PageSourceSchemaIntegrator} does it with {@link #withSchema(String, String)}.
+     */
+    public static final String RAW_SOURCE_READ_EXPRESSION =
+            "coalesce(raw_source, (SELECT b.content FROM {h-schema}page_source_blob b WHERE b.hash = content_hash))";
+
+    private static final int COMPACTION_BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String dbSchema;
+
+    @Autowired
+    public PageContentStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema}") String dbSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dbSchema = dbSchema;
+    }
+
+    /**
+     * Replaces the {h-schema} placeholder of the SQL expression with the schema, like Hibernate does in the native
+     * queries. Without a schema the tables are looked up in the search path.
+     */
+    public static String withSchema(String expression, String schema) {
+        return expression.replace("{h-schema}", schema == null || schema.isEmpty() ? "" : schema + ".");
+    }
+
+    /**
+     * Moves the large inline page sources of the country, stored before the blob table existed, to the blob table.
+     * Safe to run multiple times, or to interrupt.
+     */
+    public void compactInlineSources(Country country) {
+        log.info("Compacting page sources for {}", country);
+
+        long lastId = 0;
+        int compacted = 0;
+        List<Long> ids;
+
+        do {
+            ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM " + dbSchema + ".page_source"
+                            + " WHERE country = ? AND id > ? AND length(raw_source) >= ?"
+                            + " ORDER BY id LIMIT ?",
+                    Long.class, country.name(), lastId, INLINE_SIZE_LIMIT, COMPACTION_BATCH_SIZE
+            );
+
+            if (!ids.isEmpty()) {
+                long firstId = ids.get(0);
+                lastId = ids.get(ids.size() - 1);
+
+                //rewriting the column fires the trigger, which moves the content to the blob table
+                compacted += jdbcTemplate.update(
+                        "UPDATE " + dbSchema + ".page_source SET raw_source = raw_source"
+                                + " WHERE country = ? AND id BETWEEN ? AND ? AND length(raw_source) >= ?",
+                        country.name(), firstId, lastId, INLINE_SIZE_LIMIT
+                );
+                log.info("Compacted {} page sources", compacted);
+            }
+        } while (ids.size() == COMPACTION_BATCH_SIZE);
+
+        log.info("Finished compacting {} page sources", compacted);
+    }
+
+    /**
+     * Deletes the blobs which are not referenced by any page source. The foreign key of page_source.content_hash
+     * protects the blobs referenced concurrently: if a collector stores the same content while this runs, the
+     * deletion fails and can be run again.
+     *
+     * @return The number of deleted blobs.
+     */
+    public int collectGarbage() {
+        log.info("Deleting the unreferenced page source blobs");
+
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM " + dbSchema + ".page_source_blob b"
+                        + " WHERE NOT EXISTS (SELECT 1 FROM " + dbSchema + ".page_source s WHERE s.content_hash = b.hash)"
+        );
+
+        log.info("Deleted {} page source blobs", deleted);
+
+        return deleted;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.precognox.ceu.legislative_data_collector.common.pagecontent;
+
+import com.precognox.ceu.legislative_data_collector.entities.PageSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Resolves the schema of the blob table in the read expression of {@link PageSource#getRawSource()}, Hibernate only
+ * resolves the {h-schema} placeholder in native queries. Runs before the entity persisters are built, which render
+ * the expression into the entity queries. Registered in META-INF/services, so it applies to every session factory.
+ */
+@Slf4j
+public class PageSourceSchemaIntegrator implements Integrator {
+
+    @Override
+    public void integrate(
+            Metadata metadata,
+            SessionFactoryImplementor sessionFactory,
+            SessionFactoryServiceRegistry serviceRegistry) {
+        PersistentClass pageSource = metadata.getEntityBinding(PageSource.class.getName());
+
+        if (pageSource == null) {
+            return;
+        }
+
+        Identifier schema = metadata.getDatabase().getDefaultNamespace().getPhysicalName().getSchema();
+        String schemaName = schema == null ? null : schema.render(metadata.getDatabase().getDialect());
+        Column rawSource = (Column) pageSource.getProperty("rawSource").getColumnIterator().next();
+
+        rawSource.setCustomRead(PageContentStore.withSchema(rawSource.getCustomRead(), schemaName));
+        log.debug("Page source read expression: {}", rawSource.getCustomRead());
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+}
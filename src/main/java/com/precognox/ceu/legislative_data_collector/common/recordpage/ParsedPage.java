@@ -0,0 +1,21 @@
+package com.precognox.ceu.legislative_data_collector.common.recordpage;
+
+import com.precognox.ceu.legislative_data_collector.entities.PageSource;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+
+/**
+ * A stored page with its parsed body, shared by the {@link RecordPageVisitor}s of a record. The visitors must not
+ * modify the DOM.
+ */
+public record ParsedPage(PageSource source, Element body) {
+
+    public static ParsedPage parse(PageSource source) {
+        return new ParsedPage(source, Jsoup.parse(source.getRawSource()).body());
+    }
+
+    public String getPageUrl() {
+        return source.getPageUrl();
+    }
+
+}
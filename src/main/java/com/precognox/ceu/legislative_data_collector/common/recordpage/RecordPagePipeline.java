@@ -0,0 +1,176 @@
+package com.precognox.ceu.legislative_data_collector.common.recordpage;
+
+import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
+import com.precognox.ceu.legislative_data_collector.entities.PageSource;
+import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs several variable extractors ({@link RecordPageVisitor}s) over the stored records in one pass. The page of
+ * each record is loaded and parsed once, then passed to every visitor still missing its variables, and the record
+ * with the variables of all visitors is merged once, in its own transaction.
+ * <p>
+ * The records are streamed in a read-only transaction, which is never flushed: the merge writes the changes of the
+ * visitors (e.g. new child entities) only once. The records are detached after they are processed.
+ * <p>
+ * A visitor failing on a record is logged, the variables of the other visitors are still saved (the failed visitor
+ * gets the record again on the next run, if its variables are still missing).
+ */
+@Slf4j
+@Service
+public class RecordPagePipeline {
+
+    private final PageSourceRepository pageSourceRepository;
+    private final PrimaryKeyGeneratingRepository recordRepository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    @Autowired
+    public RecordPagePipeline(
+            PageSourceRepository pageSourceRepository,
+            PrimaryKeyGeneratingRepository recordRepository,
+            PlatformTransactionManager transactionManager) {
+        this.pageSourceRepository = pageSourceRepository;
+        this.recordRepository = recordRepository;
+
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Processes the records with their bill page.
+     *
+     * @param records Opens the stream of the records to process, e.g. the ones missing the variables of any visitor.
+     */
+    public void run(
+            String name, Supplier<Stream<LegislativeDataRecord>> records, List<? extends RecordPageVisitor> visitors) {
+        run(name, records, LegislativeDataRecord::getBillPageUrl, visitors);
+    }
+
+    /**
+     * @param pageUrl The URL of the stored page of a record.
+     */
+    public void run(
+            String name,
+            Supplier<Stream<LegislativeDataRecord>> records,
+            Function<LegislativeDataRecord, String> pageUrl,
+            List<? extends RecordPageVisitor> visitors) {
+        log.info("[{}] Processing records with {} visitors...", name, visitors.size());
+        long start = System.currentTimeMillis();
+
+        Statistics statistics = new Statistics(visitors);
+
+        //the records are streamed in a read-only transaction (flush mode MANUAL), each record is written in a new one
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<LegislativeDataRecord> stream = records.get()) {
+                stream.forEach(record -> {
+                    process(name, record, pageUrl, visitors, statistics);
+                    recordRepository.detach(record);
+                });
+            }
+        });
+
+        log.info(
+                "[{}] Finished in {} ms: {} pages parsed, {} records saved",
+                name, System.currentTimeMillis() - start, statistics.parsedPages, statistics.savedRecords
+        );
+        statistics.visits.forEach((visitor, count) -> log.info(
+                "[{}] {}: {} records, {} failed", name, visitor, count, statistics.failures.get(visitor)
+        ));
+    }
+
+    private void process(
+            String name,
+            LegislativeDataRecord record,
+            Function<LegislativeDataRecord, String> pageUrl,
+            List<? extends RecordPageVisitor> visitors,
+            Statistics statistics) {
+        List<? extends RecordPageVisitor> pending = visitors.stream().filter(v -> v.needsVisit(record)).toList();
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        String url = pageUrl.apply(record);
+        PageSource source = url != null ? pageSourceRepository.getByPageUrl(url) : null;
+
+        if (source == null || source.getRawSource() == null) {
+            log.warn("[{}] No stored page for record {}: {}", name, record.getRecordId(), url);
+            return;
+        }
+
+        ParsedPage page = ParsedPage.parse(source);
+        statistics.parsedPages.incrementAndGet();
+        log.info("[{}] Processing bill page: {}", name, url);
+
+        List<RecordPageVisitor> succeeded = pending.stream()
+                .filter(visitor -> visit(name, visitor, record, page, statistics))
+                .map(RecordPageVisitor.class::cast)
+                .toList();
+
+        if (succeeded.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                succeeded.forEach(visitor -> visitor.beforeMerge(record));
+                recordRepository.merge(record);
+            });
+
+            statistics.savedRecords.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.error("[{}] Failed to save record {}: {}", name, record.getRecordId(), url, e);
+        }
+    }
+
+    private boolean visit(
+            String name,
+            RecordPageVisitor visitor,
+            LegislativeDataRecord record,
+            ParsedPage page,
+            Statistics statistics) {
+        statistics.visits.get(visitor.getName()).incrementAndGet();
+
+        try {
+            visitor.visit(record, page);
+            return true;
+        } catch (RuntimeException e) {
+            statistics.failures.get(visitor.getName()).incrementAndGet();
+            log.error("[{}] {} failed on page {}", name, visitor.getName(), page.getPageUrl(), e);
+            return false;
+        }
+    }
+
+    private static class Statistics {
+
+        private final AtomicLong parsedPages = new AtomicLong();
+        private final AtomicLong savedRecords = new AtomicLong();
+        private final Map<String, AtomicLong> visits = new LinkedHashMap<>();
+        private final Map<String, AtomicLong> failures = new LinkedHashMap<>();
+
+        Statistics(List<? extends RecordPageVisitor> visitors) {
+            visitors.forEach(visitor -> {
+                visits.put(visitor.getName(), new AtomicLong());
+                failures.put(visitor.getName(), new AtomicLong());
+            });
+        }
+    }
+
+}
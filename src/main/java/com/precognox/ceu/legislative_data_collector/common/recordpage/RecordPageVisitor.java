@@ -0,0 +1,33 @@
+package com.precognox.ceu.legislative_data_collector.common.recordpage;
+
+import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Extracts a group of variables of a record from its parsed page, see {@link RecordPagePipeline}.
+ */
+public interface RecordPageVisitor {
+
+    /**
+     * @return Whether the variables of this visitor are still missing from the record.
+     */
+    boolean needsVisit(LegislativeDataRecord record);
+
+    /**
+     * Sets the variables of this visitor in the record. Runs before the record is written, without a write
+     * transaction.
+     */
+    void visit(LegislativeDataRecord record, ParsedPage page);
+
+    /**
+     * Called in the transaction writing the record, before the merge. E.g. for removing the child entities replaced
+     * by {@link #visit}.
+     */
+    default void beforeMerge(LegislativeDataRecord record) {
+    }
+
+    default String getName() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+
+}
@@ -1,16 +1,34 @@
 package com.precognox.ceu.legislative_data_collector.entities;
 
-import lombok.AllArgsConstructor;
+import com.precognox.ceu.legislative_data_collector.common.filestore.DownloadedFileContentListener;
+import com.precognox.ceu.legislative_data_collector.common.filestore.FileContentStore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import javax.persistence.*;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
 
+/**
+ * A downloaded document. The content is kept in the {@link FileContentStore} (only its hash is stored in the table),
+ * and it's read from the store on first access. Rows stored before the file store have the content inline, in the
+ * content column, until they are migrated with
+ * {@link com.precognox.ceu.legislative_data_collector.common.filestore.DownloadedFileMigrator}.
+ */
 @Data
 @Entity
 @NoArgsConstructor
-@AllArgsConstructor
 @Table(name = "downloaded_files")
+@EntityListeners(DownloadedFileContentListener.class)
 public class DownloadedFile {
 
     @Id
@@ -20,6 +38,84 @@ public class DownloadedFile {
     private String contentType;
     private String filename;
     private Integer size;
+    private String contentHash;
+
+    @Column(name = "content")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] inlineContent;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private byte[] content;
 
+    //set when loaded from the DB, for reading the content lazily
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient FileContentStore contentStore;
+
+    public byte[] getContent() {
+        if (content == null) {
+            if (inlineContent != null) {
+                return inlineContent;
+            }
+
+            if (contentHash != null && contentStore != null) {
+                try {
+                    content = contentStore.read(contentHash);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read content of file: " + url, e);
+                }
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Sets new content, which is written to the file store when the entity is saved.
+     */
+    public void setContent(byte[] content) {
+        this.content = content;
+        this.contentHash = null;
+        this.inlineContent = null;
+    }
+
+    /**
+     * Streaming read of the content, without loading it in the heap if it's in the file store.
+     */
+    public InputStream openContent() throws IOException {
+        if (content == null && inlineContent == null && contentHash != null && contentStore != null) {
+            return contentStore.open(contentHash);
+        }
+
+        byte[] bytes = getContent();
+
+        return new ByteArrayInputStream(bytes != null ? bytes : new byte[0]);
+    }
+
+    /**
+     * @return The local file of the stored content, e.g. for memory-mapped reading. Empty if the content is not
+     * stored yet, or not stored on the local filesystem.
+     */
+    public Optional<File> getContentFile() {
+        if (content != null || contentHash == null || contentStore == null) {
+            return Optional.empty();
+        }
+
+        return contentStore.getFile(contentHash);
+    }
+
+    /**
+     * @return True if the content was set, and is not written to the file store yet.
+     */
+    public boolean hasUnstoredContent() {
+        return content != null && contentHash == null;
+    }
+
 }
@@ -14,11 +14,12 @@ import com.precognox.ceu.legislative_data_collector.entities.uk.UkCountrySpecifi
 import com.precognox.ceu.legislative_data_collector.entities.usa.UsaCountrySpecificVariables;
 import com.precognox.ceu.legislative_data_collector.india.entities.IndiaCountrySpecificVariables;
 import com.precognox.ceu.legislative_data_collector.utils.PdfParser;
-import com.precognox.ceu.legislative_data_collector.utils.TextUtils;
+import com.precognox.ceu.legislative_data_collector.utils.TextMetrics;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.LazyCollection;
 import org.hibernate.annotations.LazyCollectionOption;
 
@@ -33,6 +34,8 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
@@ -49,10 +52,38 @@ import java.util.Set;
 @Entity
 @NoArgsConstructor
 @Table(name = "BILL_MAIN_TABLE")
+@NamedEntityGraph(name = LegislativeDataRecord.GRAPH_ORIGINATORS, attributeNodes = @NamedAttributeNode("originators"))
+@NamedEntityGraph(name = LegislativeDataRecord.GRAPH_COMMITTEES, attributeNodes = @NamedAttributeNode("committees"))
+@NamedEntityGraph(name = LegislativeDataRecord.GRAPH_STAGES, attributeNodes = @NamedAttributeNode("stages"))
+@NamedEntityGraph(name = LegislativeDataRecord.GRAPH_AMENDMENTS, attributeNodes = @NamedAttributeNode("amendments"))
+@NamedEntityGraph(
+        name = LegislativeDataRecord.GRAPH_IMPACT_ASSESSMENTS,
+        attributeNodes = @NamedAttributeNode("impactAssessments")
+)
+@NamedEntityGraph(name = LegislativeDataRecord.GRAPH_MODIFIED_LAWS, attributeNodes = @NamedAttributeNode("modifiedLaws"))
+@NamedEntityGraph(name = LegislativeDataRecord.GRAPH_ERRORS, attributeNodes = @NamedAttributeNode("errors"))
 @ToString(exclude = {"committees", "billVersions", "billText", "lawText", "amendments", "impactAssessments",
         "billTextGeneralJustification", "errors", "modifiedLaws", "affectingLawsDetailed", "stages"})
 public class LegislativeDataRecord {
 
+    /**
+     * The collections are loaded with the record, except the modified laws and the errors. Records are read and
+     * processed outside their session in many places (parser threads, merges in new transactions), so a lazy
+     * collection can't be assumed to be loadable. The collections are loaded with one query per collection table for
+     * this many records at once, the entity graphs below fetch a collection in the record query instead (see
+     * {@link com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository}). Bulk scans which
+     * don't need the collections or the texts use the projections of the repository.
+     */
+    public static final int COLLECTION_BATCH_SIZE = 50;
+
+    public static final String GRAPH_ORIGINATORS = "LegislativeDataRecord.originators";
+    public static final String GRAPH_COMMITTEES = "LegislativeDataRecord.committees";
+    public static final String GRAPH_STAGES = "LegislativeDataRecord.stages";
+    public static final String GRAPH_AMENDMENTS = "LegislativeDataRecord.amendments";
+    public static final String GRAPH_IMPACT_ASSESSMENTS = "LegislativeDataRecord.impactAssessments";
+    public static final String GRAPH_MODIFIED_LAWS = "LegislativeDataRecord.modifiedLaws";
+    public static final String GRAPH_ERRORS = "LegislativeDataRecord.errors";
+
     @Id
     @GeneratedValue
     private Long id;
@@ -80,6 +111,7 @@ public class LegislativeDataRecord {
     @Embedded
     @ElementCollection
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @CollectionTable(name = "ORIGINATORS", joinColumns = @JoinColumn(name = "record_id"))
     private List<Originator> originators = new ArrayList<>();
 
@@ -100,12 +132,14 @@ public class LegislativeDataRecord {
     @Embedded
     @ElementCollection
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @CollectionTable(name = "COMMITTEES", joinColumns = @JoinColumn(name = "record_id"))
     private List<Committee> committees = new ArrayList<>();
 
     @Embedded
     @ElementCollection
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @CollectionTable(name = "BILL_VERSIONS", joinColumns = @JoinColumn(name = "record_id"))
     private List<BillVersion> billVersions = new ArrayList<>();
 
@@ -119,14 +153,16 @@ public class LegislativeDataRecord {
     private Integer amendmentCount;
 
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @OneToMany(mappedBy = "dataRecord", cascade = CascadeType.ALL)
     private List<Amendment> amendments = new ArrayList<>();
 
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @OneToMany(mappedBy = "dataRecord", cascade = CascadeType.ALL)
     private List<ImpactAssessment> impactAssessments = new ArrayList<>();
 
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @ElementCollection
     @Column(name = "modified_law_id")
     @CollectionTable(name = "AFFECTED_LAWS", joinColumns = @JoinColumn(name = "record_id"))
@@ -137,24 +173,28 @@ public class LegislativeDataRecord {
     private LocalDate affectingLawsFirstDate;
 
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @OneToMany(mappedBy = "dataRecord", cascade = CascadeType.ALL)
     private List<AffectingLawDetailed> affectingLawsDetailed = new ArrayList<>();
 
     @Embedded
     @ElementCollection
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @CollectionTable(name = "LEGISLATIVE_STAGES", joinColumns = @JoinColumn(name = "record_id"))
     private List<LegislativeStage> stages = new ArrayList<>();
 
     @ElementCollection
     @Column(name = "originator_support_name")
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @CollectionTable(name = "ORIGINATOR_SUPPORT_NAMES", joinColumns = @JoinColumn(name = "record_id"))
     private Set<String> originatorSupportNames = new HashSet<>();
 
     @Embedded
     @ElementCollection
     @LazyCollection(LazyCollectionOption.FALSE)
+    @BatchSize(size = LegislativeDataRecord.COLLECTION_BATCH_SIZE)
     @CollectionTable(name = "RELATED_BILLS", joinColumns = @JoinColumn(name = "record_id"))
     private List<RelatedBill> relatedBills = new ArrayList<>();
 
@@ -267,7 +307,7 @@ public class LegislativeDataRecord {
         this.billText = billText;
 
         if (!PdfParser.ERROR_LABEL.equals(billText) && !PdfParser.SCANNED_LABEL.equals(billText)) {
-            this.billSize = TextUtils.getLengthWithoutWhitespace(billText);
+            this.billSize = TextMetrics.lengthWithoutWhitespace(billText);
         }
     }
 
@@ -275,7 +315,7 @@ public class LegislativeDataRecord {
         this.lawText = lawText;
 
         if (!PdfParser.ERROR_LABEL.equals(lawText) && !PdfParser.SCANNED_LABEL.equals(lawText)) {
-            this.lawSize = TextUtils.getLengthWithoutWhitespace(lawText);
+            this.lawSize = TextMetrics.lengthWithoutWhitespace(lawText);
         }
     }
 
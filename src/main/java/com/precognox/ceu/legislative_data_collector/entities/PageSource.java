@@ -1,11 +1,13 @@
 package com.precognox.ceu.legislative_data_collector.entities;
 
+import com.precognox.ceu.legislative_data_collector.common.pagecontent.PageContentStore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnTransformer;
 
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -33,6 +35,8 @@ public class PageSource {
     private String cleanUrl;
     private LocalDate collectionDate;
     private Integer size;
+    //the column is null for the sources of at least 4096 characters, they are in the blob table (see PageContentStore)
+    @ColumnTransformer(read = PageContentStore.RAW_SOURCE_READ_EXPRESSION)
     private String rawSource;
     private String metadata;
 
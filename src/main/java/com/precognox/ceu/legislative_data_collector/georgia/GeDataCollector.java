@@ -10,16 +10,14 @@ import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepos
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
 import com.precognox.ceu.legislative_data_collector.utils.JsonPathUtils;
 import com.precognox.ceu.legislative_data_collector.utils.JsonUtils;
+import com.precognox.ceu.legislative_data_collector.utils.queue.BoundedPipeline;
 import com.precognox.ceu.legislative_data_collector.utils.queue.ExecutorServiceUtils;
-import com.precognox.ceu.legislative_data_collector.utils.queue.InfinityDataList;
-import com.precognox.ceu.legislative_data_collector.utils.queue.InfinityDbBrowser;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import kong.unirest.Unirest;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
@@ -36,8 +34,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import static com.precognox.ceu.legislative_data_collector.utils.XmlUtils.byteToXml;
@@ -103,17 +99,12 @@ public class GeDataCollector {
     private void deleteAllParsedData() {
 //        keyGeneratingRepository.deleteAllDataRecord();
         int pageSize = 10;
-        int currentPage = 0;
-        ExecutorService executorService = Executors.newFixedThreadPool(1);
-        InfinityDbBrowser<LegislativeDataRecord> infinityDbBrowser = new InfinityDbBrowser<>(pageSize, pageable -> {
-            log.info("current PageNumber = " + pageable.getPageNumber());
-            return keyGeneratingRepository.findAll(pageable);
-        });
-        infinityDbBrowser.setCurrentPage(currentPage);
-//        infinityDbBrowser.setLastPage(currentPage + 2000);
-        InfinityDataList<LegislativeDataRecord> dataList = new InfinityDataList<>(executorService, infinityDbBrowser);
+        //keyset paging doesn't skip rows when the previous pages are deleted
+        KeysetDbBrowser<LegislativeDataRecord> storedRecords = new KeysetDbBrowser<>(pageSize,
+                LegislativeDataRecord::getId,
+                (afterId, pageable) -> keyGeneratingRepository.findPageAfterId(Country.GEORGIA, afterId, pageable));
 
-        dataList.forEach(data -> {
+        new BoundedPipeline<>("georgia-delete", storedRecords, 1, pageSize).run(data -> {
             try {
                 log.info("START data.getId = " + data.getRecordId());
                 keyGeneratingRepository.deleteWithRelatedData(data);
@@ -168,17 +159,10 @@ public class GeDataCollector {
     private void parseAllRowData() {
 //    private void parseAllRowDataV2() {
         int pageSize = 2;
-        int currentPage = 0;
-        ExecutorService executorService = Executors.newFixedThreadPool(2);
-        InfinityDbBrowser<PageSource> infinityDbBrowser = new InfinityDbBrowser<>(pageSize, pageable -> {
-            log.info("current PageNumber = " + pageable.getPageNumber());
-            return findAll(pageable);
-        });
-        infinityDbBrowser.setCurrentPage(currentPage);
-//        infinityDbBrowser.setLastPage(currentPage + 2000);
-        InfinityDataList<PageSource> dataList = new InfinityDataList<>(executorService, infinityDbBrowser);
+        KeysetDbBrowser<PageSource> storedSources = new KeysetDbBrowser<>(pageSize, PageSource::getId,
+                (afterId, pageable) -> pageSourceRepository.findPageAfterId(Country.GEORGIA, afterId, pageable));
 
-        dataList.forEach(data -> {
+        new BoundedPipeline<>("georgia-parser", storedSources, 2, pageSize * 2).run(data -> {
             try {
                 log.info("START data.getId = " + data.getId());
                 saveInNewTransaction(GeorgianParser.parseRowData(data));
@@ -190,10 +174,6 @@ public class GeDataCollector {
         log.info("FINISH dataList");
     }
 
-    private synchronized Page<PageSource> findAll(Pageable pageable) {
-        return pageSourceRepository.findAll(pageable);
-    }
-
     private synchronized List<PageSource> findAll() {
         return pageSourceRepository.findAll();
     }
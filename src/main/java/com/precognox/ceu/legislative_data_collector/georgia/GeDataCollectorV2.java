@@ -19,6 +19,7 @@ import com.precognox.ceu.legislative_data_collector.georgia.json.ReviewListItem;
 import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.RecordUrls;
 import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import com.precognox.ceu.legislative_data_collector.utils.JsonUtils;
 import kong.unirest.HttpResponse;
@@ -43,6 +44,7 @@ import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static java.text.MessageFormat.format;
 
@@ -133,10 +135,11 @@ public class GeDataCollectorV2 implements ScrapingController {
     }
 
     public void downloadPagesForAllBills() {
-        legislativeDataRepository.streamAll(Country.GEORGIA)
-                .map(LegislativeDataRecord::getBillPageUrl)
-                .filter(url -> !pageSourceRepository.existsByPageUrl(url))
-                .forEach(this::downloadPage);
+        try (Stream<RecordUrls> records = legislativeDataRepository.streamUrlsByCountry(Country.GEORGIA)) {
+            records.map(RecordUrls::getBillPageUrl)
+                    .filter(url -> !pageSourceRepository.existsByPageUrl(url))
+                    .forEach(this::downloadPage);
+        }
     }
 
     public void downloadBillAndLawTexts() {
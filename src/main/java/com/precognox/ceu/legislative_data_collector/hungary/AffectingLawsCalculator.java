@@ -1,19 +1,12 @@
 package com.precognox.ceu.legislative_data_collector.hungary;
 
-import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
-import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
+import com.precognox.ceu.legislative_data_collector.common.AffectingLawsEngine;
+import com.precognox.ceu.legislative_data_collector.common.LawIdNormalizer;
+import com.precognox.ceu.legislative_data_collector.entities.Country;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import javax.persistence.EntityManager;
-import javax.transaction.Transactional;
-import java.math.BigInteger;
-import java.time.LocalDate;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-
 /**
  * Calculates the affecting_laws_count and affecting_laws_first_date variables from the modified law counts. Run after
  * {@link ModifiedLawParser} is finished.
@@ -22,66 +15,36 @@ import java.util.Optional;
 @Service
 public class AffectingLawsCalculator {
 
-    private EntityManager entityManager;
-    private LegislativeDataRepository legislativeDataRepository;
+    private final AffectingLawsEngine affectingLawsEngine;
+
+    /**
+     * Modified laws are stored as year/law number (for example 2019/LXXI), laws are matched by the year of passing
+     * and the law ID. Laws which can not be identified unambiguously are skipped.
+     */
+    static final LawIdNormalizer LAW_ID_NORMALIZER = new LawIdNormalizer() {
+        @Override
+        public String lawKey(AffectingLawsEngine.LawRow law) {
+            return law.datePassing() != null ? law.datePassing().getYear() + "/" + law.lawId() : null;
+        }
+
+        @Override
+        public String modifiedLawKey(String modifiedLawId) {
+            return modifiedLawId.contains("/") ? modifiedLawId : null;
+        }
+
+        @Override
+        public boolean uniqueMatchOnly() {
+            return true;
+        }
+    };
 
     @Autowired
-    public AffectingLawsCalculator(EntityManager entityManager, LegislativeDataRepository legislativeDataRepository) {
-        this.entityManager = entityManager;
-        this.legislativeDataRepository = legislativeDataRepository;
+    public AffectingLawsCalculator(AffectingLawsEngine affectingLawsEngine) {
+        this.affectingLawsEngine = affectingLawsEngine;
     }
 
-    @Transactional
     public void fillAffectingLaws() {
-        log.info("Calculating affecting laws...");
-
-        String affectingLawsCountQuery = "SELECT COUNT(al.record_id) AS cnt, al.modified_law_id" +
-                " FROM {h-schema}affected_laws as al" +
-                " JOIN {h-schema}bill_main_table as bmt" +
-                " ON al.record_id = bmt.id" +
-                " WHERE bmt.record_id LIKE 'HU%'" +
-                " GROUP BY al.modified_law_id ORDER BY cnt DESC";
-
-        List<Object[]> resultList = entityManager.createNativeQuery(affectingLawsCountQuery).getResultList();
-
-        resultList.forEach(record -> {
-            BigInteger count = (BigInteger) record[0];
-            String affectedLawId = (String) record[1];
-
-            //split into year and law number, then search
-            if (affectedLawId.contains("/")) {
-                String[] parts = affectedLawId.split("/");
-                int year = Integer.parseInt(parts[0]);
-                String lawId = parts[1];
-
-                List<LegislativeDataRecord> affectedLaws =
-                        legislativeDataRepository.findByDatePassingYearAndLawId(year, lawId);
-
-                if (affectedLaws.size() == 1) {
-                    LegislativeDataRecord law = affectedLaws.get(0);
-                    law.setAffectingLawsCount(count.intValue());
-                    log.info("Set affecting laws for record: {}", law.getRecordId());
-
-                    String affectingLawsQuery = "select record_id from affected_laws where modified_law_id = :law_id";
-
-                    String lawIdInQuery = law.getDatePassing().getYear() + "/" + law.getLawId();
-                    List<Integer> affectingLaws = entityManager.createNativeQuery(affectingLawsQuery)
-                            .setParameter("law_id", lawIdInQuery)
-                            .getResultList();
-
-                    Optional<LocalDate> earliestDate = affectingLaws.stream()
-                            .map(id -> legislativeDataRepository.findById(id.longValue()))
-                            .filter(Optional::isPresent)
-                            .map(entity -> entity.get().getDatePassing())
-                            .filter(Objects::nonNull)
-                            .min(LocalDate::compareTo);
-
-                    earliestDate.ifPresent(law::setAffectingLawsFirstDate);
-                }
-            }
-        });
-
-        log.info("Done calculating affecting laws");
+        affectingLawsEngine.fillAffectingLaws(Country.HUNGARY, LAW_ID_NORMALIZER);
     }
 
 }
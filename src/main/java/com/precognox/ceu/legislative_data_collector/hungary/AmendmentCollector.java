@@ -1,7 +1,6 @@
 package com.precognox.ceu.legislative_data_collector.hungary;
 
-import com.jauntium.*;
-import com.precognox.ceu.legislative_data_collector.common.BrowserPool;
+import com.jauntium.NotFound;
 import com.precognox.ceu.legislative_data_collector.common.PageSourceLoader;
 import com.precognox.ceu.legislative_data_collector.entities.Amendment;
 import com.precognox.ceu.legislative_data_collector.entities.AmendmentOriginator;
@@ -10,10 +9,11 @@ import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
 import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import com.precognox.ceu.legislative_data_collector.utils.PdfUtils;
+import com.precognox.ceu.legislative_data_collector.utils.jsoup.JsoupDocument;
+import com.precognox.ceu.legislative_data_collector.utils.jsoup.JsoupElement;
+import com.precognox.ceu.legislative_data_collector.utils.jsoup.JsoupTable;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -31,12 +31,14 @@ import static com.precognox.ceu.legislative_data_collector.hungary.PageType.AMEN
 import static com.precognox.ceu.legislative_data_collector.hungary.PageType.AMENDMENT_2;
 
 /**
- * Collects the amendments for stored bills.
+ * Collects the amendments for stored bills. Stored pages are parsed in process without a browser.
  */
 @Slf4j
 @Service
 public class AmendmentCollector {
 
+    private static final Pattern AMENDMENT_ID_REGEX = Pattern.compile("\\d+/\\d+");
+
     @Autowired
     private PageSourceLoader pageSourceLoader;
 
@@ -46,9 +48,6 @@ public class AmendmentCollector {
     @Autowired
     private EntityManager entityManager;
 
-    @Autowired
-    private BrowserPool browserPool;
-
     @Autowired
     private TransactionTemplate transactionTemplate;
 
@@ -84,14 +83,14 @@ public class AmendmentCollector {
         log.info("Collecting amendments for record {}: {}", record.getRecordId(), record.getBillPageUrl());
 
         record.setAmendments(new ArrayList<>());
-        Browser browser = browserPool.get();
 
         try {
-            Document billDetailsPage =
-                    pageSourceLoader.fetchParsedDocument(browser, PageType.BILL.name(), record.getBillPageUrl());
+            JsoupDocument billDetailsPage =
+                    pageSourceLoader.fetchStaticDocument(PageType.BILL.name(), record.getBillPageUrl());
 
-            Element nemOnalloIromanyokTableHeader = billDetailsPage.findFirst("<th>nem önálló iromány");
-            Table nemOnalloIromanyokTable = new Table(nemOnalloIromanyokTableHeader.getParent().getParent().getParent());
+            JsoupElement nemOnalloIromanyokTableHeader = billDetailsPage.findFirst("<th>nem önálló iromány");
+            JsoupTable nemOnalloIromanyokTable =
+                    new JsoupTable(nemOnalloIromanyokTableHeader.getParent().getParent().getParent());
 
             int[] firstStageAmendmentsLinkCell =
                     nemOnalloIromanyokTable.getCellCoord("Módosító javaslat|módosító javaslat");
@@ -121,59 +120,51 @@ public class AmendmentCollector {
         } catch (NotFound e) {
             log.error("Expected element not found on page: {} - {}", record.getBillPageUrl(), e.toString());
             record.setAmendmentCount(0);
-        } finally {
-            browserPool.returnToPool(browser);
         }
     }
 
     private void tryProcessAmendmentsPage(String amendmentsPageLink, int stage, LegislativeDataRecord record) {
-        Browser newWindow = browserPool.get();
-
         try {
-            processAmendmentsPage(newWindow, amendmentsPageLink, stage, record);
+            processAmendmentsPage(amendmentsPageLink, stage, record);
         } catch (Exception e) {
             log.error("Couldn't process amendments page: " + amendmentsPageLink, e);
             record.getErrors().add("Couldn't process amendments page - " + e);
-        } finally {
-            browserPool.returnToPool(newWindow);
         }
     }
 
-    private void processAmendmentsPage(
-            Browser newWindow, String amendmentsPageLink, int stage, LegislativeDataRecord record) {
+    private void processAmendmentsPage(String amendmentsPageLink, int stage, LegislativeDataRecord record) {
         PageSource storedPage = pageSourceLoader.loadFromDbOrFetchWithBrowser(
                 AMENDMENT_1.name().toUpperCase(), amendmentsPageLink, "table-bordered");
 
-        Document amendmentListPage = pageSourceLoader.loadCode(newWindow, storedPage.getRawSource());
+        JsoupDocument amendmentListPage = pageSourceLoader.parseCode(storedPage.getRawSource(), amendmentsPageLink);
 
-        Table amendmentsTable =
-                new Table(newWindow.wrap(amendmentListPage.findElement(By.className("table-bordered"))));
+        JsoupTable amendmentsTable = new JsoupTable(amendmentListPage.findElementByClass("table-bordered"));
 
         //get all links to a list
         List<String> singleAmendmentLinks = amendmentsTable
                 .getElement()
-                .findElements(By.tagName("tr"))
+                .findElementsByTag("tr")
                 .stream()
                 .skip(2)
-                .map(tr -> tr.findElement(By.tagName("td")))
-                .map(td -> td.findElement(By.tagName("a")))
+                .map(tr -> tr.findElementByTag("td"))
+                .map(td -> td.findElementByTag("a"))
                 .map(a -> a.getAttribute("href"))
                 .toList();
 
         singleAmendmentLinks.forEach(link -> {
             try {
-                Document amendmentPage = pageSourceLoader.fetchParsedDocument(newWindow, AMENDMENT_1.name(), link);
+                JsoupDocument amendmentPage = pageSourceLoader.fetchStaticDocument(AMENDMENT_1.name(), link);
 
                 try {
                     //go to page showing votes if the link exists (also contains all other variables)
                     String nextLink = amendmentPage.findFirst("<a>\\d szavazás az irományról").getAttribute("href");
-                    amendmentPage = pageSourceLoader.fetchParsedDocument(newWindow, AMENDMENT_2.name(), nextLink);
+                    amendmentPage = pageSourceLoader.fetchStaticDocument(AMENDMENT_2.name(), nextLink);
                 } catch (NotFound e) {
                     //normal, stay on same page
                 }
 
-                List<WebElement> tables = amendmentPage.findElements(By.className("table-bordered"));
-                Table detailsTable = new Table(newWindow.wrap(tables.get(0)));
+                List<JsoupElement> tables = amendmentPage.findElementsByClass("table-bordered");
+                JsoupTable detailsTable = new JsoupTable(tables.get(0));
                 String dateString = detailsTable.getTextFromRow("Benyújtva").get(1);
                 String originatorString = detailsTable.getTextFromRow("Benyújtó\\(k\\)").get(1);
                 String committee = null;
@@ -185,8 +176,8 @@ public class AmendmentCollector {
                 }
 
                 String amendmentId = null;
-                String tableHeader = detailsTable.getElement().findElement(By.tagName("th")).getText();
-                Matcher idMatcher = Pattern.compile("\\d+/\\d+").matcher(tableHeader);
+                String tableHeader = detailsTable.getElement().findElementByTag("th").getText();
+                Matcher idMatcher = AMENDMENT_ID_REGEX.matcher(tableHeader);
                 if (idMatcher.find()) {
                     amendmentId = idMatcher.group();
                 }
@@ -213,15 +204,15 @@ public class AmendmentCollector {
                 }
 
                 try {
-                    if (tables.size() > 1 && tables.get(1).findElement(By.tagName("th")).getText().contains("Szavazások")) {
-                        Table votesTable = new Table(newWindow.wrap(tables.get(1)));
+                    if (tables.size() > 1 && tables.get(1).findElementByTag("th").getText().contains("Szavazások")) {
+                        JsoupTable votesTable = new JsoupTable(tables.get(1));
 
                         int yesVotes;
                         int noVotes;
                         int abstention;
                         String outcomeString;
 
-                        if (votesTable.tableElement.findElements(By.tagName("tr")).size() == 4) {
+                        if (votesTable.getRowCount() == 4) {
                             yesVotes = Integer.parseInt(votesTable.getTextFromColumn("Igen").get(2));
                             noVotes = Integer.parseInt(votesTable.getTextFromColumn("Nem").get(2));
                             abstention = Integer.parseInt(votesTable.getTextFromColumn("Tart.").get(2));
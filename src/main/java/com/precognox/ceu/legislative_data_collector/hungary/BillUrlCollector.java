@@ -21,6 +21,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 /**
@@ -33,7 +34,7 @@ public class BillUrlCollector {
     private final BrowserPool browserPool;
     private final BillUrlRepository billUrlRepository;
 
-    private static final String NUMBER_INTERVAL_REGEX = "\\d+? - \\d+?";
+    private static final Pattern NUMBER_INTERVAL_REGEX = Pattern.compile("\\d+? - \\d+?");
 
     @Autowired
     public BillUrlCollector(BrowserPool browserPool, BillUrlRepository billUrlRepository) {
@@ -144,7 +145,7 @@ public class BillUrlCollector {
                     billLinks = firstTable.findElements(By.tagName("a"))
                             .stream()
                             .map(browser::wrap)
-                            .filter(linkElement -> linkElement.innerHTML().replace("&nbsp;", " ").matches(NUMBER_INTERVAL_REGEX))
+                            .filter(linkElement -> NUMBER_INTERVAL_REGEX.matcher(linkElement.innerHTML().replace("&nbsp;", " ")).matches())
                             .map(linkElement -> linkElement.getAttribute("href"))
                             .map(newWindow::visit)
                             .flatMap(this::getBillLinks);
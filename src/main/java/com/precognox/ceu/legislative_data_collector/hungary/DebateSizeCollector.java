@@ -1,22 +1,17 @@
 package com.precognox.ceu.legislative_data_collector.hungary;
 
-import com.jauntium.Browser;
-import com.jauntium.Document;
-import com.jauntium.Element;
 import com.jauntium.NotFound;
-import com.jauntium.Table;
-import com.precognox.ceu.legislative_data_collector.common.JauntiumBrowserFactory;
 import com.precognox.ceu.legislative_data_collector.common.PageSourceLoader;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeStage;
 import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
 import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import com.precognox.ceu.legislative_data_collector.utils.TextUtils;
+import com.precognox.ceu.legislative_data_collector.utils.jsoup.JsoupDocument;
+import com.precognox.ceu.legislative_data_collector.utils.jsoup.JsoupElement;
+import com.precognox.ceu.legislative_data_collector.utils.jsoup.JsoupTable;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -37,7 +32,8 @@ import static com.precognox.ceu.legislative_data_collector.hungary.Translations.
 
 /**
  * Scrapes the debates for the stored bills and calculates the stage sizes & the plenary_size variable. Run after
- * {@link PageSourceParser} is finished.
+ * {@link PageSourceParser} is finished. Stored pages are parsed in process, a browser is only started by the
+ * {@link PageSourceLoader} for pages which are not in the DB yet.
  */
 @Slf4j
 @Service
@@ -52,9 +48,6 @@ public class DebateSizeCollector {
     @Autowired
     private EntityManager entityManager;
 
-    @Autowired
-    private JauntiumBrowserFactory browserFactory;
-
     @Autowired
     private PageSourceLoader pageSourceLoader;
 
@@ -78,15 +71,13 @@ public class DebateSizeCollector {
 
     @SneakyThrows
     public LegislativeDataRecord collectDebateSize(LegislativeDataRecord record) {
-        Browser browser = browserFactory.create();
-        Browser newWindow = browserFactory.create();
-
         try {
-            Document billPage =
-                    pageSourceLoader.fetchParsedDocument(browser, PageType.BILL.name(), record.getBillPageUrl());
+            JsoupDocument billPage =
+                    pageSourceLoader.fetchStaticDocument(PageType.BILL.name(), record.getBillPageUrl());
 
-            Element iromanyEsemenyekTableHeader = billPage.findFirst("<th>Iromány események");
-            Table iromanyEsemenyekTable = new Table(iromanyEsemenyekTableHeader.getParent().getParent().getParent());
+            JsoupElement iromanyEsemenyekTableHeader = billPage.findFirst("<th>Iromány események");
+            JsoupTable iromanyEsemenyekTable =
+                    new JsoupTable(iromanyEsemenyekTableHeader.getParent().getParent().getParent());
 
             LEGISLATIVE_STAGES.forEach((stageNum, stageNameRegex) -> {
                 Set<String> felszolalasLinks = new HashSet<>();
@@ -115,12 +106,11 @@ public class DebateSizeCollector {
                                 nextStageRowIndex = nextStageCoords[1];
                             } else {
                                 //check until end of table
-                                nextStageRowIndex =
-                                        iromanyEsemenyekTable.tableElement.findElements(By.tagName("tr")).size() - 1;
+                                nextStageRowIndex = iromanyEsemenyekTable.getRowCount() - 1;
                             }
 
                             for (int row = currentStageCoords[1]; row < nextStageRowIndex; row++) {
-                                Element felszolalasCell = iromanyEsemenyekTable.getCell(4, row);
+                                JsoupElement felszolalasCell = iromanyEsemenyekTable.getCell(4, row);
 
                                 if ((felszolalasCell.getChildElements().size() > 0)) {
                                     felszolalasLinks.add(felszolalasCell.getChildElements().get(0).getAttribute("href"));
@@ -134,8 +124,8 @@ public class DebateSizeCollector {
                                 .stream()
                                 .map(link -> {
                                     try {
-                                        Document felszolalasPage = pageSourceLoader.fetchParsedDocument(
-                                                newWindow, DEBATE_TEXT.name(), link, "pair-content"
+                                        JsoupDocument felszolalasPage = pageSourceLoader.fetchStaticDocument(
+                                                DEBATE_TEXT.name(), link, "pair-content"
                                         );
 
                                         return felszolalasPage.findFirst("<a>Ülésnap adatai").getAttribute("href");
@@ -147,7 +137,7 @@ public class DebateSizeCollector {
 
                         stageDebateLength = ulesnapLinks
                                 .stream()
-                                .mapToInt(ulesnapLink -> getCommentsLengthFromUlesnapLink(record, newWindow, ulesnapLink))
+                                .mapToInt(ulesnapLink -> getCommentsLengthFromUlesnapLink(record, ulesnapLink))
                                 .sum();
 
                         //set debate length for current stage...
@@ -178,9 +168,6 @@ public class DebateSizeCollector {
             });
         } catch (NotFound e) {
             log.warn(e.toString()); //can be normal
-        } finally {
-            browser.close();
-            newWindow.close();
         }
 
         int sizeOfDebatesAccumulated = record.getStages()
@@ -196,39 +183,31 @@ public class DebateSizeCollector {
     }
 
     @SneakyThrows
-    private int getCommentsLengthFromUlesnapLink(LegislativeDataRecord record, Browser newWindow, String ulesnapLink) {
+    private int getCommentsLengthFromUlesnapLink(LegislativeDataRecord record, String ulesnapLink) {
         try {
-            Document ulesnapPage =
-                    pageSourceLoader.fetchParsedDocument(newWindow, ULESNAP.name(), ulesnapLink, "pair-content");
+            JsoupDocument ulesnapPage =
+                    pageSourceLoader.fetchStaticDocument(ULESNAP.name(), ulesnapLink, "pair-content");
 
-            Element relevantBillTable = ulesnapPage.findFirst("<a>" + getRawBillId(record.getBillId()))
+            JsoupElement relevantBillTable = ulesnapPage.findFirst("<a>" + getRawBillId(record.getBillId()))
                     .getParent()
                     .getParent()
                     .getParent()
                     .getParent();
 
-            List<String> commentLinks = relevantBillTable.findElements(By.tagName("tr"))
+            List<String> commentLinks = relevantBillTable.findElementsByTag("tr")
                     .stream()
                     .skip(2)
-                    .map(tr -> tr.findElement(By.tagName("td")))
-                    .map(td -> td.findElement(By.tagName("a")))
+                    .map(tr -> tr.findElementByTag("td"))
+                    .map(td -> td.findElementByTag("a"))
                     .map(a -> a.getAttribute("href"))
                     .toList();
 
-            Browser felszolalasWindow = browserFactory.create();
-
-            try {
-                int commentsLength = commentLinks.stream()
-                        .map(url -> fetchCommentsPage(url, felszolalasWindow))
-                        .map(page -> getCharCount(felszolalasWindow.driver))
-                        .filter(Optional::isPresent)
-                        .mapToInt(Optional::get)
-                        .sum();
-
-                return commentsLength;
-            } finally {
-                felszolalasWindow.close();
-            }
+            return commentLinks.stream()
+                    .map(this::fetchCommentsPage)
+                    .map(this::getCharCount)
+                    .filter(Optional::isPresent)
+                    .mapToInt(Optional::get)
+                    .sum();
         } catch (NotFound e) {
             log.error(e.toString());
         }
@@ -236,9 +215,8 @@ public class DebateSizeCollector {
         return 0;
     }
 
-    private Document fetchCommentsPage(String url, Browser felszolalasWindow) {
-        return pageSourceLoader.fetchParsedDocument(
-                felszolalasWindow, DEBATE_TEXT.name(), url, "felsz_szovege");
+    private JsoupDocument fetchCommentsPage(String url) {
+        return pageSourceLoader.fetchStaticDocument(DEBATE_TEXT.name(), url, "felsz_szovege");
     }
 
     /**
@@ -257,13 +235,13 @@ public class DebateSizeCollector {
         return billId;
     }
 
-    private Optional<Integer> getCharCount(WebDriver felszolalasPageDriver) {
-        List<WebElement> felszSzovegeDiv = felszolalasPageDriver.findElements(By.className("felsz_szovege"));
+    private Optional<Integer> getCharCount(JsoupDocument felszolalasPage) {
+        List<JsoupElement> felszSzovegeDiv = felszolalasPage.findElementsByClass("felsz_szovege");
 
         if (felszSzovegeDiv.size() == 1) {
             String text = felszSzovegeDiv.get(0)
                     .getText()
-                    .replaceAll("A felszólalás szövege:\n", "");
+                    .replaceAll("A felszólalás szövege:\\s*", "");
 
             return Optional.of(TextUtils.getLengthWithoutWhitespace(text));
         }
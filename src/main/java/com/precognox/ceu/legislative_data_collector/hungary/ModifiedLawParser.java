@@ -1,5 +1,6 @@
 package com.precognox.ceu.legislative_data_collector.hungary;
 
+import com.precognox.ceu.legislative_data_collector.common.LegalReferenceExtractor;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
@@ -9,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.List;
 import java.util.Set;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
@@ -32,19 +32,26 @@ public class ModifiedLawParser {
     private static final Pattern REFERENCED_LAW_REGEX =
             Pattern.compile("(\\d{4})\\.\\s?(?:évi)?\\s?([IVXLCM]+)\\.\\s?törvény");
 
-    private static final List<Pattern> BILL_TEXT_REFERENCED_LAW_REGEXES = List.of(
-            Pattern.compile(LAW_ID_REGEX + "\\s*módosítása", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "\\s*módosításáról", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}ponttal\\segészül\\ski", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}bekezdéssel\\segészül\\ski", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,40}az\\salábbiak\\sszerint\\smódosul", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,40}bekezdése\\shelyébe", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,40}§-a\\shelyébe", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}helyébe\\sa\\skövetkező\\srendelkezés\\slép", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}pontokkal\\segészül\\ski", Pattern.MULTILINE),
-            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}a\\skövetkező\\sszöveggel\\slép\\shatályba", Pattern.MULTILINE),
-            Pattern.compile("Hatályát veszti[\\s\\S]{0,75}" + LAW_ID_REGEX, Pattern.MULTILINE)
-    );
+    /**
+     * Patterns of the referenced laws in the law or bill texts, the law ID is the first group of each.
+     */
+    private static final LegalReferenceExtractor BILL_TEXT_REFERENCE_EXTRACTOR = LegalReferenceExtractor.builder()
+            .add(lawIdReference(LAW_ID_REGEX + "\\s*módosítása", "módosítása"))
+            .add(lawIdReference(LAW_ID_REGEX + "\\s*módosításáról", "módosításáról"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,75}ponttal\\segészül\\ski", "ponttal"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,75}bekezdéssel\\segészül\\ski", "bekezdéssel"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,40}az\\salábbiak\\sszerint\\smódosul", "alábbiak"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,40}bekezdése\\shelyébe", "bekezdése"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,40}§-a\\shelyébe", "§-a"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,75}helyébe\\sa\\skövetkező\\srendelkezés\\slép", "rendelkezés"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,75}pontokkal\\segészül\\ski", "pontokkal"))
+            .add(lawIdReference(LAW_ID_REGEX + "[\\s\\S]{0,75}a\\skövetkező\\sszöveggel\\slép\\shatályba", "szöveggel"))
+            .add(new LegalReferenceExtractor.ReferencePattern(
+                    Pattern.compile("Hatályát veszti[\\s\\S]{0,75}" + LAW_ID_REGEX, Pattern.MULTILINE))
+                    .startsWith("Hatályát veszti")
+                    .requires("törvény")
+                    .citation(1))
+            .build();
 
     @Autowired
     public ModifiedLawParser(PrimaryKeyGeneratingRepository recordRepository) {
@@ -81,17 +88,24 @@ public class ModifiedLawParser {
     public Set<String> parseFromText(LegislativeDataRecord record) {
         //check law and bill text
         String textToCheck = ObjectUtils.firstNonNull(record.getLawText(), record.getBillText(), "");
-        String clean = cleanText(textToCheck);
 
-        return BILL_TEXT_REFERENCED_LAW_REGEXES.stream()
-                .map(p -> p.matcher(clean))
-                .flatMap(Matcher::results)
-                .map(r -> r.group(1))
-                .map(match -> match.replaceAll("\n", " "))
+        return BILL_TEXT_REFERENCE_EXTRACTOR.find(cleanText(textToCheck)).stream()
+                .map(LegalReferenceExtractor.LegalReference::citation)
+                .map(match -> match.replace("\n", " "))
                 .map(this::normalizeReferencedLaw)
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * A pattern starting with a law ID, containing the given trigger word.
+     */
+    private static LegalReferenceExtractor.ReferencePattern lawIdReference(String regex, String triggerWord) {
+        return new LegalReferenceExtractor.ReferencePattern(Pattern.compile(regex, Pattern.MULTILINE))
+                .startsAt(LAW_ID_REGEX)
+                .requires("törvény", triggerWord)
+                .citation(1);
+    }
+
     private String normalizeReferencedLaw(String origText) {
         Matcher matcher = REFERENCED_LAW_REGEX.matcher(origText);
 
@@ -20,13 +20,12 @@ import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGener
 import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import com.precognox.ceu.legislative_data_collector.utils.PdfUtils;
 import com.precognox.ceu.legislative_data_collector.utils.TextUtils;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -94,15 +93,14 @@ public class PageSourceParser {
     }
 
     public void processStoredPages() {
-        int currentBatch = 0;
         int batchSize = 5;
-        int maxBatch;
-
-        do {
-            Page<PageSource> page = pageSourceRepository.findUnprocessedBills(
-                    PageRequest.of(currentBatch, batchSize), Country.HUNGARY
-            );
+        KeysetDbBrowser<PageSource> unprocessedPages = new KeysetDbBrowser<>(batchSize, PageSource::getId,
+                (afterId, pageable) -> pageSourceRepository.findUnprocessedBillsAfterId(
+                        Country.HUNGARY, afterId, pageable
+                ));
+        List<PageSource> page;
 
+        while (!(page = unprocessedPages.poll()).isEmpty()) {
             page.forEach(storedSource -> {
                 try {
                     processBillLink(storedSource);
@@ -110,10 +108,7 @@ public class PageSourceParser {
                     log.error("Failed to process stored source: " + storedSource.getPageUrl(), e);
                 }
             });
-
-            currentBatch++;
-            maxBatch = page.getTotalPages();
-        } while (currentBatch <= maxBatch);
+        }
 
         log.info("Finished processing pages");
     }
@@ -13,6 +13,7 @@ import com.precognox.ceu.legislative_data_collector.india.entities.IndiaCountryS
 import com.precognox.ceu.legislative_data_collector.india.new_website.api.ApiResponse;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,7 +23,6 @@ import javax.annotation.Nullable;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -204,13 +204,13 @@ public class ApiBillParser {
 
     private LocalDate parseLongDate(@Nullable String date) {
         return date != null
-                ? LocalDate.from(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.S").parse(date))
+                ? LocalDate.from(DateUtils.getFormatter("yyyy-MM-dd HH:mm:ss.S").parse(date))
                 : null;
     }
 
     private LocalDate parseShortDate(@Nullable String date) {
         return date != null
-                ? LocalDate.from(DateTimeFormatter.ofPattern("dd/MM/yyyy").parse(date))
+                ? LocalDate.from(DateUtils.getFormatter("dd/MM/yyyy").parse(date))
                 : null;
     }
 
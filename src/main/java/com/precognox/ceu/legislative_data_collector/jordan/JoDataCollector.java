@@ -7,10 +7,11 @@ import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataReco
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.RecordBatchWriter;
 import com.precognox.ceu.legislative_data_collector.utils.JsonPathUtils;
 import com.precognox.ceu.legislative_data_collector.utils.JsonUtils;
-import com.precognox.ceu.legislative_data_collector.utils.queue.InfinityDataList;
-import com.precognox.ceu.legislative_data_collector.utils.queue.InfinityDbBrowser;
+import com.precognox.ceu.legislative_data_collector.utils.queue.BoundedPipeline;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import kong.unirest.GetRequest;
 import kong.unirest.HttpResponse;
 import kong.unirest.JsonNode;
@@ -29,8 +30,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import static com.precognox.ceu.legislative_data_collector.jordan.JordanParser.parseRowData;
@@ -49,6 +48,7 @@ public class JoDataCollector implements ScrapingController {
     private static final String LAWS_API_MODIFIED_URL = "https://lob.gov.jo/OPSHandler/Customization/LobJo/LobJo.asmx/GetlegislationModified";
     public static final String LAWS_API_RELATED_URL_TEMPLATE = "https://lob.gov.jo/OPSHandler/Customization/LobJo/LobJo.asmx/GetAssociatedSystems?PageIndex=1&SearchData=%7B%22LegislationType%22%3ARELATED_LEGISLATION_TYPE%2C%22LegislationNumber%22%3A-1%2C%22LegislationYear%22%3A-1%2C%22LegislationName%22%3A%22%22%7D";
     private static final boolean TEST_MODE = false;
+    private static final int RECORD_BATCH_SIZE = 100;
 
     @Autowired
     private PrimaryKeyGeneratingRepository keyGeneratingRepository;
@@ -56,6 +56,9 @@ public class JoDataCollector implements ScrapingController {
     @Autowired
     private PageSourceRepository pageSourceRepository;
 
+    @Autowired
+    private RecordBatchWriter recordBatchWriter;
+
     @Autowired
     private TransactionTemplate transactionTemplate;
 
@@ -169,30 +172,22 @@ public class JoDataCollector implements ScrapingController {
 
     private void parseAllRowData() {
         int pageSize = 20;
-        int currentPage = 0;
-
-        ExecutorService executorService = Executors.newFixedThreadPool(27);
+        int parserThreads = 27;
 
-        InfinityDbBrowser<PageSource> infinityDbBrowser = new InfinityDbBrowser<>(pageSize, pageable -> {
-            log.info("current PageNumber = " + pageable.getPageNumber());
-            return pageSourceRepository.findAll(pageable);
-        });
+        KeysetDbBrowser<PageSource> storedSources = new KeysetDbBrowser<>(pageSize, PageSource::getId,
+                (afterId, pageable) -> pageSourceRepository.findPageAfterId(Country.JORDAN, afterId, pageable));
 
-        infinityDbBrowser.setCurrentPage(currentPage);
-        infinityDbBrowser.setLastPage(currentPage + 2000);
-        InfinityDataList<PageSource> dataList = new InfinityDataList<>(executorService, infinityDbBrowser);
-
-        dataList.forEach(data -> {
+        new BoundedPipeline<>("jordan-parser", storedSources, parserThreads, parserThreads * 2).run(data -> {
             try {
-//                log.info("START data.getId = " + data.getId());
                 Pair<LegislativeDataRecord, PageSource> result = parseRowData(data, this::findOrDownloadModifiedLaws);
                 saveInNewTransaction(result.getSecond());
-                saveInNewTransaction(result.getFirst());
-//                log.info("END data.getId = " + data.getId());
+
+                return result.getFirst();
             } catch (Exception ex) {
                 log.error("Failed to parse: " + data.getPageUrl(), ex);
+                return null;
             }
-        });
+        }, RECORD_BATCH_SIZE, recordBatchWriter::write);
 
         log.info("FINISH dataList");
     }
@@ -207,7 +202,7 @@ public class JoDataCollector implements ScrapingController {
         }
     }
 
-    private synchronized void saveInNewTransaction(LegislativeDataRecord data) {
+    private void saveInNewTransaction(LegislativeDataRecord data) {
         try {
             keyGeneratingRepository.save(data);
         } catch (Exception ex) {
@@ -2,6 +2,8 @@ package com.precognox.ceu.legislative_data_collector.poland;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndex;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndexLoader;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.poland.constants.PageType;
@@ -61,15 +63,24 @@ public class PolandDataCollector {
 
     private final PageSourceRepository pageSourceRepository;
     private final TransactionTemplate transactionTemplate;
+    private final UrlSeenIndexLoader urlSeenIndexLoader;
+
+    //the URLs of the stored pages, replaces the existence query for every URL
+    private UrlSeenIndex storedPageUrls;
 
     @Autowired
-    public PolandDataCollector(PageSourceRepository pageSourceRepository, TransactionTemplate transactionTemplate
-    ) {
+    public PolandDataCollector(
+            PageSourceRepository pageSourceRepository,
+            TransactionTemplate transactionTemplate,
+            UrlSeenIndexLoader urlSeenIndexLoader) {
         this.pageSourceRepository = pageSourceRepository;
         this.transactionTemplate = transactionTemplate;
+        this.urlSeenIndexLoader = urlSeenIndexLoader;
     }
 
     public void runCollection() {
+        storedPageUrls = urlSeenIndexLoader.loadPageUrls(Country.POLAND);
+
         downloadActApiResponses();
         downloadProcessApiResponses();
         downloadCommitteeApiResponses();
@@ -78,6 +89,8 @@ public class PolandDataCollector {
         downloadProcessHtmlRawSources();
         downloadMpNameAndAffiliationListApiResponses();
         downloadBillsInHtmlForm();
+
+        storedPageUrls.logStatistics();
     }
 
     // For example: "https://api.sejm.gov.pl/eli/acts/DU/2018/317"
@@ -212,7 +225,7 @@ public class PolandDataCollector {
     }
 
     private void savePageSource(String url, PageType pageType) {
-        if (pageSourceRepository.existsByPageUrl(url)) {
+        if (storedPageUrls.contains(url)) {
             log.info("Skipping downloaded page: {}", url);
         } else {
             HttpResponse<String> response = Unirest.get(url).asString();
@@ -227,6 +240,7 @@ public class PolandDataCollector {
                 pageSource.setSize(response.getBody().length());
 
                 transactionTemplate.executeWithoutResult(transactionStatus -> pageSourceRepository.save(pageSource));
+                storedPageUrls.add(url);
 
                 log.info("Stored page: {}", url);
             } else {
@@ -260,7 +274,7 @@ public class PolandDataCollector {
     public Stream<PageSource> getUnprocessedAndFilteredBillPageSources() {
         return pageSourceRepository
                 .streamUnprocessedBillsOnAltPageUrl(Country.POLAND)
-                .filter(pageSource -> pageSource.getPageUrl().matches(LAW_PAGE_URL_REGEX.pattern()))
+                .filter(pageSource -> LAW_PAGE_URL_REGEX.matcher(pageSource.getPageUrl()).matches())
                 .filter(source -> source.getRawSource().contains(USTAWA_REGEX.pattern()))
                 .sorted(Comparator.comparingInt(item -> Integer.parseInt(item.getPageUrl()
                         .substring(API_URL_BEFORE_YEAR_INDEX_POSITION, API_URL_AFTER_YEAR_INDEX_POSITION))))
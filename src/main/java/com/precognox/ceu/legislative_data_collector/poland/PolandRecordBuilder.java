@@ -30,6 +30,7 @@ import org.openqa.selenium.NotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -59,6 +60,7 @@ public class PolandRecordBuilder {
             "https://www.sejm.gov.pl/Sejm%s.nsf/opinieBAS.xsp?nr=%s";
     private static final String REGEX_FOR_GOVERNMENT_ORIGINATOR =
             "(?m)(?!§[ ]*\\d+[.][ ]*)((?:Minister[ \\n][A-ZŻŹĆĄŚĘŁÓŃ][^.]+)|(?:Minister(?: \\n)[A-ZŻŹĆĄŚĘŁÓŃ][^.]+)|(?:Prezes Rady[ \\n]*Ministrów)|(?:minister[ \\n][A-ZŻŹĆĄŚĘŁÓŃ][^.]+)|(?:Prezes Urzędu[ \\n][A-ZŻŹĆĄŚĘŁÓŃ][^.]+)|(?:Minister[ \\n-][a-zżźćńółęąśA-ZŻŹĆĄŚĘŁÓŃ][^.]+))(?:(?:(?:(?:[.]?[ ]*[\\n][\\s]*[Zz][ ](?:[\\p{L}]+[ ])?(?:szac|pow|g| )))|(?:(?:[.]?[ \\n]*[(\\/][-][)\\/][ ]))|(?:[.]?[\\n][ ]*(?:[Ww]z.))|(?:[.]?[\\n][ ]*(?:z up.))))";
+    private static final Pattern WHITESPACE_REGEX = Pattern.compile("\\s+");
     private static final String REGEX_FOR_PARLIAMENT_ORIGINATOR = "(?sm)[(][-][)]([^;.]+)[;.]?";
     private static final String REGEX_FOR_SENATE_PRESIDENT_AND_CIVIC_ORIGINATORS = "(?sm)[(][-][)]([^\\n;.]+)[\\n]?";
     private static final String REGEX_FOR_OTHER_ORIGINATOR = "(?sm)[(\\/][-][)\\/]([^\\n;.\\/]+)[\\n]?";
@@ -121,6 +123,7 @@ public class PolandRecordBuilder {
         });
     }
 
+    @Transactional
     public void parseBillTextsAndOriginators() {
         recordRepository.streamAll(Country.POLAND)
                 .forEach(dataRecord -> {
@@ -274,7 +277,7 @@ public class PolandRecordBuilder {
                                                 List<Originator> originators
     ) {
         List<String> originatorNames = TextUtils.findTexts(dataRecord.getBillText(), regex).stream()
-                .map(name -> name.replaceAll("\\s+", " "))
+                .map(name -> WHITESPACE_REGEX.matcher(name).replaceAll(" "))
                 .toList();
         originatorNames.forEach(originatorName -> getMPs().stream()
                 .filter(originator -> originator.getName().equalsIgnoreCase(originatorName))
@@ -8,6 +8,7 @@ import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataReco
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.poland.json.CommitteeJson;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
+import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import kong.unirest.HttpResponse;
 import kong.unirest.Unirest;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +21,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -129,7 +129,7 @@ public class PolandCommitteesTableParser {
 
     private LocalDate setCommitteeDate(Element commRow) {
         return LocalDate.parse(commRow.getElementsByTag("nobr").first().text(),
-                DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+                DateUtils.getFormatter("dd-MM-yyyy"));
     }
 
     // in different terms different committee role belong to the same committee name (like ESK (term9 vs. term8):
@@ -4,6 +4,7 @@ import com.precognox.ceu.legislative_data_collector.entities.ImpactAssessment;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.poland.IaTextCollector;
+import com.precognox.ceu.legislative_data_collector.utils.DateUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.Nullable;
 import org.jsoup.Jsoup;
@@ -13,7 +14,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,7 +52,7 @@ public class PolandImpactAssessmentTableParser {
                 ImpactAssessment ia = new ImpactAssessment();
                 List<Element> cellData = row.getElementsByTag("td");
                 ia.setDate(LocalDate.parse(cellData.get(0).text(),
-                        DateTimeFormatter.ofPattern(pageHasOlderDesign ? "dd-MM-yyyy" : "yyyy-MM-dd")));
+                        DateUtils.getFormatter(pageHasOlderDesign ? "dd-MM-yyyy" : "yyyy-MM-dd")));
                 ia.setOriginalUrl(cellData.get(1).getElementsByTag("a").attr("href").trim());
                 ia.setDataRecord(dataRecord);
                 iaTextCollector.processImpactAssessmentText(ia);
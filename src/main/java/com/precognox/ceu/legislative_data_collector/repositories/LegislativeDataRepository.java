@@ -5,6 +5,7 @@ import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataReco
 import com.precognox.ceu.legislative_data_collector.usa.LawType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,8 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
@@ -58,6 +61,16 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
     boolean existsByBillIdAndCountry(
             @Param("billId") String billId, @Param("country") Country country);
 
+    long countByCountry(Country country);
+
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.billPageUrl FROM LegislativeDataRecord r WHERE r.country = :country AND r.billPageUrl IS NOT NULL")
+    Stream<String> streamBillPageUrls(@Param("country") Country country);
+
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.billId FROM LegislativeDataRecord r WHERE r.country = :country AND r.billId IS NOT NULL")
+    Stream<String> streamBillIds(@Param("country") Country country);
+
     @Query("SELECT COUNT(d) > 0 FROM LegislativeDataRecord d"
             + " WHERE d.billId = :billId"
             + " AND YEAR(d.dateIntroduction) = :year")
@@ -88,6 +101,13 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
 
     List<LegislativeDataRecord> findByCountryAndBillTitle(Country country, String billTitle);
 
+    /**
+     * Keyset pagination, see {@link com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser}.
+     */
+    @Query("SELECT r FROM LegislativeDataRecord r WHERE r.country = :country AND r.id > :afterId ORDER BY r.id")
+    List<LegislativeDataRecord> findPageAfterId(
+            @Param("country") Country country, @Param("afterId") long afterId, Pageable pageable);
+
     List<LegislativeDataRecord> findByCountryAndBillTitleStartsWith(Country country, String billTitle);
 
     @Query("SELECT r FROM LegislativeDataRecord r" +
@@ -108,6 +128,7 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
     @Query("SELECT d FROM LegislativeDataRecord d WHERE d.country = :country")
     List<LegislativeDataRecord> findByCountry(@Param("country") Country country);
 
+    @EntityGraph(LegislativeDataRecord.GRAPH_MODIFIED_LAWS)
     @Query("SELECT d FROM LegislativeDataRecord d WHERE d.country = :country AND d.billStatus = 'PASS'")
     List<LegislativeDataRecord> findPassedBillsByCountry(@Param("country") Country country);
 
@@ -124,13 +145,21 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
             nativeQuery = true)
     List<LegislativeDataRecord> findByModifiedLawId(String id);
 
+    /**
+     * The modified laws of a record, for records processed outside their session (which can't load the collection).
+     */
+    @Query("SELECT m FROM LegislativeDataRecord r JOIN r.modifiedLaws m WHERE r.id = :id")
+    Set<String> findModifiedLawsById(@Param("id") long id);
+
     @Query("SELECT r FROM LegislativeDataRecord r WHERE r.lawId = :lawId AND YEAR(r.datePassing) = :year")
     List<LegislativeDataRecord> findByDatePassingYearAndLawId(@Param("year") int year, @Param("lawId") String lawId);
 
-    @Query("SELECT r FROM LegislativeDataRecord r WHERE r.amendmentCount IS NULL")
+    @EntityGraph(LegislativeDataRecord.GRAPH_ERRORS)
+    @Query("SELECT r FROM LegislativeDataRecord r WHERE r.amendmentCount IS NULL ORDER BY r.id")
     Stream<LegislativeDataRecord> findRecordsWithoutAmendments();
 
-    @Query("SELECT r FROM LegislativeDataRecord r WHERE r.country = :country AND r.amendmentCount > 0")
+    @EntityGraph(LegislativeDataRecord.GRAPH_AMENDMENTS)
+    @Query("SELECT r FROM LegislativeDataRecord r WHERE r.country = :country AND r.amendmentCount > 0 ORDER BY r.id")
     @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "5"))
     Stream<LegislativeDataRecord> findRecordsWithAmendments(@Param("country") Country country);
 
@@ -140,9 +169,28 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
     @Query("SELECT COUNT(r) FROM LegislativeDataRecord r WHERE r.plenarySize IS NULL")
     int countRecordsWithoutPlenarySize();
 
-    @Query("SELECT r FROM LegislativeDataRecord r LEFT JOIN FETCH r.stages WHERE r.plenarySize IS NULL")
+    @EntityGraph(LegislativeDataRecord.GRAPH_STAGES)
+    @Query("SELECT r FROM LegislativeDataRecord r WHERE r.plenarySize IS NULL ORDER BY r.id")
     Stream<LegislativeDataRecord> findRecordsWithoutPlenarySize();
 
+    /**
+     * Lightweight scan of the record URLs, without loading the texts and the collections.
+     */
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id AS id, r.recordId AS recordId, r.billPageUrl AS billPageUrl," +
+            " r.billTextUrl AS billTextUrl, r.lawTextUrl AS lawTextUrl" +
+            " FROM LegislativeDataRecord r WHERE r.country = :country")
+    Stream<RecordUrls> streamUrlsByCountry(@Param("country") Country country);
+
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id AS id, r.recordId AS recordId, r.lawId AS lawId, r.lawType AS lawType," +
+            " r.datePassing AS datePassing FROM LegislativeDataRecord r WHERE r.country = :country")
+    Stream<RecordLawInfo> streamLawInfoByCountry(@Param("country") Country country);
+
+    @Query("SELECT r.id AS id, r.recordId AS recordId, r.lawId AS lawId, r.lawType AS lawType," +
+            " r.datePassing AS datePassing FROM LegislativeDataRecord r WHERE r.id IN :ids")
+    List<RecordLawInfo> findLawInfoByIds(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT r.lawId FROM LegislativeDataRecord r WHERE r.country = :country")
     List<String> findLawIds(@Param("country") Country country);
 
@@ -178,8 +226,9 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
             + " WHERE d.billPageUrl = :billUrl")
     Optional<String> getBillTextByBillPageUrl(@Param("billUrl") String billUrl);
 
+    @EntityGraph(LegislativeDataRecord.GRAPH_ORIGINATORS)
     @Query("SELECT r FROM LegislativeDataRecord r " +
-            "WHERE r.country = :country AND r.originType IS NULL")
+            "WHERE r.country = :country AND r.originType IS NULL ORDER BY r.id")
     @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "5"))
     Stream<LegislativeDataRecord> streamUnprocessedOriginators(@Param("country") Country country);
 
@@ -188,21 +237,35 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
     @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "5"))
     Stream<LegislativeDataRecord> streamUnprocessedLaws(@Param("country") Country country);
 
+    @EntityGraph(LegislativeDataRecord.GRAPH_COMMITTEES)
     @Query("SELECT r FROM LegislativeDataRecord r " +
-            "WHERE r.country = :country AND r.committeeCount IS NULL")
+            "WHERE r.country = :country AND r.committeeCount IS NULL ORDER BY r.id")
     @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "5"))
     Stream<LegislativeDataRecord> streamUnprocessedCommittees(@Param("country") Country country);
 
+    @EntityGraph(LegislativeDataRecord.GRAPH_IMPACT_ASSESSMENTS)
     @Query("SELECT r FROM LegislativeDataRecord r " +
-            "WHERE r.country = :country AND r.impactAssessmentDone IS NULL")
+            "WHERE r.country = :country AND r.impactAssessmentDone IS NULL ORDER BY r.id")
     @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "5"))
     Stream<LegislativeDataRecord> streamUnprocessedImpactAssessments(@Param("country") Country country);
 
+    @EntityGraph(LegislativeDataRecord.GRAPH_AMENDMENTS)
     @Query("SELECT r FROM LegislativeDataRecord r " +
-            "WHERE r.country = :country AND r.amendmentCount IS NULL")
+            "WHERE r.country = :country AND r.amendmentCount IS NULL ORDER BY r.id")
     @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "5"))
     Stream<LegislativeDataRecord> streamUnprocessedAmendments(@Param("country") Country country);
 
+    /**
+     * The records missing any of the variables of {@link #streamUnprocessedOriginators},
+     * {@link #streamUnprocessedLaws}, {@link #streamUnprocessedCommittees},
+     * {@link #streamUnprocessedImpactAssessments} or {@link #streamUnprocessedAmendments}.
+     */
+    @Query("SELECT r FROM LegislativeDataRecord r WHERE r.country = :country AND (r.originType IS NULL" +
+            " OR r.billStatus IS NULL OR r.committeeCount IS NULL OR r.impactAssessmentDone IS NULL" +
+            " OR r.amendmentCount IS NULL) ORDER BY r.id")
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "5"))
+    Stream<LegislativeDataRecord> streamRecordsWithMissingVariables(@Param("country") Country country);
+
     @Transactional
     @Modifying
     @Query(value = "DELETE FROM legislative_data_south_africa.amendments a"
@@ -251,6 +314,36 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
             " AND r.billTextUrl IS NOT NULL")
     int countAllWithUnprocessedBillTextUrl(@Param("country") Country country);
 
+    /**
+     * URLs of the records without bill text, in ID order, for resuming an interrupted collection after the given ID.
+     */
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id AS id, r.recordId AS recordId, r.billPageUrl AS billPageUrl," +
+            " r.billTextUrl AS billTextUrl, r.lawTextUrl AS lawTextUrl" +
+            " FROM LegislativeDataRecord r" +
+            " WHERE r.country = :country" +
+            " AND r.id > :afterId" +
+            " AND r.billText IS NULL" +
+            " AND r.billTextUrl IS NOT NULL" +
+            " ORDER BY r.id")
+    Stream<RecordUrls> streamUnprocessedBillTextUrls(
+            @Param("country") Country country, @Param("afterId") long afterId);
+
+    /**
+     * URLs of the records without law text, in ID order, for resuming an interrupted collection after the given ID.
+     */
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id AS id, r.recordId AS recordId, r.billPageUrl AS billPageUrl," +
+            " r.billTextUrl AS billTextUrl, r.lawTextUrl AS lawTextUrl" +
+            " FROM LegislativeDataRecord r" +
+            " WHERE r.country = :country" +
+            " AND r.id > :afterId" +
+            " AND r.lawText IS NULL" +
+            " AND r.lawTextUrl IS NOT NULL" +
+            " ORDER BY r.id")
+    Stream<RecordUrls> streamUnprocessedLawTextUrls(
+            @Param("country") Country country, @Param("afterId") long afterId);
+
     @Query("SELECT r FROM LegislativeDataRecord r" +
             " WHERE r.country = :country" +
             " AND r.lawText IS NULL" +
@@ -310,6 +403,15 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
             "and r.lawText is null")
     Page<LegislativeDataRecord> findUnprocessLawsForAu(@Param("country") Country country, Pageable page);
 
+    /**
+     * Keyset variant of {@link #findUnprocessLawsForAu(Country, Pageable)}, restricted to the country.
+     */
+    @Query("SELECT r FROM LegislativeDataRecord r " +
+            "WHERE r.country = :country AND r.billStatus = 'PASS' AND r.lawText IS NULL AND r.id > :afterId " +
+            "ORDER BY r.id")
+    List<LegislativeDataRecord> findUnprocessedLawsAfterId(
+            @Param("country") Country country, @Param("afterId") long afterId, Pageable pageable);
+
     @Query("SELECT r FROM LegislativeDataRecord r" +
             " WHERE r.brazilCountrySpecificVariables.camaraPageUrl IS NOT NULL")
     Stream<LegislativeDataRecord> streamAllWithCamaraPageUrl();
@@ -317,49 +419,4 @@ public interface LegislativeDataRepository extends JpaRepository<LegislativeData
     @Query("SELECT r FROM LegislativeDataRecord r" +
             " WHERE r.brazilCountrySpecificVariables.senadoPageUrl IS NOT NULL")
     Stream<LegislativeDataRecord> streamAllWithSenadoPageUrl();
-
-    @Query(value = "SELECT nextval('{h-schema}uk_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForUk();
-
-    @Query(value = "SELECT nextval('{h-schema}hu_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForHungary();
-
-    @Query(value = "SELECT nextval('{h-schema}co_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForColombia();
-
-    @Query(value = "SELECT nextval('{h-schema}br_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForBrazil();
-
-    @Query(value = "SELECT nextval('{h-schema}jo_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForJordan();
-
-    @Query(value = "SELECT nextval('{h-schema}in_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForIndia();
-
-    @Query(value = "SELECT nextval('{h-schema}bg_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForBulgaria();
-
-    @Query(value = "SELECT nextval('{h-schema}ch_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForChile();
-
-    @Query(value = "SELECT nextval('{h-schema}usa_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForUsa();
-
-    @Query(value = "SELECT nextval('{h-schema}ru_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForRussia();
-
-    @Query(value = "SELECT nextval('{h-schema}ge_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForGeorgia();
-
-    @Query(value = "SELECT nextval('{h-schema}au_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForAustralia();
-
-    @Query(value = "SELECT nextval('{h-schema}sw_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForSweden();
-
-    @Query(value = "SELECT nextval('{h-schema}pl_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForPoland();
-
-    @Query(value = "SELECT nextval('{h-schema}sa_generic_id_seq')", nativeQuery = true)
-    int getNextUniqueIdForSouthAfrica();
 }
@@ -114,6 +114,15 @@ public interface PageSourceRepository extends JpaRepository<PageSource, Long> {
     @Query("SELECT COUNT(ps) > 0 FROM PageSource ps WHERE ps.pageUrl = :pageUrl")
     boolean existsByPageUrl(@Param("pageUrl") String pageUrl);
 
+    long countByCountry(Country country);
+
+    /**
+     * Only the URLs are read, for preloading a {@link com.precognox.ceu.legislative_data_collector.common.UrlSeenIndex}.
+     */
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT ps.pageUrl FROM PageSource ps WHERE ps.country = :country")
+    Stream<String> streamPageUrls(@Param("country") Country country);
+
     @Query("SELECT ps FROM PageSource ps"
             + " WHERE ps.pageUrl = :pageUrl")
     PageSource getByPageUrl(@Param("pageUrl") String pageUrl);
@@ -185,6 +194,21 @@ public interface PageSourceRepository extends JpaRepository<PageSource, Long> {
     @Query("SELECT s FROM PageSource s WHERE s.country = :country AND s.pageType = :pageType")
     List<PageSource> findAllByCountryAndPageType(@Param("country") Country country, @Param("pageType") String pageType);
 
+    /**
+     * Keyset pagination, see {@link com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser}.
+     */
+    @Query("SELECT s FROM PageSource s WHERE s.country = :country AND s.id > :afterId ORDER BY s.id")
+    List<PageSource> findPageAfterId(
+            @Param("country") Country country, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT s FROM PageSource s" +
+            " WHERE s.country = :country AND s.pageType = :pageType AND s.id > :afterId ORDER BY s.id")
+    List<PageSource> findPageByPageTypeAfterId(
+            @Param("country") Country country,
+            @Param("pageType") String pageType,
+            @Param("afterId") long afterId,
+            Pageable pageable);
+
     @Query("SELECT s FROM PageSource s WHERE s.country = :country AND s.rawSource IS NULL")
     Page<PageSource> findAllWithoutRawData(Pageable pageable, Country country);
 
@@ -245,10 +269,36 @@ public interface PageSourceRepository extends JpaRepository<PageSource, Long> {
             "ORDER BY s.id ASC")
     Page<PageSource> findUnprocessedBillsColombia(Pageable page, @Param("country") Country country);
 
+    /**
+     * Keyset variant of {@link #findUnprocessedBills(Pageable, Country)}. Offset paging skips rows here, as the
+     * processed pages drop out of the result between the queries.
+     */
+    @Query("SELECT s FROM PageSource s " +
+            "LEFT JOIN LegislativeDataRecord r " +
+            "ON s.pageUrl = r.billPageUrl " +
+            "WHERE s.country = :country AND s.pageType = 'BILL' AND r IS NULL AND s.id > :afterId " +
+            "ORDER BY s.id ASC")
+    List<PageSource> findUnprocessedBillsAfterId(
+            @Param("country") Country country, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findUnprocessedBillsColombia(Pageable, Country)}.
+     */
+    @Query("SELECT s FROM PageSource s " +
+            "LEFT JOIN LegislativeDataRecord r " +
+            "ON s.pageUrl = r.billPageUrl " +
+            "WHERE s.country = :country AND s.pageType = 'bill' AND r IS NULL AND s.id > :afterId " +
+            "ORDER BY s.id ASC")
+    List<PageSource> findUnprocessedBillsColombiaAfterId(
+            @Param("country") Country country, @Param("afterId") long afterId, Pageable pageable);
+
     //    The reason for the native query is to implement limit
-    @Query(value = "SELECT s.raw_source FROM page_source s " +
+    //    The <-> trigram distance (1 - similarity) lets the GiST index on the metadata find the nearest row
+    //    The large sources are in the blob table, see PageContentStore
+    @Query(value = "SELECT coalesce(s.raw_source, b.content) FROM {h-schema}page_source s " +
+            "LEFT JOIN {h-schema}page_source_blob b ON b.hash = s.content_hash " +
             "WHERE s.page_type = :pageType " +
-            "ORDER BY similarity(s.metadata, :originatorName) DESC " +
+            "ORDER BY s.metadata <-> :originatorName " +
             "LIMIT 1",
             nativeQuery = true)
     Optional<String> findOriginatorUrlWithFuzzyMatching(@Param("pageType") String pageType,
@@ -1,6 +1,7 @@
 package com.precognox.ceu.legislative_data_collector.repositories;
 
 import com.precognox.ceu.legislative_data_collector.entities.Amendment;
+import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.ImpactAssessment;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.entities.australia.AuCountrySpecificVariables;
@@ -15,7 +16,12 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
-import java.util.function.Supplier;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Repository
@@ -26,6 +32,7 @@ public class PrimaryKeyGeneratingRepository {
 
     private final EntityManager entityManager;
     private final TransactionTemplate transactionTemplate;
+    private final Map<Country, RecordIdAllocator> recordIdAllocators = new EnumMap<>(Country.class);
 
     @Autowired
     public PrimaryKeyGeneratingRepository(
@@ -37,6 +44,43 @@ public class PrimaryKeyGeneratingRepository {
 
         transactionTemplate = new TransactionTemplate(platformTransactionManager);
         transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        addSequence(Country.UK, "uk_generic_id_seq");
+        addSequence(Country.HUNGARY, "hu_generic_id_seq");
+        addSequence(Country.COLOMBIA, "co_generic_id_seq");
+        addSequence(Country.CHILE, "ch_generic_id_seq");
+        addSequence(Country.BRAZIL, "br_generic_id_seq");
+        addSequence(Country.JORDAN, "jo_generic_id_seq");
+        addSequence(Country.RUSSIA, "ru_generic_id_seq");
+        addSequence(Country.INDIA, "in_generic_id_seq");
+        addSequence(Country.BULGARIA, "bg_generic_id_seq");
+        addSequence(Country.USA, "usa_generic_id_seq");
+        addSequence(Country.GEORGIA, "ge_generic_id_seq");
+        addSequence(Country.SWEDEN, "sw_generic_id_seq");
+        addSequence(Country.AUSTRALIA, "au_generic_id_seq");
+        addSequence(Country.POLAND, "pl_generic_id_seq");
+        addSequence(Country.SOUTH_AFRICA, "sa_generic_id_seq");
+    }
+
+    private void addSequence(Country country, String sequenceName) {
+        recordIdAllocators.put(country, new RecordIdAllocator(() -> reserveBlock(sequenceName)));
+    }
+
+    /**
+     * Reserves the next block of record IDs with one nextval call, see {@link RecordIdAllocator}.
+     */
+    private RecordIdAllocator.SequenceValue reserveBlock(String sequenceName) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "SELECT nextval('{h-schema}" + sequenceName + "'), seqincrement, seqstart"
+                                + " FROM pg_catalog.pg_sequence WHERE seqrelid = '{h-schema}" + sequenceName
+                                + "'::regclass")
+                .getSingleResult();
+
+        log.debug("Reserved record ID block of sequence {} ending at {}", sequenceName, row[0]);
+
+        return new RecordIdAllocator.SequenceValue(
+                ((Number) row[0]).intValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue()
+        );
     }
 
     @Transactional
@@ -44,11 +88,18 @@ public class PrimaryKeyGeneratingRepository {
         return entityManager.merge(entity);
     }
 
-    public synchronized <S extends LegislativeDataRecord> S mergeInNewTransaction(S entity) {
+    /**
+     * Removes the entity from the persistence context of the current transaction, its changes are not written by it.
+     */
+    public void detach(Object entity) {
+        entityManager.detach(entity);
+    }
+
+    public <S extends LegislativeDataRecord> S mergeInNewTransaction(S entity) {
         return transactionTemplate.execute(status -> merge(entity));
     }
 
-    public synchronized <S extends LegislativeDataRecord> S mergeAndFlushInNewTransaction(S entity) {
+    public <S extends LegislativeDataRecord> S mergeAndFlushInNewTransaction(S entity) {
         return transactionTemplate.execute(status -> {
             merge(entity);
             entityManager.flush();
@@ -56,7 +107,7 @@ public class PrimaryKeyGeneratingRepository {
         });
     }
 
-    public synchronized <S extends LegislativeDataRecord> S save(S entity) {
+    public <S extends LegislativeDataRecord> S save(S entity) {
         try {
             if (entity.getRecordId() == null) {
                 entity.setRecordId(getPrimaryKey(entity));
@@ -75,7 +126,7 @@ public class PrimaryKeyGeneratingRepository {
         return entity;
     }
 
-    public synchronized <S extends LegislativeDataRecord> S updateIa(S entity) {
+    public <S extends LegislativeDataRecord> S updateIa(S entity) {
         try {
             return transactionTemplate.execute(status -> {
                 S updated = merge(entity);
@@ -90,6 +141,58 @@ public class PrimaryKeyGeneratingRepository {
         return entity;
     }
 
+    /**
+     * Saves the records in one new transaction. Record IDs are allocated with one sequence query per country, and
+     * the inserts are sent in JDBC batches (see hibernate.jdbc.batch_size).
+     *
+     * @throws RuntimeException If saving any of the records fails, in this case the whole batch is rolled back.
+     */
+    public void saveAllInNewTransaction(List<? extends LegislativeDataRecord> entities) {
+        assignRecordIds(entities);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entities.forEach(entity -> {
+                if (entity.getId() == null) {
+                    entityManager.persist(entity);
+                } else {
+                    entityManager.merge(entity);
+                }
+            });
+
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private void assignRecordIds(List<? extends LegislativeDataRecord> entities) {
+        Map<Country, Integer> missingIdCounts = new HashMap<>();
+
+        entities.stream()
+                .filter(entity -> entity.getRecordId() == null)
+                .forEach(entity -> missingIdCounts.merge(entity.getCountry(), 1, Integer::sum));
+
+        Map<Country, Deque<String>> allocatedIds = new HashMap<>();
+        missingIdCounts.forEach((country, count) -> allocatedIds.put(country, allocateRecordIds(country, count)));
+
+        entities.stream()
+                .filter(entity -> entity.getRecordId() == null)
+                .forEach(entity -> entity.setRecordId(allocatedIds.get(entity.getCountry()).poll()));
+    }
+
+    /**
+     * Takes the given number of record IDs from the country's allocator, which queries the sequence once per block.
+     */
+    private Deque<String> allocateRecordIds(Country country, int count) {
+        RecordIdAllocator allocator = getAllocator(country);
+        Deque<String> result = new ArrayDeque<>(count);
+
+        for (int i = 0; i < count; i++) {
+            result.add(formatId(country.getPrefix(), allocator.next()));
+        }
+
+        return result;
+    }
+
     private void saveOrUpdate(ImpactAssessment ia, LegislativeDataRecord dataRecord) {
         if (ia.getDataRecord() == null) {
             ia.setDataRecord(dataRecord);
@@ -134,35 +237,36 @@ public class PrimaryKeyGeneratingRepository {
     }
 
     public void deleteWithRelatedData(LegislativeDataRecord dataRecord) {
-        dataRecord.getAmendments().forEach(amendment -> entityManager.remove(amendment));
-        dataRecord.getImpactAssessments().forEach(ia -> entityManager.remove(ia));
+        //the record can be detached, its collections are loaded from the managed instance
+        transactionTemplate.executeWithoutResult(status -> {
+            LegislativeDataRecord stored = entityManager.find(LegislativeDataRecord.class, dataRecord.getId());
 
-        delete(dataRecord);
+            if (stored != null) {
+                stored.getAmendments().forEach(amendment -> entityManager.remove(amendment));
+                stored.getImpactAssessments().forEach(ia -> entityManager.remove(ia));
+
+                entityManager.remove(stored);
+            }
+        });
     }
 
     private <S extends LegislativeDataRecord> String getPrimaryKey(S entity) {
-        return switch (entity.getCountry()) {
-            case UK -> getId("UK", legislativeDataRepository::getNextUniqueIdForUk);
-            case HUNGARY -> getId("HU", legislativeDataRepository::getNextUniqueIdForHungary);
-            case COLOMBIA -> getId("CO", legislativeDataRepository::getNextUniqueIdForColombia);
-            case CHILE -> getId("CH", legislativeDataRepository::getNextUniqueIdForChile);
-            case BRAZIL -> getId("BR", legislativeDataRepository::getNextUniqueIdForBrazil);
-            case JORDAN -> getId("JO", legislativeDataRepository::getNextUniqueIdForJordan);
-            case RUSSIA -> getId("RU", legislativeDataRepository::getNextUniqueIdForRussia);
-            case INDIA -> getId("IN", legislativeDataRepository::getNextUniqueIdForIndia);
-            case BULGARIA -> getId("BG", legislativeDataRepository::getNextUniqueIdForBulgaria);
-            case USA -> getId("USA", legislativeDataRepository::getNextUniqueIdForUsa);
-            case GEORGIA -> getId("GE", legislativeDataRepository::getNextUniqueIdForGeorgia);
-            case SWEDEN -> getId("SW", legislativeDataRepository::getNextUniqueIdForSweden);
-            case AUSTRALIA -> getId("AU", legislativeDataRepository::getNextUniqueIdForAustralia);
-            case POLAND -> getId("PL", legislativeDataRepository::getNextUniqueIdForPoland);
-            case SOUTH_AFRICA -> getId("SA", legislativeDataRepository::getNextUniqueIdForSouthAfrica);
-            default -> throw new IllegalStateException("Unexpected value: " + entity.getCountry());
-        };
-    }
-
-    private String getId(String countryKey, Supplier<Integer> getIdFromDB) {
-        Integer id = getIdFromDB.get();
+        Country country = entity.getCountry();
+
+        return formatId(country.getPrefix(), getAllocator(country).next());
+    }
+
+    private RecordIdAllocator getAllocator(Country country) {
+        RecordIdAllocator allocator = recordIdAllocators.get(country);
+
+        if (allocator == null) {
+            throw new IllegalStateException("Unexpected value: " + country);
+        }
+
+        return allocator;
+    }
+
+    private String formatId(String countryKey, int id) {
         String paddedId = StringUtils.leftPad(Integer.toString(id), 5, '0');
 
         return countryKey + paddedId;
@@ -0,0 +1,66 @@
+package com.precognox.ceu.legislative_data_collector.repositories;
+
+import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes the parsed records in batches with {@link PrimaryKeyGeneratingRepository#saveAllInNewTransaction(List)},
+ * for callers which collect the records in batches, like the sink of a
+ * {@link com.precognox.ceu.legislative_data_collector.utils.queue.BoundedPipeline}.
+ * <p>
+ * If a batch fails, its records are saved one by one, so a single invalid record doesn't drop the whole batch.
+ */
+@Slf4j
+@Component
+public class RecordBatchWriter {
+
+    private final PrimaryKeyGeneratingRepository keyGeneratingRepository;
+
+    @Autowired
+    public RecordBatchWriter(PrimaryKeyGeneratingRepository keyGeneratingRepository) {
+        this.keyGeneratingRepository = keyGeneratingRepository;
+    }
+
+    /**
+     * Writes the batch, returns when it's stored. Batches are written one at a time to keep the record ID allocation
+     * and the DB load predictable.
+     */
+    public synchronized void write(List<? extends LegislativeDataRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<? extends LegislativeDataRecord> newRecords = batch.stream().filter(r -> r.getId() == null).toList();
+        List<? extends LegislativeDataRecord> withoutRecordId =
+                batch.stream().filter(r -> r.getRecordId() == null).toList();
+
+        try {
+            keyGeneratingRepository.saveAllInNewTransaction(batch);
+            log.info("Saved {} records in {} ms", batch.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to save batch of {} records, saving them one by one", batch.size(), e);
+
+            //the IDs assigned by the rolled back batch don't exist in the DB
+            newRecords.forEach(RecordBatchWriter::clearGeneratedIds);
+            withoutRecordId.forEach(record -> record.setRecordId(null));
+
+            batch.forEach(keyGeneratingRepository::save);
+        }
+    }
+
+    /**
+     * Clears the IDs of a new record and its child entities, all of them were new.
+     */
+    private static void clearGeneratedIds(LegislativeDataRecord record) {
+        record.setId(null);
+        record.getAmendments().forEach(amendment -> amendment.setId(null));
+        record.getImpactAssessments().forEach(impactAssessment -> impactAssessment.setId(null));
+        record.getAffectingLawsDetailed().forEach(affectingLaw -> affectingLaw.setId(null));
+    }
+
+}
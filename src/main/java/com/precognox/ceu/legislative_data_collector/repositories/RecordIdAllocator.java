@@ -0,0 +1,74 @@
+package com.precognox.ceu.legislative_data_collector.repositories;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands out the numeric part of the record IDs of a country from blocks reserved in the country's DB sequence
+ * (pooled allocation).
+ * <p>
+ * The sequences are incremented by the block size (see make_id_sequences_pooled.xml), so one {@code nextval} call
+ * reserves a whole block: the returned value is the last value of the block, and the block starts after the value
+ * returned by the previous call. The values of the current block are handed out by an atomic counter, the sequence is
+ * only queried again when the block is used up.
+ * <p>
+ * The values left in the current block are lost when the application stops, so the record IDs of a country can have
+ * gaps of at most block size - 1 values per application run (and per concurrently running instance). These gaps can
+ * be removed with {@link com.precognox.ceu.legislative_data_collector.common.SequentialIdMapper}. The values never
+ * exceed the sequence's value, so the record ID format is the same as with single value allocation.
+ */
+class RecordIdAllocator {
+
+    /**
+     * A value returned by the sequence, with the settings of the sequence.
+     */
+    record SequenceValue(int value, int increment, int startValue) {
+    }
+
+    /**
+     * Values from first to last (inclusive), the next one to hand out is in the counter.
+     */
+    private record Block(AtomicInteger next, int last) {
+    }
+
+    private final Supplier<SequenceValue> sequence;
+
+    private volatile Block currentBlock;
+
+    /**
+     * @param sequence Calls {@code nextval} on the sequence, called once per block.
+     */
+    RecordIdAllocator(Supplier<SequenceValue> sequence) {
+        this.sequence = sequence;
+    }
+
+    int next() {
+        while (true) {
+            Block block = currentBlock;
+
+            if (block != null) {
+                int value = block.next().getAndIncrement();
+
+                if (value <= block.last()) {
+                    return value;
+                }
+            }
+
+            reserveBlock(block);
+        }
+    }
+
+    private synchronized void reserveBlock(Block exhausted) {
+        //another thread may have reserved a new block while this one was waiting
+        if (currentBlock != exhausted) {
+            return;
+        }
+
+        SequenceValue reserved = sequence.get();
+        //the first value of a new sequence has no block before it
+        int first = Math.max(reserved.value() - reserved.increment() + 1, reserved.startValue());
+
+        currentBlock = new Block(new AtomicInteger(first), reserved.value());
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.precognox.ceu.legislative_data_collector.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the {@link com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord} for the bulk
+ * scans which only need the law identifiers and dates (e.g. the affecting laws calculation).
+ */
+public interface RecordLawInfo {
+
+    Long getId();
+
+    String getRecordId();
+
+    String getLawId();
+
+    String getLawType();
+
+    LocalDate getDatePassing();
+
+}
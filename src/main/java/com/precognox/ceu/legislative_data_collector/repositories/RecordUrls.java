@@ -0,0 +1,19 @@
+package com.precognox.ceu.legislative_data_collector.repositories;
+
+/**
+ * Projection of the {@link com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord} for the bulk
+ * scans which only need the URLs of the records.
+ */
+public interface RecordUrls {
+
+    Long getId();
+
+    String getRecordId();
+
+    String getBillPageUrl();
+
+    String getBillTextUrl();
+
+    String getLawTextUrl();
+
+}
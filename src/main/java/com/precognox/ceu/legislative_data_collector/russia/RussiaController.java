@@ -14,16 +14,27 @@ public class RussiaController implements ScrapingController {
     private RussiaSourceUpdater russiaSourceUpdater;
     private RussiaFixer russiaFixer;
     private RussiaDataCollector russiaDataCollector;
+    private RussiaParserBenchmark russiaParserBenchmark;
 
     @Autowired
-    public RussiaController(RussiaSourceUpdater russiaSourceUpdater, RussiaFixer russiaFixer, RussiaDataCollector russiaDataCollector) {
+    public RussiaController(
+            RussiaSourceUpdater russiaSourceUpdater,
+            RussiaFixer russiaFixer,
+            RussiaDataCollector russiaDataCollector,
+            RussiaParserBenchmark russiaParserBenchmark) {
         this.russiaDataCollector = russiaDataCollector;
         this.russiaSourceUpdater = russiaSourceUpdater;
         this.russiaFixer = russiaFixer;
+        this.russiaParserBenchmark = russiaParserBenchmark;
     }
 
     @Override
     public void runScraping(List<String> args) {
+        if (args.contains("benchmark")) {
+            russiaParserBenchmark.run();
+            return;
+        }
+
         russiaDataCollector.runCollectionAndParsing();
         russiaFixer.removeDuplicateRecords();
         russiaSourceUpdater.updateSources();
@@ -6,11 +6,12 @@ import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.entities.RawPageSource;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
 import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.RecordBatchWriter;
 import com.precognox.ceu.legislative_data_collector.utils.JsonUtils;
 import com.precognox.ceu.legislative_data_collector.utils.ObjectPool;
 import com.precognox.ceu.legislative_data_collector.utils.XmlUtils;
-import com.precognox.ceu.legislative_data_collector.utils.queue.InfinityDataList;
-import com.precognox.ceu.legislative_data_collector.utils.queue.InfinityDbBrowser;
+import com.precognox.ceu.legislative_data_collector.utils.queue.BoundedPipeline;
+import com.precognox.ceu.legislative_data_collector.utils.queue.KeysetDbBrowser;
 import com.precognox.ceu.legislative_data_collector.utils.selenium.WebDriverUtil;
 import com.precognox.ceu.legislative_data_collector.utils.selenium.WebDriverWaitExtend;
 import kong.unirest.Unirest;
@@ -39,8 +40,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -53,6 +54,9 @@ public class RussiaDataCollector {
     private static final String EXPORTED_FILE_NAME = "Законопроекты на 10.06.2022.xlsx";//Just for test
 
     private static final int EXCELL_HEAD_ROW = 2;
+    //most of the parsing time is spent waiting for document downloads, so more threads than cores are used
+    private static final int PARSER_THREADS = Integer.parseInt(readParam("RUSSIA_PARSER_THREADS", "25"));
+    private static final int RECORD_BATCH_SIZE = 100;
     public static final String DOCUMENT_VIEW_URL = "http://publication.pravo.gov.ru/Document/View/";
     public static final String DOCUMENT_VIEW_HTML_URL = "http://actual.pravo.gov.ru/text.html#pnum=";
     private final List<String> excellHead = new ArrayList<>();
@@ -63,8 +67,14 @@ public class RussiaDataCollector {
 
     @Autowired
     private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordBatchWriter recordBatchWriter;
     private ObjectPool<WebDriver> webDriverPool;
 
+    //documents currently being downloaded, so parallel parser threads don't fetch and store the same URL twice
+    private final Map<String, CompletableFuture<String>> inFlightDownloads = new ConcurrentHashMap<>();
+
     @Autowired
     public RussiaDataCollector(PrimaryKeyGeneratingRepository keyGeneratingRepository) {
         this.keyGeneratingRepository = keyGeneratingRepository;
@@ -95,54 +105,86 @@ public class RussiaDataCollector {
         return new WebDriverUtil().createChromeWebDriver("");
     }
 
+    /**
+     * Returns a thread-safe function which loads the text of a linked document from the DB, or downloads and stores
+     * it if it's missing. Concurrent requests for the same URL are coalesced into one download.
+     */
     private Function<String, String> getPageCache() {
         return url -> {
             if (StringUtils.isBlank(url)) {
                 return null;
             }
-            if (url.contains(DOCUMENT_VIEW_URL)) {
-                url = url.replace(DOCUMENT_VIEW_URL, DOCUMENT_VIEW_HTML_URL);
-            }
-            String result = pageSourceRepository.findByPageUrl(url).map(pageSource -> pageSource.getRawSource()).orElse(null);
+            String normalizedUrl = url.contains(DOCUMENT_VIEW_URL)
+                    ? url.replace(DOCUMENT_VIEW_URL, DOCUMENT_VIEW_HTML_URL)
+                    : url;
+
+            String result = pageSourceRepository.findByPageUrl(normalizedUrl).map(PageSource::getRawSource).orElse(null);
             if (result != null) {
                 return result;
             }
-            if (url.contains(DOCUMENT_VIEW_HTML_URL)) {
-                WebDriver webDriver = webDriverPool.borrowObject();
+
+            CompletableFuture<String> download = new CompletableFuture<>();
+            CompletableFuture<String> running = inFlightDownloads.putIfAbsent(normalizedUrl, download);
+
+            if (running != null) {
+                return running.join();
+            }
+
+            try {
+                String downloaded = downloadAndStore(normalizedUrl);
+                download.complete(downloaded);
+
+                return downloaded;
+            } catch (RuntimeException e) {
+                download.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlightDownloads.remove(normalizedUrl);
+            }
+        };
+    }
+
+    private String downloadAndStore(String url) {
+        String result;
+        if (url.contains(DOCUMENT_VIEW_HTML_URL)) {
+            WebDriver webDriver = webDriverPool.borrowObject();
+            String lawText;
+            try {
                 webDriver.get(url);
                 WebDriverWaitExtend.waitSec(2);
                 WebDriver iFrame = webDriver.switchTo().frame(webDriver.findElement(By.xpath("//iframe[@class=\"doc-body\"]")));
-                String lawText = iFrame.findElement(By.xpath("//body")).getText();
+                lawText = iFrame.findElement(By.xpath("//body")).getText();
                 webDriver.switchTo().defaultContent();
+            } finally {
                 webDriverPool.returnObject(webDriver);
+            }
 
-                if (lawText != null) {
+            if (lawText != null) {
+                PageSource pageSource = new PageSource();
+                pageSource.setCountry(Country.RUSSIA);
+                pageSource.setPageType(PageType.law_text.name());
+                pageSource.setPageUrl(url);
+                pageSource.setRawSource(lawText);
+                saveInNewTransaction(pageSource);
+            }
+            return lawText;
+        } else {
+            try {
+                result = XmlUtils.openAsText(url);
+                if (result != null) {
                     PageSource pageSource = new PageSource();
                     pageSource.setCountry(Country.RUSSIA);
-                    pageSource.setPageType(PageType.law_text.name());
+                    pageSource.setPageType(PageType.amendment.name());
                     pageSource.setPageUrl(url);
-                    pageSource.setRawSource(lawText);
+                    pageSource.setRawSource(result);
                     saveInNewTransaction(pageSource);
                 }
-                return lawText;
-            } else {
-                try {
-                    result = XmlUtils.openAsText(url);
-                    if (result != null) {
-                        PageSource pageSource = new PageSource();
-                        pageSource.setCountry(Country.RUSSIA);
-                        pageSource.setPageType(PageType.amendment.name());
-                        pageSource.setPageUrl(url);
-                        pageSource.setRawSource(result);
-                        saveInNewTransaction(pageSource);
-                    }
-                    return result;
-                } catch (IOException e) {
-                    log.error("downloadFileAndConvertToText ", e);
-                    return null;
-                }
+                return result;
+            } catch (IOException e) {
+                log.error("downloadFileAndConvertToText ", e);
+                return null;
             }
-        };
+        }
     }
 
     //Debug only
@@ -156,69 +198,47 @@ public class RussiaDataCollector {
     }
 
     /**
-     * Parses the stored data in the database.
+     * Parses the stored data in the database in parallel, see the RUSSIA_PARSER_THREADS parameter.
      */
     private void parseAllRowData() {
         int pageSize = 20;
-        int currentPage = 0;
-        ExecutorService executorService = Executors.newFixedThreadPool(25);
-        InfinityDbBrowser<PageSource> infinityDbBrowser = new InfinityDbBrowser<>(pageSize, pageable -> {
-            log.info("current PageNumber = " + pageable.getPageNumber());
-            return pageSourceRepository.findAllByCountryAndPageType(pageable, Country.RUSSIA, PageType.bill.name());
-        });
-        infinityDbBrowser.setCurrentPage(currentPage);
-
-        //this is the list of stored sources
-        InfinityDataList<PageSource> dataList = new InfinityDataList<>(executorService, infinityDbBrowser);
+        Function<String, String> pageCache = getPageCache();
+        KeysetDbBrowser<PageSource> storedSources = new KeysetDbBrowser<>(pageSize, PageSource::getId,
+                (afterId, pageable) -> pageSourceRepository.findPageByPageTypeAfterId(
+                        Country.RUSSIA, PageType.bill.name(), afterId, pageable
+                ));
 
-        dataList.forEach(data -> {
+        new BoundedPipeline<>("russia-parser", storedSources, PARSER_THREADS, PARSER_THREADS * 2).run(data -> {
             try {
                 log.info("START data.getId = " + data.getId());
-                saveInNewTransaction(RussiaParser.parseRowData(data, getPageCache()));
+                LegislativeDataRecord record = RussiaParser.parseRowData(data, pageCache);
                 log.info("END data.getId = " + data.getId());
+
+                return record;
             } catch (Exception ex) {
                 log.error("Failed to parse: " + data.getPageUrl(), ex);
+                return null;
             }
-        });
+        }, RECORD_BATCH_SIZE, recordBatchWriter::write);
+
         log.info("FINISH dataList");
     }
 
     public void postProcess1() {
-        int pageSize = 20;
-        int currentPage = 0;
-        ExecutorService executorService = Executors.newFixedThreadPool(20);
-        InfinityDbBrowser<LegislativeDataRecord> infinityDbBrowser = new InfinityDbBrowser<>(pageSize, pageable -> {
-            log.debug("current PageNumber = " + pageable.getPageNumber());
-            return keyGeneratingRepository.findAll(pageable); // totdo add  Country.RUSSIA
-        });
-        infinityDbBrowser.setCurrentPage(currentPage);
-        InfinityDataList<LegislativeDataRecord> dataList = new InfinityDataList<>(executorService, infinityDbBrowser);
-
-        dataList.forEach(data -> {
+        new BoundedPipeline<>("russia-modified-laws", getStoredRecords(), 20, 40).run(data -> {
             try {
                 log.debug("START data.getId = " + data.getId());
                 replaceModifiedLaws(data);
                 log.debug("END data.getId = " + data.getId());
             } catch (Exception ex) {
                 log.error("Failed to parse: " + data.getBillId(), ex);
-                ex.printStackTrace();
             }
         });
         log.info("FINISH dataList");
     }
 
     public void postProcess2() {
-        int pageSize = 20;
-        int currentPage = 0;
-        ExecutorService executorService = Executors.newFixedThreadPool(20);
-        InfinityDbBrowser<LegislativeDataRecord> infinityDbBrowser = new InfinityDbBrowser<>(pageSize, pageable -> {
-            log.debug("current PageNumber = " + pageable.getPageNumber());
-            return keyGeneratingRepository.findAll(pageable); // totdo add  Country.RUSSIA
-        });
-        infinityDbBrowser.setCurrentPage(currentPage);
-        InfinityDataList<LegislativeDataRecord> dataList = new InfinityDataList<>(executorService, infinityDbBrowser);
-
-        dataList.forEach(data -> {
+        new BoundedPipeline<>("russia-affected-laws", getStoredRecords(), 20, 40).run(data -> {
             try {
                 log.debug("START data.getId = " + data.getId());
                 replaceAffectedLaws(data);
@@ -230,9 +250,15 @@ public class RussiaDataCollector {
         log.info("FINISH dataList");
     }
 
+    private KeysetDbBrowser<LegislativeDataRecord> getStoredRecords() {
+        return new KeysetDbBrowser<>(20, LegislativeDataRecord::getId,
+                (afterId, pageable) -> keyGeneratingRepository.findPageAfterId(Country.RUSSIA, afterId, pageable));
+    }
+
     private LegislativeDataRecord replaceModifiedLaws(LegislativeDataRecord data) {
         Set<String> affectedLawIdSet = new HashSet<>();
-        Set<String> affectedLaws = data.getModifiedLaws();
+        //the pipeline records are detached, their collections can't be loaded
+        Set<String> affectedLaws = keyGeneratingRepository.findModifiedLawsById(data.getId());
         for (String affectedLaw : affectedLaws) {
             List<LegislativeDataRecord> affectedLawDataList = keyGeneratingRepository.findByCountryAndBillTitle(Country.RUSSIA, affectedLaw);
             if (affectedLawDataList.isEmpty()) {
@@ -264,11 +290,11 @@ public class RussiaDataCollector {
         return data;
     }
 
-    private synchronized void saveInNewTransaction(PageSource data) {
+    private void saveInNewTransaction(PageSource data) {
         transactionTemplate.execute(status -> pageSourceRepository.save(data));
     }
 
-    private synchronized void saveInNewTransaction(LegislativeDataRecord data) {
+    private void saveInNewTransaction(LegislativeDataRecord data) {
         keyGeneratingRepository.save(data);
     }
 
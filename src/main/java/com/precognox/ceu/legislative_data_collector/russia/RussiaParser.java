@@ -11,11 +11,11 @@ import com.precognox.ceu.legislative_data_collector.entities.Originator;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.utils.JsonPathUtils;
 import com.precognox.ceu.legislative_data_collector.utils.TextUtils;
+import com.precognox.ceu.legislative_data_collector.utils.XPathDocument;
 import com.precognox.ceu.legislative_data_collector.utils.XmlUtils;
 import kong.unirest.Unirest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
@@ -33,10 +33,6 @@ import static com.precognox.ceu.legislative_data_collector.utils.ParserHelper.ge
 import static com.precognox.ceu.legislative_data_collector.utils.TextUtils.distinctByKey;
 import static com.precognox.ceu.legislative_data_collector.utils.TextUtils.findText;
 import static com.precognox.ceu.legislative_data_collector.utils.TextUtils.findTexts;
-import static com.precognox.ceu.legislative_data_collector.utils.XmlUtils.find;
-import static com.precognox.ceu.legislative_data_collector.utils.XmlUtils.findAttribute;
-import static com.precognox.ceu.legislative_data_collector.utils.XmlUtils.findElementText;
-import static com.precognox.ceu.legislative_data_collector.utils.XmlUtils.findFirst;
 
 @Slf4j
 public class RussiaParser {
@@ -51,17 +47,33 @@ public class RussiaParser {
     public static final String BILL_STATUS_REJECT_2 = "Снять закон с рассмотреният".toLowerCase();
     public static final String BILL_STATUS_REJECT_3 = "Снять законопроект с рассмотрения Государственной Думы в связи с отзывом субъектом права законодательной инициативы".toLowerCase();
 
+    static {
+        Unirest.config().verifySsl(false);
+    }
+
     /**
-     * Parses one stored page source.
+     * Parses one stored page source. Pages of the szrf.ru site are downloaded with a plain HTTP GET.
      *
      * @param pageSource
      * @param pageCache
      * @return
      */
-    public synchronized static LegislativeDataRecord parseRowData(PageSource pageSource, Function<String, String> pageCache) {
-        log.info("Parse row: " + pageSource.getPageUrl());
+    public static LegislativeDataRecord parseRowData(PageSource pageSource, Function<String, String> pageCache) {
+        return parseRowData(pageSource, pageCache, url -> Unirest.get(url).asString().getBody());
+    }
 
-        Unirest.config().verifySsl(false);
+    /**
+     * Parses one stored page source. The method keeps all state in local variables, so it can be called from
+     * multiple threads at the same time, given that the supplied functions are thread-safe.
+     *
+     * @param pageSource The stored bill page.
+     * @param pageCache Returns the text of a linked document (bill text, law text, amendment).
+     * @param httpGet Returns the body of a page which is not cached (szrf.ru pages).
+     * @return The parsed record.
+     */
+    public static LegislativeDataRecord parseRowData(
+            PageSource pageSource, Function<String, String> pageCache, Function<String, String> httpGet) {
+        log.info("Parse row: " + pageSource.getPageUrl());
 
         DocumentContext context = JsonPathUtils.parseJson(pageSource.getRawSource());
         Map<String, Object> rawMap = JsonPathUtils.findByJsonPath(context, "$");
@@ -87,14 +99,14 @@ public class RussiaParser {
 //        96700347-2  Тематический блок законопроектов
 //Социальная политика
         String details = getStringValue(rawMap, "details");
-        Document detailsPage = XmlUtils.parseXml(details);
-        String billType = findElementText(detailsPage, "//tr[td[node()='Тематический блок законопроектов']]/td[2]").trim();
+        XPathDocument detailsPage = XPathDocument.parse(details);
+        String billType = detailsPage.findElementText("//tr[td[node()='Тематический блок законопроектов']]/td[2]").trim();
         data.setBillType(billType);
 
         String billStatus = getStringValue(listItem, "Последнее событие");
         data.setBillStatus(toBillStatus(billStatus));
 
-        String oz_name = findElementText(detailsPage, "//span[@id='oz_name']").trim();
+        String oz_name = detailsPage.findElementText("//span[@id='oz_name']").trim();
 
         if (oz_name.contains("О внесении изменени") || oz_name.contains("О внесении дополнени")) {
             List<String> modified_law_texts = findTexts(oz_name, "[\"]([^\"]+)[\"]");
@@ -104,15 +116,15 @@ public class RussiaParser {
         data.setDateIntroduction(null);
         List<LegislativeStage> stages = new ArrayList<>();
         int stageNumber = 1;
-        Elements stageElements = find(detailsPage, "//div[@id='bh_hron']//div[@class='bh_etap_date']/span[contains(@class, 'mob_not')]//ancestor::div[contains(@class, 'root-stage bh_item')]");
+        Elements stageElements = detailsPage.find("//div[@id='bh_hron']//div[@class='bh_etap_date']/span[contains(@class, 'mob_not')]//ancestor::div[contains(@class, 'root-stage bh_item')]");
         for (Element element : stageElements) {
             LegislativeStage stage = new LegislativeStage();
             stage.setStageNumber(stageNumber);
-            stage.setDate(toLocalDate(findElementText(element, "//div[@class='bh_etap_date']/span[contains(@class, 'mob_not')]"), DATE_FORMAT));
+            stage.setDate(toLocalDate(detailsPage.findElementText(element, "//div[@class='bh_etap_date']/span[contains(@class, 'mob_not')]"), DATE_FORMAT));
             if (data.getDateIntroduction() == null) {
                 data.setDateIntroduction(stage.getDate());
             }
-            String name = findElementText(element, "//div[@class='ttl']/a");
+            String name = detailsPage.findElementText(element, "//div[@class='ttl']/a");
             stage.setName(name);
 
             stages.add(stage);
@@ -132,9 +144,9 @@ public class RussiaParser {
         }
 
         List<Committee> committees = new ArrayList<>();
-        String committee1 = findElementText(detailsPage, "//tr[.//span[contains(text()[1], 'Профильный комитет')]]/td[2]");
-        String committee2 = findElementText(detailsPage, "//tr[.//span[contains(text()[1], 'Ответственный комитет')]]/td[2]");
-        String committee3 = findElementText(detailsPage, "//tr[.//span[contains(text()[1], 'Комитеты-соисполнители')]]/td[2]");
+        String committee1 = detailsPage.findElementText("//tr[.//span[contains(text()[1], 'Профильный комитет')]]/td[2]");
+        String committee2 = detailsPage.findElementText("//tr[.//span[contains(text()[1], 'Ответственный комитет')]]/td[2]");
+        String committee3 = detailsPage.findElementText("//tr[.//span[contains(text()[1], 'Комитеты-соисполнители')]]/td[2]");
 
         committees.addAll(toCommitteeList(committee1, "Specialist committee"));
         committees.addAll(toCommitteeList(committee2, "Resposible committee"));
@@ -147,11 +159,11 @@ public class RussiaParser {
         Long committeeCount = committees.stream().filter(distinctByKey(Committee::getName)).count();
         data.setCommitteeCount(committeeCount.intValue());
 //        committee_hearing_count
-        Elements committeeHearingElements = find(detailsPage, "//span[contains(text()[1], 'Принятие ответственным комитетом решения о представлении законопроекта в Совет Государственной Думы')] " +
+        Elements committeeHearingElements = detailsPage.find("//span[contains(text()[1], 'Принятие ответственным комитетом решения о представлении законопроекта в Совет Государственной Думы')] " +
                 "| //span[contains(text()[1], 'Принятие профильным комитетом решения о представлении законопроекта в Совет Государственной Думы')]");
         data.setCommitteeHearingCount(committeeHearingElements.size());
 
-        data.setBillTextUrl(findAttribute(detailsPage, "//a[.//div[contains(text()[1], 'Текст внесенного законопроекта')]]", "href"));
+        data.setBillTextUrl(detailsPage.findAttribute("//a[.//div[contains(text()[1], 'Текст внесенного законопроекта')]]", "href"));
         if (StringUtils.isNotBlank(data.getBillTextUrl()) && data.getBillText() == null) {
             String billTextUrl = data.getBillTextUrl().startsWith(SOZD_DUMA_DOC_BASE_URL) ? data.getBillTextUrl() : SOZD_DUMA_DOC_BASE_URL + data.getBillTextUrl();
             data.setBillTextUrl(billTextUrl);
@@ -169,7 +181,7 @@ public class RussiaParser {
 
         //        Law_size, Law_text, Law_text_url
         if (StringUtils.isBlank(data.getLawText())) {
-            String lawTextUrl = findAttribute(detailsPage, "//a[contains(@href, 'http://publication.pravo.gov.ru/Document/View/')]", "href");
+            String lawTextUrl = detailsPage.findAttribute("//a[contains(@href, 'http://publication.pravo.gov.ru/Document/View/')]", "href");
             if (StringUtils.isNotBlank(lawTextUrl)) {
                 lawTextUrl = lawTextUrl.replace("http://publication.pravo.gov.ru/Document/View/", "http://actual.pravo.gov.ru/text.html#pnum=");
                 data.setLawTextUrl(lawTextUrl);
@@ -177,10 +189,10 @@ public class RussiaParser {
                 String lawText = downloadFileAndConvertToText(pageCache, lawTextUrl);
                 data.setLawText(lawText);
             } else {
-                String szrfArticleNumber = findElementText(detailsPage, "//span[@data-original-title=\"Номер статьи в СЗ РФ\"]");
-                String szrfPublicationYear = findElementText(detailsPage, "//span[@data-original-title=\"Год опубликования в СЗ РФ\"]");
+                String szrfArticleNumber = detailsPage.findElementText("//span[@data-original-title=\"Номер статьи в СЗ РФ\"]");
+                String szrfPublicationYear = detailsPage.findElementText("//span[@data-original-title=\"Год опубликования в СЗ РФ\"]");
                 if (StringUtils.isNotBlank(szrfArticleNumber)) {
-                    setupLawData(data, szrfArticleNumber, szrfPublicationYear);
+                    setupLawData(data, szrfArticleNumber, szrfPublicationYear, httpGet);
                 }
             }
         }
@@ -190,7 +202,7 @@ public class RussiaParser {
         }
 
 //        Amendment_count, Amendment_id, Amendment_text
-        Elements amendmentElements = find(detailsPage, "//div[@id=\"bh_histras\"]//a[.//div[@class='doc_wrap'][contains(text()[1], 'Таблица поправок, рекомендуемых к принятию')]]");
+        Elements amendmentElements = detailsPage.find("//div[@id=\"bh_histras\"]//a[.//div[@class='doc_wrap'][contains(text()[1], 'Таблица поправок, рекомендуемых к принятию')]]");
         List<Amendment> baseAmendmentList = new ArrayList<>();
         for (Element element : amendmentElements) {
             String amendmentUrl = element.attr("href");
@@ -210,9 +222,9 @@ public class RussiaParser {
         }
         data.setAmendmentCount(baseAmendmentList.size());
 
-        Optional<Element> votingSection = findFirst(detailsPage, "//div[@id=\"bh_votes\"]");
+        Optional<Element> votingSection = detailsPage.findFirst("//div[@id=\"bh_votes\"]");
         if (votingSection.isPresent()) {
-            Elements votingRows = find(votingSection.get(), "//tr[.//div[contains(text()[1], 'принятые поправки')]]");
+            Elements votingRows = detailsPage.find(votingSection.get(), "//tr[.//div[contains(text()[1], 'принятые поправки')]]");
             int baseAmendmentListId = baseAmendmentList.size() - 1;
             Collections.reverse(votingRows);
             for (Element votingRow : votingRows) {
@@ -221,11 +233,11 @@ public class RussiaParser {
 
                 Element parent = votingRow.parent().parent().parent();
                 String id = parent.attr("id");
-                String voteDate = findElementText(parent.parent(), "//span[@data-target=\"#" + id + "\"]");
+                String voteDate = detailsPage.findElementText(parent.parent(), "//span[@data-target=\"#" + id + "\"]");
                 LocalDate amendmentDate = toLocalDate(voteDate, "dd.MM.yyyy");
 
                 amendment.setDate(amendmentDate);
-                Optional<Element> resultColumn = findFirst(votingRow, "//td[2]");
+                Optional<Element> resultColumn = detailsPage.findFirst(votingRow, "//td[2]");
                 if (resultColumn.isPresent()) {
                     String resultColumnText = resultColumn.get().text();
                     if (resultColumnText.contains("Принят")) {
@@ -243,7 +255,7 @@ public class RussiaParser {
             data.getAmendments().addAll(baseAmendmentList);
             data.getAmendments().forEach(amendment -> amendment.setDataRecord(data));
 
-            Optional<Element> finalVotingRows = findFirst(votingSection.get(), "//tr[.//div[contains(text()[1], '(3 чтение)')]]");
+            Optional<Element> finalVotingRows = detailsPage.findFirst(votingSection.get(), "//tr[.//div[contains(text()[1], '(3 чтение)')]]");
             if (finalVotingRows.isPresent()) {
                 String resultColumnText = finalVotingRows.get().text();
                 data.setFinalVoteFor(TextUtils.toInteger(findText(resultColumnText, "За: ([\\d]+)\\b"), 0));
@@ -252,7 +264,7 @@ public class RussiaParser {
             }
         }
 
-        String plenaryText = findElementText(detailsPage, "//div[@id=\"bh_tab_content\"]");
+        String plenaryText = detailsPage.findElementText("//div[@id=\"bh_tab_content\"]");
         int plenaryTextLength = TextUtils.getLengthWithoutWhitespace(plenaryText);
         if (plenaryTextLength > 0) {
             data.setPlenarySize(plenaryTextLength);
@@ -282,20 +294,34 @@ public class RussiaParser {
                 });
     }
 
-    private static void setupLawData(LegislativeDataRecord data, String szrfArticleNumber, String szrfPublicationYear) {
+    private static void setupLawData(
+            LegislativeDataRecord data,
+            String szrfArticleNumber,
+            String szrfPublicationYear,
+            Function<String, String> httpGet) {
         String szrfUrl = SZRF_BASE_URL + szrfArticleNumber.replaceAll("[^\\d]", "");
-        String szrfDetails = Unirest.get(szrfUrl).asString().getBody();
-        Document szrfDetailsPage = XmlUtils.parseXml(szrfDetails);
-        Elements szrfElements = find(szrfDetailsPage, "//table[@class='txt2']//table");
+        String szrfDetails = httpGet.apply(szrfUrl);
+
+        if (szrfDetails == null) {
+            return;
+        }
+
+        XPathDocument szrfDetailsPage = XPathDocument.parse(szrfDetails);
+        Elements szrfElements = szrfDetailsPage.find("//table[@class='txt2']//table");
         for (Element element : szrfElements) {
             //e.g.:  //table[@class='txt2']//table//td[@class='docname']/b[contains(text(), ' г.')]
-            String docname = findElementText(element, "//td[@class='docname']/b[contains(text(), ' г.')]");
+            String docname = szrfDetailsPage.findElementText(element, "//td[@class='docname']/b[contains(text(), ' г.')]");
             if (docname.contains(szrfPublicationYear + " г.")) {
-                Elements link = find(element, "//a");
+                Elements link = szrfDetailsPage.find(element, "//a");
                 String lawText = link.text();
                 lawText += link.parents().first().ownText();
                 String docUrl = (SZRF_DOC_BASE_URL + link.attr("href")).replace("/doc.php", "/text.php");
-                String docDetails = Unirest.get(docUrl).asString().getBody();
+                String docDetails = httpGet.apply(docUrl);
+
+                if (docDetails == null) {
+                    continue;
+                }
+
                 lawText += XmlUtils.xmlToText(docDetails);
                 data.setLawText(lawText);
                 data.setLawTextUrl(docUrl);
@@ -0,0 +1,99 @@
+package com.precognox.ceu.legislative_data_collector.russia;
+
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import com.precognox.ceu.legislative_data_collector.entities.PageSource;
+import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Measures the throughput of {@link RussiaParser} on the stored bill pages with different thread counts. Linked
+ * documents are only read from the DB (and cached in memory before the measurement), nothing is downloaded, so the
+ * results show the CPU-bound parsing speed. Run with the "benchmark" argument.
+ */
+@Slf4j
+@Service
+public class RussiaParserBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+    private static final int SAMPLE_SIZE =
+            Integer.parseInt(RussiaDataCollector.readParam("RUSSIA_BENCHMARK_SAMPLE_SIZE", "500"));
+
+    private final PageSourceRepository pageSourceRepository;
+
+    @Autowired
+    public RussiaParserBenchmark(PageSourceRepository pageSourceRepository) {
+        this.pageSourceRepository = pageSourceRepository;
+    }
+
+    public void run() {
+        List<PageSource> pages = pageSourceRepository
+                .findAllByCountryAndPageType(PageRequest.of(0, SAMPLE_SIZE), Country.RUSSIA, PageType.bill.name())
+                .getContent();
+
+        log.info("Running parser benchmark on {} stored pages", pages.size());
+
+        Map<String, String> documentCache = new ConcurrentHashMap<>();
+        Function<String, String> offlinePageCache = url -> url == null ? null : documentCache.computeIfAbsent(
+                url, key -> pageSourceRepository.findByPageUrl(key).map(PageSource::getRawSource).orElse("")
+        );
+        Function<String, String> noHttp = url -> null;
+
+        //warmup, also fills the document cache
+        measure(pages, 4, offlinePageCache, noHttp);
+
+        for (int threads : THREAD_COUNTS) {
+            double recordsPerSec = measure(pages, threads, offlinePageCache, noHttp);
+            log.info("Threads: {}, records/sec: {}", threads, String.format("%.2f", recordsPerSec));
+        }
+    }
+
+    @SneakyThrows
+    private double measure(
+            List<PageSource> pages,
+            int threads,
+            Function<String, String> pageCache,
+            Function<String, String> httpGet) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            long start = System.nanoTime();
+
+            List<Future<?>> results = pages.stream()
+                    .<Future<?>>map(page -> executor.submit(() -> RussiaParser.parseRowData(page, pageCache, httpGet)))
+                    .toList();
+
+            int failed = 0;
+
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (Exception e) {
+                    failed++;
+                }
+            }
+
+            long elapsedNanos = System.nanoTime() - start;
+
+            if (failed > 0) {
+                log.warn("{} pages failed to parse", failed);
+            }
+
+            return pages.size() / (elapsedNanos / 1_000_000_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
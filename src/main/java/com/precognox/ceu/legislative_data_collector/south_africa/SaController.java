@@ -2,7 +2,9 @@ package com.precognox.ceu.legislative_data_collector.south_africa;
 
 import com.precognox.ceu.legislative_data_collector.ScrapingController;
 import com.precognox.ceu.legislative_data_collector.common.BillAndLawTextCollector;
+import com.precognox.ceu.legislative_data_collector.common.recordpage.RecordPagePipeline;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
+import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
 import com.precognox.ceu.legislative_data_collector.south_africa.parsers.SaAmendmentVariablesParser;
 import com.precognox.ceu.legislative_data_collector.south_africa.parsers.SaBillPageParser;
 import com.precognox.ceu.legislative_data_collector.south_africa.parsers.SaCommitteeVariablesParser;
@@ -36,6 +38,10 @@ public class SaController implements ScrapingController {
     private SaImpactAssessmentVariablesParser saImpactAssessmentVariablesParser;
     @Autowired
     private SaAmendmentVariablesParser saAmendmentVariablesParser;
+    @Autowired
+    private RecordPagePipeline recordPagePipeline;
+    @Autowired
+    private LegislativeDataRepository legislativeDataRepository;
 
     @Override
     public void runScraping(List<String> args) {
@@ -43,10 +49,18 @@ public class SaController implements ScrapingController {
         saLawIdParser.parseLawId();
         saBillPageParser.parseAllPages();
         billAndLawTextCollector.collectBillTexts(Country.SOUTH_AFRICA);
-        saOriginatorVariableParser.parseAllPages();
-        saLawRelatedVariablesParser.parseAllPages();
-        saCommitteeVariablesParser.parseAllPages();
-        saImpactAssessmentVariablesParser.parseAllPages();
-        saAmendmentVariablesParser.parseAllPages();
+
+        //the bill page of every record is parsed once for all the variable parsers
+        recordPagePipeline.run(
+                "south-africa-variables",
+                () -> legislativeDataRepository.streamRecordsWithMissingVariables(Country.SOUTH_AFRICA),
+                List.of(
+                        saOriginatorVariableParser,
+                        saLawRelatedVariablesParser,
+                        saCommitteeVariablesParser,
+                        saImpactAssessmentVariablesParser,
+                        saAmendmentVariablesParser
+                )
+        );
     }
 }
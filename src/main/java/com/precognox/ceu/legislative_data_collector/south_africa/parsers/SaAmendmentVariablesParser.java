@@ -1,5 +1,7 @@
 package com.precognox.ceu.legislative_data_collector.south_africa.parsers;
 
+import com.precognox.ceu.legislative_data_collector.common.recordpage.ParsedPage;
+import com.precognox.ceu.legislative_data_collector.common.recordpage.RecordPageVisitor;
 import com.precognox.ceu.legislative_data_collector.entities.Amendment;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
@@ -10,7 +12,6 @@ import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGener
 import com.precognox.ceu.legislative_data_collector.utils.PdfParser;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -26,7 +27,7 @@ import java.util.regex.Pattern;
 @Slf4j
 @Service
 @AllArgsConstructor
-public class SaAmendmentVariablesParser {
+public class SaAmendmentVariablesParser implements RecordPageVisitor {
     private final PrimaryKeyGeneratingRepository recordRepository;
     private final PageSourceRepository pageSourceRepository;
     private final LegislativeDataRepository legislativeDataRepository;
@@ -59,15 +60,28 @@ public class SaAmendmentVariablesParser {
 
     public LegislativeDataRecord parsePage(LegislativeDataRecord record) {
         PageSource source = pageSourceRepository.getByPageUrl(record.getBillPageUrl());
-        Element page = Jsoup.parse(source.getRawSource()).body();
+        visit(record, ParsedPage.parse(source));
 
-        List<Amendment> amendments = parseAmendments(page, record);
+        deleteConnectingAmendts(record);
+
+        return record;
+    }
+
+    @Override
+    public boolean needsVisit(LegislativeDataRecord record) {
+        return record.getAmendmentCount() == null;
+    }
+
+    @Override
+    public void visit(LegislativeDataRecord record, ParsedPage parsedPage) {
+        List<Amendment> amendments = parseAmendments(parsedPage.body(), record);
         record.setAmendmentCount(amendments.size());
         record.setAmendments(amendments);
+    }
 
+    @Override
+    public void beforeMerge(LegislativeDataRecord record) {
         deleteConnectingAmendts(record);
-
-        return record;
     }
 
     public List<Amendment> parseAmendments(Element page, LegislativeDataRecord record) {
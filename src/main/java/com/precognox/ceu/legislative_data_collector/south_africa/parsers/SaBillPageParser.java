@@ -34,6 +34,7 @@ import static com.precognox.ceu.legislative_data_collector.utils.DateUtils.parse
 @AllArgsConstructor
 public class SaBillPageParser {
     private static final Pattern PROCEDURE_TYPE_PATTERN = Pattern.compile("\\b(\\d+)\\b");
+    private static final Pattern PARENTHESES_PATTERN = Pattern.compile("[()]");
     private final PageSourceRepository pageSourceRepository;
     private final PrimaryKeyGeneratingRepository recordRepository;
     private final SaPageCollector saPageCollector;
@@ -84,7 +85,7 @@ public class SaBillPageParser {
     public Optional<String> parseBillId(Element billTitleAndIdElement) {
         return Optional.ofNullable(billTitleAndIdElement.selectFirst("span"))
                 .map(Element::text)
-                .map(billId -> billId.replaceAll("[()]", ""));
+                .map(billId -> PARENTHESES_PATTERN.matcher(billId).replaceAll(""));
     }
 
     public String parseBillTitle(Element billTitleAndIdElement, String billId) {
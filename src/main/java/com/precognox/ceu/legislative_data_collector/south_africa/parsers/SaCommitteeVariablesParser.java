@@ -1,5 +1,7 @@
 package com.precognox.ceu.legislative_data_collector.south_africa.parsers;
 
+import com.precognox.ceu.legislative_data_collector.common.recordpage.ParsedPage;
+import com.precognox.ceu.legislative_data_collector.common.recordpage.RecordPageVisitor;
 import com.precognox.ceu.legislative_data_collector.entities.Committee;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
@@ -33,7 +35,7 @@ import static com.precognox.ceu.legislative_data_collector.utils.DateUtils.parse
 @Slf4j
 @Service
 @AllArgsConstructor
-public class SaCommitteeVariablesParser {
+public class SaCommitteeVariablesParser implements RecordPageVisitor {
 
     private final PrimaryKeyGeneratingRepository recordRepository;
     private final PageSourceRepository pageSourceRepository;
@@ -52,10 +54,24 @@ public class SaCommitteeVariablesParser {
 
     public LegislativeDataRecord parsePage(LegislativeDataRecord record) {
         PageSource source = pageSourceRepository.getByPageUrl(record.getBillPageUrl());
-        Element page = Jsoup.parse(source.getRawSource()).body();
+        visit(record, ParsedPage.parse(source));
 
+        return record;
+    }
+
+    @Override
+    public boolean needsVisit(LegislativeDataRecord record) {
+        return record.getCommitteeCount() == null;
+    }
+
+    @Override
+    public void visit(LegislativeDataRecord record, ParsedPage parsedPage) {
+        Element page = parsedPage.body();
+
+        //shared with the law related variables
         SouthAfricaCountrySpecificVariables southAfricaCountrySpecificVariables =
-                new SouthAfricaCountrySpecificVariables();
+                Optional.ofNullable(record.getSouthAfricaCountrySpecificVariables())
+                        .orElseGet(SouthAfricaCountrySpecificVariables::new);
 
         List<Committee> committees = parseCommitteeData(page);
         record.setCommittees(committees);
@@ -68,7 +84,6 @@ public class SaCommitteeVariablesParser {
         southAfricaCountrySpecificVariables.setPublicHearings(parsePublicHearings(page));
 
         record.setSouthAfricaCountrySpecificVariables(southAfricaCountrySpecificVariables);
-        return record;
     }
 
     public List<Committee> parseCommitteeData(Element page) {
@@ -1,5 +1,7 @@
 package com.precognox.ceu.legislative_data_collector.south_africa.parsers;
 
+import com.precognox.ceu.legislative_data_collector.common.recordpage.ParsedPage;
+import com.precognox.ceu.legislative_data_collector.common.recordpage.RecordPageVisitor;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.ImpactAssessment;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
@@ -11,7 +13,6 @@ import com.precognox.ceu.legislative_data_collector.utils.PdfParser;
 import com.precognox.ceu.legislative_data_collector.utils.TextUtils;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -32,7 +33,9 @@ import static com.precognox.ceu.legislative_data_collector.utils.DateUtils.parse
 @Slf4j
 @Service
 @AllArgsConstructor
-public class SaImpactAssessmentVariablesParser {
+public class SaImpactAssessmentVariablesParser implements RecordPageVisitor {
+    private static final Pattern IA_DATE_TAB_REGEX = Pattern.compile("SEIAS .*\\|\\s*(.*)");
+
     private final PrimaryKeyGeneratingRepository recordRepository;
     private final PageSourceRepository pageSourceRepository;
     private final LegislativeDataRepository legislativeDataRepository;
@@ -54,7 +57,20 @@ public class SaImpactAssessmentVariablesParser {
 
     public LegislativeDataRecord parsePage(LegislativeDataRecord record) {
         PageSource source = pageSourceRepository.getByPageUrl(record.getBillPageUrl());
-        Element page = Jsoup.parse(source.getRawSource()).body();
+        visit(record, ParsedPage.parse(source));
+
+        deleteConnectingImpactAssessments(record);
+        return record;
+    }
+
+    @Override
+    public boolean needsVisit(LegislativeDataRecord record) {
+        return record.getImpactAssessmentDone() == null;
+    }
+
+    @Override
+    public void visit(LegislativeDataRecord record, ParsedPage parsedPage) {
+        Element page = parsedPage.body();
 
         Optional<String> impactAssessmentUrl = getImpactAssessmentUrl(page);
         if (impactAssessmentUrl.isPresent()) {
@@ -64,9 +80,11 @@ public class SaImpactAssessmentVariablesParser {
         } else {
             record.setImpactAssessmentDone(Boolean.FALSE);
         }
+    }
 
+    @Override
+    public void beforeMerge(LegislativeDataRecord record) {
         deleteConnectingImpactAssessments(record);
-        return record;
     }
 
     public Optional<String> getImpactAssessmentUrl(Element page) {
@@ -100,7 +118,7 @@ public class SaImpactAssessmentVariablesParser {
         Optional<String> iaDateString = Optional.ofNullable(page.select("ul.nav-tabs").first())
                 .map(a -> a.select("a:contains(SEIAS)").first())
                 .map(Element::text)
-                .map(extractedDate -> extractedDate.replaceAll("SEIAS .*\\|\\s*(.*)", "$1"));
+                .map(extractedDate -> IA_DATE_TAB_REGEX.matcher(extractedDate).replaceAll("$1"));
         LocalDate iaDate = null;
         if (iaDateString.isPresent()) {
             try {
@@ -1,5 +1,7 @@
 package com.precognox.ceu.legislative_data_collector.south_africa.parsers;
 
+import com.precognox.ceu.legislative_data_collector.common.recordpage.ParsedPage;
+import com.precognox.ceu.legislative_data_collector.common.recordpage.RecordPageVisitor;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
@@ -35,8 +37,9 @@ import static com.precognox.ceu.legislative_data_collector.south_africa.SaPageCo
 @Slf4j
 @Service
 @AllArgsConstructor
-public class SaLawRelatedVariablesParser {
+public class SaLawRelatedVariablesParser implements RecordPageVisitor {
     private static final Pattern LAW_ID_PATTERN = Pattern.compile("Act \\d{1,3} of \\d{4}");
+    private static final Pattern DATE_TAB_PREFIX_PATTERN = Pattern.compile(".*\\|\\s*");
     private static final Pattern PDF_LAW_ID_PATTERN = Pattern.compile("Act No. \\d{1,3} of \\d{4}");
     private static final Pattern AFFECTING_LAW_FIRST_DATE_PATTERN = Pattern.compile("\\b\\d{1,2}\\s+\\w+\\s+\\d{4}\\b");
     private static Optional<PageSource> governmentLawPageSource = Optional.empty();
@@ -74,10 +77,24 @@ public class SaLawRelatedVariablesParser {
 
     public LegislativeDataRecord parsePage(LegislativeDataRecord record) {
         PageSource source = pageSourceRepository.getByPageUrl(record.getBillPageUrl());
-        Element page = Jsoup.parse(source.getRawSource()).body();
+        visit(record, ParsedPage.parse(source));
 
+        return record;
+    }
+
+    @Override
+    public boolean needsVisit(LegislativeDataRecord record) {
+        return record.getBillStatus() == null;
+    }
+
+    @Override
+    public void visit(LegislativeDataRecord record, ParsedPage parsedPage) {
+        Element page = parsedPage.body();
+
+        //shared with the committee variables
         SouthAfricaCountrySpecificVariables southAfricaCountrySpecificVariables =
-                new SouthAfricaCountrySpecificVariables();
+                Optional.ofNullable(record.getSouthAfricaCountrySpecificVariables())
+                        .orElseGet(SouthAfricaCountrySpecificVariables::new);
 
         LegislativeDataRecord.BillStatus billStatus = parseBillStatus(page);
         record.setBillStatus(billStatus);
@@ -143,8 +160,6 @@ public class SaLawRelatedVariablesParser {
             record.setModifiedLawsCount(modifiedLaws.size());
         }
         record.setSouthAfricaCountrySpecificVariables(southAfricaCountrySpecificVariables);
-
-        return record;
     }
 
     public LegislativeDataRecord.BillStatus parseBillStatus(Element page) {
@@ -206,7 +221,7 @@ public class SaLawRelatedVariablesParser {
                     .map(Element::text)
                     .filter(act -> act.toLowerCase().contains("act"))
                     .findFirst()
-                    .map(date -> date.replaceAll(".*\\|\\s*", ""));
+                    .map(date -> DATE_TAB_PREFIX_PATTERN.matcher(date).replaceAll(""));
         }
 
         return dateEnteringIntoForce.map(DateUtils::parseSouthAfricaDate).orElse(null);
@@ -1,5 +1,7 @@
 package com.precognox.ceu.legislative_data_collector.south_africa.parsers;
 
+import com.precognox.ceu.legislative_data_collector.common.recordpage.ParsedPage;
+import com.precognox.ceu.legislative_data_collector.common.recordpage.RecordPageVisitor;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
 import com.precognox.ceu.legislative_data_collector.entities.OriginType;
@@ -23,7 +25,7 @@ import java.util.regex.Pattern;
 @Slf4j
 @Service
 @AllArgsConstructor
-public class SaOriginatorVariableParser {
+public class SaOriginatorVariableParser implements RecordPageVisitor {
     private final PageSourceRepository pageSourceRepository;
     private final PrimaryKeyGeneratingRepository recordRepository;
     private static final Pattern ORIGINATOR_NAME_PATTERN = Pattern.compile(
@@ -42,17 +44,30 @@ public class SaOriginatorVariableParser {
 
     public LegislativeDataRecord parsePage(LegislativeDataRecord record) {
         PageSource source = pageSourceRepository.getByPageUrl(record.getBillPageUrl());
+        visit(record, ParsedPage.parse(source));
 
-        Optional<Originator> originator = parseOriginatorData(source);
+        return record;
+    }
+
+    @Override
+    public boolean needsVisit(LegislativeDataRecord record) {
+        return record.getOriginType() == null;
+    }
+
+    @Override
+    public void visit(LegislativeDataRecord record, ParsedPage page) {
+        Optional<Originator> originator = parseOriginatorData(page.body(), page.getPageUrl());
         if (originator.isPresent()) {
             record.setOriginators(List.of(originator.get()));
             record.setOriginType(parseOriginType(originator.get()));
         }
-        return record;
     }
 
     public Optional<Originator> parseOriginatorData(PageSource source) {
-        Element page = Jsoup.parse(source.getRawSource()).body();
+        return parseOriginatorData(Jsoup.parse(source.getRawSource()).body(), source.getPageUrl());
+    }
+
+    public Optional<Originator> parseOriginatorData(Element page, String pageUrl) {
         Originator originator = new Originator();
 
         Optional<Element> originatorNameElement = Optional.ofNullable(page.select("div.NA").first())
@@ -71,7 +86,7 @@ public class SaOriginatorVariableParser {
         if (originatorNameElement.isPresent()) {
             String originatorName = originatorNameElement.get().text();
             if (originatorName.equalsIgnoreCase("national assembly")) {
-                Optional<String> originatorNameBillText = getOriginatorNameFromBillText(source.getPageUrl());
+                Optional<String> originatorNameBillText = getOriginatorNameFromBillText(pageUrl);
                 if (originatorNameBillText.isPresent()) {
                     originatorName = originatorNameBillText.get();
                 }
@@ -29,6 +29,8 @@ import static com.precognox.ceu.legislative_data_collector.uk.CommonConstants.WE
 @Service
 public class BillStatusScraper {
 
+    private static final Pattern BILL_ID_URL_REGEX = Pattern.compile("/bills/(\\d+)");
+
     @Autowired
     private ChromeBrowserPool browserPool;
 
@@ -65,7 +67,7 @@ public class BillStatusScraper {
                         if (firstLink != null) {
                             String billLink = firstLink.getAttribute("href");
 
-                            Optional<String> billId = Pattern.compile("/bills/(\\d+)")
+                            Optional<String> billId = BILL_ID_URL_REGEX
                                     .matcher(billLink)
                                     .results()
                                     .map(match -> match.group(1))
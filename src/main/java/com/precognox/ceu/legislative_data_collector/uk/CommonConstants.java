@@ -4,5 +4,6 @@ public class CommonConstants {
     static final String WEBSITE_BASE_URL = "https://bills.parliament.uk";
     static final String BILL_PAGE_TEMPLATE = WEBSITE_BASE_URL + "/bills/%s";
     static final String BILL_PUBLICATIONS_PAGE_TEMPLATE = BILL_PAGE_TEMPLATE + "/publications";
-    static final String BILLS_API_BASE_URL = "https://bills-api.parliament.uk/api/v1";
+    static final String BILLS_API_HOST = "bills-api.parliament.uk";
+    static final String BILLS_API_BASE_URL = "https://" + BILLS_API_HOST + "/api/v1";
 }
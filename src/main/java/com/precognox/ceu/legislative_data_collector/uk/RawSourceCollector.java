@@ -1,17 +1,21 @@
 package com.precognox.ceu.legislative_data_collector.uk;
 
+import com.precognox.ceu.legislative_data_collector.common.http.HttpFetchEngine;
 import com.precognox.ceu.legislative_data_collector.entities.Country;
 import com.precognox.ceu.legislative_data_collector.entities.PageSource;
 import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
-import kong.unirest.GetRequest;
-import kong.unirest.HttpResponse;
 import kong.unirest.JsonNode;
 import kong.unirest.Unirest;
 import kong.unirest.json.JSONArray;
+import kong.unirest.json.JSONException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 public class RawSourceCollector {
@@ -19,47 +23,94 @@ public class RawSourceCollector {
     @Autowired
     private PageSourceRepository pageSourceRepository;
 
+    @Autowired
+    private HttpFetchEngine httpFetchEngine;
+
     private static final int BILLS_BATCH_SIZE = 100;
+    private static final int PARALLEL_REQUESTS = 8;
     private static final String LIST_BILLS_ENDPOINT = CommonConstants.BILLS_API_BASE_URL + "/Bills";
 
+    /**
+     * Fetches the bill list pages of the API. The pages are requested in windows of {@link #PARALLEL_REQUESTS}
+     * through the {@link HttpFetchEngine}, until the first empty or failed page.
+     */
     public void collectBillLists() {
         int currentBatch = 0;
-        HttpResponse<JsonNode> listBillsResponse = null;
-        JSONArray items = null;
-
-        do {
-            log.debug("Fetching batch " + currentBatch + " of bills");
-
-            GetRequest request = Unirest.get(LIST_BILLS_ENDPOINT)
-                    .queryString("Take", BILLS_BATCH_SIZE)
-                    .queryString("Skip", currentBatch * BILLS_BATCH_SIZE);
-
-            if (!pageSourceRepository.existsByPageUrl(request.getUrl())) {
-                listBillsResponse = request.asJson();
-
-                if (listBillsResponse.isSuccess()) {
-                    items = listBillsResponse.getBody().getObject().optJSONArray("items");
-
-                    if (items != null && !items.isEmpty()) {
-                        PageSource stored = new PageSource();
-                        stored.setCountry(Country.UK);
-                        stored.setPageType(PageType.BILL_LIST_API_RESPONSE.name().toUpperCase());
-                        stored.setPageUrl(request.getUrl());
-                        stored.setRawSource(listBillsResponse.getBody().toString());
-
-                        pageSourceRepository.save(stored);
-
-                        log.info("Stored response for request: {}", request.getUrl());
-                    }
-                } else {
-                    log.error("Got error response: {} for request: {}", request.getUrl(), listBillsResponse.getStatus());
-                }
-            } else {
-                log.info("Skipping request: {}", request.getUrl());
+        boolean finished = false;
+
+        while (!finished) {
+            Map<String, Integer> batchNumbers = new LinkedHashMap<>();
+
+            for (int i = 0; i < PARALLEL_REQUESTS; i++, currentBatch++) {
+                String url = Unirest.get(LIST_BILLS_ENDPOINT)
+                        .queryString("Take", BILLS_BATCH_SIZE)
+                        .queryString("Skip", currentBatch * BILLS_BATCH_SIZE)
+                        .getUrl();
+
+                batchNumbers.put(url, currentBatch);
             }
 
-            currentBatch++;
-        } while (listBillsResponse == null || (listBillsResponse.isSuccess() && items != null && !items.isEmpty()));
+            List<String> urlsToFetch = batchNumbers.keySet().stream()
+                    .filter(url -> {
+                        boolean stored = pageSourceRepository.existsByPageUrl(url);
+
+                        if (stored) {
+                            log.info("Skipping request: {}", url);
+                        }
+
+                        return !stored;
+                    })
+                    .toList();
+
+            int lastBatch = httpFetchEngine.fetchAll(urlsToFetch)
+                    .filter(result -> !storeBillList(result))
+                    .mapToInt(result -> batchNumbers.get(result.url()))
+                    .min()
+                    .orElse(Integer.MAX_VALUE);
+
+            //pages after the first empty one are empty too, the responses for them are not stored
+            finished = lastBatch != Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return True if the response contained bills and it was stored.
+     */
+    private boolean storeBillList(HttpFetchEngine.FetchResult result) {
+        if (!result.isSuccess()) {
+            log.error(
+                    "Got error response: {} for request: {}",
+                    result.response() != null ? result.response().getStatus() : result.error(),
+                    result.url()
+            );
+
+            return false;
+        }
+
+        JSONArray items;
+
+        try {
+            items = new JsonNode(result.response().getBody()).getObject().optJSONArray("items");
+        } catch (JSONException e) {
+            log.error("Invalid JSON response for request: {}", result.url());
+            return false;
+        }
+
+        if (items == null || items.isEmpty()) {
+            return false;
+        }
+
+        PageSource stored = new PageSource();
+        stored.setCountry(Country.UK);
+        stored.setPageType(PageType.BILL_LIST_API_RESPONSE.name().toUpperCase());
+        stored.setPageUrl(result.url());
+        stored.setRawSource(result.response().getBody());
+
+        pageSourceRepository.save(stored);
+
+        log.info("Stored response for request: {}", result.url());
+
+        return true;
     }
 
 }
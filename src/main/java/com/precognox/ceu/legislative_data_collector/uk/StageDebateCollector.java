@@ -31,6 +31,9 @@ import java.util.stream.Stream;
 @Service
 public class StageDebateCollector {
 
+    private static final Pattern BILL_HEADER_REGEX = Pattern.compile("<h3", Pattern.MULTILINE);
+    private static final Pattern HTML_TAG_REGEX = Pattern.compile("<.+?>");
+
     @Autowired
     private ChromeBrowserPool browserPool;
 
@@ -134,7 +137,7 @@ public class StageDebateCollector {
                                         int textStartIndex = textStartMatcher.toMatchResult().end();
                                         String substring = source.substring(textStartIndex);
                                         Matcher nextBillHeaderMatcher =
-                                                Pattern.compile("<h3", Pattern.MULTILINE).matcher(substring);
+                                                BILL_HEADER_REGEX.matcher(substring);
 
                                         Optional<Integer> textEndIndex = nextBillHeaderMatcher.results()
                                                 .skip(1)
@@ -145,7 +148,7 @@ public class StageDebateCollector {
                                                 ? substring.substring(0, textEndIndex.get())
                                                 : substring;
 
-                                        String htmlRemoved = debateTextRegion.replaceAll("<.+?>", "");
+                                        String htmlRemoved = HTML_TAG_REGEX.matcher(debateTextRegion).replaceAll("");
                                         stageDebateLength = TextUtils.getLengthWithoutWhitespace(htmlRemoved);
                                     }
                                 }
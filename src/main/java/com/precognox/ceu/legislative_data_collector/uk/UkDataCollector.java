@@ -3,6 +3,9 @@ package com.precognox.ceu.legislative_data_collector.uk;
 import com.precognox.ceu.legislative_data_collector.ScrapingController;
 import com.precognox.ceu.legislative_data_collector.common.BillAndLawTextCollector;
 import com.precognox.ceu.legislative_data_collector.common.Constants;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndex;
+import com.precognox.ceu.legislative_data_collector.common.UrlSeenIndexLoader;
+import com.precognox.ceu.legislative_data_collector.common.http.HttpFetchEngine;
 import com.precognox.ceu.legislative_data_collector.entities.Amendment;
 import com.precognox.ceu.legislative_data_collector.entities.BillVersion;
 import com.precognox.ceu.legislative_data_collector.entities.Committee;
@@ -24,7 +27,6 @@ import kong.unirest.HttpResponse;
 import kong.unirest.HttpStatus;
 import kong.unirest.JsonNode;
 import kong.unirest.Unirest;
-import kong.unirest.UnirestException;
 import kong.unirest.json.JSONArray;
 import kong.unirest.json.JSONObject;
 import lombok.SneakyThrows;
@@ -46,7 +48,6 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.io.FileReader;
-import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.LocalDate;
@@ -59,6 +60,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
@@ -95,6 +100,11 @@ public class UkDataCollector implements ScrapingController {
     private static final int PUBLICATION_TYPE_BILL_PROCEEDINGS_COMMONS = 8;
     private static final int PUBLICATION_TYPE_IMPACT_ASSESSMENT = 36;
 
+    //bills processed at the same time, the API requests are limited by the HttpFetchEngine
+    private static final int PARALLEL_BILLS = 8;
+    private static final int API_MAX_CONCURRENT_REQUESTS = 4;
+    private static final double API_REQUESTS_PER_SECOND = 5;
+
     private static final int GOVERNMENT_BILL_TYPE_ID = 1;
     private static final int PRIVATE_BILL_TYPE_ID = 6;
     private static final List<Integer> INDIVIDUAL_MP_BILL_TYPE_IDS = List.of(2, 3, 4, 5, 7, 8);
@@ -148,8 +158,17 @@ public class UkDataCollector implements ScrapingController {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private HttpFetchEngine httpFetchEngine;
+
+    @Autowired
+    private UrlSeenIndexLoader urlSeenIndexLoader;
+
     @Override
     public void runScraping(List<String> args) {
+        //the bill lists and the bills are fetched in parallel
+        httpFetchEngine.limitHost(CommonConstants.BILLS_API_HOST, API_MAX_CONCURRENT_REQUESTS, API_REQUESTS_PER_SECOND);
+
         rawSourceCollector.collectBillLists();
         processStoredApiResponses();
         billStatusScraper.collectBillStatusFromSite();
@@ -169,17 +188,49 @@ public class UkDataCollector implements ScrapingController {
                 Country.UK, PageType.BILL_LIST_API_RESPONSE.name().toUpperCase()
         );
 
-        for (PageSource source : storedSources) {
-            JSONObject json = new JSONObject(source.getRawSource());
-            toObjectStream(json.getJSONArray("items"))
-                    .filter(bill -> !isBillStored(bill.getInt("billId")))
-                    .map(this::processBillJson)
-                    .forEach(this::persistEntity);
+        UrlSeenIndex storedBillIds = urlSeenIndexLoader.loadBillIds(Country.UK);
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_BILLS);
+
+        try {
+            for (PageSource source : storedSources) {
+                JSONObject json = new JSONObject(source.getRawSource());
+
+                CompletableFuture<?>[] tasks = toObjectStream(json.getJSONArray("items"))
+                        .filter(bill -> !storedBillIds.contains(String.valueOf(bill.getInt("billId"))))
+                        .map(bill -> CompletableFuture
+                                .runAsync(() -> {
+                                    if (persistEntity(processBillJson(bill))) {
+                                        storedBillIds.add(String.valueOf(bill.getInt("billId")));
+                                    }
+                                }, executor)
+                                .exceptionally(e -> {
+                                    log.error("Failed to process bill: " + bill.optInt("billId"), e);
+                                    return null;
+                                }))
+                        .toArray(CompletableFuture[]::new);
+
+                CompletableFuture.allOf(tasks).join();
+            }
+
+            storedBillIds.logStatistics();
+        } finally {
+            executor.shutdown();
         }
     }
 
-    private boolean isBillStored(int billId) {
-        return legislativeRecordRepository.existsByBillIdAndCountry(String.valueOf(billId), Country.UK);
+    /**
+     * Sends the request through the {@link HttpFetchEngine}, which applies the rate limits of the API.
+     */
+    private HttpResponse<JsonNode> getJson(String url) {
+        try {
+            return httpFetchEngine.fetchJson(url).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
     }
 
     @Transactional
@@ -202,7 +253,7 @@ public class UkDataCollector implements ScrapingController {
     }
 
     public LegislativeDataRecord processSingleBill(String billApiUrl) {
-        HttpResponse<JsonNode> response = Unirest.get(billApiUrl).asJson();
+        HttpResponse<JsonNode> response = getJson(billApiUrl);
         return processBillJson(response.getBody().getObject());
     }
 
@@ -251,7 +302,7 @@ public class UkDataCollector implements ScrapingController {
 
     private void fillStageDates(LegislativeDataRecord record) {
         HttpResponse<JsonNode> stagesResp =
-                Unirest.get(String.format(LIST_STAGES_ENDPOINT, record.getBillId())).asJson();
+                getJson(String.format(LIST_STAGES_ENDPOINT, record.getBillId()));
 
         if (stagesResp.isSuccess()) {
             JSONArray stages = stagesResp.getBody().getObject().optJSONArray("items");
@@ -422,7 +473,7 @@ public class UkDataCollector implements ScrapingController {
 
     private void addDataFromBillDetails(LegislativeDataRecord entity) {
         String apiEndpoint = String.format(BILL_DETAILS_ENDPOINT, entity.getBillId());
-        HttpResponse<JsonNode> billDetailsResp = Unirest.get(apiEndpoint).asJson();
+        HttpResponse<JsonNode> billDetailsResp = getJson(apiEndpoint);
 
         if (billDetailsResp.isSuccess()) {
             RawPageSource rawPageSource = new RawPageSource();
@@ -477,7 +528,7 @@ public class UkDataCollector implements ScrapingController {
 
     private void addDataFromPublications(LegislativeDataRecord dataRecord) {
         HttpResponse<JsonNode> publicationsResp =
-                Unirest.get(String.format(LIST_PUBLICATIONS_ENDPOINT, dataRecord.getBillId())).asJson();
+                getJson(String.format(LIST_PUBLICATIONS_ENDPOINT, dataRecord.getBillId()));
 
         if (publicationsResp.isSuccess()) {
             JSONArray publicationsArray = publicationsResp.getBody().getObject().optJSONArray("publications");
@@ -554,7 +605,7 @@ public class UkDataCollector implements ScrapingController {
 
     private void collectLawTextUrl(LegislativeDataRecord record) {
         HttpResponse<JsonNode> publicationsResp =
-                Unirest.get(String.format(LIST_PUBLICATIONS_ENDPOINT, record.getBillId())).asJson();
+                getJson(String.format(LIST_PUBLICATIONS_ENDPOINT, record.getBillId()));
 
         if (publicationsResp.isSuccess()) {
             //get acts
@@ -725,19 +776,18 @@ public class UkDataCollector implements ScrapingController {
     }
 
     private Optional<String> getBillUrlTextFromPage(String htmlUrl) {
-        try {
-            HttpResponse<String> stringHttpResponse = Unirest.get(htmlUrl).asString();
-            Matcher matcher = PDF_LINK_REGEX.matcher(stringHttpResponse.getBody());
+        Optional<HttpResponse<String>> response = httpFetchEngine.getString(htmlUrl);
+
+        if (response.isPresent() && response.get().isSuccess()) {
+            Matcher matcher = PDF_LINK_REGEX.matcher(response.get().getBody());
 
-            if (stringHttpResponse.isSuccess() && matcher.find()) {
+            if (matcher.find()) {
                 String pdfRelativeUrl = matcher.group(1);
                 String originalHost = getHost(htmlUrl);
                 String pdfUrl = originalHost + pdfRelativeUrl;
 
                 return Optional.of(pdfUrl);
             }
-        } catch (UnirestException e) {
-            log.error("Failed to get page: {}", htmlUrl);
         }
 
         return Optional.empty();
@@ -779,57 +829,67 @@ public class UkDataCollector implements ScrapingController {
         }
 
         String referencedLawsPageUrl = String.format(MODIFIED_LAWS_PAGE_URL_TEMPLATE, entity.getLawId());
+        Optional<HttpResponse<String>> response = httpFetchEngine.getString(referencedLawsPageUrl);
 
-        try {
-            Document document = Jsoup.connect(referencedLawsPageUrl).get();
-            Elements tables = document.body().getElementsByTag("table");
+        if (response.isEmpty() || !response.get().isSuccess()) {
+            String errorMsg = "Failed to get referenced law IDs from page: " + referencedLawsPageUrl + ", reason: "
+                    + response.map(resp -> "HTTP " + resp.getStatus()).orElse("request failed");
+            log.error(errorMsg);
 
-            if (tables.isEmpty()) {
-                entity.setModifiedLawsCount(0);
-                log.debug("No referenced laws found on page: " + referencedLawsPageUrl);
+            entity.getErrors().add(errorMsg);
 
-                return;
-            }
+            return;
+        }
+
+        Document document = Jsoup.parse(response.get().getBody(), referencedLawsPageUrl);
+        Elements tables = document.body().getElementsByTag("table");
 
-            Elements rows = tables.first().getElementsByTag("tbody").first().getElementsByTag("tr");
+        if (tables.isEmpty()) {
+            entity.setModifiedLawsCount(0);
+            log.debug("No referenced laws found on page: " + referencedLawsPageUrl);
+
+            return;
+        }
 
-            Set<String> modifiedLawIds = rows.stream()
-                    .map(row -> row.getElementsByTag("td").get(1))
-                    .map(td -> td.getElementsByTag("a").first().attr("href"))
-                    .map(link -> {
-                        Matcher matcher = UkDataCollector.ACT_ID_REGEX.matcher(link);
-                        if (matcher.find()) {
-                            return matcher.group();
-                        }
+        Elements rows = tables.first().getElementsByTag("tbody").first().getElementsByTag("tr");
 
-                        entity.getErrors().add("No law ID parsed from link: " + link);
+        Set<String> modifiedLawIds = rows.stream()
+                .map(row -> row.getElementsByTag("td").get(1))
+                .map(td -> td.getElementsByTag("a").first().attr("href"))
+                .map(link -> {
+                    Matcher matcher = UkDataCollector.ACT_ID_REGEX.matcher(link);
+                    if (matcher.find()) {
+                        return matcher.group();
+                    }
 
-                        return null;
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toSet());
+                    entity.getErrors().add("No law ID parsed from link: " + link);
 
-            entity.setModifiedLaws(modifiedLawIds);
-            entity.setModifiedLawsCount(modifiedLawIds.size());
+                    return null;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
 
-            if (!modifiedLawIds.isEmpty()) {
-                entity.setOriginalLaw(false);
-            }
-        } catch (IOException e) {
-            String errorMsg =
-                    "Failed to get referenced law IDs from page: " + referencedLawsPageUrl + ", reason" + e.getMessage();
-            log.error(errorMsg, e);
+        entity.setModifiedLaws(modifiedLawIds);
+        entity.setModifiedLawsCount(modifiedLawIds.size());
 
-            entity.getErrors().add(errorMsg);
+        if (!modifiedLawIds.isEmpty()) {
+            entity.setOriginalLaw(false);
         }
     }
 
-    private void persistEntity(LegislativeDataRecord entity) {
+    /**
+     * @return True if the entity was saved.
+     */
+    private boolean persistEntity(LegislativeDataRecord entity) {
         try {
             legislativeRecordRepository.save(entity);
             log.info("Persisted bill with ID " + entity.getBillId());
+
+            return true;
         } catch (Exception e) {
             log.error("Error when persisting bill " + entity.getBillId(), e);
+
+            return false;
         }
     }
 
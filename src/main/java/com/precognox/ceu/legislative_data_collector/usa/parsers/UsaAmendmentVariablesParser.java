@@ -59,6 +59,8 @@ public class UsaAmendmentVariablesParser {
     public static final int AMENDMENTS_PAGE_SIZE = 100;
     public static final String HOUSE_VOTE_SITE_URL = "https://clerk.house.gov/Votes/";
     public static final String SENATE_VOTE_SITE_URL = "https://www.senate.gov/legislative/LIS/roll_call_votes/";
+    private static final Pattern PARENTHESES_REGEX = Pattern.compile("[()]");
+    private static final Pattern VERSION_NUMBER_NOISE_REGEX = Pattern.compile("[a-zA-Z() ]*");
     private final PrimaryKeyGeneratingRepository legislativeRecordRepository;
     private final PageSourceRepository pageSourceRepository;
     private final JsoupUtils jsoupUtils;
@@ -123,7 +125,7 @@ public class UsaAmendmentVariablesParser {
                     Optional.ofNullable(billPage.body().getElementsByClass("tabs_container").first())
                             .map(li -> li.getElementsByTag("li").get(4))
                             .map(counter -> counter.getElementsByClass("Counter").text())
-                            .map(amendmentCountString -> amendmentCountString.replaceAll("[()]", ""))
+                            .map(amendmentCountString -> PARENTHESES_REGEX.matcher(amendmentCountString).replaceAll(""))
                             .map(Integer::parseInt)
                             .orElse(0);
 
@@ -293,7 +295,7 @@ public class UsaAmendmentVariablesParser {
                 versionNumString =
                         Optional.ofNullable(amendmentTextPage.body().getElementsByClass("tabs_links").first())
                                 .map(links -> links.getElementsByClass("selected").first())
-                                .map(link -> link.text().replaceAll("[a-zA-Z() ]*", ""));
+                                .map(link -> VERSION_NUMBER_NOISE_REGEX.matcher(link.text()).replaceAll(""));
             }
         } catch (NumberFormatException ex) {
             log.error("Amendment text version num not found: ", ex);
@@ -46,6 +46,7 @@ import java.util.TreeSet;
 import java.util.function.Predicate;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.precognox.ceu.legislative_data_collector.usa.Constants.SITE_BASE_URL;
@@ -55,6 +56,13 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 @Service
 public class UsaBillPageParser {
 
+    private static final Pattern PARENTHESES_REGEX = Pattern.compile("[()]");
+    private static final Pattern TEXT_COUNT_NOISE_REGEX = Pattern.compile("[a-zA-Z() ]*");
+    private static final Pattern ACTION_COUNT_NOISE_REGEX = Pattern.compile("[a-zA-z ]");
+    private static final Pattern COMMITTEE_NAME_SUFFIX_REGEX = Pattern.compile(" \\[[\\d ]*]");
+    private static final Pattern COMMITTEE_LIST_SEPARATOR_REGEX = Pattern.compile("; ");
+    private static final Pattern SPACES_REGEX = Pattern.compile(" +");
+
     private final PrimaryKeyGeneratingRepository legislativeRecordRepository;
     private final PageSourceRepository pageSourceRepository;
     private final UsaCommonFunctions commonFunctions;
@@ -188,7 +196,7 @@ public class UsaBillPageParser {
                 pageSourceRepository.findPagesByPageTypeAndCountry(PageTypes.COMMITTEE_LIST.name(), Country.USA)
                         .stream()
                         .filter(pageSource -> pageSource.getMetadata().equals("Period: " + currentPeriod)).findFirst()
-                        .map(PageSource::getRawSource).map(commList -> Arrays.asList(commList.split("; ")))
+                        .map(PageSource::getRawSource).map(commList -> Arrays.asList(COMMITTEE_LIST_SEPARATOR_REGEX.split(commList)))
                         .orElse(Collections.emptyList());
 
         if (!committeeList.isEmpty()) {
@@ -272,7 +280,7 @@ public class UsaBillPageParser {
             int textNum =
                     Optional.ofNullable(billPage.body().getElementsByClass("tabs_links").first())
                             .map(tabLink -> tabLink.getElementsContainingText("Text").last())
-                            .map(text -> text.text().replaceAll("[a-zA-Z() ]*", ""))
+                            .map(text -> TEXT_COUNT_NOISE_REGEX.matcher(text.text()).replaceAll(""))
                             .map(Integer::parseInt).orElse(0);
 
             if (textNum > 1) {
@@ -341,7 +349,7 @@ public class UsaBillPageParser {
                             .map(li -> li.getElementsByTag("li").get(5))
                             .map(counter -> counter.getElementsByClass("Counter"))
                             .map(Elements::text)
-                            .map(coSponsorCountString -> Integer.parseInt(coSponsorCountString.replaceAll("[()]", "")))
+                            .map(coSponsorCountString -> Integer.parseInt(PARENTHESES_REGEX.matcher(coSponsorCountString).replaceAll("")))
                             .orElse(0);
 
         } catch (NumberFormatException ex) {
@@ -387,7 +395,7 @@ public class UsaBillPageParser {
 
         Integer relatedBillsCount = relatedBillsElement
                 .map(counter -> counter.getElementsByClass("counter").text())
-                .map(countString -> countString.replaceAll("[()]", ""))
+                .map(countString -> PARENTHESES_REGEX.matcher(countString).replaceAll(""))
                 .map(Integer::parseInt)
                 .orElse(0);
 
@@ -444,12 +452,12 @@ public class UsaBillPageParser {
                 Optional.ofNullable(actionsPage.body().getElementById("facetbox_action-category"))
                         .map(actionUl -> actionUl.getElementsContainingText("All Actions").last())
                         .map(Element::text)
-                        .map(actionCount -> actionCount.replaceAll("[a-zA-z ]", ""));
+                        .map(actionCount -> ACTION_COUNT_NOISE_REGEX.matcher(actionCount).replaceAll(""));
 
         Optional<String> allActionsExceptAmendments =
                 Optional.ofNullable(actionsPage.body().getElementById("facetbox_action-category"))
                         .map(actionUl -> actionUl.getElementsContainingText("All Actions Except Amendments").last())
-                        .map(Element::text).map(actionCount -> actionCount.replaceAll("[a-zA-z ]", ""));
+                        .map(Element::text).map(actionCount -> ACTION_COUNT_NOISE_REGEX.matcher(actionCount).replaceAll(""));
 
         if (allActionsCount.isPresent() && allActionsExceptAmendments.isPresent()) {
             try {
@@ -485,7 +493,7 @@ public class UsaBillPageParser {
                 .skip(1)
                 .forEach(li -> {
                     String committeeLink = li.getElementsByTag("a").attr("href");
-                    String committeeName = li.getElementsByTag("a").text().replaceAll(" \\[[\\d ]*]", "");
+                    String committeeName = COMMITTEE_NAME_SUFFIX_REGEX.matcher(li.getElementsByTag("a").text()).replaceAll("");
 
                     committees.add(getCommitteeDetailsFromTable(committeeName, SITE_BASE_URL + committeeLink));
                 });
@@ -703,10 +711,9 @@ public class UsaBillPageParser {
                         record.setPlenarySize(TextUtils.getLengthWithoutWhitespace(pageText));
                     }
 
-                    String cleanText =
-                            pageText.replace("\n", "")
-                                    .replaceAll("\s+", " ")
-                                    .replaceAll("- ", "-");
+                    String cleanText = SPACES_REGEX.matcher(pageText.replace("\n", ""))
+                            .replaceAll(" ")
+                            .replace("- ", "-");
 
                     modifiedLawIds =
                             Constants.MODIFIED_LAW_PATTERN.matcher(cleanText)
@@ -33,6 +33,9 @@ import static com.precognox.ceu.legislative_data_collector.usa.Constants.SITE_BA
 @Service
 @AllArgsConstructor
 public class UsaLawRelatedVariablesParser {
+    private static final Pattern VOTES_FOR_LABEL_REGEX = Pattern.compile("Aye: |yea: ");
+    private static final Pattern VOTES_AGAINST_LABEL_REGEX = Pattern.compile("No: |nay: ");
+
     private final PrimaryKeyGeneratingRepository legislativeRecordRepository;
     private final PageSourceRepository pageSourceRepository;
     private final UsaCommonFunctions commonFunctions;
@@ -252,12 +255,12 @@ public class UsaLawRelatedVariablesParser {
 
                     voteFor = votesElement.map(
                                     p -> p.getElementsByAttributeValueMatching("aria-label", "Aye|yea").first())
-                            .map(Element::text).map(text -> text.replaceAll("Aye: |yea: ", "").trim())
+                            .map(Element::text).map(text -> VOTES_FOR_LABEL_REGEX.matcher(text).replaceAll("").trim())
                             .map(Integer::parseInt);
 
                     voteAgainst = votesElement.map(
                                     p -> p.getElementsByAttributeValueMatching("aria-label", "No|nay").first())
-                            .map(Element::text).map(text -> text.replaceAll("No: |nay: ", "").trim())
+                            .map(Element::text).map(text -> VOTES_AGAINST_LABEL_REGEX.matcher(text).replaceAll("").trim())
                             .map(Integer::parseInt);
 
                     voteAbst = votesElement.map(
@@ -4,25 +4,44 @@ import com.precognox.ceu.legislative_data_collector.entities.Country;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nullable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
 import java.time.Period;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Date parsing of the country parsers. The formatters built from pattern strings are cached by pattern and locale,
+ * the countries accepting several formats parse them with one formatter of optional sections instead of trying the
+ * formats one by one with an exception for each failed attempt. The {@value #ISO_DATE_FORMAT} and
+ * {@value #DOTTED_DATE_FORMAT} dates are parsed without a formatter.
+ */
 @Slf4j
 public class DateUtils {
 
+    public static final String ISO_DATE_FORMAT = "yyyy-MM-dd";
+    public static final String DOTTED_DATE_FORMAT = "dd.MM.yyyy";
+
+    private record FormatterKey(String pattern, @Nullable Locale locale) {
+    }
+
+    private static final Map<FormatterKey, DateTimeFormatter> formatterCache = new ConcurrentHashMap<>();
+
     private static final DateTimeFormatter hungaryDateFormatter = DateTimeFormatter.ofPattern("yyyy.MM.dd.");
     private static final DateTimeFormatter colombiaDateFormatter = DateTimeFormatter.ofPattern("M/d/yyyy");
     private static final DateTimeFormatter colombiaDateFormatterInVote = DateTimeFormatter.ofPattern("d/MM/yyyy");
     private static final DateTimeFormatter colombiaDateFormatterInLawText = DateTimeFormatter.ofPattern("d/M/yyyy");
     private static final DateTimeFormatter chileDateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter usaDateFormatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-    private static final DateTimeFormatter polandDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter polandDateFormatter = DateTimeFormatter.ofPattern(ISO_DATE_FORMAT);
     private static final DateTimeFormatter southAfricaDateFormatter =
             DateTimeFormatter.ofPattern("dd MMMM yyyy", Locale.ENGLISH);
     private static final DateTimeFormatter southAfricaIADateFormatter =
@@ -31,6 +50,14 @@ public class DateUtils {
             DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
     private static final DateTimeFormatter australiaDateFormatter = DateTimeFormatter.ofPattern("dd MMMM yyyy");
 
+    //the dates of the Colombian pages are also written as "yyyy. MM. dd."
+    private static final DateTimeFormatter colombiaDateParser =
+            anyOf(colombiaDateFormatter, DateTimeFormatter.ofPattern("yyyy. MM. dd."));
+    private static final DateTimeFormatter colombiaDateParserInVote =
+            anyOf(colombiaDateFormatterInVote, DateTimeFormatter.ofPattern("yyyy. MM. dd."));
+    private static final DateTimeFormatter colombiaDateParserInLawText =
+            anyOf(colombiaDateFormatterInLawText, DateTimeFormatter.ofPattern("yyyy. MM. dd."));
+
     private static final Map<Country, DateTimeFormatter> formatsForCountries = Map.of(
             Country.HUNGARY, hungaryDateFormatter,
             Country.COLOMBIA, colombiaDateFormatter,
@@ -56,12 +83,16 @@ public class DateUtils {
             if (trim && dateString.length() > dateFormat.length()) {
                 dateString = dateString.substring(0, dateFormat.length());
             }
-            try {
-                DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(dateFormat);
-                if (locale != null) {
-                    dateTimeFormatter = dateTimeFormatter.localizedBy(locale);
+            //the locale extensions can change the digits and the calendar
+            if (locale == null || !locale.hasExtensions()) {
+                LocalDate date = parseNumericDate(dateString, dateFormat);
+
+                if (date != null) {
+                    return date;
                 }
-                return LocalDate.parse(dateString, dateTimeFormatter);
+            }
+            try {
+                return LocalDate.parse(dateString, getFormatter(dateFormat, locale));
             } catch (DateTimeParseException e) {
                 log.error("toLocalDate dateString: '{}',  dateFormat: '{}'", dateString, dateFormat);
                 log.error("Failed to parse Date time", e);
@@ -71,6 +102,91 @@ public class DateUtils {
         return null;
     }
 
+    public static DateTimeFormatter getFormatter(String pattern) {
+        return getFormatter(pattern, null);
+    }
+
+    /**
+     * @return The formatter of {@link DateTimeFormatter#ofPattern(String)}, localized by the locale if it is not null.
+     */
+    public static DateTimeFormatter getFormatter(String pattern, @Nullable Locale locale) {
+        return formatterCache.computeIfAbsent(new FormatterKey(pattern, locale), key -> {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(key.pattern());
+            return key.locale() != null ? formatter.localizedBy(key.locale()) : formatter;
+        });
+    }
+
+    /**
+     * A formatter parsing any of the formats, as optional sections of one formatter: the first format matching the
+     * whole text is used. The parse fails with one exception if none of the formats match. The locale of the first
+     * format is used for all of them.
+     */
+    public static DateTimeFormatter anyOf(DateTimeFormatter... formats) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+
+        for (DateTimeFormatter format : formats) {
+            builder.appendOptional(format);
+        }
+
+        return builder.toFormatter(formats[0].getLocale());
+    }
+
+    /**
+     * Parses {@value #ISO_DATE_FORMAT} and {@value #DOTTED_DATE_FORMAT} dates without a formatter, with the same
+     * result: a day after the end of the month is resolved to the last day of the month, like the default (smart)
+     * resolver of the formatters does.
+     *
+     * @return Null if the format is not one of the two, or the text is not a plain date of the format (the formatter
+     * parses or rejects it then).
+     */
+    @Nullable
+    static LocalDate parseNumericDate(String text, String format) {
+        if (text.length() != 10) {
+            return null;
+        }
+
+        int year;
+        int month;
+        int day;
+
+        if (ISO_DATE_FORMAT.equals(format) && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            year = parseDigits(text, 0, 4);
+            month = parseDigits(text, 5, 7);
+            day = parseDigits(text, 8, 10);
+        } else if (DOTTED_DATE_FORMAT.equals(format) && text.charAt(2) == '.' && text.charAt(5) == '.') {
+            day = parseDigits(text, 0, 2);
+            month = parseDigits(text, 3, 5);
+            year = parseDigits(text, 6, 10);
+        } else {
+            return null;
+        }
+
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+
+        return LocalDate.of(year, month, Math.min(day, Month.of(month).length(Year.isLeap(year))));
+    }
+
+    /**
+     * @return -1 if not all characters are ASCII digits.
+     */
+    private static int parseDigits(String text, int start, int end) {
+        int value = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            value = value * 10 + c - '0';
+        }
+
+        return value;
+    }
+
     public static LocalDate parseUkDate(String dateString) {
         if (dateString != null && !dateString.isBlank()) {
             return LocalDateTime.parse(dateString).toLocalDate();
@@ -102,14 +218,10 @@ public class DateUtils {
     public static LocalDate parseColombiaDate(String dateString) {
         if (dateString != null && !dateString.isBlank()) {
             try {
-                return LocalDate.parse(dateString, colombiaDateFormatter);
+                return LocalDate.parse(dateString, colombiaDateParser);
             } catch (DateTimeParseException e) {
-                try {
-                    return toLocalDate(dateString, "yyyy. MM. dd.");
-                } catch (DateTimeParseException ex) {
-                    ex.printStackTrace();
-                    return null;
-                }
+                log.error("Failed to parse Colombian date: '{}'", dateString);
+                return null;
             }
         }
         return null;
@@ -118,14 +230,10 @@ public class DateUtils {
     public static LocalDate parseColombiaVotingDate(String dateString) {
         if (dateString != null && !dateString.isBlank()) {
             try {
-                return LocalDate.parse(dateString, colombiaDateFormatterInVote);
+                return LocalDate.parse(dateString, colombiaDateParserInVote);
             } catch (DateTimeParseException e) {
-                try {
-                    return toLocalDate(dateString, "yyyy. MM. dd.");
-                } catch (DateTimeParseException ex) {
-                    ex.printStackTrace();
-                    return null;
-                }
+                log.error("Failed to parse Colombian date: '{}'", dateString);
+                return null;
             }
         }
         return null;
@@ -134,14 +242,10 @@ public class DateUtils {
     public static LocalDate parseColombiaLawTextDate(String dateString) {
         if (dateString != null && !dateString.isBlank()) {
             try {
-                return LocalDate.parse(dateString, colombiaDateFormatterInLawText);
+                return LocalDate.parse(dateString, colombiaDateParserInLawText);
             } catch (DateTimeParseException e) {
-                try {
-                    return toLocalDate(dateString, "yyyy. MM. dd.");
-                } catch (DateTimeParseException ex) {
-                    ex.printStackTrace();
-                    return null;
-                }
+                log.error("Failed to parse Colombian date: '{}'", dateString);
+                return null;
             }
         }
         return null;
@@ -165,7 +269,8 @@ public class DateUtils {
 
     public static LocalDate parsePolandDate(String dateString) {
         if (dateString != null && !dateString.isBlank()) {
-            return LocalDate.parse(dateString, polandDateFormatter);
+            LocalDate date = parseNumericDate(dateString, ISO_DATE_FORMAT);
+            return date != null ? date : LocalDate.parse(dateString, polandDateFormatter);
         }
 
         return null;
@@ -1,9 +1,9 @@
 package com.precognox.ceu.legislative_data_collector.utils;
 
+import com.precognox.ceu.legislative_data_collector.common.http.HttpFetchEngine;
 import com.precognox.ceu.legislative_data_collector.entities.DownloadedFile;
 import com.precognox.ceu.legislative_data_collector.repositories.DownloadedFileRepository;
 import kong.unirest.HttpResponse;
-import kong.unirest.Unirest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,6 +18,9 @@ public class FileDownloader {
     @Autowired
     private DownloadedFileRepository downloadedFileRepository;
 
+    @Autowired
+    private HttpFetchEngine httpFetchEngine;
+
     @Transactional(Transactional.TxType.REQUIRES_NEW)
     public Optional<DownloadedFile> getFromDbOrDownload(String fileUrl) {
         if (downloadedFileRepository.existsByUrl(fileUrl)) {
@@ -26,7 +29,13 @@ public class FileDownloader {
 
         log.info("Downloading file: {}", fileUrl);
 
-        HttpResponse<byte[]> fileResp = Unirest.get(fileUrl).asBytes();
+        Optional<HttpResponse<byte[]>> response = httpFetchEngine.getBytes(fileUrl);
+
+        if (response.isEmpty()) {
+            return Optional.empty();
+        }
+
+        HttpResponse<byte[]> fileResp = response.get();
 
         if (fileResp.isSuccess()) {
             DownloadedFile downloadedFile = new DownloadedFile();
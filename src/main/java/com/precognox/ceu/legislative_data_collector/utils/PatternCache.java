@@ -0,0 +1,53 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled patterns of the regexes passed as strings, for example to the {@link TextUtils} helpers. Compiling a regex
+ * costs more than most of the matches done with it, the constant regexes of the parsers are compiled only once this
+ * way. {@link Pattern} is immutable, the cached instances are shared by all threads.
+ * <p>
+ * The cache is cleared when it reaches {@link #MAX_SIZE} entries, so that regexes built from page content (IDs,
+ * names) can not fill the memory.
+ */
+public final class PatternCache {
+
+    static final int MAX_SIZE = 1000;
+
+    private record Key(String regex, int flags) {
+    }
+
+    private static final Map<Key, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private PatternCache() {
+    }
+
+    public static Pattern get(String regex) {
+        return get(regex, 0);
+    }
+
+    /**
+     * @throws java.util.regex.PatternSyntaxException If the regex is invalid, same as {@link Pattern#compile}.
+     */
+    public static Pattern get(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        Pattern pattern = PATTERNS.get(key);
+
+        if (pattern == null) {
+            if (PATTERNS.size() >= MAX_SIZE) {
+                PATTERNS.clear();
+            }
+
+            pattern = PATTERNS.computeIfAbsent(key, k -> Pattern.compile(k.regex(), k.flags()));
+        }
+
+        return pattern;
+    }
+
+    static int size() {
+        return PATTERNS.size();
+    }
+
+}
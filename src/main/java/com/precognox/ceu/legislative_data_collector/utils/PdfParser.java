@@ -2,16 +2,11 @@ package com.precognox.ceu.legislative_data_collector.utils;
 
 import com.precognox.ceu.legislative_data_collector.entities.DownloadedFile;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Optional;
 
 @Slf4j
@@ -23,7 +18,6 @@ public class PdfParser {
 
     public static final boolean SKIP_PDFS = false;
     private static final String PDF_CONTENT_TYPE = "application/pdf";
-    private static final PDFTextStripper PDF_TEXT_STRIPPER = new PDFTextStripper();
 
     public static final String ERROR_LABEL = "<ERROR>";
     public static final String SCANNED_LABEL = "<SCANNED?>";
@@ -48,34 +42,36 @@ public class PdfParser {
 
         if (file.isPresent()) {
             if (PDF_CONTENT_TYPE.equals(file.get().getContentType())) {
-                return extractText(file.get().getContent());
+                Optional<File> storedFile = file.get().getContentFile();
+
+                return storedFile.isPresent() ? extractText(storedFile.get()) : extractText(file.get().getContent());
             }
         }
 
         throw new IOException("Failed to download PDF");
     }
 
+    /**
+     * Thread safe, see {@link PdfTextExtractor}.
+     */
     public String extractText(byte[] pdfBytes) throws IOException {
-        try (InputStream stream = new ByteArrayInputStream(pdfBytes)) {
-            try (PDDocument doc = Loader.loadPDF(stream.readAllBytes())) {
-                String text = PDF_TEXT_STRIPPER.getText(doc);
-                doc.close();
-
-                if (text.isBlank()) {
-                    return SCANNED_LABEL;
-                }
+        return cleanExtractedText(PdfTextExtractor.extractText(pdfBytes));
+    }
 
-                return cleanText(text);
-            }
-        }
+    /**
+     * Variant of {@link #extractText(byte[])} for the files of the file store, which are memory-mapped instead of
+     * being read in the heap.
+     */
+    public String extractText(File pdfFile) throws IOException {
+        return cleanExtractedText(PdfTextExtractor.extractText(pdfFile));
     }
 
-    private String cleanText(String text) {
-        //remove null character
-        text = text.replaceAll("\\x00", "");
-        String trimmed = StringUtils.trimWhitespace(text);
+    private String cleanExtractedText(String text) {
+        if (text.isBlank()) {
+            return SCANNED_LABEL;
+        }
 
-        return !trimmed.isEmpty() ? trimmed : null;
+        return PdfTextExtractor.cleanText(text);
     }
 
 }
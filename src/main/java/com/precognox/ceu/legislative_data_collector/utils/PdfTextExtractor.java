@@ -0,0 +1,177 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Text extraction for all PDF documents, used by {@link PdfParser} and {@link PdfUtils}. Can be called from multiple
+ * threads.
+ * <p>
+ * Every thread has its own {@link PDFTextStripper}, as the stripper is not thread safe. Documents are loaded without
+ * copying the stored bytes, and files are memory-mapped instead of being read into the heap. Documents with more than
+ * {@link #PARALLEL_PAGE_THRESHOLD} pages are split into page ranges, which are extracted in parallel on a fork-join
+ * pool (each range with its own {@link PDDocument} instance).
+ */
+@Slf4j
+public final class PdfTextExtractor {
+
+    static final int PARALLEL_PAGE_THRESHOLD = 100;
+    static final int PAGES_PER_TASK = 25;
+
+    //documents between two throughput log messages
+    private static final int LOG_INTERVAL = 100;
+
+    private static final ThreadLocal<PDFTextStripper> STRIPPERS = ThreadLocal.withInitial(PDFTextStripper::new);
+    private static final ForkJoinPool PAGE_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private static final AtomicLong DOCUMENT_COUNT = new AtomicLong();
+    private static final AtomicLong PAGE_COUNT = new AtomicLong();
+    private static final AtomicLong EXTRACTION_NANOS = new AtomicLong();
+
+    private PdfTextExtractor() {
+    }
+
+    /**
+     * Source of the document, every page range task loads its own instance from it.
+     */
+    @FunctionalInterface
+    private interface DocumentSource {
+        PDDocument load() throws IOException;
+    }
+
+    /**
+     * Extracts the text from the PDF content (for example {@code DownloadedFile.getContent()}). The byte array is
+     * used as the document buffer directly, without copying.
+     *
+     * @return The extracted text, without any cleaning.
+     */
+    public static String extractText(byte[] pdfBytes) throws IOException {
+        return extract(() -> Loader.loadPDF(pdfBytes));
+    }
+
+    /**
+     * Extracts the text from a PDF file. The file is memory-mapped, so large documents are not read into the heap.
+     *
+     * @return The extracted text, without any cleaning.
+     */
+    public static String extractText(File pdfFile) throws IOException {
+        return extract(() -> Loader.loadPDF(new RandomAccessReadMemoryMappedFile(pdfFile)));
+    }
+
+    /**
+     * Removes null characters and surrounding whitespace from the extracted text.
+     *
+     * @return The cleaned text, or null if the text is blank.
+     */
+    public static String cleanText(String text) {
+        //remove null character
+        text = text.replace("\u0000", "");
+        String trimmed = StringUtils.trimWhitespace(text);
+
+        return !trimmed.isEmpty() ? trimmed : null;
+    }
+
+    /**
+     * @return The extracted pages per second, measured on the time spent in extraction.
+     */
+    public static double getPagesPerSecond() {
+        long nanos = EXTRACTION_NANOS.get();
+
+        return nanos > 0 ? PAGE_COUNT.get() / (nanos / (double) TimeUnit.SECONDS.toNanos(1)) : 0;
+    }
+
+    private static String extract(DocumentSource source) throws IOException {
+        long start = System.nanoTime();
+        int pageCount;
+        String text;
+
+        try (PDDocument doc = source.load()) {
+            pageCount = doc.getNumberOfPages();
+
+            if (pageCount > PARALLEL_PAGE_THRESHOLD) {
+                text = extractInParallel(source, pageCount);
+            } else {
+                text = extractPages(doc, 1, pageCount);
+            }
+        }
+
+        recordStatistics(pageCount, System.nanoTime() - start);
+
+        return text;
+    }
+
+    private static String extractInParallel(DocumentSource source, int pageCount) throws IOException {
+        try {
+            return PAGE_POOL.invoke(new PageRangeTask(source, 1, pageCount));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String extractPages(PDDocument doc, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = STRIPPERS.get();
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+
+        return stripper.getText(doc);
+    }
+
+    private static void recordStatistics(int pages, long nanos) {
+        PAGE_COUNT.addAndGet(pages);
+        EXTRACTION_NANOS.addAndGet(nanos);
+
+        if (DOCUMENT_COUNT.incrementAndGet() % LOG_INTERVAL == 0) {
+            log.info(
+                    "PDF text extraction: {} documents, {} pages, {} pages/sec",
+                    DOCUMENT_COUNT.get(), PAGE_COUNT.get(), String.format("%.1f", getPagesPerSecond())
+            );
+        }
+    }
+
+    /**
+     * Extracts the text of the page range (inclusive), splitting it in halves until the ranges are small enough.
+     */
+    private static class PageRangeTask extends RecursiveTask<String> {
+
+        private final DocumentSource source;
+        private final int startPage;
+        private final int endPage;
+
+        PageRangeTask(DocumentSource source, int startPage, int endPage) {
+            this.source = source;
+            this.startPage = startPage;
+            this.endPage = endPage;
+        }
+
+        @Override
+        protected String compute() {
+            if (endPage - startPage < PAGES_PER_TASK) {
+                try (PDDocument doc = source.load()) {
+                    return extractPages(doc, startPage, endPage);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int middle = startPage + (endPage - startPage) / 2;
+            PageRangeTask first = new PageRangeTask(source, startPage, middle);
+            PageRangeTask second = new PageRangeTask(source, middle + 1, endPage);
+            second.fork();
+
+            return first.compute() + second.join();
+        }
+    }
+
+}
@@ -5,20 +5,12 @@ import kong.unirest.HttpResponse;
 import kong.unirest.Unirest;
 import kong.unirest.UnirestException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Wait;
-import org.springframework.util.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.StringWriter;
 import java.time.Duration;
 import java.util.Optional;
 
@@ -44,15 +36,8 @@ public class PdfUtils {
     }
 
     public static String getTextFromPDFFile(File f) throws IOException {
-        try (InputStream pdfBytes = new ByteArrayInputStream(FileUtils.readFileToByteArray(f))) {
-            PDDocument doc = Loader.loadPDF(pdfBytes.readAllBytes());
-            PDFTextStripper textStripper = new PDFTextStripper();
-            StringWriter outputStream = new StringWriter();
-            textStripper.writeText(doc, outputStream);
-            String text = outputStream.toString();
-            doc.close();
-
-            return cleanText(text);
+        try {
+            return PdfTextExtractor.cleanText(PdfTextExtractor.extractText(f));
         } catch (IOException e) {
             log.error("Error response when extracting text from PDF: {}", f.getAbsolutePath());
 
@@ -78,21 +63,7 @@ public class PdfUtils {
     }
 
     public static String extractText(byte[] pdfBytes) throws IOException {
-        try (InputStream stream = new ByteArrayInputStream(pdfBytes)) {
-            PDDocument doc = Loader.loadPDF(stream.readAllBytes());
-            String text = new PDFTextStripper().getText(doc);
-            doc.close();
-
-            return cleanText(text);
-        }
-    }
-
-    private static String cleanText(String text) {
-        //remove null character
-        text = text.replaceAll("\\x00", "");
-        String trimmed = StringUtils.trimWhitespace(text);
-
-        return !trimmed.isEmpty() ? trimmed : null;
+        return PdfTextExtractor.cleanText(PdfTextExtractor.extractText(pdfBytes));
     }
 
    public static String getDownloadedPDFFileContent(String downloadDir ) {
@@ -0,0 +1,85 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+/**
+ * Size metrics of a bill, law or debate text, computed in one pass over the characters without copying the text.
+ * The texts are up to tens of megabytes, the sizes are computed every time a text is set.
+ * <p>
+ * Whitespace is the same as the {@code \s} regex class: space, tab, line feed, vertical tab, form feed and carriage
+ * return. The characters are counted as UTF-16 units, like {@link String#length()}.
+ *
+ * @param lengthWithoutWhitespace The number of non-whitespace characters.
+ * @param wordCount The number of non-whitespace sequences ({@code \S+}).
+ * @param lineCount The number of lines, same as {@link String#lines()}: a line break at the end of the text does not
+ * start a new line, the empty text has no lines.
+ */
+public record TextMetrics(int lengthWithoutWhitespace, int wordCount, int lineCount) {
+
+    private static final TextMetrics EMPTY = new TextMetrics(0, 0, 0);
+
+    public static TextMetrics of(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+
+        int length = text.length();
+        int nonWhitespace = 0;
+        int words = 0;
+        int lineBreaks = 0;
+        boolean inWord = false;
+        char previous = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (isWhitespace(c)) {
+                inWord = false;
+
+                //\r\n is one line break
+                if (c == '\r' || (c == '\n' && previous != '\r')) {
+                    lineBreaks++;
+                }
+            } else {
+                nonWhitespace++;
+
+                if (!inWord) {
+                    inWord = true;
+                    words++;
+                }
+            }
+
+            previous = c;
+        }
+
+        char last = text.charAt(length - 1);
+        int lines = last == '\n' || last == '\r' ? lineBreaks : lineBreaks + 1;
+
+        return new TextMetrics(nonWhitespace, words, lines);
+    }
+
+    /**
+     * The non-whitespace length only, without creating a {@link TextMetrics}.
+     *
+     * @return 0 for null.
+     */
+    public static int lengthWithoutWhitespace(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        int length = text.length();
+        int nonWhitespace = length;
+
+        for (int i = 0; i < length; i++) {
+            if (isWhitespace(text.charAt(i))) {
+                nonWhitespace--;
+            }
+        }
+
+        return nonWhitespace;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+}
@@ -20,6 +20,13 @@ public class TextUtils {
     private static final String GENERAL_JUSTIFICATION_HEADER = "Általános indokolás";
     private static final List<String> TITLES = List.of("Dr. ", "Dr ", "Mrs ", "Mr ", "Ms ", "Sir ");
 
+    private static final Pattern HTML_TAG_REGEX = Pattern.compile("<.+?>");
+    private static final Pattern HTML_ENTITY_REGEX = Pattern.compile("&[a-z]+?;");
+    private static final Pattern HTML_OR_EMPTY_TAG_REGEX = Pattern.compile("<.*?>");
+    private static final Pattern HORIZONTAL_WHITESPACES_REGEX = Pattern.compile("[^\\S\\r\\n]+");
+    private static final Pattern CAMEL_CASE_ACRONYM_REGEX = Pattern.compile("([A-Z]+)([A-Z][a-z])");
+    private static final Pattern CAMEL_CASE_WORD_REGEX = Pattern.compile("([a-z])([A-Z])");
+
     public static String cleanName(String origName) {
         if (origName != null) {
             return TITLES.stream().reduce(origName, (name, s) -> name.replace(s, "")).strip();
@@ -43,25 +50,38 @@ public class TextUtils {
         }
     }
 
-    public static int getLengthWithoutWhitespace(String text) {
-        if (text == null) {
-            return 0;
-        }
-
-        return text.replaceAll("\\s", "").length();
+    public static int getLengthWithoutWhitespace(CharSequence text) {
+        return TextMetrics.lengthWithoutWhitespace(text);
     }
 
     public static String findText(String text, String regex) {
-        List<String> result = findTexts(text, regex, true, -1);
+        return findText(text, PatternCache.get(regex));
+    }
+
+    public static String findText(String text, Pattern pattern) {
+        List<String> result = findTexts(text, pattern, true, -1);
         return result.isEmpty() ? "" : result.get(0);
     }
 
     public static List<String> findTexts(String text, String regex) {
-        return findTexts(text, regex, true, -1);
+        return findTexts(text, PatternCache.get(regex));
+    }
+
+    public static List<String> findTexts(String text, Pattern pattern) {
+        return findTexts(text, pattern, true, -1);
     }
 
+    /**
+     * The regex is compiled with {@link PatternCache}.
+     */
     public static List<String> findTexts(String text, String regex, boolean enableTrim, Integer group) {
-        Pattern pattern = Pattern.compile(regex);
+        return findTexts(text, PatternCache.get(regex), enableTrim, group);
+    }
+
+    /**
+     * @param group The group of the results, the last group if null or negative.
+     */
+    public static List<String> findTexts(String text, Pattern pattern, boolean enableTrim, Integer group) {
         Matcher matcher = pattern.matcher(text);
 
         List<String> resultList = new ArrayList<>();
@@ -106,13 +126,12 @@ public class TextUtils {
 
     public static String removeHtml(String text) {
         //remove html tags and entities
-        return text.replaceAll("<.+?>", "").replaceAll("&[a-z]+?;", "");
+        return HTML_ENTITY_REGEX.matcher(HTML_TAG_REGEX.matcher(text).replaceAll("")).replaceAll("");
     }
 
     public static String cleanHTMLEntitiesFromText(String text) {
-        String temp = text
-                .replaceAll("<.*?>", " ")
-                .replaceAll("[^\\S\\r\\n]+", " ");
+        String temp = HTML_OR_EMPTY_TAG_REGEX.matcher(text).replaceAll(" ");
+        temp = HORIZONTAL_WHITESPACES_REGEX.matcher(temp).replaceAll(" ");
 
         return StringEscapeUtils.unescapeHtml4(temp).trim();
     }
@@ -131,8 +150,7 @@ public class TextUtils {
 
     public static List<String> findSections(
             String text, String sectionStartRegex, String sectionEndRegex, boolean enableTrim, Integer group) {
-        Pattern pattern = Pattern.compile(sectionStartRegex);
-        Matcher matcher = pattern.matcher(text);
+        Matcher matcher = PatternCache.get(sectionStartRegex).matcher(text);
 
         List<String> resultList = new ArrayList<>();
         List<Integer> startSectionList = new ArrayList<>();
@@ -199,10 +217,8 @@ public class TextUtils {
     }
 
     public static String convertCamelCaseToSnakeCase(String orig) {
-        return orig
-                .replaceAll("([A-Z]+)([A-Z][a-z])", "$1_$2")
-                .replaceAll("([a-z])([A-Z])", "$1_$2")
-                .toLowerCase();
+        String snakeCase = CAMEL_CASE_ACRONYM_REGEX.matcher(orig).replaceAll("$1_$2");
+        return CAMEL_CASE_WORD_REGEX.matcher(snakeCase).replaceAll("$1_$2").toLowerCase();
     }
 
 }
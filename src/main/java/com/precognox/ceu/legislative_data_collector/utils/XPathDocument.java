@@ -0,0 +1,148 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.w3c.dom.Node;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A parsed page for running several XPath queries. {@link Element#selectXpath} (and {@link XmlUtils#find}) converts
+ * the whole document to a W3C DOM on every call, this converts it once, on the first query.
+ * <p>
+ * The queries give the same results as {@link XmlUtils#find}: the context node is the given element (or the root
+ * element), absolute expressions ("//div") search the whole document. The converted DOM is not updated, the document
+ * should not be modified after the first query. Not thread-safe.
+ */
+@Slf4j
+public class XPathDocument {
+
+    private final Document document;
+    private final W3CDom w3c = new W3CDom().namespaceAware(false);
+
+    private org.w3c.dom.Document w3cDocument;
+    private Map<Element, Node> w3cElements;
+
+    public XPathDocument(Document document) {
+        this.document = document;
+    }
+
+    /**
+     * Parses the page with {@link XmlUtils#parseXml(String)}.
+     */
+    public static XPathDocument parse(String xml) {
+        return new XPathDocument(XmlUtils.parseXml(xml));
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    public Elements find(String xPath) {
+        return find(document, xPath);
+    }
+
+    /**
+     * @param context An element of this document. The elements of other documents are queried with
+     *                {@link XmlUtils#find}.
+     */
+    public Elements find(Element context, String xPath) {
+        Node w3cContext = toW3c(context);
+
+        if (w3cContext == null) {
+            return XmlUtils.find(context, xPath);
+        }
+
+        return XPathExpressionCache.select(w3c, w3cContext, xPath);
+    }
+
+    public Optional<Element> findFirst(String xPath) {
+        return findFirst(document, xPath);
+    }
+
+    public Optional<Element> findFirst(Element context, String xPath) {
+        return Optional.ofNullable(find(context, xPath).first());
+    }
+
+    public String findElementText(String xPath) {
+        return findElementText(document, xPath);
+    }
+
+    public String findElementText(Element context, String xPath) {
+        try {
+            if (context == null) {
+                return "";
+            }
+
+            Elements elements = find(context, xPath);
+
+            return !elements.isEmpty() ? elements.first().text() : "";
+        } catch (Selector.SelectorParseException e) {
+            log.error(String.format("Xpath is invalid: %s;", xPath), e);
+        }
+
+        return "";
+    }
+
+    public String findAttribute(String xPath, String attribute) {
+        return findAttribute(document, xPath, attribute);
+    }
+
+    public String findAttribute(Element context, String xPath, String attribute) {
+        try {
+            return find(context, xPath).attr(attribute);
+        } catch (Selector.SelectorParseException e) {
+            log.error(String.format("Xpath is invalid: %s;", xPath), e);
+            return "";
+        }
+    }
+
+    private Node toW3c(Element element) {
+        if (w3cDocument == null) {
+            w3cDocument = w3c.fromJsoup(document);
+        }
+
+        //same as in jsoup, the context of the document is its root element
+        if (element == document) {
+            return w3c.contextNode(w3cDocument);
+        }
+
+        if (w3cElements == null) {
+            w3cElements = mapSourceElements(w3cDocument);
+        }
+
+        return w3cElements.get(element);
+    }
+
+    /**
+     * @return The converted W3C elements by the jsoup elements they were converted from.
+     */
+    private static Map<Element, Node> mapSourceElements(org.w3c.dom.Document w3cDocument) {
+        Map<Element, Node> elements = new IdentityHashMap<>();
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(w3cDocument);
+
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+
+            if (node.getUserData(W3CDom.SourceProperty) instanceof Element source) {
+                elements.put(source, node);
+            }
+
+            for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                nodes.push(child);
+            }
+        }
+
+        return elements;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import javax.xml.xpath.XPathFactoryConfigurationException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiled XPath expressions by expression string. The parsers evaluate the same expressions on every page, compiling
+ * them is more costly than evaluating them on a page.
+ * <p>
+ * JAXP {@link XPathExpression}s are not thread-safe, so every thread has its own cache. The caches are bounded
+ * (least recently used expressions are dropped), as some expressions contain values from the pages. The XPath
+ * implementation is selected the same way as in jsoup (see {@link W3CDom#XPathFactoryProperty}), the cache is
+ * cleared if it's changed.
+ */
+class XPathExpressionCache {
+
+    static final int MAX_SIZE = 500;
+
+    private static final ThreadLocal<XPathExpressionCache> CACHES = new ThreadLocal<>();
+
+    private final String factoryName;
+    private final XPath xPath;
+    private final Map<String, XPathExpression> expressions = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private XPathExpressionCache(String factoryName) {
+        this.factoryName = factoryName;
+
+        try {
+            XPathFactory factory = factoryName != null ? XPathFactory.newInstance("jsoup") : XPathFactory.newInstance();
+            this.xPath = factory.newXPath();
+        } catch (XPathFactoryConfigurationException e) {
+            throw new IllegalStateException("Failed to create XPath factory: " + factoryName, e);
+        }
+    }
+
+    /**
+     * Evaluates the expression and maps the result to the jsoup elements the W3C nodes were converted from.
+     *
+     * @param context A node of a document converted with the given {@link W3CDom}.
+     *
+     * @throws Selector.SelectorParseException If the expression is invalid.
+     */
+    static Elements select(W3CDom w3c, Node context, String expression) {
+        return new Elements(w3c.sourceNodes(evaluate(context, expression), Element.class));
+    }
+
+    static NodeList evaluate(Node context, String expression) {
+        try {
+            return (NodeList) current().compile(expression).evaluate(context, XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            throw new Selector.SelectorParseException(
+                    "Could not evaluate XPath query [%s]: %s", expression, e.getMessage()
+            );
+        }
+    }
+
+    static int size() {
+        return current().expressions.size();
+    }
+
+    private static XPathExpressionCache current() {
+        String factoryName = System.getProperty(W3CDom.XPathFactoryProperty);
+        XPathExpressionCache cache = CACHES.get();
+
+        if (cache == null || !Objects.equals(cache.factoryName, factoryName)) {
+            cache = new XPathExpressionCache(factoryName);
+            CACHES.set(cache);
+        }
+
+        return cache;
+    }
+
+    private XPathExpression compile(String expression) throws XPathExpressionException {
+        XPathExpression compiled = expressions.get(expression);
+
+        if (compiled == null) {
+            compiled = xPath.compile(expression);
+            expressions.put(expression, compiled);
+        }
+
+        return compiled;
+    }
+
+}
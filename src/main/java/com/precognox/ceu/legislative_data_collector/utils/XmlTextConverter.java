@@ -0,0 +1,564 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+/**
+ * Converts markup to plain text for {@link XmlUtils#xmlToText}, with the same output as the previous chain of regex
+ * replacements (applied in this order):
+ * <ul>
+ *     <li>{@code <br/>}: new line</li>
+ *     <li>{@code <tr ...>}: {@link XmlUtils#TR_REPLACEMENT}</li>
+ *     <li>{@code </td>} or {@code </th>} followed by the next cell in the row: "|"</li>
+ *     <li>other {@code <td ...>}, {@code <th ...>}: removed</li>
+ *     <li>{@code </p>}, {@code </tr>}, {@code </h...>}: new line, the whitespace after it is removed</li>
+ *     <li>other tags: space</li>
+ *     <li>{@code &nbsp;}, no-break and ideographic spaces: space</li>
+ *     <li>multiple spaces: one space</li>
+ * </ul>
+ * The XML entities are decoded first (same as {@code StringEscapeUtils.unescapeXml}), then the text is converted in
+ * one scan. Decoded "&lt;" and "&gt;" characters are handled as markup, as before. A '<' and a '>' outside of tags
+ * can form a new tag after an earlier replacement removed the tags between them (e.g. in {@code <!-- <td> -->}),
+ * those (rare) texts are converted with the replacements one after the other, without regexes. Similarly, a removed
+ * cell start can join the two halves of an entity ({@code &nb<td>sp;}), which is then replaced with a space.
+ * <p>
+ * The buffers are reused by the thread, the texts are up to several megabytes (law texts), the buffers are dropped
+ * after converting larger texts than {@link #MAX_RETAINED_CAPACITY}.
+ */
+final class XmlTextConverter {
+
+    static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final ThreadLocal<XmlTextConverter> CONVERTERS = ThreadLocal.withInitial(XmlTextConverter::new);
+
+    private static final String NBSP_ENTITY = "&nbsp;";
+
+    private final StringBuilder decoded = new StringBuilder();
+    private final StringBuilder text = new StringBuilder();
+
+    //for the conversion in passes
+    private final StringBuilder passBuffer1 = new StringBuilder();
+    private final StringBuilder passBuffer2 = new StringBuilder();
+
+    //true after a closing </p>, </tr> or </h...> tag, while the whitespace after it is skipped
+    private boolean afterBlockEnd;
+
+    private XmlTextConverter() {
+    }
+
+    static String toText(CharSequence xml) {
+        XmlTextConverter converter = CONVERTERS.get();
+
+        try {
+            return converter.convert(xml);
+        } finally {
+            if (converter.retainedCapacity() > MAX_RETAINED_CAPACITY) {
+                CONVERTERS.remove();
+            }
+        }
+    }
+
+    private int retainedCapacity() {
+        return Math.max(
+                Math.max(decoded.capacity(), text.capacity()),
+                Math.max(passBuffer1.capacity(), passBuffer2.capacity())
+        );
+    }
+
+    private String convert(CharSequence xml) {
+        CharSequence source = xml;
+
+        if (indexOf(xml, '&') >= 0) {
+            decoded.setLength(0);
+            unescapeXml(xml, decoded);
+            source = decoded;
+        }
+
+        text.setLength(0);
+
+        if (canConvertInOneScan(source)) {
+            convertInOneScan(source);
+        } else {
+            convertInPasses(source);
+        }
+
+        return trimmed(text);
+    }
+
+    private void convertInOneScan(CharSequence source) {
+        afterBlockEnd = false;
+
+        int length = source.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = source.charAt(i);
+
+            if (c == '<') {
+                int tagEnd = findTagEnd(source, i);
+
+                if (tagEnd > i + 1) {
+                    i = appendTag(source, i, tagEnd);
+                    continue;
+                }
+            }
+
+            if (afterBlockEnd && isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            afterBlockEnd = false;
+            i = appendText(source, i);
+        }
+    }
+
+    /**
+     * Appends the character at the index, with the spaces replaced and collapsed.
+     *
+     * @return The index after the appended text.
+     */
+    private int appendText(CharSequence source, int i) {
+        char c = source.charAt(i);
+
+        if (c == '&' && startsWith(source, i, NBSP_ENTITY)) {
+            appendSpace();
+            return i + NBSP_ENTITY.length();
+        }
+
+        if (c == ' ' || c == '\u00a0' || c == '\u3000') {
+            appendSpace();
+        } else if (c == ';' && endsWith(text, NBSP_ENTITY, NBSP_ENTITY.length() - 1)) {
+            //the entity was split by removed cell starts
+            text.setLength(text.length() - NBSP_ENTITY.length() + 1);
+            appendSpace();
+        } else {
+            text.append(c);
+        }
+
+        return i + 1;
+    }
+
+    /**
+     * @return The index after the tag (and the next cell, for a cell end).
+     */
+    private int appendTag(CharSequence source, int start, int end) {
+        int nameStart = start + 1;
+
+        if (regionEquals(source, nameStart, end, "br/")) {
+            if (!afterBlockEnd) {
+                text.append('\n');
+            }
+        } else if (startsWith(source, nameStart, "tr")) {
+            afterBlockEnd = false;
+            text.append(XmlUtils.TR_REPLACEMENT);
+        } else if (regionEquals(source, nameStart, end, "/td") || regionEquals(source, nameStart, end, "/th")) {
+            afterBlockEnd = false;
+            int nextCellEnd = findNextCellEnd(source, end + 1);
+
+            if (nextCellEnd >= 0) {
+                text.append('|');
+                return nextCellEnd + 1;
+            }
+
+            appendSpace();
+        } else if (isCellStart(source, nameStart)) {
+            //removed, the whitespace after a block end is still skipped
+        } else if (regionEquals(source, nameStart, end, "/p")
+                || regionEquals(source, nameStart, end, "/tr")
+                || (startsWith(source, nameStart, "/h") && end - nameStart > 2)) {
+            text.append('\n');
+            afterBlockEnd = true;
+        } else {
+            afterBlockEnd = false;
+            appendSpace();
+        }
+
+        return end + 1;
+    }
+
+    /**
+     * Runs the replacements one after the other, in the order listed in the class comment.
+     */
+    private void convertInPasses(CharSequence source) {
+        passBuffer1.setLength(0);
+        replaceLineBreaks(source, passBuffer1);
+        passBuffer2.setLength(0);
+        replaceRowStarts(passBuffer1, passBuffer2);
+        passBuffer1.setLength(0);
+        replaceCellBoundaries(passBuffer2, passBuffer1);
+        passBuffer2.setLength(0);
+        removeCellStarts(passBuffer1, passBuffer2);
+        passBuffer1.setLength(0);
+        replaceBlockEnds(passBuffer2, passBuffer1);
+        passBuffer2.setLength(0);
+        replaceTags(passBuffer1, passBuffer2);
+
+        for (int i = 0; i < passBuffer2.length(); ) {
+            i = appendText(passBuffer2, i);
+        }
+    }
+
+    private static void replaceLineBreaks(CharSequence in, StringBuilder out) {
+        for (int i = 0; i < in.length(); i++) {
+            if (startsWith(in, i, "<br/>")) {
+                out.append('\n');
+                i += 4;
+            } else {
+                out.append(in.charAt(i));
+            }
+        }
+    }
+
+    private static void replaceRowStarts(CharSequence in, StringBuilder out) {
+        for (int i = 0; i < in.length(); i++) {
+            int tagEnd = startsWith(in, i, "<tr") ? findTagEnd(in, i) : -1;
+
+            if (tagEnd >= 0) {
+                out.append(XmlUtils.TR_REPLACEMENT);
+                i = tagEnd;
+            } else {
+                out.append(in.charAt(i));
+            }
+        }
+    }
+
+    private static void replaceCellBoundaries(CharSequence in, StringBuilder out) {
+        for (int i = 0; i < in.length(); i++) {
+            int nextCellEnd = -1;
+
+            if (startsWith(in, i, "</td>") || startsWith(in, i, "</th>")) {
+                int next = i + 5;
+
+                while (next < in.length() && in.charAt(next) != '<' && in.charAt(next) != '>') {
+                    next++;
+                }
+
+                if (startsWith(in, next, "<td") || startsWith(in, next, "<th")) {
+                    nextCellEnd = findTagEnd(in, next);
+                }
+            }
+
+            if (nextCellEnd >= 0) {
+                out.append('|');
+                i = nextCellEnd;
+            } else {
+                out.append(in.charAt(i));
+            }
+        }
+    }
+
+    private static void removeCellStarts(CharSequence in, StringBuilder out) {
+        for (int i = 0; i < in.length(); i++) {
+            int tagEnd = startsWith(in, i, "<td") || startsWith(in, i, "<th") ? findTagEnd(in, i) : -1;
+
+            if (tagEnd >= 0) {
+                i = tagEnd;
+            } else {
+                out.append(in.charAt(i));
+            }
+        }
+    }
+
+    private static void replaceBlockEnds(CharSequence in, StringBuilder out) {
+        for (int i = 0; i < in.length(); i++) {
+            int tagEnd = -1;
+
+            if (startsWith(in, i, "</p>")) {
+                tagEnd = i + 3;
+            } else if (startsWith(in, i, "</tr>")) {
+                tagEnd = i + 4;
+            } else if (startsWith(in, i, "</h")) {
+                tagEnd = findTagEnd(in, i);
+                tagEnd = tagEnd > i + 3 ? tagEnd : -1;
+            }
+
+            if (tagEnd >= 0) {
+                out.append('\n');
+                i = tagEnd;
+
+                while (i + 1 < in.length() && isWhitespace(in.charAt(i + 1))) {
+                    i++;
+                }
+            } else {
+                out.append(in.charAt(i));
+            }
+        }
+    }
+
+    private static void replaceTags(CharSequence in, StringBuilder out) {
+        for (int i = 0; i < in.length(); i++) {
+            int tagEnd = in.charAt(i) == '<' ? findTagEnd(in, i) : -1;
+
+            if (tagEnd > i + 1) {
+                out.append(' ');
+                i = tagEnd;
+            } else {
+                out.append(in.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Checks if there's a '<' and a '>' outside of tags which form a new tag in the regex implementation. It happens
+     * if there are only tags between them which are replaced before the other tags (e.g. {@code <!-- <td> -->}). A
+     * tag replaced with a space in the last replacement separates them for good.
+     *
+     * @return True if no tags are formed from the text between other tags.
+     */
+    private static boolean canConvertInOneScan(CharSequence source) {
+        int tagStart = -1;
+        boolean unclosedBeforeTags = false;
+
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+
+            if (c == '<') {
+                if (tagStart >= 0) {
+                    unclosedBeforeTags = true;
+                }
+                tagStart = i;
+            } else if (c == '>') {
+                if (tagStart >= 0) {
+                    if (!isReplacedBeforeTags(source, tagStart + 1, i)) {
+                        unclosedBeforeTags = false;
+                    }
+                    tagStart = -1;
+                } else if (unclosedBeforeTags) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return True if the tag is removed or replaced with text before replacing the other tags with a space.
+     */
+    private static boolean isReplacedBeforeTags(CharSequence source, int nameStart, int end) {
+        return regionEquals(source, nameStart, end, "br/")
+                || startsWith(source, nameStart, "tr")
+                || isCellStart(source, nameStart)
+                || regionEquals(source, nameStart, end, "/td")
+                || regionEquals(source, nameStart, end, "/th")
+                || regionEquals(source, nameStart, end, "/p")
+                || regionEquals(source, nameStart, end, "/tr")
+                || (startsWith(source, nameStart, "/h") && end - nameStart > 2);
+    }
+
+    /**
+     * Finds the next cell of the row after a cell end: the text between them can't contain tags other than
+     * {@code <br/>} and {@code <tr>} (those were replaced by text before the cells in the regex implementation).
+     *
+     * @return The index of the closing '>' of the next cell start, -1 if the next tag is not a cell start.
+     */
+    private static int findNextCellEnd(CharSequence source, int from) {
+        int length = source.length();
+        int i = from;
+
+        while (i < length) {
+            char c = source.charAt(i);
+
+            if (c == '>') {
+                return -1;
+            }
+
+            if (c == '<') {
+                int tagEnd = findTagEnd(source, i);
+
+                if (tagEnd <= i + 1) {
+                    return -1;
+                }
+
+                if (isCellStart(source, i + 1)) {
+                    return tagEnd;
+                }
+
+                if (!regionEquals(source, i + 1, tagEnd, "br/") && !startsWith(source, i + 1, "tr")) {
+                    return -1;
+                }
+
+                i = tagEnd;
+            }
+
+            i++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The index of the '>' closing the tag starting at the index, -1 if there's another '<' before it.
+     */
+    private static int findTagEnd(CharSequence source, int start) {
+        for (int i = start + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+
+            if (c == '>') {
+                return i;
+            } else if (c == '<') {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isCellStart(CharSequence source, int nameStart) {
+        return startsWith(source, nameStart, "td") || startsWith(source, nameStart, "th");
+    }
+
+    private void appendSpace() {
+        if (text.isEmpty() || text.charAt(text.length() - 1) != ' ') {
+            text.append(' ');
+        }
+    }
+
+    /**
+     * The whitespace characters of the regex \s.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000b' || c == '\f' || c == '\r';
+    }
+
+    private static String trimmed(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        return text.subSequence(start, end).toString();
+    }
+
+    /**
+     * Decodes the XML entities the same way as {@code StringEscapeUtils.unescapeXml}: the 5 named entities, and the
+     * decimal and hexadecimal character references ending with ';'. Other entities are kept.
+     */
+    static void unescapeXml(CharSequence source, StringBuilder out) {
+        int length = source.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = source.charAt(i);
+
+            if (c != '&') {
+                out.append(c);
+                i++;
+            } else if (startsWith(source, i, "&amp;")) {
+                out.append('&');
+                i += 5;
+            } else if (startsWith(source, i, "&lt;")) {
+                out.append('<');
+                i += 4;
+            } else if (startsWith(source, i, "&gt;")) {
+                out.append('>');
+                i += 4;
+            } else if (startsWith(source, i, "&quot;")) {
+                out.append('"');
+                i += 6;
+            } else if (startsWith(source, i, "&apos;")) {
+                out.append('\'');
+                i += 6;
+            } else {
+                int next = appendCharacterReference(source, i, out);
+
+                if (next > i) {
+                    i = next;
+                } else {
+                    out.append(c);
+                    i++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The index after the character reference (e.g. "&#228;" or "&#xE4;"), the start index if there's no
+     * valid reference at the index.
+     */
+    private static int appendCharacterReference(CharSequence source, int start, StringBuilder out) {
+        int length = source.length();
+
+        if (start >= length - 2 || source.charAt(start + 1) != '#') {
+            return start;
+        }
+
+        int digitsStart = start + 2;
+        boolean hex = source.charAt(digitsStart) == 'x' || source.charAt(digitsStart) == 'X';
+
+        if (hex) {
+            digitsStart++;
+        }
+
+        int radix = hex ? 16 : 10;
+        int digitsEnd = digitsStart;
+        long value = 0;
+
+        //the hex letters are scanned for decimal references too, those are invalid then
+        while (digitsEnd < length && Character.digit(source.charAt(digitsEnd), 16) >= 0
+                && source.charAt(digitsEnd) < 128) {
+            int digit = Character.digit(source.charAt(digitsEnd), radix);
+
+            if (digit < 0) {
+                value = -1;
+            } else if (value >= 0) {
+                value = value * radix + digit;
+
+                if (value > Integer.MAX_VALUE) {
+                    value = -1;
+                }
+            }
+
+            digitsEnd++;
+        }
+
+        if (digitsEnd == digitsStart || value < 0 || digitsEnd >= length || source.charAt(digitsEnd) != ';'
+                || !Character.isValidCodePoint((int) value)) {
+            return start;
+        }
+
+        out.appendCodePoint((int) value);
+
+        return digitsEnd + 1;
+    }
+
+    private static boolean startsWith(CharSequence source, int start, String prefix) {
+        if (start + prefix.length() > source.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (source.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return True if the text ends with the first characters of the value.
+     */
+    private static boolean endsWith(CharSequence text, String value, int count) {
+        return text.length() >= count && startsWith(text, text.length() - count, value.substring(0, count));
+    }
+
+    private static boolean regionEquals(CharSequence source, int start, int end, String value) {
+        return end - start == value.length() && startsWith(source, start, value);
+    }
+
+    private static int indexOf(CharSequence source, char c) {
+        for (int i = 0; i < source.length(); i++) {
+            if (source.charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
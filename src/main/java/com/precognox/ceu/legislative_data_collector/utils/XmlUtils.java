@@ -2,7 +2,6 @@ package com.precognox.ceu.legislative_data_collector.utils;
 
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.text.StringEscapeUtils;
 import org.apache.poi.hpsf.CodePageString;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
@@ -40,8 +39,15 @@ public class XmlUtils {
         return Jsoup.parse(cleanXml);
     }
 
+    /**
+     * Same as {@link Element#selectXpath(String)}, with the compiled expressions cached. Converts the document of the
+     * element to W3C DOM on every call, use {@link XPathDocument} for running several queries on a page.
+     */
     public static Elements find(Element element, String xPath) {
-        return element.selectXpath(xPath);
+        W3CDom w3c = new W3CDom().namespaceAware(false);
+        org.w3c.dom.Document w3cDocument = w3c.fromJsoup(element);
+
+        return XPathExpressionCache.select(w3c, w3c.contextNode(w3cDocument), xPath);
     }
 
     public static Optional<Element> findFirst(Element element, String xPath) {
@@ -54,7 +60,7 @@ public class XmlUtils {
                 return "";
             }
 
-            Elements elements = element.selectXpath(xPath);
+            Elements elements = find(element, xPath);
 
             return !elements.isEmpty() ? elements.first().text() : "";
         } catch (Selector.SelectorParseException e) {
@@ -66,13 +72,17 @@ public class XmlUtils {
 
     public static String findAttribute(Element element, String xPath, String attribute) {
         try {
-            return element.selectXpath(xPath).attr(attribute);
+            return find(element, xPath).attr(attribute);
         } catch (Selector.SelectorParseException e) {
             log.error(String.format("Xpath is invalid: %s;", xPath), e);
             return "";
         }
     }
 
+    /**
+     * Converts markup to plain text: table rows are marked with {@link #TR_REPLACEMENT}, cells are separated with "|",
+     * paragraphs and headings end with a new line, other tags are replaced with a space. See {@link XmlTextConverter}.
+     */
     public static String xmlToText(String xml) {
         if (xml == null) {
             return null;
@@ -80,16 +90,7 @@ public class XmlUtils {
         if (xml.isEmpty()) {
             return "";
         }
-        return StringEscapeUtils.unescapeXml(xml)
-                .replace("<br/>", "\n")
-                .replaceAll("<tr[^<>]*>", TR_REPLACEMENT)
-                .replaceAll("(?ms)</(td|th)>[^<>]*<(td|th)[^<>]*>", "|")
-                .replaceAll("<(td|th)[^<>]*>", "")
-                .replaceAll("(<[/](p|tr|h[^<>]+)>[\\s]*)", "\n")
-                .replaceAll("<[^<>]+>", " ")
-                .replaceAll("(&nbsp;|\u3000| )", " ")
-                .replaceAll("[ ]+", " ")
-                .trim();
+        return XmlTextConverter.toText(xml);
     }
 
     public static String byteToXml(byte[] content) throws IOException {
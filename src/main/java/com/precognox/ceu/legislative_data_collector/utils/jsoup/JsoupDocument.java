@@ -0,0 +1,31 @@
+package com.precognox.ceu.legislative_data_collector.utils.jsoup;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * In-process DOM for a stored page, the Jsoup-backed counterpart of {@link com.jauntium.Document}.
+ */
+public class JsoupDocument extends JsoupElement {
+
+    public JsoupDocument(Document document) {
+        super(document);
+    }
+
+    /**
+     * @param html The page source.
+     * @param baseUrl URL of the page, used to resolve relative links. Can be empty.
+     */
+    public static JsoupDocument parse(String html, String baseUrl) {
+        return new JsoupDocument(Jsoup.parse(html, baseUrl != null ? baseUrl : ""));
+    }
+
+    public Document getDocument() {
+        return (Document) element;
+    }
+
+    public String getUrl() {
+        return getDocument().location();
+    }
+
+}
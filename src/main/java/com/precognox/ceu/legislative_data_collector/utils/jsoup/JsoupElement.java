@@ -0,0 +1,208 @@
+package com.precognox.ceu.legislative_data_collector.utils.jsoup;
+
+import com.jauntium.NotFound;
+import org.jsoup.nodes.Element;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Jsoup-backed replacement for {@link com.jauntium.Element}, supporting the Jaunt-style queries (for example
+ * {@code <a href=".*?\.pdf">text regex}) and the tag/class lookups used by the browser-based collectors. Works on
+ * stored page sources without starting a browser.
+ */
+public class JsoupElement {
+
+    private static final Pattern QUERY_PATTERN = Pattern.compile("^\\s*<\\s*([\\w*]+)(.*?)>(.*)$", Pattern.DOTALL);
+    private static final Pattern QUERY_ATTRIBUTE_PATTERN =
+            Pattern.compile("([\\w-]+)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|(\\S+))");
+
+    protected final Element element;
+
+    public JsoupElement(Element element) {
+        this.element = element;
+    }
+
+    public Element getElement() {
+        return element;
+    }
+
+    /**
+     * Finds the first descendant matching the Jaunt-style query.
+     */
+    public JsoupElement findFirst(String query) throws NotFound {
+        Query parsed = Query.parse(query);
+
+        return element.getAllElements()
+                .stream()
+                .skip(1) //the element itself
+                .filter(parsed::matches)
+                .findFirst()
+                .map(JsoupElement::new)
+                .orElseThrow(() -> new NotFound("Element not found for query: " + query));
+    }
+
+    /**
+     * Finds the first direct child matching the Jaunt-style query.
+     */
+    public JsoupElement getFirst(String query) throws NotFound {
+        Query parsed = Query.parse(query);
+
+        return element.children()
+                .stream()
+                .filter(parsed::matches)
+                .findFirst()
+                .map(JsoupElement::new)
+                .orElseThrow(() -> new NotFound("Child element not found for query: " + query));
+    }
+
+    public List<JsoupElement> findEvery(String query) {
+        Query parsed = Query.parse(query);
+
+        return element.getAllElements()
+                .stream()
+                .skip(1)
+                .filter(parsed::matches)
+                .map(JsoupElement::new)
+                .toList();
+    }
+
+    public List<JsoupElement> findElementsByTag(String tagName) {
+        return element.getElementsByTag(tagName)
+                .stream()
+                .filter(e -> e != element)
+                .map(JsoupElement::new)
+                .toList();
+    }
+
+    /**
+     * Same semantics as Selenium's {@code findElement(By.tagName(...))}: throws an unchecked exception if missing.
+     */
+    public JsoupElement findElementByTag(String tagName) {
+        return findElementsByTag(tagName)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No element with tag: " + tagName));
+    }
+
+    public List<JsoupElement> findElementsByClass(String className) {
+        return element.getElementsByClass(className)
+                .stream()
+                .filter(e -> e != element)
+                .map(JsoupElement::new)
+                .toList();
+    }
+
+    public JsoupElement findElementByClass(String className) {
+        return findElementsByClass(className)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No element with class: " + className));
+    }
+
+    public JsoupElement getParent() {
+        return Optional.ofNullable(element.parent()).map(JsoupElement::new).orElse(null);
+    }
+
+    public List<JsoupElement> getChildElements() {
+        return element.children().stream().map(JsoupElement::new).toList();
+    }
+
+    /**
+     * Returns the attribute value. URL attributes are resolved to absolute URLs (like in a browser) when the
+     * document was parsed with a base URL.
+     */
+    public String getAttribute(String name) {
+        if (!element.hasAttr(name)) {
+            return null;
+        }
+
+        if ("href".equals(name) || "src".equals(name)) {
+            String absolute = element.absUrl(name);
+
+            if (!absolute.isEmpty()) {
+                return absolute;
+            }
+        }
+
+        return element.attr(name);
+    }
+
+    public String getTagName() {
+        return element.tagName();
+    }
+
+    public String getText() {
+        return element.text();
+    }
+
+    public String getChildText() {
+        return element.ownText();
+    }
+
+    public String outerHTML() {
+        return element.outerHtml();
+    }
+
+    @Override
+    public String toString() {
+        return element.cssSelector();
+    }
+
+    /**
+     * Parsed form of a Jaunt query: tag name, attribute regexes and a regex for the own text of the element. All
+     * parts are matched case-insensitively, like in Jaunt.
+     */
+    private record Query(String tagName, Map<String, Pattern> attributes, Pattern childText) {
+
+        private static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL;
+
+        static Query parse(String query) {
+            Matcher queryMatcher = QUERY_PATTERN.matcher(query);
+
+            if (!queryMatcher.matches()) {
+                throw new IllegalArgumentException("Invalid query: " + query);
+            }
+
+            Map<String, Pattern> attributes = new LinkedHashMap<>();
+            Matcher attrMatcher = QUERY_ATTRIBUTE_PATTERN.matcher(queryMatcher.group(2));
+
+            while (attrMatcher.find()) {
+                String value = attrMatcher.group(2) != null ? attrMatcher.group(2)
+                        : attrMatcher.group(3) != null ? attrMatcher.group(3)
+                        : attrMatcher.group(4);
+
+                attributes.put(attrMatcher.group(1).toLowerCase(), Pattern.compile(value, FLAGS));
+            }
+
+            String text = queryMatcher.group(3).trim();
+
+            return new Query(
+                    queryMatcher.group(1),
+                    attributes,
+                    text.isEmpty() ? null : Pattern.compile(text, FLAGS)
+            );
+        }
+
+        boolean matches(Element candidate) {
+            if (!"*".equals(tagName) && !candidate.tagName().equalsIgnoreCase(tagName)) {
+                return false;
+            }
+
+            for (Map.Entry<String, Pattern> attr : attributes.entrySet()) {
+                if (!candidate.hasAttr(attr.getKey())
+                        || !attr.getValue().matcher(candidate.attr(attr.getKey())).matches()) {
+                    return false;
+                }
+            }
+
+            return childText == null || childText.matcher(candidate.ownText().trim()).matches();
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.precognox.ceu.legislative_data_collector.utils.jsoup;
+
+import com.jauntium.NotFound;
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Jsoup-backed counterpart of {@link com.jauntium.Table}. Cells are addressed by (column, row) coordinates, where
+ * rows are the {@code tr} elements of this table (excluding nested tables) and columns are the {@code td}/{@code th}
+ * children of a row. Regexes must match the full, trimmed cell text.
+ * <p>
+ * Spanned cells are filled into the grid like in the HTML table model: a cell with {@code rowspan} occupies its columns
+ * in the following rows, and each cell of a row is placed at the first column after the previous cell which is not
+ * occupied from an earlier row. A cell with {@code colspan} covers its columns even if a cell spanning from an earlier
+ * row overlaps them (that cell keeps the overlapped position), so the later cells of the row stay in their columns.
+ * The text getters return an empty string for the grid positions not covered by any cell, so the positions of the
+ * returned texts are the columns (or rows) of the grid.
+ */
+public class JsoupTable {
+
+    private final JsoupElement tableElement;
+    private final List<List<Element>> rows;
+
+    public JsoupTable(JsoupElement tableElement) {
+        this.tableElement = tableElement;
+        this.rows = buildGrid(tableElement.getElement());
+    }
+
+    public JsoupElement getElement() {
+        return tableElement;
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * @return The {@code [column, row]} coordinates of the first cell matching the regex, or null if not found.
+     */
+    public int[] getCellCoord(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+
+        for (int row = 0; row < rows.size(); row++) {
+            List<Element> cells = rows.get(row);
+
+            for (int col = 0; col < cells.size(); col++) {
+                Element cell = cells.get(col);
+
+                if (cell != null && pattern.matcher(cell.text().trim()).matches()) {
+                    return new int[]{col, row};
+                }
+            }
+        }
+
+        return null;
+    }
+
+    public JsoupElement getCell(int col, int row) throws NotFound {
+        if (row < 0 || row >= rows.size() || col < 0 || col >= rows.get(row).size() || rows.get(row).get(col) == null) {
+            throw new NotFound(String.format("No cell at column %d, row %d", col, row));
+        }
+
+        return new JsoupElement(rows.get(row).get(col));
+    }
+
+    public List<String> getTextFromRow(int row) {
+        return rows.get(row).stream().map(JsoupTable::getText).toList();
+    }
+
+    /**
+     * @return The text of all cells in the first row which has a cell matching the regex.
+     */
+    public List<String> getTextFromRow(String regex) throws NotFound {
+        int[] coords = getCellCoord(regex);
+
+        if (coords == null) {
+            throw new NotFound("No row found matching: " + regex);
+        }
+
+        return getTextFromRow(coords[1]);
+    }
+
+    /**
+     * @return The text of the cells in the given column, one for each row (empty for the rows without a cell there).
+     */
+    public List<String> getTextFromColumn(int col) {
+        return rows.stream()
+                .map(cells -> col < cells.size() ? getText(cells.get(col)) : "")
+                .toList();
+    }
+
+    public List<String> getTextFromColumn(String regex) throws NotFound {
+        int[] coords = getCellCoord(regex);
+
+        if (coords == null) {
+            throw new NotFound("No column found matching: " + regex);
+        }
+
+        return getTextFromColumn(coords[0]);
+    }
+
+    private static List<List<Element>> buildGrid(Element table) {
+        //the wrapped element can also be a tbody or thead
+        Element tableRoot = "table".equals(table.tagName()) ? table : owningTable(table);
+        List<Element> trs = table.getElementsByTag("tr").stream().filter(tr -> owningTable(tr) == tableRoot).toList();
+
+        List<List<Element>> grid = new ArrayList<>(trs.size());
+        trs.forEach(tr -> grid.add(new ArrayList<>()));
+
+        for (int row = 0; row < trs.size(); row++) {
+            int col = 0;
+
+            for (Element cell : trs.get(row).children()) {
+                if (isCell(cell)) {
+                    col = firstFreeColumn(grid.get(row), col);
+
+                    int lastRow = Math.min(row + getSpan(cell, "rowspan"), grid.size());
+                    int colspan = getSpan(cell, "colspan");
+
+                    for (int spannedRow = row; spannedRow < lastRow; spannedRow++) {
+                        occupy(grid.get(spannedRow), cell, col, colspan);
+                    }
+
+                    //the next cell starts after the columns of this one, also if some of them were already occupied
+                    col += colspan;
+                }
+            }
+        }
+
+        return grid;
+    }
+
+    private static int firstFreeColumn(List<Element> cells, int from) {
+        int col = from;
+
+        while (col < cells.size() && cells.get(col) != null) {
+            col++;
+        }
+
+        return col;
+    }
+
+    /**
+     * Puts the cell into the columns of the row it covers, the positions occupied by another cell keep that cell.
+     */
+    private static void occupy(List<Element> cells, Element cell, int col, int colspan) {
+        while (cells.size() < col + colspan) {
+            cells.add(null);
+        }
+
+        for (int spannedCol = col; spannedCol < col + colspan; spannedCol++) {
+            if (cells.get(spannedCol) == null) {
+                cells.set(spannedCol, cell);
+            }
+        }
+    }
+
+    private static String getText(Element cell) {
+        return cell != null ? cell.text().trim() : "";
+    }
+
+    private static int getSpan(Element cell, String attribute) {
+        try {
+            return Math.max(1, Integer.parseInt(cell.attr(attribute).trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static Element owningTable(Element element) {
+        Element current = element.parent();
+
+        while (current != null && !"table".equals(current.tagName())) {
+            current = current.parent();
+        }
+
+        return current;
+    }
+
+    private static boolean isCell(Element element) {
+        return "td".equals(element.tagName()) || "th".equals(element.tagName());
+    }
+
+}
@@ -0,0 +1,258 @@
+package com.precognox.ceu.legislative_data_collector.utils.queue;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Producer/consumer pipeline for processing the items of a source (usually a {@link KeysetDbBrowser}) in parallel.
+ * <p>
+ * The calling thread polls the source and puts the items in a bounded queue, so it's blocked while the workers are
+ * behind (the whole table is never loaded in memory). The workers process the items, and the results are passed to
+ * the sink in batches, on a single thread. Failing items are logged and skipped. {@link #run} returns when every item
+ * is processed and every result is passed to the sink, or when the pipeline is cancelled.
+ * <p>
+ * A pipeline instance can be run once.
+ *
+ * @param <T> The item type.
+ */
+@Slf4j
+public class BoundedPipeline<T> {
+
+    //marks the end of the items in the queues
+    private static final Object END = new Object();
+
+    private final String name;
+    private final InfinityBrowser<? extends Collection<T>> source;
+    private final int workerCount;
+    private final int queueCapacity;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile boolean cancelled = false;
+    private volatile ExecutorService executor;
+    private volatile Thread producerThread;
+
+    /**
+     * @param name Used in the thread names and the log messages.
+     * @param source Returns the items in packages, an empty package marks the end.
+     * @param workerCount The number of worker threads.
+     * @param queueCapacity The maximum number of items waiting for the workers (and results waiting for the sink).
+     */
+    public BoundedPipeline(
+            String name, InfinityBrowser<? extends Collection<T>> source, int workerCount, int queueCapacity) {
+        if (workerCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("workerCount=" + workerCount + ", queueCapacity=" + queueCapacity);
+        }
+
+        this.name = name;
+        this.source = source;
+        this.workerCount = workerCount;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Processes the items without a sink.
+     *
+     * @return The number of successfully processed items.
+     */
+    public long run(Consumer<? super T> action) {
+        return run(item -> {
+            action.accept(item);
+            return null;
+        }, 1, results -> {
+        });
+    }
+
+    /**
+     * Processes the items, and passes the results to the sink in batches. Null results are not passed to the sink.
+     *
+     * @param processor Called by the worker threads.
+     * @param sinkBatchSize The maximum size of the batches passed to the sink.
+     * @param sink Called on a single thread.
+     *
+     * @return The number of successfully processed items.
+     */
+    public <R> long run(Function<? super T, R> processor, int sinkBatchSize, Consumer<List<R>> sink) {
+        if (executor != null) {
+            throw new IllegalStateException("Pipeline " + name + " was already started");
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger threadCounter = new AtomicInteger();
+
+        producerThread = Thread.currentThread();
+        executor = Executors.newFixedThreadPool(workerCount + 1, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        BlockingQueue<Object> items = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Object> results = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger runningWorkers = new AtomicInteger(workerCount);
+
+        for (int i = 0; i < workerCount; i++) {
+            executor.execute(() -> runWorker(items, results, processor, runningWorkers));
+        }
+
+        Future<?> sinkTask = executor.submit(() -> runSink(results, sinkBatchSize, sink));
+
+        try {
+            produce(items);
+
+            for (int i = 0; i < workerCount; i++) {
+                items.put(END);
+            }
+
+            sinkTask.get();
+
+            log.info(
+                    "[{}] Finished: {} items processed, {} failed in {} ms",
+                    name, processedCount.get(), failedCount.get(), System.currentTimeMillis() - start
+            );
+        } catch (InterruptedException e) {
+            if (cancelled) {
+                //the interrupt was only used for stopping the producer
+                Thread.interrupted();
+                log.info("[{}] Cancelled after {} items", name, processedCount.get());
+            } else {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running pipeline " + name, e);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sink of pipeline " + name + " failed", e.getCause());
+        } finally {
+            producerThread = null;
+            executor.shutdownNow();
+        }
+
+        return processedCount.get();
+    }
+
+    /**
+     * Stops the pipeline: no more items are read from the source, the workers and the sink are interrupted. The
+     * items and results in the queues are dropped. Can be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+
+        Thread producer = producerThread;
+
+        if (producer != null) {
+            producer.interrupt();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void produce(BlockingQueue<Object> items) throws InterruptedException {
+        while (!cancelled) {
+            Collection<T> page = source.poll();
+
+            if (page == null || page.isEmpty()) {
+                return;
+            }
+
+            for (T item : page) {
+                items.put(item);
+            }
+        }
+
+        throw new InterruptedException("Cancelled");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> void runWorker(
+            BlockingQueue<Object> items,
+            BlockingQueue<Object> results,
+            Function<? super T, R> processor,
+            AtomicInteger runningWorkers) {
+        try {
+            Object item;
+
+            while ((item = items.take()) != END && !cancelled) {
+                try {
+                    R result = processor.apply((T) item);
+
+                    if (result != null) {
+                        results.put(result);
+                    }
+
+                    processedCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failedCount.incrementAndGet();
+                    //the item is not logged, the entities can contain whole pages
+                    log.error("[{}] Failed to process item", name, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (runningWorkers.decrementAndGet() == 0) {
+                putEnd(results);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> void runSink(BlockingQueue<Object> results, int batchSize, Consumer<List<R>> sink) {
+        try {
+            boolean finished = false;
+
+            while (!finished && !cancelled) {
+                List<Object> batch = new ArrayList<>(batchSize);
+                batch.add(results.take());
+                results.drainTo(batch, batchSize - 1);
+                finished = batch.remove(END);
+
+                if (!batch.isEmpty()) {
+                    try {
+                        sink.accept((List<R>) batch);
+                    } catch (RuntimeException e) {
+                        log.error("[{}] Failed to write batch of {} results", name, batch.size(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Error e) {
+            //without the sink the workers and the producer would be blocked forever
+            log.error("[{}] Sink stopped, cancelling the pipeline", name, e);
+            cancel();
+            throw e;
+        }
+    }
+
+    private void putEnd(BlockingQueue<Object> queue) {
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.precognox.ceu.legislative_data_collector.utils.queue;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Reads a table page by page with keyset pagination: every page is queried with {@code id > lastId ORDER BY id}, so
+ * the query cost doesn't grow with the number of pages read (unlike offset paging), and rows deleted or inserted
+ * while browsing don't shift the pages.
+ * <p>
+ * Not thread safe, it should be polled from a single thread, like the producer of a {@link BoundedPipeline}.
+ *
+ * @param <T> The entity type, with an ascending numeric ID.
+ */
+public class KeysetDbBrowser<T> implements InfinityBrowser<List<T>> {
+
+    private final int pageSize;
+    private final Function<T, Long> idGetter;
+    private final BiFunction<Long, Pageable, List<T>> pageFunction;
+
+    private long lastId;
+    private boolean finished = false;
+
+    /**
+     * @param pageSize Number of rows per query.
+     * @param idGetter Returns the ID used as the key.
+     * @param pageFunction Returns the rows after the given ID in ascending ID order, at most the page size.
+     */
+    public KeysetDbBrowser(
+            int pageSize, Function<T, Long> idGetter, BiFunction<Long, Pageable, List<T>> pageFunction) {
+        this(0, pageSize, idGetter, pageFunction);
+    }
+
+    /**
+     * @param startAfterId Browsing starts after this ID, can be used for resuming.
+     */
+    public KeysetDbBrowser(
+            long startAfterId,
+            int pageSize,
+            Function<T, Long> idGetter,
+            BiFunction<Long, Pageable, List<T>> pageFunction) {
+        this.lastId = startAfterId;
+        this.pageSize = pageSize;
+        this.idGetter = idGetter;
+        this.pageFunction = pageFunction;
+    }
+
+    @Override
+    public List<T> poll() {
+        if (finished) {
+            return new ArrayList<>();
+        }
+
+        List<T> page = pageFunction.apply(lastId, PageRequest.of(0, pageSize));
+
+        if (page.size() < pageSize) {
+            finished = true;
+        }
+
+        if (!page.isEmpty()) {
+            lastId = idGetter.apply(page.get(page.size() - 1));
+        }
+
+        return page;
+    }
+
+    @Override
+    public int getPackageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return The ID of the last row returned.
+     */
+    public long getLastId() {
+        return lastId;
+    }
+
+}
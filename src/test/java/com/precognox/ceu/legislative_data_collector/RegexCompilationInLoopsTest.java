@@ -0,0 +1,331 @@
+package com.precognox.ceu.legislative_data_collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the parser packages do not compile constant regexes inside loops and stream lambdas. Such regexes
+ * should be {@code static final} {@link Pattern} fields, or come from
+ * {@link com.precognox.ceu.legislative_data_collector.utils.PatternCache} if they are built at runtime.
+ * <p>
+ * The sources are scanned as text: comments and literals are skipped, and the brackets are tracked to know if a call
+ * is in the body of a {@code for}, {@code while} or {@code do} loop, or in the arguments of a stream or Optional method
+ * (forEach, map, filter...), run per element or per page. A call is reported if its regex argument is a constant:
+ * string literals and upper case constants.
+ */
+class RegexCompilationInLoopsTest {
+
+    private static final Path SOURCE_ROOT = Path.of("src/main/java/com/precognox/ceu/legislative_data_collector");
+
+    //shared code, the other packages contain the country parsers
+    private static final Set<String> NON_PARSER_PACKAGES =
+            Set.of("common", "entities", "exceptions", "repositories", "utils");
+
+    private static final Set<String> ITERATING_METHODS = Set.of(
+            "forEach", "forEachOrdered", "map", "mapToInt", "mapToLong", "mapToDouble", "mapToObj", "flatMap", "filter",
+            "peek", "anyMatch", "allMatch", "noneMatch", "takeWhile", "dropWhile", "removeIf", "sorted", "min", "max",
+            "comparing", "comparingInt", "reduce", "iterate", "generate", "computeIfAbsent"
+    );
+
+    //calls compiling their first argument as a regex
+    private static final Pattern REGEX_CALL =
+            Pattern.compile("(Pattern\\s*\\.\\s*(?:compile|matches)|\\.\\s*(?:matches|replaceAll|replaceFirst|split))\\s*$");
+
+    private static final Pattern CONSTANT_PART =
+            Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"|(?:[A-Z]\\w*\\.)*[A-Z][A-Z0-9_]*(?:\\s*\\.\\s*pattern\\s*\\(\\s*\\))?");
+
+    //one character, or an escaped non-alphanumeric character: String.split does not compile these
+    private static final Pattern SPLIT_FAST_PATH =
+            Pattern.compile("\"(?:[^.$|()\\[{^?*+\\\\\"]|\\\\[ntrf'\"]|\\\\\\\\[^\\p{Alnum}])\"");
+
+    @Test
+    public void testNoRegexCompilationInLoops() throws IOException {
+        List<String> violations = new ArrayList<>();
+
+        try (Stream<Path> files = Files.walk(SOURCE_ROOT)) {
+            for (Path file : files.filter(RegexCompilationInLoopsTest::isParserSource).toList()) {
+                findViolations(Files.readString(file), SOURCE_ROOT.relativize(file).toString(), violations);
+            }
+        }
+
+        assertTrue(violations.isEmpty(), "Regex compiled in a loop:\n" + String.join("\n", violations));
+    }
+
+    @Test
+    public void testFindViolations() {
+        String source = """
+                class A {
+                    private static final Pattern P = Pattern.compile("a+");
+
+                    void run(List<String> lines, String regex) {
+                        // for (String l : lines) { l.matches("x"); }
+                        String s = "for (x) { y.split(\\"a|b\\"); }";
+
+                        for (String line : lines) {
+                            Pattern.compile("\\\\d+");
+                            line.split(",");
+                            line.split("\\n");
+                            line.split("\\\\s+");
+                            line.matches(regex);
+                            P.matcher(line).matches();
+                            P.matcher(line).replaceAll("");
+                        }
+
+                        while (true) line.replaceAll(CONSTANT + "x", "");
+                        lines.stream().map(l -> l.replaceFirst("a", "b")).toList();
+                        lines.forEach(l -> { if (l.matches(P.pattern())) { } });
+                        lines.stream().filter(String::isEmpty).findFirst().map(l -> l).orElse(s.matches("x") ? "" : s);
+                    }
+                }
+                """;
+
+        List<String> violations = new ArrayList<>();
+        findViolations(source, "A.java", violations);
+
+        assertEquals(List.of(
+                "A.java:9: Pattern.compile",
+                "A.java:12: .split",
+                "A.java:18: .replaceAll",
+                "A.java:19: .replaceFirst",
+                "A.java:20: .matches"
+        ), violations);
+    }
+
+    private static boolean isParserSource(Path file) {
+        Path relative = SOURCE_ROOT.relativize(file);
+
+        return file.toString().endsWith(".java")
+                && relative.getNameCount() > 1
+                && !NON_PARSER_PACKAGES.contains(relative.getName(0).toString());
+    }
+
+    /**
+     * A bracket, or the single statement body of a loop.
+     */
+    private record Frame(char bracket, boolean loop, boolean loopHeader) {
+    }
+
+    private static void findViolations(String source, String fileName, List<String> violations) {
+        String code = maskCommentsAndLiterals(source);
+        Deque<Frame> frames = new ArrayDeque<>();
+        int loopDepth = 0;
+        boolean loopBodyPending = false;
+        boolean doPending = false;
+
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+
+            if (loopBodyPending || doPending) {
+                loopBodyPending = false;
+                doPending = false;
+
+                if (c == '{') {
+                    frames.push(new Frame('{', true, false));
+                    loopDepth++;
+                    continue;
+                }
+
+                frames.push(new Frame(';', true, false));
+                loopDepth++;
+            }
+
+            if (c == '(') {
+                String word = wordBefore(code, i);
+                boolean header = word.equals("for") || word.equals("while");
+                boolean iterating = ITERATING_METHODS.contains(word);
+
+                if (loopDepth > 0) {
+                    checkCall(source, code, i, fileName, violations);
+                }
+
+                frames.push(new Frame('(', iterating, header));
+                loopDepth += iterating ? 1 : 0;
+            } else if (c == '{') {
+                frames.push(new Frame('{', false, false));
+            } else if (c == ')' || c == '}') {
+                Frame frame = frames.pop();
+                loopDepth -= frame.loop() ? 1 : 0;
+                loopBodyPending = frame.loopHeader();
+                loopDepth -= closeStatementBodies(frames, c == '}');
+            } else if (c == ';') {
+                loopDepth -= closeStatementBodies(frames, true);
+            } else if (code.startsWith("do", i) && isWordAt(code, i, 2)) {
+                doPending = true;
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Closes the single statement loop bodies ended by a semicolon or a block.
+     *
+     * @return The number of closed loop bodies.
+     */
+    private static int closeStatementBodies(Deque<Frame> frames, boolean statementEnd) {
+        int closed = 0;
+
+        while (statementEnd && !frames.isEmpty() && frames.peek().bracket() == ';') {
+            frames.pop();
+            closed++;
+        }
+
+        return closed;
+    }
+
+    /**
+     * Reports the call before the opening bracket if it compiles a constant regex.
+     */
+    private static void checkCall(String source, String code, int openBracket, String fileName, List<String> violations) {
+        Matcher call = REGEX_CALL.matcher(code.substring(Math.max(0, openBracket - 40), openBracket));
+
+        if (!call.find()) {
+            return;
+        }
+
+        List<String> arguments = arguments(source, code, openBracket + 1);
+        String argument = arguments.get(0).strip();
+        String callName = call.group(1).replaceAll("\\s", "");
+
+        //Matcher.replaceAll and replaceFirst take only the replacement
+        if (callName.startsWith(".replace") && arguments.size() < 2) {
+            return;
+        }
+
+        boolean constant = !argument.isEmpty() && CONSTANT_PART.matcher(argument).replaceAll("").matches("[\\s+]*");
+        boolean splitFastPath = callName.equals(".split") && SPLIT_FAST_PATH.matcher(argument).matches();
+
+        if (constant && !splitFastPath) {
+            int line = (int) code.substring(0, openBracket).chars().filter(ch -> ch == '\n').count() + 1;
+            violations.add(fileName + ":" + line + ": " + callName);
+        }
+    }
+
+    /**
+     * @return The text of the arguments of a call, with the literals and without the comments.
+     */
+    private static List<String> arguments(String source, String code, int start) {
+        List<String> arguments = new ArrayList<>();
+        StringBuilder argument = new StringBuilder();
+        int depth = 0;
+
+        for (int i = start; i < code.length(); i++) {
+            char c = code.charAt(i);
+
+            if (depth == 0 && (c == ',' || c == ')')) {
+                arguments.add(argument.toString());
+                argument.setLength(0);
+
+                if (c == ')') {
+                    break;
+                }
+
+                continue;
+            }
+
+            depth += c == '(' || c == '[' || c == '{' ? 1 : c == ')' || c == ']' || c == '}' ? -1 : 0;
+            argument.append(c == LITERAL_MASK ? source.charAt(i) : c);
+        }
+
+        return arguments;
+    }
+
+    private static final char LITERAL_MASK = '\u0001';
+
+    /**
+     * Replaces the comments with spaces and the content of the string and character literals with a mask character,
+     * keeping the positions and the line breaks.
+     */
+    private static String maskCommentsAndLiterals(String source) {
+        StringBuilder code = new StringBuilder(source.length());
+        int i = 0;
+
+        while (i < source.length()) {
+            char c = source.charAt(i);
+
+            if (source.startsWith("//", i)) {
+                while (i < source.length() && source.charAt(i) != '\n') {
+                    code.append(' ');
+                    i++;
+                }
+            } else if (source.startsWith("/*", i)) {
+                int end = source.indexOf("*/", i + 2);
+                end = end < 0 ? source.length() : end + 2;
+
+                for (; i < end; i++) {
+                    code.append(source.charAt(i) == '\n' ? '\n' : ' ');
+                }
+            } else if (source.startsWith("\"\"\"", i)) {
+                int end = source.indexOf("\"\"\"", i + 3);
+                end = end < 0 ? source.length() : end + 3;
+                code.append("\"\"\"");
+
+                for (i += 3; i < end - 3; i++) {
+                    code.append(source.charAt(i) == '\n' ? '\n' : LITERAL_MASK);
+                }
+
+                code.append("\"\"\"");
+                i = end;
+            } else if (c == '"' || c == '\'') {
+                code.append(c);
+                i++;
+
+                while (i < source.length() && source.charAt(i) != c) {
+                    int length = source.charAt(i) == '\\' ? 2 : 1;
+                    code.append(String.valueOf(LITERAL_MASK).repeat(Math.min(length, source.length() - i)));
+                    i += length;
+                }
+
+                if (i < source.length()) {
+                    code.append(c);
+                    i++;
+                }
+            } else {
+                code.append(c);
+                i++;
+            }
+        }
+
+        return code.toString();
+    }
+
+    private static String wordBefore(String code, int index) {
+        int end = index;
+
+        while (end > 0 && Character.isWhitespace(code.charAt(end - 1))) {
+            end--;
+        }
+
+        int start = end;
+
+        while (start > 0 && Character.isJavaIdentifierPart(code.charAt(start - 1))) {
+            start--;
+        }
+
+        return code.substring(start, end);
+    }
+
+    private static boolean isWordAt(String code, int index, int length) {
+        boolean startsWord = index == 0 || !Character.isJavaIdentifierPart(code.charAt(index - 1));
+        boolean endsWord = index + length >= code.length() || !Character.isJavaIdentifierPart(code.charAt(index + length));
+
+        return startsWord && endsWord;
+    }
+
+}
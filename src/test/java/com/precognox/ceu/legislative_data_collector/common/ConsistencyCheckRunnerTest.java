@@ -0,0 +1,105 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.precognox.ceu.legislative_data_collector.common.ConsistencyCheckRunner.Check;
+import com.precognox.ceu.legislative_data_collector.common.ConsistencyCheckRunner.CheckGroup;
+import com.precognox.ceu.legislative_data_collector.common.ConsistencyCheckRunner.CheckResult;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistencyCheckRunnerTest {
+
+    @Test
+    public void testBillTableChecksAreFused() {
+        List<CheckGroup> groups = ConsistencyCheckRunner.buildGroups(List.of(
+                new Check(0, "Empty bill ID", "select * from bill_main_table where bill_id is null"),
+                new Check(1, "Passed", "select * from bill_main_table where bill_status = 'PASS' and law_id is null")
+        ));
+
+        assertEquals(1, groups.size());
+
+        CheckGroup billGroup = groups.get(0);
+        assertTrue(billGroup.fused());
+        assertEquals(List.of(0, 1), billGroup.checks().stream().map(Check::index).toList());
+        assertEquals(
+                "SELECT record_id, bill_page_url, coalesce((bill_id is null), false) AS check_0, " +
+                        "coalesce((bill_status = 'PASS' and law_id is null), false) AS check_1 " +
+                        "FROM bill_main_table WHERE (bill_id is null) OR (bill_status = 'PASS' and law_id is null)",
+                billGroup.sql()
+        );
+    }
+
+    @Test
+    public void testOtherTablesAreNotFused() {
+        String amendmentsQuery = "SELECT * FROM amendments WHERE amendment_id IS NULL";
+        List<CheckGroup> groups = ConsistencyCheckRunner.buildGroups(List.of(
+                new Check(0, "Empty bill ID", "select * from bill_main_table where bill_id is null"),
+                new Check(1, "Empty amendment ID", amendmentsQuery),
+                new Check(2, "Empty amendment date", "select * from amendments where date is null")
+        ));
+
+        assertEquals(3, groups.size());
+        assertFalse(groups.get(0).fused());
+        assertEquals(amendmentsQuery, groups.get(0).sql());
+        assertEquals(List.of(1), groups.get(0).checks().stream().map(Check::index).toList());
+        assertFalse(groups.get(1).fused());
+        assertEquals(List.of(2), groups.get(1).checks().stream().map(Check::index).toList());
+        assertTrue(groups.get(2).fused());
+        assertEquals(List.of(0), groups.get(2).checks().stream().map(Check::index).toList());
+    }
+
+    @Test
+    public void testOtherQueriesRunAlone() {
+        String query = "select b.* from bill_main_table b join amendments a on a.record_id = b.id";
+        List<CheckGroup> groups = ConsistencyCheckRunner.buildGroups(List.of(new Check(0, "Join", query)));
+
+        assertEquals(1, groups.size());
+        assertFalse(groups.get(0).fused());
+        assertEquals(query, groups.get(0).sql());
+    }
+
+    @Test
+    public void testBundledChecksRunInOneScan() throws IOException {
+        List<Check> checks = new ArrayList<>();
+
+        try (InputStreamReader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/consistency_checks.csv"))) {
+            List<CSVRecord> records = CSVFormat.DEFAULT.builder()
+                    .setHeader()
+                    .setSkipHeaderRecord(true)
+                    .build()
+                    .parse(reader)
+                    .getRecords();
+
+            for (int i = 0; i < records.size(); i++) {
+                checks.add(new Check(i, records.get(i).get("description"), records.get(i).get("query")));
+            }
+        }
+
+        List<CheckGroup> groups = ConsistencyCheckRunner.buildGroups(checks);
+
+        assertEquals(1, groups.size());
+        assertEquals(checks.size(), groups.get(0).checks().size());
+    }
+
+    @Test
+    public void testResultKeepsFirstSamples() {
+        CheckResult result = new CheckResult();
+
+        for (int i = 0; i < ConsistencyCheckRunner.SAMPLE_SIZE + 5; i++) {
+            result.add("HU-" + i, null);
+        }
+
+        assertEquals(ConsistencyCheckRunner.SAMPLE_SIZE + 5, result.getCount());
+        assertEquals(ConsistencyCheckRunner.SAMPLE_SIZE, result.getSamples().size());
+        assertEquals("HU-0 null", result.getSamples().get(0));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.precognox.ceu.legislative_data_collector.common.DatasetStatistics.Column;
+import com.precognox.ceu.legislative_data_collector.common.DatasetStatistics.ValueKind;
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetStatisticsTest {
+
+    @Test
+    public void testMainTableQuery() {
+        String query = DatasetStatistics.buildAggregateQuery("legislative_data", "bill_main_table", List.of(
+                new Column("bill_title", ValueKind.TEXT_LENGTH),
+                new Column("stages_count", ValueKind.NUMBER)
+        ));
+
+        assertEquals(
+                "SELECT count(*)"
+                        + ", count(t.\"bill_title\"), count(DISTINCT md5(t.\"bill_title\"))"
+                        + ", min(char_length(t.\"bill_title\"))::text, max(char_length(t.\"bill_title\"))::text"
+                        + ", avg(char_length(t.\"bill_title\"))::double precision"
+                        + ", count(t.\"stages_count\"), count(DISTINCT t.\"stages_count\")"
+                        + ", min(t.\"stages_count\")::text, max(t.\"stages_count\")::text"
+                        + ", avg(t.\"stages_count\")::double precision"
+                        + " FROM legislative_data.bill_main_table t WHERE t.country = ?",
+                query
+        );
+    }
+
+    @Test
+    public void testChildTableQueryIsFilteredThroughTheBills() {
+        String query = DatasetStatistics.buildAggregateQuery("legislative_data", "legislative_stages", List.of(
+                new Column("date", ValueKind.DATE),
+                new Column("flag", ValueKind.OTHER)
+        ));
+
+        assertEquals(
+                "SELECT count(*)"
+                        + ", count(t.\"date\"), count(DISTINCT t.\"date\")"
+                        + ", min(t.\"date\")::text, max(t.\"date\")::text, NULL::double precision"
+                        + ", count(t.\"flag\"), count(DISTINCT t.\"flag\"), NULL::text, NULL::text"
+                        + ", NULL::double precision"
+                        + " FROM legislative_data.legislative_stages t"
+                        + " JOIN legislative_data.bill_main_table b ON b.id = t.record_id WHERE b.country = ?",
+                query
+        );
+    }
+
+    @Test
+    public void testCollectionQuery() {
+        String query = DatasetStatistics.buildCollectionQuery(
+                "legislative_data", List.of("modifiedLaws", "stages")
+        );
+
+        assertEquals(
+                "SELECT count(*)"
+                        + ", count(*) FILTER (WHERE EXISTS (SELECT 1 FROM legislative_data.affected_laws c"
+                        + " WHERE c.record_id = t.id))"
+                        + ", count(*) FILTER (WHERE EXISTS (SELECT 1 FROM legislative_data.legislative_stages c"
+                        + " WHERE c.record_id = t.id))"
+                        + " FROM legislative_data.bill_main_table t WHERE t.country = ?",
+                query
+        );
+    }
+
+    @Test
+    public void testCountrySpecificTables() {
+        assertEquals(DatasetStatistics.TABLES, DatasetStatistics.getTables(Country.HUNGARY));
+
+        List<String> brazilTables = DatasetStatistics.getTables(Country.BRAZIL);
+        assertEquals("brazil_spec_vars", brazilTables.get(brazilTables.size() - 1));
+    }
+
+    @Test
+    public void testValueKinds() {
+        assertEquals(ValueKind.NUMBER, DatasetStatistics.valueKind("integer"));
+        assertEquals(ValueKind.DATE, DatasetStatistics.valueKind("date"));
+        assertEquals(ValueKind.TEXT_LENGTH, DatasetStatistics.valueKind("character varying"));
+        assertEquals(ValueKind.OTHER, DatasetStatistics.valueKind("boolean"));
+    }
+
+}
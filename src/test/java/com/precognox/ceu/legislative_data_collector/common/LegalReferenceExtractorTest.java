@@ -0,0 +1,126 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.precognox.ceu.legislative_data_collector.common.LegalReferenceExtractor.LegalReference;
+import com.precognox.ceu.legislative_data_collector.common.LegalReferenceExtractor.ReferencePattern;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegalReferenceExtractorTest {
+
+    private static final String GAZETTE_NUMBER = "ДВ, бр. (\\d{1,3}) от (\\d\\d\\d\\d) г.";
+    private static final String LAW_ID = "(\\d{4})\\. évi ([IVXLCM]+)\\. törvény";
+
+    private static final LegalReferenceExtractor EXTRACTOR = LegalReferenceExtractor.builder()
+            .add(new ReferencePattern("за изменение и допълнение на Закона(.+?)" + GAZETTE_NUMBER)
+                    .startsWith("за изменение и допълнение на Закона")
+                    .requires("ДВ, бр")
+                    .title(1)
+                    .gazetteIssue(2)
+                    .year(3))
+            .add(new ReferencePattern("изменение(.+?)" + GAZETTE_NUMBER)
+                    .startsWith("изменение")
+                    .requires("ДВ, бр")
+                    .title(1))
+            .add(new ReferencePattern(LAW_ID + "[\\s\\S]{0,30}módosul")
+                    .startsAt(LAW_ID)
+                    .requires("törvény", "módosul")
+                    .year(1)
+                    .lawNumber(2))
+            .add(new ReferencePattern(LAW_ID + "\\s*módosításáról")
+                    .startsAt(LAW_ID)
+                    .requires("módosításáról")
+                    .citation(1))
+            .add(new ReferencePattern("(?<=Hatályát veszti )[^.]+\\."))
+            .build();
+
+    @Test
+    public void testTypedReferences() {
+        String text = "Законопроект за изменение и допълнение на Закона за енергийната ефективност "
+                + "(ДВ, бр. 35 от 2015 г.) A 2008. évi CV. törvény az alábbiak szerint módosul";
+
+        List<LegalReference> references = EXTRACTOR.find(text);
+
+        assertEquals(3, references.size());
+        assertEquals(" за енергийната ефективност (", references.get(0).title());
+        assertEquals("35", references.get(0).gazetteIssue());
+        assertEquals("2015", references.get(0).year());
+        assertNull(references.get(0).lawNumber());
+        assertEquals(1, references.get(1).patternIndex());
+        assertEquals(2, references.get(2).patternIndex());
+        assertEquals("2008", references.get(2).year());
+        assertEquals("CV", references.get(2).lawNumber());
+        assertEquals(text.indexOf("2008"), references.get(2).start());
+        assertEquals(text.length(), references.get(2).end());
+    }
+
+    @Test
+    public void testMissingRequiredLiteral() {
+        assertTrue(EXTRACTOR.find("за изменение и допълнение на Закона за енергията (бр. 35 от 2015 г.)").isEmpty());
+        assertTrue(EXTRACTOR.find("").isEmpty());
+    }
+
+    @Test
+    public void testSameMatchesAsRegexes() {
+        List<String> texts = List.of(
+                "2001. évi I. törvény 2002. évi II. törvény módosul, 2003. évi III. törvény módosításáról",
+                "12001. évi I. törvény módosul 2001. évi I. törvény\nmódosításáról módosításáról",
+                "изменение и изменение за изменение и допълнение на Закона ДВ, бр. 1 от 2000 г. ДВ, бр. 2 от 2001 г.",
+                "Hatályát veszti a 2001. évi I. törvény. Hatályát veszti Hatályát veszti x."
+        );
+
+        for (String text : texts) {
+            assertEquals(findWithRegexes(text), EXTRACTOR.find(text), text);
+        }
+    }
+
+    @Test
+    public void testSameMatchesAsRegexesOnRandomTexts() {
+        List<String> parts = List.of(
+                "2001. évi I. törvény", "2002. évi CV. törvény", "1", " ", "\n", "módosul", "módosításáról", "изменение",
+                "за изменение и допълнение на Закона", "ДВ, бр. 12 от 2010 г.", "Hatályát veszti ", ".", "x"
+        );
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder text = new StringBuilder();
+
+            for (int j = random.nextInt(15); j > 0; j--) {
+                text.append(parts.get(random.nextInt(parts.size())));
+            }
+
+            assertEquals(findWithRegexes(text.toString()), EXTRACTOR.find(text), text.toString());
+        }
+    }
+
+    private static List<LegalReference> findWithRegexes(String text) {
+        List<LegalReference> references = new ArrayList<>();
+        List<Pattern> patterns = EXTRACTOR.getPatterns();
+
+        for (int i = 0; i < patterns.size(); i++) {
+            Matcher matcher = patterns.get(i).matcher(text);
+
+            while (matcher.find()) {
+                references.add(new LegalReference(
+                        i,
+                        matcher.start(),
+                        matcher.end(),
+                        matcher.group(i == 3 ? 1 : 0),
+                        i < 2 ? matcher.group(1) : null,
+                        i == 0 || i == 2 ? matcher.group(i == 0 ? 3 : 1) : null,
+                        i == 2 ? matcher.group(2) : null,
+                        i == 0 ? matcher.group(2) : null
+                ));
+            }
+        }
+
+        return references;
+    }
+
+}
@@ -6,8 +6,15 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class ResourceLoader {
 
@@ -41,4 +48,35 @@ public class ResourceLoader {
         }
     }
 
+    /**
+     * Lists the files of the test resources folder (recursively), for comparing an implementation with its reference
+     * on all stored pages and texts.
+     *
+     * @param filter Selects the files, e.g. by extension.
+     *
+     * @return The matching files, not empty.
+     */
+    public static List<Path> getResourceFiles(Predicate<Path> filter) {
+        try (Stream<Path> files = Files.walk(getResourcesFolder())) {
+            List<Path> result = files.filter(Files::isRegularFile).filter(filter).toList();
+
+            if (result.isEmpty()) {
+                throw new IllegalStateException("No matching resource files");
+            }
+
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path getResourcesFolder() {
+        try {
+            return Path.of(Objects.requireNonNull(ResourceLoader.class.getResource("/testBillText.txt")).toURI())
+                    .getParent();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
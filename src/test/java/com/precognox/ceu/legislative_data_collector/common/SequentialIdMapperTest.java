@@ -0,0 +1,122 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import com.precognox.ceu.legislative_data_collector.common.SequentialIdMapper.IdMapping;
+import com.precognox.ceu.legislative_data_collector.common.SequentialIdMapper.RemapResult;
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the remapping against a Postgres container. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SequentialIdMapperTest {
+
+    private static final String SCHEMA = "legislative_data";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static Connection connection;
+    private static JdbcTemplate jdbcTemplate;
+    private static SequentialIdMapper mapper;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()
+        );
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+        }
+
+        Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        database.setDefaultSchemaName(SCHEMA);
+        database.setLiquibaseSchemaName(SCHEMA);
+
+        new Liquibase("db/changelog/changelog-master.xml", new ClassLoaderResourceAccessor(), database)
+                .update(new Contexts());
+
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()
+        ));
+        mapper = new SequentialIdMapper(jdbcTemplate, SCHEMA, null, null);
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @BeforeEach
+    public void seed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA);
+            statement.execute("DELETE FROM bill_main_table");
+            //GE00003 is the oldest, so the IDs of the first and the last record are swapped
+            statement.execute(
+                    "INSERT INTO bill_main_table (id, record_id, country, date_introduction) VALUES "
+                            + "(1, 'GE00001', 'GEORGIA', '2020-03-01'), "
+                            + "(2, 'GE00002', 'GEORGIA', '2020-02-01'), "
+                            + "(3, 'GE00007', 'GEORGIA', '2020-01-01'), "
+                            + "(4, 'GE00009', 'GEORGIA', null), "
+                            + "(5, 'HU00001', 'HUNGARY', '2019-01-01')"
+            );
+        }
+    }
+
+    @Test
+    public void testIdsAreRenumberedByIntroductionDate() {
+        RemapResult result = mapper.reassignIds(Country.GEORGIA);
+
+        assertEquals(4, result.recordCount());
+        assertEquals(3, result.changes().size());
+        assertEquals(new IdMapping(3, "GE00007", "GE00001"), result.changes().get(0));
+        assertEquals(
+                List.of("GE00003", "GE00002", "GE00001", "GE00004", "HU00001"),
+                jdbcTemplate.queryForList(
+                        "SELECT record_id FROM " + SCHEMA + ".bill_main_table ORDER BY id", String.class
+                )
+        );
+    }
+
+    @Test
+    public void testDryRunIsRolledBack() {
+        RemapResult result = mapper.reassignIds(Country.GEORGIA, true);
+
+        assertTrue(result.dryRun());
+        assertEquals(3, result.changes().size());
+        assertEquals(
+                List.of("GE00001", "GE00002", "GE00007", "GE00009", "HU00001"),
+                jdbcTemplate.queryForList(
+                        "SELECT record_id FROM " + SCHEMA + ".bill_main_table ORDER BY id", String.class
+                )
+        );
+    }
+
+}
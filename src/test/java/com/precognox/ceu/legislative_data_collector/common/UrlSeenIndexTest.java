@@ -0,0 +1,75 @@
+package com.precognox.ceu.legislative_data_collector.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlSeenIndexTest {
+
+    private static final String URL = "https://api.sejm.gov.pl/eli/acts/DU/%d/%d";
+
+    @Test
+    public void testAddedUrlsAreFound() {
+        AtomicInteger fallbackCalls = new AtomicInteger();
+        UrlSeenIndex index = new UrlSeenIndex("test", 1000, 10_000, url -> {
+            fallbackCalls.incrementAndGet();
+            return false;
+        });
+
+        IntStream.range(0, 1000).forEach(i -> index.add(String.format(URL, 2020, i)));
+
+        assertTrue(index.contains(String.format(URL, 2020, 0)));
+        assertTrue(index.contains(String.format(URL, 2020, 999)));
+        assertFalse(index.contains(String.format(URL, 2021, 0)));
+        assertTrue(index.isExactSetComplete());
+        assertEquals(0, fallbackCalls.get());
+    }
+
+    @Test
+    public void testNullKeys() {
+        UrlSeenIndex index = new UrlSeenIndex("test", 0, 10, url -> true);
+        index.add(null);
+
+        assertFalse(index.contains(null));
+    }
+
+    @Test
+    public void testFallbackIsUsedAboveExactCapacity() {
+        Set<String> stored = new HashSet<>();
+        AtomicInteger fallbackCalls = new AtomicInteger();
+        UrlSeenIndex index = new UrlSeenIndex("test", 100, 10, url -> {
+            fallbackCalls.incrementAndGet();
+            return stored.contains(url);
+        });
+
+        for (int i = 0; i < 100; i++) {
+            String url = String.format(URL, 2022, i);
+            stored.add(url);
+            index.add(url);
+        }
+
+        assertFalse(index.isExactSetComplete());
+
+        //every stored URL is found, either in the exact set or through the fallback
+        for (int i = 0; i < 100; i++) {
+            assertTrue(index.contains(String.format(URL, 2022, i)));
+        }
+
+        assertTrue(fallbackCalls.get() > 0);
+
+        //new URLs are mostly answered by the Bloom filter
+        fallbackCalls.set(0);
+        long newUrlsFound = IntStream.range(0, 1000)
+                .filter(i -> index.contains(String.format(URL, 2023, i)))
+                .count();
+
+        assertEquals(0, newUrlsFound);
+        assertTrue(fallbackCalls.get() < 100);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.precognox.ceu.legislative_data_collector.common.filestore;
+
+import com.precognox.ceu.legislative_data_collector.entities.DownloadedFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownloadedFileContentListenerTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    public void testContentIsStoredBeforeSave() throws IOException {
+        LocalFileContentStore store = new LocalFileContentStore(root.toString());
+        DownloadedFileContentListener listener = new DownloadedFileContentListener(store);
+        byte[] content = "%PDF-1.4".getBytes(StandardCharsets.UTF_8);
+
+        DownloadedFile file = new DownloadedFile();
+        file.setContent(content);
+        listener.storeContent(file);
+
+        assertNotNull(file.getContentHash());
+        assertEquals(content.length, file.getSize());
+        assertFalse(file.hasUnstoredContent());
+        assertArrayEquals(content, store.read(file.getContentHash()));
+    }
+
+    @Test
+    public void testLoadedContentIsReadFromStore() throws IOException {
+        LocalFileContentStore store = new LocalFileContentStore(root.toString());
+        DownloadedFileContentListener listener = new DownloadedFileContentListener(store);
+        byte[] content = "%PDF-1.4".getBytes(StandardCharsets.UTF_8);
+
+        //as loaded from the DB: only the hash is set
+        DownloadedFile file = new DownloadedFile();
+        file.setContentHash(store.put(content));
+        listener.setContentStore(file);
+
+        assertTrue(file.getContentFile().isPresent());
+        assertArrayEquals(content, file.getContent());
+
+        try (InputStream in = file.openContent()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+}
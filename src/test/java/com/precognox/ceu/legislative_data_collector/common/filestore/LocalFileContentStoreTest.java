@@ -0,0 +1,102 @@
+package com.precognox.ceu.legislative_data_collector.common.filestore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileContentStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    public void testPutAndRead() throws IOException {
+        LocalFileContentStore store = new LocalFileContentStore(root.toString());
+        byte[] content = "%PDF-1.4 bill text".getBytes(StandardCharsets.UTF_8);
+
+        String hash = store.put(content);
+
+        assertEquals(64, hash.length());
+        assertArrayEquals(content, store.read(hash));
+
+        try (InputStream in = store.open(hash)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        assertTrue(store.verify(hash));
+    }
+
+    @Test
+    public void testFilesAreShardedByHash() throws IOException {
+        LocalFileContentStore store = new LocalFileContentStore(root.toString());
+        String hash = store.put(new byte[]{1, 2, 3});
+
+        Path expected = root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+
+        assertTrue(Files.exists(expected));
+        assertEquals(expected.toFile().getAbsoluteFile(), store.getFile(hash).orElseThrow().getAbsoluteFile());
+    }
+
+    @Test
+    public void testIdenticalContentIsStoredOnce() throws Exception {
+        LocalFileContentStore store = new LocalFileContentStore(root.toString());
+        byte[] content = "same document".getBytes(StandardCharsets.UTF_8);
+        String expectedHash = store.put(content);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Callable<String>> tasks = IntStream.range(0, 32)
+                    .<Callable<String>>mapToObj(i -> () -> store.put(content))
+                    .toList();
+
+            for (Future<String> result : executor.invokeAll(tasks)) {
+                assertEquals(expectedHash, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try (var files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    public void testVerifyDetectsCorruptedAndMissingFiles() throws IOException {
+        LocalFileContentStore store = new LocalFileContentStore(root.toString());
+        String hash = store.put("original".getBytes(StandardCharsets.UTF_8));
+
+        Files.writeString(store.resolve(hash), "corrupted");
+        assertFalse(store.verify(hash));
+
+        Files.delete(store.resolve(hash));
+        assertFalse(store.verify(hash));
+    }
+
+    @Test
+    public void testInvalidHashIsRejected() {
+        LocalFileContentStore store = new LocalFileContentStore(root.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> store.read("../../etc/passwd"));
+    }
+
+    @Test
+    public void testRootMustBeAbsolute() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalFileContentStore("file_store"));
+        assertThrows(IllegalArgumentException.class, () -> new LocalFileContentStore(""));
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.precognox.ceu.legislative_data_collector.common.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostQueueTest {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong clock = new AtomicLong();
+
+    //collects the requests handed to the pool instead of running them
+    private final List<Runnable> dispatched = new CopyOnWriteArrayList<>();
+    private final CountDownLatch secondDispatch = new CountDownLatch(2);
+    private final Executor workers = request -> {
+        dispatched.add(request);
+        secondDispatch.countDown();
+    };
+
+    @AfterEach
+    public void shutdownTimer() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrencyLimit() {
+        HostQueue queue = new HostQueue(2, new TokenBucket(1, 10, clock::get), workers, timer);
+
+        queue.submit(() -> {});
+        queue.submit(() -> {});
+        queue.submit(() -> {});
+
+        assertEquals(2, dispatched.size());
+        assertEquals(1, queue.getPendingCount());
+
+        //a finished request makes room for the next one
+        dispatched.get(0).run();
+
+        assertEquals(3, dispatched.size());
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(2, queue.getRunningCount());
+    }
+
+    @Test
+    public void testRateLimitDoesNotOccupyWorkers() throws InterruptedException {
+        HostQueue queue = new HostQueue(5, new TokenBucket(20, 1, clock::get), workers, timer);
+
+        queue.submit(() -> {});
+        queue.submit(() -> {});
+
+        //the second request waits in the queue, not in the pool
+        assertEquals(1, dispatched.size());
+        assertEquals(1, queue.getPendingCount());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertTrue(secondDispatch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void testWithoutRateLimit() {
+        HostQueue queue = new HostQueue(3, 0, workers, timer);
+
+        for (int i = 0; i < 4; i++) {
+            queue.submit(() -> {});
+        }
+
+        assertEquals(3, dispatched.size());
+        assertEquals(1, queue.getPendingCount());
+    }
+
+    @Test
+    public void testRejectedRequestsAreQueuedAgain() {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        Executor rejectingWorkers = request -> {
+            if (rejecting.get()) {
+                throw new RejectedExecutionException("Shut down");
+            }
+
+            dispatched.add(request);
+        };
+        HostQueue queue = new HostQueue(2, new TokenBucket(1, 10, clock::get), rejectingWorkers, timer);
+
+        queue.submit(() -> {});
+        queue.submit(() -> {});
+
+        assertEquals(0, queue.getRunningCount());
+        assertEquals(2, queue.getPendingCount());
+
+        rejecting.set(false);
+        queue.submit(() -> {});
+
+        assertEquals(2, dispatched.size());
+        assertEquals(2, queue.getRunningCount());
+        assertEquals(1, queue.getPendingCount());
+    }
+
+    @Test
+    public void testInvalidConcurrencyLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new HostQueue(0, 1, workers, timer));
+    }
+
+}
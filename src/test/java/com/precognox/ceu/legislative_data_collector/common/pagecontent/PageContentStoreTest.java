@@ -0,0 +1,167 @@
+package com.precognox.ceu.legislative_data_collector.common.pagecontent;
+
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the changelog on a Postgres container and checks the blob trigger, the read expression of
+ * {@link com.precognox.ceu.legislative_data_collector.entities.PageSource#getRawSource()} and the maintenance of the
+ * blob table. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PageContentStoreTest {
+
+    private static final String SCHEMA = "legislative_data";
+    private static final String READ_EXPRESSION =
+            PageContentStore.withSchema(PageContentStore.RAW_SOURCE_READ_EXPRESSION, SCHEMA);
+    private static final String LARGE_SOURCE = "<html><body>" + "<p>Bill text</p>".repeat(500) + "</body></html>";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static Connection connection;
+    private static JdbcTemplate jdbcTemplate;
+    private static PageContentStore pageContentStore;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()
+        );
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+
+        Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        database.setDefaultSchemaName(SCHEMA);
+        database.setLiquibaseSchemaName(SCHEMA);
+
+        new Liquibase("db/changelog/changelog-master.xml", new ClassLoaderResourceAccessor(), database)
+                .update(new Contexts());
+
+        jdbcTemplate.execute("SET search_path TO " + SCHEMA + ", public");
+        pageContentStore = new PageContentStore(jdbcTemplate, SCHEMA);
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @BeforeEach
+    public void clearTables() {
+        jdbcTemplate.execute("DELETE FROM page_source");
+        jdbcTemplate.execute("DELETE FROM page_source_blob");
+    }
+
+    @Test
+    public void testLargeSourcesAreStoredOnce() {
+        insertPage(1, LARGE_SOURCE);
+        insertPage(2, LARGE_SOURCE);
+        insertPage(3, "<html/>");
+
+        assertEquals(1, countBlobs());
+        assertNull(jdbcTemplate.queryForObject("SELECT raw_source FROM page_source WHERE id = 1", String.class));
+        assertEquals("<html/>", jdbcTemplate.queryForObject("SELECT raw_source FROM page_source WHERE id = 3", String.class));
+        assertEquals(
+                List.of(LARGE_SOURCE, LARGE_SOURCE, "<html/>"),
+                jdbcTemplate.queryForList(
+                        "SELECT " + READ_EXPRESSION + " FROM page_source ORDER BY id",
+                        String.class
+                )
+        );
+    }
+
+    @Test
+    public void testLikeSearchesTheBlobs() {
+        insertPage(1, LARGE_SOURCE);
+        insertPage(2, "<html><p>Bill text</p></html>");
+
+        assertEquals(
+                List.of(1L, 2L),
+                jdbcTemplate.queryForList(
+                        "SELECT id FROM page_source WHERE " + READ_EXPRESSION
+                                + " LIKE '%Bill text%' ORDER BY id",
+                        Long.class
+                )
+        );
+    }
+
+    @Test
+    public void testUpdates() {
+        insertPage(1, LARGE_SOURCE);
+
+        //the trigger only fires when the raw source is written
+        jdbcTemplate.update("UPDATE page_source SET metadata = 'updated' WHERE id = 1");
+        assertNotNull(jdbcTemplate.queryForObject("SELECT content_hash FROM page_source WHERE id = 1", String.class));
+
+        jdbcTemplate.update("UPDATE page_source SET raw_source = '<html/>' WHERE id = 1");
+        assertNull(jdbcTemplate.queryForObject("SELECT content_hash FROM page_source WHERE id = 1", String.class));
+        assertEquals("<html/>", jdbcTemplate.queryForObject("SELECT raw_source FROM page_source WHERE id = 1", String.class));
+    }
+
+    @Test
+    public void testCollectGarbage() {
+        insertPage(1, LARGE_SOURCE);
+        insertPage(2, LARGE_SOURCE + "2");
+        insertPage(3, LARGE_SOURCE + "3");
+
+        jdbcTemplate.update("UPDATE page_source SET raw_source = '<html/>' WHERE id = 2");
+        jdbcTemplate.update("DELETE FROM page_source WHERE id = 3");
+
+        assertEquals(2, pageContentStore.collectGarbage());
+        assertEquals(1, countBlobs());
+        assertEquals(0, pageContentStore.collectGarbage());
+    }
+
+    @Test
+    public void testCompactInlineSources() {
+        //stored before the blob table existed
+        jdbcTemplate.execute("ALTER TABLE page_source DISABLE TRIGGER store_page_source_blob");
+        insertPage(1, LARGE_SOURCE);
+        insertPage(2, "<html/>");
+        jdbcTemplate.execute("ALTER TABLE page_source ENABLE TRIGGER store_page_source_blob");
+        assertEquals(0, countBlobs());
+
+        pageContentStore.compactInlineSources(Country.HUNGARY);
+
+        assertEquals(1, countBlobs());
+        assertNull(jdbcTemplate.queryForObject("SELECT raw_source FROM page_source WHERE id = 1", String.class));
+        assertEquals("<html/>", jdbcTemplate.queryForObject("SELECT raw_source FROM page_source WHERE id = 2", String.class));
+    }
+
+    private static void insertPage(long id, String rawSource) {
+        jdbcTemplate.update(
+                "INSERT INTO page_source (id, country, page_type, page_url, raw_source) VALUES (?, ?, ?, ?, ?)",
+                id, Country.HUNGARY.name(), "BILL", "https://example.org/bill/" + id, rawSource
+        );
+    }
+
+    private static int countBlobs() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM page_source_blob", Integer.class);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.precognox.ceu.legislative_data_collector.common.recordpage;
+
+import com.precognox.ceu.legislative_data_collector.entities.Amendment;
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
+import com.precognox.ceu.legislative_data_collector.entities.Originator;
+import com.precognox.ceu.legislative_data_collector.entities.PageSource;
+import com.precognox.ceu.legislative_data_collector.repositories.LegislativeDataRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the pipeline with the JPA repositories on a Postgres container, and checks that the child entities created by
+ * a visitor are written once. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "logging.level.com.precognox=INFO")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecordPagePipelineDatabaseTest {
+
+    private static final String SCHEMA = "legislative_data";
+    private static final String PAGE_URL = "https://pmg.org.za/bill/351/";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private RecordPagePipeline pipeline;
+    @Autowired
+    private PrimaryKeyGeneratingRepository recordRepository;
+    @Autowired
+    private PageSourceRepository pageSourceRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = LegislativeDataRecord.class)
+    @EnableJpaRepositories(basePackageClasses = LegislativeDataRepository.class)
+    @Import({RecordPagePipeline.class, PrimaryKeyGeneratingRepository.class})
+    static class Config {
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) throws SQLException {
+        //the changelog runs in the schema of the test properties
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+        }
+
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    /**
+     * Replaces the amendments and the originators of the record, like the South African variable parsers.
+     */
+    private static class ChildEntityVisitor implements RecordPageVisitor {
+
+        @Override
+        public boolean needsVisit(LegislativeDataRecord record) {
+            return record.getAmendmentCount() == null;
+        }
+
+        @Override
+        public void visit(LegislativeDataRecord record, ParsedPage page) {
+            List<Amendment> amendments = List.of(amendment(record, "First"), amendment(record, "Second"));
+
+            record.setBillTitle(page.body().selectFirst("h1").text());
+            record.setAmendmentCount(amendments.size());
+            record.setAmendments(amendments);
+            record.setOriginators(List.of(new Originator("Minister of Finance")));
+        }
+
+        private static Amendment amendment(LegislativeDataRecord record, String title) {
+            Amendment amendment = new Amendment();
+            amendment.setDataRecord(record);
+            amendment.setTitle(title);
+
+            return amendment;
+        }
+    }
+
+    @Test
+    public void testChildEntitiesAreWrittenOnce() {
+        pageSourceRepository.save(new PageSource(
+                Country.SOUTH_AFRICA, "BILL", PAGE_URL, "<html><body><h1>Bill title</h1></body></html>"
+        ));
+
+        LegislativeDataRecord record = new LegislativeDataRecord(Country.SOUTH_AFRICA);
+        record.setBillPageUrl(PAGE_URL);
+        recordRepository.save(record);
+
+        pipeline.run(
+                "test",
+                () -> recordRepository.streamRecordsWithMissingVariables(Country.SOUTH_AFRICA),
+                List.of(new ChildEntityVisitor())
+        );
+
+        assertEquals(2, count("SELECT count(*) FROM " + SCHEMA + ".amendments"));
+        assertEquals(1, count("SELECT count(*) FROM " + SCHEMA + ".originators"));
+        assertEquals(2, count("SELECT amendment_count FROM " + SCHEMA + ".bill_main_table"));
+    }
+
+    private int count(String query) {
+        return jdbcTemplate.queryForObject(query, Integer.class);
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.precognox.ceu.legislative_data_collector.common.recordpage;
+
+import com.precognox.ceu.legislative_data_collector.entities.Country;
+import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataRecord;
+import com.precognox.ceu.legislative_data_collector.entities.PageSource;
+import com.precognox.ceu.legislative_data_collector.repositories.PageSourceRepository;
+import com.precognox.ceu.legislative_data_collector.repositories.PrimaryKeyGeneratingRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class RecordPagePipelineTest {
+
+    private static final String PAGE_URL = "https://pmg.org.za/bill/351/";
+
+    private final PageSourceRepository pageSourceRepository = Mockito.mock(PageSourceRepository.class);
+    private final PrimaryKeyGeneratingRepository recordRepository = Mockito.mock(PrimaryKeyGeneratingRepository.class);
+    private final RecordPagePipeline pipeline = new RecordPagePipeline(
+            pageSourceRepository, recordRepository, Mockito.mock(PlatformTransactionManager.class)
+    );
+
+    /**
+     * Sets the bill title to the h1 of the page, records the pages and the merge hook calls.
+     */
+    private static class TitleVisitor implements RecordPageVisitor {
+
+        private final Predicate<LegislativeDataRecord> needsVisit;
+        private final boolean failing;
+        private final List<ParsedPage> visitedPages = new ArrayList<>();
+        private int beforeMergeCalls;
+
+        TitleVisitor(Predicate<LegislativeDataRecord> needsVisit, boolean failing) {
+            this.needsVisit = needsVisit;
+            this.failing = failing;
+        }
+
+        @Override
+        public boolean needsVisit(LegislativeDataRecord record) {
+            return needsVisit.test(record);
+        }
+
+        @Override
+        public void visit(LegislativeDataRecord record, ParsedPage page) {
+            visitedPages.add(page);
+
+            if (failing) {
+                throw new IllegalStateException("Unexpected page");
+            }
+
+            record.setBillTitle(page.body().selectFirst("h1").text());
+        }
+
+        @Override
+        public void beforeMerge(LegislativeDataRecord record) {
+            beforeMergeCalls++;
+        }
+    }
+
+    @Test
+    public void testPageIsLoadedAndParsedOnceForAllVisitors() {
+        Mockito.when(pageSourceRepository.getByPageUrl(PAGE_URL)).thenReturn(page());
+
+        TitleVisitor first = new TitleVisitor(record -> true, false);
+        TitleVisitor second = new TitleVisitor(record -> true, false);
+        LegislativeDataRecord record = record();
+
+        pipeline.run("test", () -> Stream.of(record), List.of(first, second));
+
+        Mockito.verify(pageSourceRepository, Mockito.times(1)).getByPageUrl(PAGE_URL);
+        Mockito.verify(recordRepository, Mockito.times(1)).merge(record);
+        assertSame(first.visitedPages.get(0), second.visitedPages.get(0));
+        assertEquals("Bill title", record.getBillTitle());
+        assertEquals(1, first.beforeMergeCalls);
+        assertEquals(1, second.beforeMergeCalls);
+    }
+
+    @Test
+    public void testProcessedRecordsAreSkipped() {
+        TitleVisitor visitor = new TitleVisitor(record -> record.getBillTitle() == null, false);
+        LegislativeDataRecord record = record();
+        record.setBillTitle("Stored title");
+
+        pipeline.run("test", () -> Stream.of(record), List.of(visitor));
+
+        Mockito.verify(pageSourceRepository, Mockito.never()).getByPageUrl(any());
+        Mockito.verify(recordRepository, Mockito.never()).merge(any());
+        assertTrue(visitor.visitedPages.isEmpty());
+    }
+
+    @Test
+    public void testFailingVisitorDoesNotStopTheOthers() {
+        Mockito.when(pageSourceRepository.getByPageUrl(PAGE_URL)).thenReturn(page());
+
+        TitleVisitor failing = new TitleVisitor(record -> true, true);
+        TitleVisitor working = new TitleVisitor(record -> true, false);
+        LegislativeDataRecord record = record();
+
+        pipeline.run("test", () -> Stream.of(record), List.of(failing, working));
+
+        Mockito.verify(recordRepository, Mockito.times(1)).merge(record);
+        assertEquals("Bill title", record.getBillTitle());
+        assertEquals(0, failing.beforeMergeCalls);
+        assertEquals(1, working.beforeMergeCalls);
+    }
+
+    private LegislativeDataRecord record() {
+        LegislativeDataRecord record = new LegislativeDataRecord(Country.SOUTH_AFRICA);
+        record.setBillPageUrl(PAGE_URL);
+
+        return record;
+    }
+
+    private PageSource page() {
+        return new PageSource(Country.SOUTH_AFRICA, "BILL", PAGE_URL, "<html><body><h1>Bill title</h1></body></html>");
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.precognox.ceu.legislative_data_collector.hungary;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ModifiedLawParser#parseFromText} before the patterns were run through the LegalReferenceExtractor: each
+ * pattern is matched over the whole text. The parser must find the same laws, it's checked by
+ * {@link ModifiedLawParserTest} and compared in the ModifiedLawParserBenchmark.
+ */
+final class ModifiedLawParserReference {
+
+    private static final String LAW_ID_REGEX = "(\\d\\d\\d\\d\\.\\s?(évi)?\\s[MDCLXVI]+\\.\\s?törvény)";
+    private static final Pattern REFERENCED_LAW_REGEX =
+            Pattern.compile("(\\d{4})\\.\\s?(?:évi)?\\s?([IVXLCM]+)\\.\\s?törvény");
+
+    private static final List<Pattern> BILL_TEXT_REFERENCED_LAW_REGEXES = List.of(
+            Pattern.compile(LAW_ID_REGEX + "\\s*módosítása", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "\\s*módosításáról", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}ponttal\\segészül\\ski", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}bekezdéssel\\segészül\\ski", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,40}az\\salábbiak\\sszerint\\smódosul", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,40}bekezdése\\shelyébe", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,40}§-a\\shelyébe", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}helyébe\\sa\\skövetkező\\srendelkezés\\slép", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}pontokkal\\segészül\\ski", Pattern.MULTILINE),
+            Pattern.compile(LAW_ID_REGEX + "[\\s\\S]{0,75}a\\skövetkező\\sszöveggel\\slép\\shatályba", Pattern.MULTILINE),
+            Pattern.compile("Hatályát veszti[\\s\\S]{0,75}" + LAW_ID_REGEX, Pattern.MULTILINE)
+    );
+
+    private ModifiedLawParserReference() {
+    }
+
+    static Set<String> parseFromText(String text) {
+        String clean = text.replaceAll(" {2,}", " ").replace(" .", ".");
+
+        return BILL_TEXT_REFERENCED_LAW_REGEXES.stream()
+                .map(p -> p.matcher(clean))
+                .flatMap(Matcher::results)
+                .map(r -> r.group(1))
+                .map(match -> match.replaceAll("\n", " "))
+                .map(ModifiedLawParserReference::normalizeReferencedLaw)
+                .collect(Collectors.toSet());
+    }
+
+    private static String normalizeReferencedLaw(String origText) {
+        Matcher matcher = REFERENCED_LAW_REGEX.matcher(origText);
+
+        if (matcher.find()) {
+            return matcher.group(1) + "/" + matcher.group(2);
+        }
+
+        return origText;
+    }
+
+}
@@ -5,9 +5,11 @@ import com.precognox.ceu.legislative_data_collector.entities.LegislativeDataReco
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -66,4 +68,24 @@ public class ModifiedLawParserTest {
         assertTrue(record.getModifiedLaws().contains("2008/CV"));
     }
 
+    @Test
+    void testSameResultsAsRegexes() throws IOException {
+        List<String> textFiles = List.of(
+                "/hungary/bill_texts/bill_2009_T_9485_text.txt",
+                "/hungary/bill_texts/bill_2012_T_7757_text.txt",
+                "/testBillText.txt"
+        );
+
+        for (String textFile : textFiles) {
+            String text = new String(getClass().getResourceAsStream(textFile).readAllBytes());
+            LegislativeDataRecord record = new LegislativeDataRecord();
+            record.setBillText(text);
+
+            Set<String> result = parser.parseFromText(record);
+
+            assertFalse(result.isEmpty(), textFile);
+            assertEquals(ModifiedLawParserReference.parseFromText(text), result, textFile);
+        }
+    }
+
 }
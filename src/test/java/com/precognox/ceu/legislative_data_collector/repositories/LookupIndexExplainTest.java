@@ -0,0 +1,177 @@
+package com.precognox.ceu.legislative_data_collector.repositories;
+
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the query plans of the hot lookup queries against a seeded Postgres container, so a changelog or query
+ * change can't silently fall back to sequential scans. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LookupIndexExplainTest {
+
+    private static final String SCHEMA = "legislative_data";
+    private static final int ROWS = 20_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()
+        );
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+        }
+
+        Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        database.setDefaultSchemaName(SCHEMA);
+        database.setLiquibaseSchemaName(SCHEMA);
+
+        new Liquibase("db/changelog/changelog-master.xml", new ClassLoaderResourceAccessor(), database)
+                .update(new Contexts());
+
+        seed();
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    private static void seed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+            statement.execute(
+                    "INSERT INTO page_source (id, country, page_type, page_url, clean_url, raw_source, metadata) " +
+                            "SELECT i, (ARRAY['HUNGARY', 'CHILE', 'COLOMBIA', 'UK'])[i % 4 + 1], " +
+                            "(ARRAY['BILL', 'LAW', 'MP_LIST', 'COMMITTEE'])[i / 4 % 4 + 1], " +
+                            "'https://example.org/bill/' || i, 'example.org/bill/' || i, '<html/>', " +
+                            "'Originator Name ' || md5(i::text) " +
+                            "FROM generate_series(1, " + ROWS + ") i"
+            );
+            statement.execute(
+                    "INSERT INTO downloaded_files (id, url, filename) " +
+                            "SELECT i, 'https://example.org/file/' || i || '.pdf', i || '.pdf' " +
+                            "FROM generate_series(1, " + ROWS + ") i"
+            );
+            statement.execute(
+                    "INSERT INTO text_source (id, country, text_type, text_identifier, text_content) " +
+                            "SELECT i, (ARRAY['HUNGARY', 'CHILE', 'COLOMBIA', 'UK'])[i % 4 + 1], " +
+                            "(ARRAY['BILL', 'LAW'])[i % 2 + 1], 'T-' || i, 'text' " +
+                            "FROM generate_series(1, " + ROWS + ") i"
+            );
+            statement.execute("ANALYZE page_source");
+            statement.execute("ANALYZE downloaded_files");
+            statement.execute("ANALYZE text_source");
+        }
+    }
+
+    @Test
+    public void testPageUrlLookup() throws SQLException {
+        assertUsesIndex(
+                "SELECT * FROM page_source WHERE page_url = 'https://example.org/bill/1234'",
+                "idx_page_source_page_url"
+        );
+    }
+
+    @Test
+    public void testCountryAndPageTypeKeysetPage() throws SQLException {
+        assertUsesIndex(
+                "SELECT * FROM page_source WHERE country = 'CHILE' AND page_type = 'BILL' AND id > 5000 " +
+                        "ORDER BY id LIMIT 100",
+                "idx_page_source_country_type_id"
+        );
+    }
+
+    @Test
+    public void testCountryKeysetPage() throws SQLException {
+        assertUsesIndex(
+                "SELECT * FROM page_source WHERE country = 'COLOMBIA' AND id > 5000 ORDER BY id LIMIT 100",
+                "idx_page_source_country_id"
+        );
+    }
+
+    @Test
+    public void testUrlFragmentSearch() throws SQLException {
+        assertUsesIndex(
+                "SELECT * FROM page_source WHERE page_url LIKE '%bill/1234%'",
+                "idx_page_source_page_url_trgm"
+        );
+    }
+
+    @Test
+    public void testNearestMetadataMatch() throws SQLException {
+        assertUsesIndex(
+                "SELECT * FROM page_source WHERE page_type = 'MP_LIST' " +
+                        "ORDER BY metadata <-> 'Originator Name 81dc9bdb' LIMIT 1",
+                "idx_page_source_metadata_trgm"
+        );
+    }
+
+    @Test
+    public void testDownloadedFileLookup() throws SQLException {
+        assertUsesIndex(
+                "SELECT * FROM downloaded_files WHERE url = 'https://example.org/file/1234.pdf'",
+                "idx_downloaded_files_url"
+        );
+    }
+
+    @Test
+    public void testTextSourceLookup() throws SQLException {
+        assertUsesIndex(
+                "SELECT * FROM text_source WHERE text_type = 'LAW' AND text_identifier = 'T-1234' " +
+                        "AND country = 'HUNGARY'",
+                "idx_text_source_country_type_identifier"
+        );
+    }
+
+    private void assertUsesIndex(String query, String indexName) throws SQLException {
+        String plan = explain(query);
+
+        assertTrue(plan.contains(indexName), "Index " + indexName + " is not used:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), "Sequential scan in plan:\n" + plan);
+    }
+
+    private String explain(String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+
+            try (ResultSet result = statement.executeQuery("EXPLAIN " + query)) {
+                while (result.next()) {
+                    plan.append(result.getString(1)).append('\n');
+                }
+            }
+        }
+
+        return plan.toString();
+    }
+
+}
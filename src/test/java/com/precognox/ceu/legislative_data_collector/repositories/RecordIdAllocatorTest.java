@@ -0,0 +1,83 @@
+package com.precognox.ceu.legislative_data_collector.repositories;
+
+import com.precognox.ceu.legislative_data_collector.repositories.RecordIdAllocator.SequenceValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordIdAllocatorTest {
+
+    private static final int INCREMENT = 20;
+
+    @Test
+    public void testNewSequence() {
+        AtomicInteger calls = new AtomicInteger();
+        RecordIdAllocator allocator = new RecordIdAllocator(() -> sequenceValue(calls, 1));
+
+        assertEquals(
+                IntStream.rangeClosed(1, 45).boxed().toList(),
+                IntStream.range(0, 45).map(i -> allocator.next()).boxed().toList()
+        );
+        //1, 2-21, 22-41, 42-61
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testSequenceUsedBeforeTheIncrementChange() {
+        AtomicInteger calls = new AtomicInteger();
+        //the last value given out with increment 1 was 500
+        RecordIdAllocator allocator = new RecordIdAllocator(() -> {
+            int value = 500 + INCREMENT * calls.incrementAndGet();
+            return new SequenceValue(value, INCREMENT, 1);
+        });
+
+        assertEquals(501, allocator.next());
+        assertEquals(502, allocator.next());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testConcurrentAllocation() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        RecordIdAllocator allocator = new RecordIdAllocator(() -> sequenceValue(calls, 1));
+        Set<Integer> values = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Callable<Void>> tasks = IntStream.range(0, 8).<Callable<Void>>mapToObj(i -> () -> {
+                for (int j = 0; j < 1000; j++) {
+                    assertTrue(values.add(allocator.next()));
+                }
+                return null;
+            }).toList();
+
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(8000, values.size());
+        //no value is skipped, the last block is partly used
+        assertEquals(IntStream.rangeClosed(1, 8000).boxed().toList(), values.stream().sorted().toList());
+    }
+
+    /**
+     * Simulates nextval on a new sequence with the given start value.
+     */
+    private SequenceValue sequenceValue(AtomicInteger calls, int startValue) {
+        return new SequenceValue(startValue + INCREMENT * calls.getAndIncrement(), INCREMENT, startValue);
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateUtilsTest {
+
+    private static final Pattern ISO_DATE = Pattern.compile("\\b\\d{4}-\\d{2}-\\d{2}\\b");
+    private static final Pattern DOTTED_DATE = Pattern.compile("\\b\\d{2}\\.\\d{2}\\.\\d{4}\\b");
+    private static final Pattern SLASHED_DATE = Pattern.compile("\\b\\d{1,2}/\\d{1,2}/\\d{4}\\b");
+
+    @Test
+    public void testFormatterCache() {
+        assertSame(DateUtils.getFormatter("dd-MM-yyyy"), DateUtils.getFormatter("dd-MM-yyyy"));
+        assertSame(DateUtils.getFormatter("d MMMM yyyy", Locale.ENGLISH),
+                DateUtils.getFormatter("d MMMM yyyy", Locale.ENGLISH));
+        assertNotSame(DateUtils.getFormatter("d MMMM yyyy"), DateUtils.getFormatter("d MMMM yyyy", Locale.ENGLISH));
+
+        assertEquals(LocalDate.of(2021, 3, 5), DateUtils.toLocalDate("5 March 2021", "d MMMM yyyy", Locale.ENGLISH));
+        assertEquals(LocalDate.of(2021, 3, 5), DateUtils.toLocalDate("05-03-2021 12:00", "dd-MM-yyyy", true));
+        assertNull(DateUtils.toLocalDate("2021/03/05", "dd-MM-yyyy"));
+    }
+
+    @Test
+    public void testNumericDates() {
+        assertEquals(LocalDate.of(2018, 3, 19), DateUtils.toLocalDate("2018-03-19", DateUtils.ISO_DATE_FORMAT));
+        assertEquals(LocalDate.of(2018, 3, 19), DateUtils.toLocalDate("19.03.2018", DateUtils.DOTTED_DATE_FORMAT));
+        assertEquals(LocalDate.of(2019, 2, 28), DateUtils.parsePolandDate("2019-02-31"));
+        assertNull(DateUtils.toLocalDate("2018-13-19", DateUtils.ISO_DATE_FORMAT));
+        assertNull(DateUtils.toLocalDate("19.03.18", DateUtils.DOTTED_DATE_FORMAT));
+        assertThrows(DateTimeParseException.class, () -> DateUtils.parsePolandDate("2018-3-19"));
+    }
+
+    @Test
+    public void testNumericDatesSameAsFormatter() {
+        List<String> texts = new ArrayList<>(List.of("0000-01-01", "2020-00-10", "2020-01-00", "+020-01-01", "2020-1-01"));
+
+        for (int year : new int[]{1, 999, 1900, 2000, 2023, 2024, 9999}) {
+            for (int month = 0; month <= 13; month++) {
+                for (int day = 0; day <= 32; day++) {
+                    texts.add(String.format("%04d-%02d-%02d", year, month, day));
+                    texts.add(String.format("%02d.%02d.%04d", day, month, year));
+                }
+            }
+        }
+
+        for (String text : texts) {
+            assertNumericDateSameAsFormatter(text, DateUtils.ISO_DATE_FORMAT);
+            assertNumericDateSameAsFormatter(text, DateUtils.DOTTED_DATE_FORMAT);
+        }
+    }
+
+    @Test
+    public void testColombiaDates() {
+        assertEquals(LocalDate.of(2019, 7, 4), DateUtils.parseColombiaDate("7/4/2019"));
+        assertEquals(LocalDate.of(2019, 7, 4), DateUtils.parseColombiaDate("2019. 07. 04."));
+        assertEquals(LocalDate.of(2019, 4, 7), DateUtils.parseColombiaVotingDate("7/04/2019"));
+        assertEquals(LocalDate.of(2019, 4, 7), DateUtils.parseColombiaLawTextDate("7/4/2019"));
+        assertEquals(LocalDate.of(2019, 7, 4), DateUtils.parseColombiaLawTextDate("2019. 07. 04."));
+        assertNull(DateUtils.parseColombiaDate("2019-07-04"));
+        assertNull(DateUtils.parseColombiaVotingDate(" "));
+    }
+
+    @Test
+    public void testSameResultsOnFixtureDates() throws IOException {
+        List<String> isoDates = findFixtureDates(ISO_DATE);
+        List<String> dottedDates = findFixtureDates(DOTTED_DATE);
+        List<String> slashedDates = findFixtureDates(SLASHED_DATE);
+
+        assertFalse(isoDates.isEmpty());
+        assertFalse(dottedDates.isEmpty());
+        assertFalse(slashedDates.isEmpty());
+
+        isoDates.forEach(date -> assertNumericDateSameAsFormatter(date, DateUtils.ISO_DATE_FORMAT));
+        dottedDates.forEach(date -> assertNumericDateSameAsFormatter(date, DateUtils.DOTTED_DATE_FORMAT));
+
+        DateTimeFormatter[] colombiaFormats =
+                {DateTimeFormatter.ofPattern("M/d/yyyy"), DateTimeFormatter.ofPattern("yyyy. MM. dd.")};
+        DateTimeFormatter colombiaParser = DateUtils.anyOf(colombiaFormats);
+
+        for (String date : slashedDates) {
+            assertEquals(parseOneByOne(date, colombiaFormats), parseOrNull(date, colombiaParser), date);
+            assertEquals(parseOneByOne(date, colombiaFormats), DateUtils.parseColombiaDate(date), date);
+        }
+    }
+
+    /**
+     * Finds the dates of a format in the test pages, API responses and texts.
+     */
+    private static List<String> findFixtureDates(Pattern datePattern) throws IOException {
+        List<String> dates = new ArrayList<>();
+
+        for (Path page : ResourceLoader.getResourceFiles(file -> file.toString().matches(".*\\.(html|json|txt)$"))) {
+            String text = new String(Files.readAllBytes(page), StandardCharsets.UTF_8);
+            datePattern.matcher(text).results().map(MatchResult::group).forEach(dates::add);
+        }
+
+        return dates;
+    }
+
+    private static void assertNumericDateSameAsFormatter(String text, String format) {
+        LocalDate date = DateUtils.parseNumericDate(text, format);
+
+        if (date != null) {
+            assertEquals(LocalDate.parse(text, DateTimeFormatter.ofPattern(format)), date, text);
+        }
+
+        assertEquals(parseOrNull(text, DateTimeFormatter.ofPattern(format)), DateUtils.toLocalDate(text, format), text);
+    }
+
+    private static LocalDate parseOneByOne(String text, DateTimeFormatter... formats) {
+        for (DateTimeFormatter format : formats) {
+            LocalDate date = parseOrNull(text, format);
+
+            if (date != null) {
+                return date;
+            }
+        }
+
+        return null;
+    }
+
+    private static LocalDate parseOrNull(String text, DateTimeFormatter formatter) {
+        try {
+            return LocalDate.parse(text, formatter);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternCacheTest {
+
+    @Test
+    public void testSamePatternReturned() {
+        Pattern pattern = PatternCache.get("\\d+/\\d+");
+
+        assertSame(pattern, PatternCache.get("\\d+/\\d+"));
+        assertNotSame(pattern, PatternCache.get("\\d+/\\d+", Pattern.MULTILINE));
+        assertEquals(Pattern.MULTILINE, PatternCache.get("\\d+/\\d+", Pattern.MULTILINE).flags());
+    }
+
+    @Test
+    public void testInvalidRegex() {
+        assertThrows(PatternSyntaxException.class, () -> PatternCache.get("("));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        for (int i = 0; i < PatternCache.MAX_SIZE * 2; i++) {
+            PatternCache.get("id=" + i);
+        }
+
+        assertTrue(PatternCache.size() <= PatternCache.MAX_SIZE);
+    }
+
+    @Test
+    public void testTextUtilsOverloads() {
+        String text = " Law No. 12/2020 , Law No. 13/2021 ";
+
+        assertEquals(List.of("12/2020", "13/2021"), TextUtils.findTexts(text, "No\\. (\\d+/\\d+)"));
+        assertEquals(List.of("12/2020", "13/2021"), TextUtils.findTexts(text, Pattern.compile("No\\. (\\d+/\\d+)")));
+        assertEquals("Law No. 12/2020", TextUtils.findText(text, Pattern.compile("Law No\\. \\d+/\\d+")));
+        assertEquals(List.of("Law", "Law"), TextUtils.findTexts(text, "(Law) No", false, 1));
+        assertEquals("", TextUtils.findText(text, "Act"));
+    }
+
+}
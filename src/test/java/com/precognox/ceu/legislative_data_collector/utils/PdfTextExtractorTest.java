@@ -0,0 +1,105 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfTextExtractorTest {
+
+    @Test
+    public void testSmallDocument() throws IOException {
+        byte[] pdf = createPdf(3);
+
+        assertEquals(expectedText(pdf), PdfTextExtractor.extractText(pdf));
+    }
+
+    @Test
+    public void testLargeDocumentIsExtractedInPageOrder() throws IOException {
+        byte[] pdf = createPdf(PdfTextExtractor.PARALLEL_PAGE_THRESHOLD + 37);
+        String text = PdfTextExtractor.extractText(pdf);
+
+        assertEquals(expectedText(pdf), text);
+        assertTrue(text.indexOf("Page 99 ") < text.indexOf("Page 100 "));
+    }
+
+    @Test
+    public void testConcurrentExtraction() throws Exception {
+        List<byte[]> documents = IntStream.rangeClosed(1, 8).mapToObj(this::createPdfUnchecked).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Callable<String>> tasks = documents.stream()
+                    .<Callable<String>>map(pdf -> () -> PdfTextExtractor.extractText(pdf))
+                    .toList();
+            List<Future<String>> results = executor.invokeAll(tasks);
+
+            for (int i = 0; i < documents.size(); i++) {
+                assertEquals(expectedText(documents.get(i)), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(PdfTextExtractor.getPagesPerSecond() > 0);
+    }
+
+    @Test
+    public void testCleanText() {
+        assertEquals("text", PdfTextExtractor.cleanText(" \u0000te\u0000xt\n"));
+        assertNull(PdfTextExtractor.cleanText(" \n\u0000"));
+    }
+
+    private String expectedText(byte[] pdf) throws IOException {
+        try (PDDocument doc = Loader.loadPDF(pdf)) {
+            return new PDFTextStripper().getText(doc);
+        }
+    }
+
+    private byte[] createPdfUnchecked(int pages) {
+        try {
+            return createPdf(pages);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] createPdf(int pages) throws IOException {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(50, 700);
+                    content.showText("Page " + i + " of the bill");
+                    content.endText();
+                }
+            }
+
+            doc.save(out);
+
+            return out.toByteArray();
+        }
+    }
+
+}
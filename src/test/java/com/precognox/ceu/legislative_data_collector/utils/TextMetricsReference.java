@@ -0,0 +1,30 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * The text sizes computed with regexes on a copy of the text, as the records did before {@link TextMetrics}. The
+ * one-pass computation must give the same sizes, it's checked by {@link TextMetricsTest} and compared in the
+ * TextMetricsBenchmark.
+ */
+final class TextMetricsReference {
+
+    private static final Pattern WHITESPACE_REGEX = Pattern.compile("\\s");
+    private static final Pattern WORD_REGEX = Pattern.compile("\\S+");
+
+    private TextMetricsReference() {
+    }
+
+    static TextMetrics of(String text) {
+        if (text == null) {
+            return new TextMetrics(0, 0, 0);
+        }
+
+        return new TextMetrics(
+                WHITESPACE_REGEX.matcher(text).replaceAll("").length(),
+                (int) WORD_REGEX.matcher(text).results().count(),
+                (int) text.lines().count()
+        );
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextMetricsTest {
+
+    private static final List<String> TEXT_CASES = List.of(
+            "",
+            " ",
+            "\n",
+            "a",
+            "a\n",
+            "\r\n\r\n",
+            "a\rb\r\nc\n\nd",
+            "  két  szó \t\u000B\f",
+            "non\u00A0breaking\u2028space",
+            "📜 1. §\r\n(1) A törvény\n"
+    );
+
+    @Test
+    public void testMetrics() {
+        assertEquals(new TextMetrics(13, 4, 3), TextMetrics.of("Article 1\r\n\nText  x"));
+        assertEquals(new TextMetrics(0, 0, 0), TextMetrics.of(null));
+        assertEquals(new TextMetrics(0, 0, 2), TextMetrics.of(" \n "));
+        assertEquals(0, TextMetrics.lengthWithoutWhitespace(null));
+        assertEquals(6, TextMetrics.lengthWithoutWhitespace(new StringBuilder(" ab\tcd\nef ")));
+    }
+
+    @Test
+    public void testSameAsRegexes() {
+        for (String text : TEXT_CASES) {
+            assertSameAsRegexes(text, text);
+        }
+    }
+
+    @Test
+    public void testSameAsRegexesOnFixtures() throws IOException {
+        for (Path file : ResourceLoader.getResourceFiles(file -> !file.toString().endsWith(".pdf"))) {
+            assertSameAsRegexes(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), file.toString());
+        }
+    }
+
+    private static void assertSameAsRegexes(String text, String message) {
+        TextMetrics expected = TextMetricsReference.of(text);
+
+        assertEquals(expected, TextMetrics.of(text), message);
+        assertEquals(expected.lengthWithoutWhitespace(), TextMetrics.lengthWithoutWhitespace(text), message);
+        assertEquals(expected.lengthWithoutWhitespace(), TextUtils.getLengthWithoutWhitespace(text), message);
+    }
+
+}
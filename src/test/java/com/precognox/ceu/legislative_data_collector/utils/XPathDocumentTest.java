@@ -0,0 +1,83 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XPathDocumentTest {
+
+    private static final String TEST_HTML = "<html><body>"
+            + "<div class=\"stage\"><span class=\"date\">01.02.2020</span><a href=\"/a\">First</a></div>"
+            + "<div class=\"stage\"><span class=\"date\">03.04.2021</span><a href=\"/b\">Second</a></div>"
+            + "</body></html>";
+
+    private static final List<String> QUERIES = List.of(
+            "//div[@class='stage']", "//span[@class='date']", "//a[contains(text(), 'Second')]", "a", ".//span"
+    );
+
+    @Test
+    public void testSameResultsAsSelectXpath() {
+        Document document = Jsoup.parse(TEST_HTML);
+        XPathDocument xPathDocument = new XPathDocument(document);
+
+        for (String query : QUERIES) {
+            assertEquals(document.selectXpath(query), xPathDocument.find(query), query);
+
+            for (Element stage : document.select("div.stage")) {
+                assertEquals(stage.selectXpath(query), xPathDocument.find(stage, query), query);
+                assertEquals(stage.selectXpath(query), XmlUtils.find(stage, query), query);
+            }
+        }
+    }
+
+    @Test
+    public void testElementContext() {
+        Document document = Jsoup.parse(TEST_HTML);
+        XPathDocument xPathDocument = new XPathDocument(document);
+        Element secondStage = document.select("div.stage").get(1);
+
+        //relative expressions are evaluated from the context element, absolute ones on the whole document
+        assertEquals("03.04.2021", xPathDocument.findElementText(secondStage, "span"));
+        assertEquals("01.02.2020", xPathDocument.findElementText(secondStage, "//span"));
+        assertEquals("/b", xPathDocument.findAttribute(secondStage, ".//a", "href"));
+        assertEquals("", xPathDocument.findElementText(null, "span"));
+    }
+
+    @Test
+    public void testElementOfOtherDocument() {
+        XPathDocument xPathDocument = new XPathDocument(Jsoup.parse(TEST_HTML));
+        Element other = Jsoup.parse("<div><a>Other</a></div>").selectFirst("div");
+
+        assertEquals("Other", xPathDocument.find(other, ".//a").text());
+    }
+
+    @Test
+    public void testInvalidExpression() {
+        XPathDocument xPathDocument = new XPathDocument(Jsoup.parse(TEST_HTML));
+
+        assertThrows(Selector.SelectorParseException.class, () -> xPathDocument.find("//["));
+        assertEquals("", xPathDocument.findElementText("//["));
+        assertEquals("", xPathDocument.findAttribute("//[", "href"));
+    }
+
+    @Test
+    public void testExpressionCacheIsBounded() {
+        Document document = Jsoup.parse(TEST_HTML);
+        XPathDocument xPathDocument = new XPathDocument(document);
+
+        for (int i = 0; i < XPathExpressionCache.MAX_SIZE + 10; i++) {
+            Elements elements = xPathDocument.find("//div[" + (i % 2 + 1) + "] | //p[@id='" + i + "']");
+            assertEquals(1, elements.size());
+        }
+
+        assertEquals(XPathExpressionCache.MAX_SIZE, XPathExpressionCache.size());
+    }
+
+}
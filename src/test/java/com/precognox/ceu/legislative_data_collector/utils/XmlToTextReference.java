@@ -0,0 +1,33 @@
+package com.precognox.ceu.legislative_data_collector.utils;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+/**
+ * The chain of regex replacements {@link XmlUtils#xmlToText} used before {@link XmlTextConverter}. The converter must
+ * give the same output, it's checked by {@link XmlUtilsTest} and compared in the XmlToTextBenchmark.
+ */
+final class XmlToTextReference {
+
+    private XmlToTextReference() {
+    }
+
+    static String xmlToText(String xml) {
+        if (xml == null) {
+            return null;
+        }
+        if (xml.isEmpty()) {
+            return "";
+        }
+        return StringEscapeUtils.unescapeXml(xml)
+                .replace("<br/>", "\n")
+                .replaceAll("<tr[^<>]*>", XmlUtils.TR_REPLACEMENT)
+                .replaceAll("(?ms)</(td|th)>[^<>]*<(td|th)[^<>]*>", "|")
+                .replaceAll("<(td|th)[^<>]*>", "")
+                .replaceAll("(<[/](p|tr|h[^<>]+)>[\\s]*)", "\n")
+                .replaceAll("<[^<>]+>", " ")
+                .replaceAll("(&nbsp;|\u3000|\u00a0)", " ")
+                .replaceAll("[ ]+", " ")
+                .trim();
+    }
+
+}
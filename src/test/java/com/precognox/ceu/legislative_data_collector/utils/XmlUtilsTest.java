@@ -1,9 +1,16 @@
 package com.precognox.ceu.legislative_data_collector.utils;
 
+import com.precognox.ceu.legislative_data_collector.common.ResourceLoader;
 import org.jsoup.nodes.Document;
 import org.jsoup.select.Elements;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class XmlUtilsTest {
@@ -21,6 +28,18 @@ class XmlUtilsTest {
             + "	</li>\n"
             + "</ul>";
 
+    private static final List<String> TEXT_CASES = List.of(
+            "<table><tr><td>a</td> <td>b</td></tr><tr><th>c</th></tr></table><p>x &amp; y&nbsp;&nbsp;z</p>\n  <h1>T</h1>",
+            "<p>First</p>\n\n<br/>  Second<br/>Third</p> 　Fourth",
+            "a &lt; b, c &gt; d, &#60;td&#62;, &#x3C;br/&#x3E;, &amp;nbsp;, &unknown; &#12a; &#;",
+            "<!-- <td> --> comment <!-- <p>a</p> --> <script>if (a < b && c > d) {}</script>",
+            "<div><</div>>< <b> ><tr<br/>>text</td>\n<tr><td>cell</td><>",
+            "</td> x </th>text<thead></html>   <h>",
+            "   ",
+            "a&nb<td>sp;b &amp;nb<th>sp; <p>&nbsp<td>;</p>&nb</td><td>sp;",
+            TEST_XML
+    );
+
     @Test
     public void find() {
         String expression = "//li/a";
@@ -29,4 +48,34 @@ class XmlUtilsTest {
         assertFalse(elements.isEmpty());
         assertEquals(elements.get(0).text(), "Link 1");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testXmlToText() {
+        String xml = "<table><tr><td>a</td> <td>b</td></tr></table><p>x &amp; y&nbsp;&nbsp;z</p>\n  <h1>Title</h1><br/>end";
+
+        assertEquals("-tr-a|b \n x & y z\n Title\nend", XmlUtils.xmlToText(xml));
+        assertNull(XmlUtils.xmlToText(null));
+        assertEquals("", XmlUtils.xmlToText(""));
+    }
+
+    @Test
+    public void testXmlToTextSameAsRegexImplementation() {
+        for (String xml : TEXT_CASES) {
+            assertEquals(XmlToTextReference.xmlToText(xml), XmlUtils.xmlToText(xml), xml);
+        }
+    }
+
+    @Test
+    public void testXmlToTextSameAsRegexImplementationOnFixtures() throws IOException {
+        for (Path page : ResourceLoader.getResourceFiles(file -> file.toString().endsWith(".html"))) {
+            String xml = new String(Files.readAllBytes(page), StandardCharsets.UTF_8);
+            assertEquals(XmlToTextReference.xmlToText(xml), XmlUtils.xmlToText(xml), page.toString());
+        }
+    }
+
+    @Test
+    public void testXmlToTextEntitySplitByCellStart() {
+        assertEquals("a b", XmlUtils.xmlToText("a&nb<td>sp;b"));
+        assertEquals("a b", XmlUtils.xmlToText("a &<th class=\"x\">nbsp<td>; b"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.precognox.ceu.legislative_data_collector.utils.jsoup;
+
+import com.jauntium.NotFound;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsoupDocumentTest {
+
+    private static final String TEST_HTML = "<html><body>"
+            + "<table class=\"table-bordered\">"
+            + "<tr><th colspan=\"3\">Iromány események</th></tr>"
+            + "<tr><td>2019.06.04</td><td>általános vita megkezdve</td><td><a href=\"/felsz?id=1\">felszólalás</a></td></tr>"
+            + "<tr><td>2019.07.22</td><td>Köztársasági elnök aláírta</td><td></td></tr>"
+            + "</table>"
+            + "<a href=\"docs/x.pdf\">szöveges PDF</a>"
+            + "</body></html>";
+
+    @Test
+    public void testJauntQueries() throws NotFound {
+        JsoupDocument document = JsoupDocument.parse(TEST_HTML, "https://www.parlament.hu/irom41/");
+
+        JsoupElement header = document.findFirst("<th>Iromány események");
+        assertEquals("th", header.getTagName());
+
+        JsoupElement pdfLink = document.findFirst("<a href=\".*?\\.pdf\">szöveges pdf");
+        assertEquals("https://www.parlament.hu/irom41/docs/x.pdf", pdfLink.getAttribute("href"));
+
+        assertThrows(NotFound.class, () -> document.findFirst("<a>Ülésnap adatai"));
+    }
+
+    @Test
+    public void testTableLookups() throws NotFound {
+        JsoupDocument document = JsoupDocument.parse(TEST_HTML, "https://www.parlament.hu/");
+        JsoupTable table = new JsoupTable(document.findFirst("<th>Iromány események").getParent().getParent().getParent());
+
+        assertEquals(3, table.getRowCount());
+        assertArrayEquals(new int[]{1, 1}, table.getCellCoord("általános vita megkezdve"));
+        assertNull(table.getCellCoord("részletes vita megkezdve"));
+        assertEquals("2019.07.22", table.getCell(0, 2).getText());
+        assertEquals(
+                List.of("2019.07.22", "Köztársasági elnök aláírta", ""),
+                table.getTextFromRow("Köztársasági elnök aláírta")
+        );
+        assertEquals(
+                "https://www.parlament.hu/felsz?id=1",
+                table.getCell(2, 1).getChildElements().get(0).getAttribute("href")
+        );
+        assertEquals(table.getRowCount(), document.findElementByClass("table-bordered").findElementsByTag("tr").size());
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.precognox.ceu.legislative_data_collector.utils.jsoup;
+
+import com.jauntium.NotFound;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.precognox.ceu.legislative_data_collector.common.ResourceLoader.getResourceAsString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsoupTableTest {
+
+    private static final String VOTES_HTML = "<html><body><table class=\"table-bordered\">"
+            + "<tr><th rowspan=\"2\">Időpont</th><th colspan=\"3\">Szavazatok</th><th rowspan=\"2\">Eredmény</th></tr>"
+            + "<tr><th>Igen</th><th>Nem</th><th>Tart.</th></tr>"
+            + "<tr><td>2019.06.04</td><td>120</td><td>40</td><td>5</td><td>elfogadva</td></tr>"
+            + "<tr><td colspan=\"5\">A javaslat elfogadásához egyszerű többséget kell elérni.</td></tr>"
+            + "</table></body></html>";
+
+    @Test
+    public void testSpannedCells() throws NotFound {
+        JsoupDocument document = JsoupDocument.parse(VOTES_HTML, "https://www.parlament.hu/");
+        JsoupTable table = new JsoupTable(document.findElementByClass("table-bordered"));
+
+        assertEquals(4, table.getRowCount());
+        //the row spanning cell takes the first column of the second row, the column spanning cell shifts the last one
+        assertArrayEquals(new int[]{1, 1}, table.getCellCoord("Igen"));
+        assertArrayEquals(new int[]{3, 1}, table.getCellCoord("Tart."));
+        assertArrayEquals(new int[]{4, 0}, table.getCellCoord("Eredmény"));
+        assertEquals("Időpont", table.getCell(0, 1).getText());
+        assertEquals("Szavazatok", table.getCell(2, 0).getText());
+
+        assertEquals(List.of("Szavazatok", "Igen", "120", "A javaslat elfogadásához egyszerű többséget kell elérni."),
+                table.getTextFromColumn("Igen"));
+        assertEquals("5", table.getTextFromColumn("Tart.").get(2));
+        assertEquals("elfogadva", table.getTextFromColumn("Eredmény").get(2));
+        assertEquals(List.of("Időpont", "Igen", "Nem", "Tart.", "Eredmény"), table.getTextFromRow(1));
+    }
+
+    @Test
+    public void testMissingCells() throws NotFound {
+        JsoupDocument document = JsoupDocument.parse("<table>"
+                + "<tr><td>a</td><td rowspan=\"3\">b</td></tr>"
+                + "<tr></tr>"
+                + "<tr><td>c</td></tr>"
+                + "</table>", "https://www.parlament.hu/");
+        JsoupTable table = new JsoupTable(document.findElementByTag("table"));
+
+        //the second row has no cell of its own, only the one spanning from above
+        assertThrows(NotFound.class, () -> table.getCell(0, 1));
+        assertEquals("b", table.getCell(1, 1).getText());
+        assertEquals(List.of("", "b"), table.getTextFromRow(1));
+        assertEquals(List.of("c", "b"), table.getTextFromRow(2));
+        assertEquals(List.of("a", "", "c"), table.getTextFromColumn(0));
+    }
+
+    @Test
+    public void testMixedRowAndColumnSpans() throws IOException, NotFound {
+        JsoupDocument document = JsoupDocument.parse(
+                getResourceAsString("/hungary/test_bill_pages/amendment_votes_table.html"), "https://www.parlament.hu/"
+        );
+        JsoupTable table = new JsoupTable(document.findElementByClass("table-bordered"));
+
+        //the column spanning "13" overlaps the row spanning subject, the votes stay under their headers
+        assertEquals("T/5040/12. módosító javaslat", table.getCell(2, 3).getText());
+        assertArrayEquals(new int[]{3, 3}, table.getCellCoord("120"));
+        assertEquals(
+                List.of("2019.06.04", "13", "T/5040/12. módosító javaslat", "120", "40", "5", "Elfogadott"),
+                table.getTextFromRow(3)
+        );
+
+        //one text for each row, also for the last one which has no cell in the result column
+        assertEquals(
+                List.of("Szavazatok", "Igen", "30", "120", "A javaslat elfogadásához egyszerű többséget kell elérni."),
+                table.getTextFromColumn("Igen")
+        );
+        assertEquals("5", table.getTextFromColumn("Tart.").get(3));
+        assertEquals(
+                List.of("Eredmény", "Eredmény", "Elvetett", "Elfogadott", ""),
+                table.getTextFromColumn("Eredmény")
+        );
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.precognox.ceu.legislative_data_collector.utils.queue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPipelineTest {
+
+    private static final List<Long> IDS = LongStream.rangeClosed(1, 1000).boxed().toList();
+
+    @Test
+    public void testEveryItemIsProcessedOnce() {
+        List<Long> results = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger largestBatch = new AtomicInteger();
+
+        KeysetDbBrowser<Long> source = new KeysetDbBrowser<>(7, id -> id, this::findPage);
+        BoundedPipeline<Long> pipeline = new BoundedPipeline<>("test", source, 4, 5);
+
+        long processed = pipeline.run(id -> id * 2, 16, batch -> {
+            largestBatch.accumulateAndGet(batch.size(), Math::max);
+            results.addAll(batch);
+        });
+
+        assertEquals(IDS.size(), processed);
+        assertEquals(IDS.stream().map(id -> id * 2).toList(), results.stream().sorted().toList());
+        assertTrue(largestBatch.get() <= 16);
+    }
+
+    @Test
+    public void testFailingItemsAreSkipped() {
+        List<Long> results = Collections.synchronizedList(new ArrayList<>());
+
+        KeysetDbBrowser<Long> source = new KeysetDbBrowser<>(10, id -> id, this::findPage);
+        BoundedPipeline<Long> pipeline = new BoundedPipeline<>("test", source, 3, 2);
+
+        long processed = pipeline.run(id -> {
+            if (id % 100 == 0) {
+                throw new IllegalArgumentException("Invalid item: " + id);
+            }
+
+            return id;
+        }, 10, results::addAll);
+
+        assertEquals(990, processed);
+        assertEquals(10, pipeline.getFailedCount());
+        assertEquals(990, results.size());
+    }
+
+    @Test
+    public void testCancel() {
+        InfinityBrowser<List<Long>> endlessSource = new InfinityBrowser<>() {
+            @Override
+            public List<Long> poll() {
+                return List.of(1L, 2L, 3L);
+            }
+
+            @Override
+            public int getPackageSize() {
+                return 3;
+            }
+        };
+
+        BoundedPipeline<Long> pipeline = new BoundedPipeline<>("test", endlessSource, 2, 4);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.schedule(pipeline::cancel, 200, TimeUnit.MILLISECONDS);
+
+        try {
+            pipeline.run(id -> sleep());
+        } finally {
+            scheduler.shutdown();
+        }
+
+        assertTrue(pipeline.isCancelled());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testKeysetBrowser() {
+        KeysetDbBrowser<Long> browser = new KeysetDbBrowser<>(995, 3, id -> id, this::findPage);
+
+        assertEquals(List.of(996L, 997L, 998L), browser.poll());
+        assertEquals(List.of(999L, 1000L), browser.poll());
+        assertTrue(browser.poll().isEmpty());
+        assertEquals(1000, browser.getLastId());
+    }
+
+    private List<Long> findPage(long afterId, Pageable pageable) {
+        return IDS.stream().filter(id -> id > afterId).limit(pageable.getPageSize()).toList();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}